@@ -0,0 +1,118 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import com.team957.lib.math.filters.Filter;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Pipeline stage which runs each incoming sample through a filter as it arrives, and publishes the
+ * filter's output to its own subscribers.
+ *
+ * <p>The time between sample timestamps is used as the filter's dt. The filter is only ever called
+ * from one thread at a time, but shouldn't be used elsewhere while this is subscribed.
+ *
+ * <p>Stages can be chained by subscribing one to another, with the first subscribed to a {@link
+ * SamplePublisher}.
+ */
+public class FilterProcessor implements Flow.Processor<Sample, Sample> {
+    private final Filter filter;
+    private final SamplePublisher output;
+
+    private Flow.Subscription upstream = null;
+
+    private boolean hasLastTimestamp = false;
+    private double lastTimestampSeconds = 0;
+
+    /**
+     * Constructs a FilterProcessor.
+     *
+     * @param filter The filter to run samples through.
+     * @param executor Executor to deliver filtered samples to subscribers on.
+     * @param backpressure How to handle filtered samples that subscribers aren't ready for.
+     * @param capacity Number of samples to buffer per subscriber with {@code DROP_OLDEST}.
+     */
+    public FilterProcessor(
+            Filter filter,
+            Executor executor,
+            SamplePublisher.Backpressure backpressure,
+            int capacity) {
+        this.filter = filter;
+        output = new SamplePublisher(executor, backpressure, capacity);
+    }
+
+    /**
+     * Constructs a FilterProcessor which delivers filtered samples on the calling thread, so the
+     * whole chain runs synchronously on the thread of the upstream publisher's executor.
+     *
+     * @param filter The filter to run samples through.
+     * @param backpressure How to handle filtered samples that subscribers aren't ready for.
+     */
+    public FilterProcessor(Filter filter, SamplePublisher.Backpressure backpressure) {
+        this(filter, Runnable::run, backpressure, 1);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void subscribe(Flow.Subscriber<? super Sample> subscriber) {
+        output.subscribe(subscriber);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+
+        upstream = subscription;
+
+        // filtering is cheap, and backpressure is applied on the output side
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onNext(Sample item) {
+        double dt = hasLastTimestamp ? item.getTimestampSeconds() - lastTimestampSeconds : 0;
+
+        hasLastTimestamp = true;
+        lastTimestampSeconds = item.getTimestampSeconds();
+
+        output.publish(filter.calculate(item.getValue(), dt), item.getTimestampSeconds());
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onError(Throwable throwable) {
+        output.closeExceptionally(throwable);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onComplete() {
+        output.close();
+    }
+
+    /** Stops receiving samples from upstream, and completes all subscribers. */
+    public void cancel() {
+        if (upstream != null) upstream.cancel();
+        output.close();
+    }
+}
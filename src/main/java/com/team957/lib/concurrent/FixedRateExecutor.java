@@ -0,0 +1,356 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import com.team957.lib.controllers.feedback.CascadedPID;
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.math.filters.Filter;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleSupplier;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Runs a set of filters and PID controllers on a dedicated thread at a fixed rate, independent of
+ * the main robot loop.
+ *
+ * <p>Each tick waits for its deadline by parking the thread until shortly before it, and then
+ * spinning until the deadline itself, which gives much tighter timing than {@code Thread.sleep()}
+ * at a cost of some CPU. Time is measured with {@code System.nanoTime()}.
+ *
+ * <p>Tasks are added before starting the executor. Each is given an input supplier (which is called
+ * from the executor thread, so it must be thread-safe), and its latest output can be read from any
+ * thread with {@code getOutput()} without locking. The filters and controllers themselves should
+ * not be used from other threads until {@code stop()} has returned.
+ *
+ * <p>If a task throws, the executor stops, and the exception is kept for {@code getFailure()}.
+ *
+ * <p>If a tick runs past the next deadline, that is counted as an overrun and the missed periods
+ * are skipped, keeping later ticks aligned with the original schedule.
+ */
+public class FixedRateExecutor implements Logged {
+    private interface Task {
+        double tick(double dtSeconds);
+    }
+
+    private final long periodNanos;
+    private final long spinNanos;
+
+    private final ArrayList<Task> pendingTasks = new ArrayList<>();
+    private volatile AtomicLongArray outputs;
+
+    private volatile Thread thread = null;
+    private volatile boolean running = false;
+    private volatile Throwable failure = null;
+
+    private volatile long tickCount = 0;
+    private volatile long overrunCount = 0;
+    private volatile long lastJitterNanos = 0;
+    private volatile long maxJitterNanos = 0;
+    private volatile long totalJitterNanos = 0;
+
+    /**
+     * Constructs a FixedRateExecutor.
+     *
+     * @param periodSeconds The period between ticks, in seconds. Must be at least 1 nanosecond.
+     * @param spinSeconds How long before each deadline to stop parking and start spinning, in
+     *     seconds. Larger values reduce jitter but use more CPU.
+     * @throws IllegalArgumentException If the period is less than 1 nanosecond, or the spin time
+     *     is negative.
+     */
+    public FixedRateExecutor(double periodSeconds, double spinSeconds) {
+        // anything shorter truncates to a period of 0 (as does NaN), which the loop divides by
+        if ((long) (periodSeconds * 1E9) < 1) {
+            throw new IllegalArgumentException("Period must be at least 1 nanosecond!");
+        }
+        if (spinSeconds < 0) {
+            throw new IllegalArgumentException("Spin time must not be negative!");
+        }
+
+        periodNanos = (long) (periodSeconds * 1E9);
+        spinNanos = (long) (spinSeconds * 1E9);
+    }
+
+    /**
+     * Constructs a FixedRateExecutor which spins for the last 50 microseconds before each deadline.
+     *
+     * @param periodSeconds The period between ticks, in seconds. Must be at least 1 nanosecond.
+     */
+    public FixedRateExecutor(double periodSeconds) {
+        this(periodSeconds, 50E-6);
+    }
+
+    /**
+     * Adds a filter to be updated every tick.
+     *
+     * @param filter The filter to update.
+     * @param input Supplier of the value to input to the filter each tick.
+     * @return A handle to read the filter's output with from {@code getOutput()}.
+     * @throws IllegalStateException If the executor has been started.
+     */
+    public int addFilter(Filter filter, DoubleSupplier input) {
+        return addTask((dt) -> filter.calculate(input.getAsDouble(), dt));
+    }
+
+    /**
+     * Adds a PID controller to be updated every tick.
+     *
+     * @param controller The controller to update.
+     * @param measurement Supplier of the measurement to give the controller each tick.
+     * @return A handle to read the controller's output with from {@code getOutput()}.
+     * @throws IllegalStateException If the executor has been started.
+     */
+    public int addPID(PID controller, DoubleSupplier measurement) {
+        return addTask((dt) -> controller.calculate(measurement.getAsDouble(), dt));
+    }
+
+    /**
+     * Adds a cascaded pair of PID controllers to be updated every tick. The executor's period is
+     * the inner loop's period.
+     *
+     * @param controller The cascade to update.
+     * @param outerMeasurement Supplier of the outer loop's measurement each tick.
+     * @param innerMeasurement Supplier of the inner loop's measurement each tick.
+     * @return A handle to read the inner controller's output with from {@code getOutput()}.
+     * @throws IllegalStateException If the executor has been started.
+     */
+    public int addCascade(
+            CascadedPID controller,
+            DoubleSupplier outerMeasurement,
+            DoubleSupplier innerMeasurement) {
+        return addTask(
+                (dt) -> {
+                    double outer = outerMeasurement.getAsDouble();
+                    double inner = innerMeasurement.getAsDouble();
+
+                    return controller.calculate(outer, inner, dt);
+                });
+    }
+
+    private synchronized int addTask(Task task) {
+        if (thread != null) {
+            throw new IllegalStateException("Tasks must be added before starting the executor!");
+        }
+
+        pendingTasks.add(task);
+        return pendingTasks.size() - 1;
+    }
+
+    /**
+     * Starts ticking the added tasks on a new daemon thread. Has no effect if already started.
+     *
+     * @throws IllegalStateException If the executor was previously stopped.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            if (!running) throw new IllegalStateException("Executor cannot be restarted!");
+            return;
+        }
+
+        Task[] tasks = pendingTasks.toArray(new Task[0]);
+        outputs = new AtomicLongArray(tasks.length);
+
+        running = true;
+        thread = new Thread(() -> run(tasks), "FixedRateExecutor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the executor thread, waiting for its current tick (if any) to finish. Once this
+     * returns, the tasks are no longer being ticked and can be used from the calling thread.
+     *
+     * <p>If called from a task, this can't wait for the tick it's part of, but no further ticks
+     * will be run.
+     */
+    public void stop() {
+        running = false;
+
+        Thread current = thread;
+        if (current == null) return;
+
+        LockSupport.unpark(current);
+
+        if (current == Thread.currentThread()) return;
+
+        boolean interrupted = false;
+        while (current.isAlive()) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                interrupted = true; // finish waiting, so the guarantee above still holds
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void run(Task[] tasks) {
+        try {
+            tick(tasks);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            running = false;
+        }
+    }
+
+    private void tick(Task[] tasks) {
+        long deadline = System.nanoTime() + periodNanos;
+        long lastTick = System.nanoTime();
+
+        while (running) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > spinNanos && running) {
+                LockSupport.parkNanos(remaining - spinNanos);
+            }
+            while (System.nanoTime() - deadline < 0 && running) Thread.onSpinWait();
+
+            if (!running) return;
+
+            long now = System.nanoTime();
+            double dt = (now - lastTick) / 1E9;
+            lastTick = now;
+
+            for (int i = 0; i < tasks.length; i++) {
+                outputs.set(i, Double.doubleToRawLongBits(tasks[i].tick(dt)));
+            }
+
+            // single writer, so plain read-modify-write of the volatiles is safe
+            long jitter = now - deadline;
+            lastJitterNanos = jitter;
+            if (jitter > maxJitterNanos) maxJitterNanos = jitter;
+            totalJitterNanos = totalJitterNanos + jitter;
+            tickCount = tickCount + 1;
+
+            deadline += periodNanos;
+
+            long behind = System.nanoTime() - deadline;
+            if (behind > 0) {
+                long missed = (behind / periodNanos) + 1;
+                overrunCount = overrunCount + 1;
+                deadline += missed * periodNanos;
+            }
+        }
+    }
+
+    /**
+     * Returns the most recent output of a task. Safe to call from any thread.
+     *
+     * @param handle The handle returned when the task was added.
+     * @return The task's last output, or 0 if it hasn't been ticked yet.
+     */
+    public double getOutput(int handle) {
+        AtomicLongArray current = outputs;
+        if (current == null) return 0;
+
+        return Double.longBitsToDouble(current.get(handle));
+    }
+
+    /**
+     * Returns whether the executor thread is running.
+     *
+     * @return Whether the executor has been started, and has neither been stopped nor failed.
+     */
+    @Log
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns whether the executor stopped because a task threw.
+     *
+     * @return Whether a task has failed.
+     */
+    @Log
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Returns the exception which stopped the executor.
+     *
+     * @return The exception thrown by a task, or null if none has been.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the number of ticks run since starting.
+     *
+     * @return The total number of ticks.
+     */
+    @Log
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the number of ticks which ran past the following tick's deadline.
+     *
+     * @return The total number of overruns.
+     */
+    @Log
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Returns how late the last tick started relative to its deadline.
+     *
+     * @return The last tick's jitter, in seconds.
+     */
+    @Log
+    public double getLastJitterSeconds() {
+        return lastJitterNanos / 1E9;
+    }
+
+    /**
+     * Returns the latest any tick has started relative to its deadline.
+     *
+     * @return The maximum jitter, in seconds.
+     */
+    @Log
+    public double getMaxJitterSeconds() {
+        return maxJitterNanos / 1E9;
+    }
+
+    /**
+     * Returns how late ticks have started relative to their deadlines, on average.
+     *
+     * @return The mean jitter, in seconds, or 0 if no ticks have run.
+     */
+    @Log
+    public double getMeanJitterSeconds() {
+        long ticks = tickCount;
+        if (ticks == 0) return 0;
+
+        return (totalJitterNanos / 1E9) / ticks;
+    }
+
+    /**
+     * Returns the period between ticks.
+     *
+     * @return The period, in seconds.
+     */
+    public double getPeriodSeconds() {
+        return periodNanos / 1E9;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import java.util.concurrent.Flow;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Subscriber which keeps the most recent sample it's received, for reading from the main loop
+ * without blocking.
+ */
+public class LatestSampleSubscriber implements Flow.Subscriber<Sample>, Logged {
+    private volatile Sample latest = null;
+    private volatile Flow.Subscription subscription = null;
+    private volatile boolean completed = false;
+
+    @Override
+    /** {@inheritDoc} */
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onNext(Sample item) {
+        latest = item;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onError(Throwable throwable) {
+        completed = true;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void onComplete() {
+        completed = true;
+    }
+
+    /**
+     * Returns the most recently received sample.
+     *
+     * @return The latest sample, or {@code null} if none have been received.
+     */
+    public Sample getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns the value of the most recently received sample.
+     *
+     * @return The latest value, or 0 if none have been received.
+     */
+    @Log
+    public double getLatestValue() {
+        Sample current = latest;
+        return (current == null) ? 0 : current.getValue();
+    }
+
+    /**
+     * Returns whether the publisher has finished, either normally or with an error.
+     *
+     * @return Whether no more samples will be received.
+     */
+    @Log
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /** Stops receiving samples. */
+    public void cancel() {
+        Flow.Subscription current = subscription;
+        if (current != null) current.cancel();
+    }
+}
@@ -0,0 +1,58 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+/** An immutable sensor reading, paired with the time it was taken. */
+public final class Sample {
+    private final double value;
+    private final double timestampSeconds;
+
+    /**
+     * Constructs a Sample.
+     *
+     * @param value The value of the reading.
+     * @param timestampSeconds The time the reading was taken, in seconds. Only differences between
+     *     timestamps are used, so any consistent time base works.
+     */
+    public Sample(double value, double timestampSeconds) {
+        this.value = value;
+        this.timestampSeconds = timestampSeconds;
+    }
+
+    /**
+     * Returns the value of the reading.
+     *
+     * @return The value.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the time the reading was taken.
+     *
+     * @return The timestamp, in seconds.
+     */
+    public double getTimestampSeconds() {
+        return timestampSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "Sample: " + value + " at " + timestampSeconds;
+    }
+}
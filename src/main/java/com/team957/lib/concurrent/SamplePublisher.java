@@ -0,0 +1,311 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher which pushes sensor samples to subscribers as they arrive, such as from CAN or vision
+ * callbacks, instead of waiting to be polled by the main loop.
+ *
+ * <p>Each subscriber is delivered to on the publisher's executor, never faster than it requests.
+ * Samples published while a subscriber isn't ready for them are handled by the publisher's {@link
+ * Backpressure} strategy, so a slow subscriber never blocks the publishing thread or causes
+ * unbounded buffering.
+ */
+public class SamplePublisher implements Flow.Publisher<Sample>, AutoCloseable {
+
+    /** Strategies for handling samples published faster than a subscriber can consume them. */
+    public enum Backpressure {
+        /** Buffer up to the publisher's capacity, and discard the oldest sample when full. */
+        DROP_OLDEST,
+
+        /** Only keep the most recent sample, discarding any that haven't been delivered. */
+        KEEP_LATEST,
+
+        /**
+         * Merge all undelivered samples into one, with their average value and the latest
+         * timestamp.
+         */
+        CONFLATE
+    }
+
+    private final Executor executor;
+    private final Backpressure backpressure;
+    private final int capacity;
+
+    private final CopyOnWriteArrayList<SampleSubscription> subscriptions =
+            new CopyOnWriteArrayList<>();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean closed = false;
+    private volatile Throwable closedException = null;
+
+    /**
+     * Constructs a SamplePublisher.
+     *
+     * @param executor Executor to deliver samples to subscribers on.
+     * @param backpressure How to handle samples that subscribers aren't ready for.
+     * @param capacity Number of samples to buffer per subscriber with {@code DROP_OLDEST}. Ignored
+     *     by other strategies. Must be at least 1.
+     * @throws IllegalArgumentException If the capacity is less than 1.
+     */
+    public SamplePublisher(Executor executor, Backpressure backpressure, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1!");
+        }
+
+        this.executor = executor;
+        this.backpressure = backpressure;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Constructs a SamplePublisher which delivers on the common ForkJoinPool and only keeps the
+     * latest sample for subscribers that fall behind.
+     */
+    public SamplePublisher() {
+        this(ForkJoinPool.commonPool(), Backpressure.KEEP_LATEST, 1);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void subscribe(Flow.Subscriber<? super Sample> subscriber) {
+        SampleSubscription subscription = new SampleSubscription(subscriber);
+
+        subscriber.onSubscribe(subscription);
+
+        subscriptions.add(subscription);
+
+        // closing may have raced with adding the subscription
+        if (closed && subscriptions.remove(subscription)) {
+            subscription.complete(closedException);
+        }
+
+        // the subscription starts "busy" so nothing is delivered until onSubscribe returns
+        executor.execute(subscription);
+    }
+
+    /**
+     * Publishes a sample to all current subscribers. Never blocks. Has no effect once closed.
+     *
+     * @param sample The sample to publish.
+     */
+    public void publish(Sample sample) {
+        if (closed) return;
+
+        for (SampleSubscription subscription : subscriptions) {
+            subscription.offer(sample);
+        }
+    }
+
+    /**
+     * Publishes a sample to all current subscribers. Never blocks. Has no effect once closed.
+     *
+     * @param value The value of the sample.
+     * @param timestampSeconds The time the sample was taken, in seconds.
+     */
+    public void publish(double value, double timestampSeconds) {
+        publish(new Sample(value, timestampSeconds));
+    }
+
+    /** Completes all subscribers once they've consumed their buffered samples. */
+    @Override
+    public void close() {
+        closeWith(null);
+    }
+
+    /**
+     * Signals an error to all subscribers once they've consumed their buffered samples.
+     *
+     * @param error The error to signal.
+     */
+    public void closeExceptionally(Throwable error) {
+        closeWith(error);
+    }
+
+    private void closeWith(Throwable error) {
+        if (closed) return;
+
+        closedException = error;
+        closed = true;
+
+        for (SampleSubscription subscription : subscriptions) {
+            subscription.complete(error);
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Returns the number of samples discarded or merged by backpressure, across all subscribers.
+     *
+     * @return The total number of dropped samples.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return The number of subscribers that haven't cancelled or been completed.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private final class SampleSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Sample> subscriber;
+
+        // pending samples, guarded by this
+        private final ArrayDeque<Sample> queue = new ArrayDeque<>();
+        private double conflatedSum = 0;
+        private int conflatedCount = 0;
+        private double conflatedTimestamp = 0;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger(1);
+
+        private volatile boolean cancelled = false;
+        private volatile boolean done = false;
+        private volatile Throwable error = null;
+
+        private SampleSubscription(Flow.Subscriber<? super Sample> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void offer(Sample sample) {
+            synchronized (this) {
+                if (backpressure == Backpressure.CONFLATE) {
+                    conflatedSum += sample.getValue();
+                    if (conflatedCount > 0) droppedCount.incrementAndGet();
+                    conflatedCount++;
+                    conflatedTimestamp = sample.getTimestampSeconds();
+                } else {
+                    int limit = (backpressure == Backpressure.KEEP_LATEST) ? 1 : capacity;
+
+                    if (queue.size() >= limit) {
+                        queue.pollFirst();
+                        droppedCount.incrementAndGet();
+                    }
+                    queue.addLast(sample);
+                }
+            }
+
+            schedule();
+        }
+
+        private synchronized Sample poll() {
+            if (backpressure == Backpressure.CONFLATE) {
+                if (conflatedCount == 0) return null;
+
+                Sample merged = new Sample(conflatedSum / conflatedCount, conflatedTimestamp);
+                conflatedSum = 0;
+                conflatedCount = 0;
+                return merged;
+            }
+
+            return queue.pollFirst();
+        }
+
+        private synchronized boolean isEmpty() {
+            return (backpressure == Backpressure.CONFLATE) ? conflatedCount == 0 : queue.isEmpty();
+        }
+
+        private void complete(Throwable error) {
+            this.error = error;
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() == 0) executor.execute(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    queue.clear();
+                    conflatedCount = 0;
+                }
+                subscriptions.remove(this);
+                complete(new IllegalArgumentException("Requested count must be positive!"));
+                return;
+            }
+
+            requested.accumulateAndGet(n, (a, b) -> (a + b < 0) ? Long.MAX_VALUE : a + b);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+
+            do {
+                while (!cancelled && requested.get() > 0) {
+                    Sample next = poll();
+                    if (next == null) break;
+
+                    if (requested.get() != Long.MAX_VALUE) requested.decrementAndGet();
+
+                    try {
+                        subscriber.onNext(next);
+                    } catch (Throwable e) {
+                        // a subscriber that throws is cancelled, and told why
+                        terminate(e);
+                    }
+                }
+
+                if (!cancelled && done && isEmpty()) terminate(error);
+
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // sends the final signal, which must not stop the work counter from being decremented
+        private void terminate(Throwable cause) {
+            cancelled = true;
+            subscriptions.remove(this);
+
+            synchronized (this) {
+                queue.clear();
+                conflatedCount = 0;
+            }
+
+            try {
+                if (cause == null) subscriber.onComplete();
+                else subscriber.onError(cause);
+            } catch (Throwable ignored) {
+                // the subscription is already over, so there's no one left to tell
+            }
+        }
+    }
+}
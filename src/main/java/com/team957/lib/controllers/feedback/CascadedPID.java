@@ -0,0 +1,278 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Two PID controllers in cascade, where the output of an outer loop (such as position) is the
+ * setpoint of a faster inner loop (such as velocity), which drives the actuator.
+ *
+ * <p>Each {@code calculate()} call is one tick of the inner loop. The outer loop runs on every
+ * {@code ratio}th tick, before the inner loop, with the time accumulated since its last run, so the
+ * schedule is deterministic: with an inner period of 1 ms and a ratio of 20, the outer loop runs at
+ * exactly 50 Hz. To run the cascade on its own thread, add it to a {@code FixedRateExecutor} with
+ * the inner period.
+ *
+ * <p>The goal, the inner setpoint, and the output are handed off through volatile fields, so the
+ * goal can be set and the others read from any thread without locking. The controllers themselves
+ * should only be used from the thread calling {@code calculate()}.
+ *
+ * <p>To prevent windup, each loop stops integrating while it would push further into saturation:
+ * the inner loop when its own output is at its effort limit, and the outer loop when either its own
+ * output or the inner loop's output is. This assumes gains with the usual positive sign.
+ */
+public class CascadedPID implements Logged {
+    private final PID outer;
+    private final PID inner;
+    private final int ratio;
+
+    private volatile double goal;
+    private volatile double innerSetpoint = 0;
+    private volatile double output = 0;
+
+    private int phase = 0;
+    private double outerDt = 0;
+
+    // single writer, so plain read-modify-write of the volatiles is safe
+    private volatile long outerTickCount = 0;
+    private volatile long innerTickCount = 0;
+    private volatile long lastOuterNanos = 0;
+    private volatile long maxOuterNanos = 0;
+    private volatile long lastInnerNanos = 0;
+    private volatile long maxInnerNanos = 0;
+
+    /**
+     * Constructs a CascadedPID. The goal starts at the outer controller's setpoint.
+     *
+     * @param outer The outer (slower) controller, whose output is the inner controller's setpoint.
+     * @param inner The inner (faster) controller, whose output drives the actuator.
+     * @param ratio The number of inner loop ticks per outer loop tick. Must be at least 1.
+     * @throws IllegalArgumentException If the ratio is less than 1.
+     */
+    public CascadedPID(PID outer, PID inner, int ratio) {
+        if (ratio < 1) throw new IllegalArgumentException("Ratio must be at least 1!");
+
+        this.outer = outer;
+        this.inner = inner;
+        this.ratio = ratio;
+
+        goal = outer.getSetpoint();
+    }
+
+    /**
+     * Sets the goal of the outer loop. Safe to call from any thread; takes effect on the next outer
+     * loop tick.
+     *
+     * @param goal The new setpoint of the outer controller.
+     */
+    public void setGoal(double goal) {
+        this.goal = goal;
+    }
+
+    /**
+     * Returns the goal of the outer loop.
+     *
+     * @return The most recently set goal.
+     */
+    @Log
+    public double getGoal() {
+        return goal;
+    }
+
+    // sign of the saturation of a controller's output, or 0 if it isn't saturated
+    private static double saturation(PID controller) {
+        double limit = controller.getMaxAbsControlEffort();
+        double value = controller.getCurrentValue();
+
+        if (limit == 0 || Math.abs(value) < limit) return 0;
+        return Math.signum(value);
+    }
+
+    /**
+     * Runs one tick of the inner loop, and of the outer loop if it's due.
+     *
+     * @param outerMeasurement The measured feedback of the outer loop.
+     * @param innerMeasurement The measured feedback of the inner loop.
+     * @param dt The time, in seconds, since the last tick.
+     * @return The output of the inner controller.
+     */
+    public double calculate(double outerMeasurement, double innerMeasurement, double dt) {
+        outerDt += dt;
+
+        if (phase == 0) {
+            long start = System.nanoTime();
+
+            outer.setSetpoint(goal);
+
+            double error = Math.signum(outer.error(outerMeasurement));
+            double outerSaturation = saturation(outer);
+            double innerSaturation = saturation(inner);
+
+            outer.setIntegrating(
+                    (outerSaturation == 0 || error != outerSaturation)
+                            && (innerSaturation == 0 || error != innerSaturation));
+
+            double setpoint = outer.calculate(outerMeasurement, outerDt);
+            inner.setSetpoint(setpoint);
+            innerSetpoint = setpoint;
+            outerDt = 0;
+
+            long elapsed = System.nanoTime() - start;
+            lastOuterNanos = elapsed;
+            if (elapsed > maxOuterNanos) maxOuterNanos = elapsed;
+            outerTickCount = outerTickCount + 1;
+        }
+
+        phase = (phase + 1) % ratio;
+
+        long start = System.nanoTime();
+
+        double error = Math.signum(inner.error(innerMeasurement));
+        double innerSaturation = saturation(inner);
+
+        inner.setIntegrating(innerSaturation == 0 || error != innerSaturation);
+
+        double value = inner.calculate(innerMeasurement, dt);
+        output = value;
+
+        long elapsed = System.nanoTime() - start;
+        lastInnerNanos = elapsed;
+        if (elapsed > maxInnerNanos) maxInnerNanos = elapsed;
+        innerTickCount = innerTickCount + 1;
+
+        return value;
+    }
+
+    /** Resets both controllers, and restarts the schedule so the outer loop runs next tick. */
+    public void reset() {
+        outer.reset();
+        inner.reset();
+
+        phase = 0;
+        outerDt = 0;
+    }
+
+    /**
+     * Returns the latest output of the outer loop, which is the inner loop's setpoint. Safe to call
+     * from any thread.
+     *
+     * @return The inner setpoint.
+     */
+    @Log
+    public double getInnerSetpoint() {
+        return innerSetpoint;
+    }
+
+    /**
+     * Returns the latest output of the inner loop. Safe to call from any thread.
+     *
+     * @return The output of the cascade.
+     */
+    @Log
+    public double getOutput() {
+        return output;
+    }
+
+    /**
+     * Returns the number of times the outer loop has run.
+     *
+     * @return The number of outer ticks.
+     */
+    @Log
+    public long getOuterTickCount() {
+        return outerTickCount;
+    }
+
+    /**
+     * Returns the number of times the inner loop has run.
+     *
+     * @return The number of inner ticks.
+     */
+    @Log
+    public long getInnerTickCount() {
+        return innerTickCount;
+    }
+
+    /**
+     * Returns how long the last outer loop tick took to compute.
+     *
+     * @return The last outer execution time, in seconds.
+     */
+    @Log
+    public double getLastOuterExecutionSeconds() {
+        return lastOuterNanos / 1E9;
+    }
+
+    /**
+     * Returns the longest any outer loop tick has taken to compute.
+     *
+     * @return The maximum outer execution time, in seconds.
+     */
+    @Log
+    public double getMaxOuterExecutionSeconds() {
+        return maxOuterNanos / 1E9;
+    }
+
+    /**
+     * Returns how long the last inner loop tick took to compute.
+     *
+     * @return The last inner execution time, in seconds.
+     */
+    @Log
+    public double getLastInnerExecutionSeconds() {
+        return lastInnerNanos / 1E9;
+    }
+
+    /**
+     * Returns the longest any inner loop tick has taken to compute.
+     *
+     * @return The maximum inner execution time, in seconds.
+     */
+    @Log
+    public double getMaxInnerExecutionSeconds() {
+        return maxInnerNanos / 1E9;
+    }
+
+    /**
+     * Returns the number of inner loop ticks per outer loop tick.
+     *
+     * @return The ratio between the loop rates.
+     */
+    public int getRatio() {
+        return ratio;
+    }
+
+    /**
+     * Returns the outer controller.
+     *
+     * @return The outer controller.
+     */
+    public PID getOuter() {
+        return outer;
+    }
+
+    /**
+     * Returns the inner controller.
+     *
+     * @return The inner controller.
+     */
+    public PID getInner() {
+        return inner;
+    }
+}
@@ -0,0 +1,247 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Measures the quality of a controller's response to its most recent setpoint change, updated
+ * incrementally in constant time per sample, so tunings can be compared live.
+ *
+ * <p>Tracked metrics are the integrals of absolute error (IAE), squared error (ISE), and
+ * time-weighted absolute error (ITAE), the peak overshoot, the 10% to 90% rise time, and the
+ * settling time. All are relative to the moment of the setpoint change: a new setpoint starts a
+ * new set of metrics. The error at the first sample after the change is taken as the size of the
+ * step, which for angular controllers correctly accounts for wrapping.
+ *
+ * <p>Attach to a {@link PID} with {@code PID.setMetrics()} to update automatically on every {@code
+ * calculate()} call, or call {@code update()} directly.
+ */
+public class ControlMetrics implements Logged {
+    private final double settlingTolerance;
+
+    private boolean started = false;
+    private double setpoint = 0;
+    private double initialError = 0;
+
+    private double elapsedSeconds = 0;
+
+    private double integralAbsoluteError = 0;
+    private double integralSquaredError = 0;
+    private double integralTimeAbsoluteError = 0;
+
+    private double overshoot = 0;
+
+    private double riseStartSeconds = Double.NaN;
+    private double riseEndSeconds = Double.NaN;
+
+    private boolean settled = false;
+    private double settledSinceSeconds = 0;
+
+    /**
+     * Constructs a ControlMetrics.
+     *
+     * @param settlingTolerance The band around the setpoint to consider settled in, as a proportion
+     *     of the step size. Must not be negative.
+     * @throws IllegalArgumentException If the settling tolerance is negative.
+     */
+    public ControlMetrics(double settlingTolerance) {
+        if (settlingTolerance < 0) {
+            throw new IllegalArgumentException("Settling tolerance must not be negative!");
+        }
+
+        this.settlingTolerance = settlingTolerance;
+    }
+
+    /** Constructs a ControlMetrics which considers the response settled within 2% of the step. */
+    public ControlMetrics() {
+        this(0.02);
+    }
+
+    /**
+     * Updates the metrics with a new sample. If the setpoint has changed since the last sample,
+     * the metrics are reset first.
+     *
+     * @param setpoint The controller's setpoint.
+     * @param error The controller's error (setpoint minus measurement, wrapped if angular).
+     * @param dt The time, in seconds, since the last sample.
+     */
+    public void update(double setpoint, double error, double dt) {
+        if (!started || setpoint != this.setpoint) {
+            reset();
+
+            started = true;
+            this.setpoint = setpoint;
+            initialError = error;
+        } else {
+            elapsedSeconds += dt;
+        }
+
+        double absoluteError = Math.abs(error);
+
+        integralAbsoluteError += absoluteError * dt;
+        integralSquaredError += error * error * dt;
+        integralTimeAbsoluteError += elapsedSeconds * absoluteError * dt;
+
+        double step = Math.abs(initialError);
+
+        // how far past the setpoint the measurement has gone, in the direction of the step
+        double past = (initialError >= 0) ? -error : error;
+        if (past > overshoot) overshoot = past;
+
+        if (step > 0) {
+            double progress = 1 - (error / initialError);
+
+            if (progress >= 0.1 && Double.isNaN(riseStartSeconds)) {
+                riseStartSeconds = elapsedSeconds;
+            }
+            if (progress >= 0.9 && Double.isNaN(riseEndSeconds)) {
+                riseEndSeconds = elapsedSeconds;
+            }
+        }
+
+        if (absoluteError <= settlingTolerance * step) {
+            if (!settled) settledSinceSeconds = elapsedSeconds;
+            settled = true;
+        } else {
+            settled = false;
+        }
+    }
+
+    /** Clears all metrics. The next sample is treated as the start of a new step. */
+    public void reset() {
+        started = false;
+        elapsedSeconds = 0;
+
+        integralAbsoluteError = 0;
+        integralSquaredError = 0;
+        integralTimeAbsoluteError = 0;
+
+        overshoot = 0;
+
+        riseStartSeconds = Double.NaN;
+        riseEndSeconds = Double.NaN;
+
+        settled = false;
+        settledSinceSeconds = 0;
+    }
+
+    /**
+     * Returns the time since the last setpoint change.
+     *
+     * @return The elapsed time, in seconds.
+     */
+    @Log
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /**
+     * Returns the integral of absolute error with respect to time since the last setpoint change.
+     *
+     * @return The IAE.
+     */
+    @Log
+    public double getIntegralAbsoluteError() {
+        return integralAbsoluteError;
+    }
+
+    /**
+     * Returns the integral of squared error with respect to time since the last setpoint change.
+     *
+     * @return The ISE.
+     */
+    @Log
+    public double getIntegralSquaredError() {
+        return integralSquaredError;
+    }
+
+    /**
+     * Returns the integral of time-weighted absolute error since the last setpoint change, which
+     * penalizes error that persists long after the change.
+     *
+     * @return The ITAE.
+     */
+    @Log
+    public double getIntegralTimeAbsoluteError() {
+        return integralTimeAbsoluteError;
+    }
+
+    /**
+     * Returns the furthest the measurement has gone past the setpoint.
+     *
+     * @return The peak overshoot, in the units of the measurement. 0 if it hasn't overshot.
+     */
+    @Log
+    public double getOvershoot() {
+        return overshoot;
+    }
+
+    /**
+     * Returns the furthest the measurement has gone past the setpoint, relative to the step size.
+     *
+     * @return The peak overshoot, as a percentage of the step. 0 if the step was 0.
+     */
+    @Log
+    public double getPercentOvershoot() {
+        double step = Math.abs(initialError);
+        if (step == 0) return 0;
+
+        return overshoot / step * 100;
+    }
+
+    /**
+     * Returns the time taken to go from 10% to 90% of the way to the setpoint.
+     *
+     * @return The rise time, in seconds, or NaN if the measurement hasn't reached 90% yet.
+     */
+    @Log
+    public double getRiseTimeSeconds() {
+        return riseEndSeconds - riseStartSeconds;
+    }
+
+    /**
+     * Returns the time from the setpoint change until the error entered the settling band for
+     * good.
+     *
+     * @return The settling time, in seconds, or NaN if the error is currently outside the band.
+     */
+    @Log
+    public double getSettlingTimeSeconds() {
+        return settled ? settledSinceSeconds : Double.NaN;
+    }
+
+    /**
+     * Returns whether the error is currently within the settling band.
+     *
+     * @return Whether the response has settled.
+     */
+    @Log
+    public boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * Returns the band around the setpoint considered settled.
+     *
+     * @return The settling tolerance, as a proportion of the step size.
+     */
+    public double getSettlingTolerance() {
+        return settlingTolerance;
+    }
+}
@@ -0,0 +1,341 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import monologue.Annotations.Log;
+
+/**
+ * PID controller with a fused feedforward model of the mechanism, so that one {@code calculate()}
+ * call produces the complete output.
+ *
+ * <p>The feedforward is {@code kS * sign(v) + kV * v + kA * a + gravity}, where {@code v} and
+ * {@code a} are the velocity and acceleration setpoints, and gravity depends on the {@link Model}:
+ * nothing for a simple motor, {@code kG} for an elevator, and {@code kG * cos(position setpoint)}
+ * for an arm. The feedforward is added to the P, I, and D contributions before the total control
+ * effort is clamped, and the contribution limits of the PID terms work as usual.
+ *
+ * <p>For a position controller, set the velocity and acceleration of the motion along with the
+ * setpoint (such as from a motion profile). For a velocity controller, such as for a flywheel, the
+ * setpoint is itself a velocity, so pass it as the velocity setpoint too.
+ */
+public class FeedforwardPID extends PID {
+
+    /** Mechanism models, which differ in how gravity acts on them. */
+    public enum Model {
+        /** A mechanism unaffected by gravity, such as a flywheel or drivetrain. */
+        SIMPLE_MOTOR,
+
+        /** A mechanism with constant gravity, such as an elevator. */
+        ELEVATOR,
+
+        /**
+         * A rotating mechanism, such as an arm, where gravity scales with the cosine of the angle.
+         * Positions are in radians, with 0 being horizontal.
+         */
+        ARM
+    }
+
+    /** Data class for holding the gains of a feedforward model. */
+    public static class FeedforwardConstants {
+        private final double kS;
+        private final double kV;
+        private final double kA;
+        private final double kG;
+
+        /**
+         * Constructs a FeedforwardConstants out of provided gains.
+         *
+         * @param kS The static gain, to overcome friction.
+         * @param kV The velocity gain.
+         * @param kA The acceleration gain.
+         * @param kG The gravity gain. Unused by the simple motor model.
+         */
+        public FeedforwardConstants(double kS, double kV, double kA, double kG) {
+            this.kS = kS;
+            this.kV = kV;
+            this.kA = kA;
+            this.kG = kG;
+        }
+
+        /**
+         * Returns the static gain.
+         *
+         * @return The kS of the constants.
+         */
+        public double getkS() {
+            return kS;
+        }
+
+        /**
+         * Returns the velocity gain.
+         *
+         * @return The kV of the constants.
+         */
+        public double getkV() {
+            return kV;
+        }
+
+        /**
+         * Returns the acceleration gain.
+         *
+         * @return The kA of the constants.
+         */
+        public double getkA() {
+            return kA;
+        }
+
+        /**
+         * Returns the gravity gain.
+         *
+         * @return The kG of the constants.
+         */
+        public double getkG() {
+            return kG;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            double epsilon = 0.0001;
+            if (other instanceof FeedforwardConstants) {
+                FeedforwardConstants rhs = (FeedforwardConstants) other;
+                return (Math.abs(kS - rhs.kS) < epsilon
+                        && Math.abs(kV - rhs.kV) < epsilon
+                        && Math.abs(kA - rhs.kA) < epsilon
+                        && Math.abs(kG - rhs.kG) < epsilon);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kS, kV, kA, kG);
+        }
+
+        @Override
+        public String toString() {
+            return ("FeedforwardConstants: " + kS + ", " + kV + ", " + kA + ", " + kG);
+        }
+    }
+
+    private final Model model;
+
+    // published whole, like the PID gains, so it can be replaced from another thread
+    private volatile FeedforwardConstants feedforward;
+
+    private double velocitySetpoint = 0;
+    private double accelerationSetpoint = 0;
+
+    private double lastFeedforwardContribution = 0;
+
+    /**
+     * Constructs a FeedforwardPID with a finite integration window.
+     *
+     * @param constants The PIDConstants containing the feedback gains.
+     * @param feedforward The FeedforwardConstants containing the feedforward gains.
+     * @param model The model of the mechanism.
+     * @param integrationWindow The number of past values to consider for integral accumulation. If
+     *     less than or equal to 0, will be an infinite window.
+     * @param initialSetpoint The initial setpoint (or target) of the controller.
+     * @param angular Whether the controller is controlling an angular quantity that "wraps".
+     *     Measurements and setpoints are expected to be in radians if this is true.
+     */
+    public FeedforwardPID(
+            PIDConstants constants,
+            FeedforwardConstants feedforward,
+            Model model,
+            int integrationWindow,
+            double initialSetpoint,
+            boolean angular) {
+        super(constants, integrationWindow, initialSetpoint, angular);
+
+        this.model = model;
+        this.feedforward = Objects.requireNonNull(feedforward);
+    }
+
+    /**
+     * Constructs a non-angular FeedforwardPID with an infinite integration window.
+     *
+     * @param constants The PIDConstants containing the feedback gains.
+     * @param feedforward The FeedforwardConstants containing the feedforward gains.
+     * @param model The model of the mechanism.
+     * @param initialSetpoint The initial setpoint (or target) of the controller.
+     */
+    public FeedforwardPID(
+            PIDConstants constants,
+            FeedforwardConstants feedforward,
+            Model model,
+            double initialSetpoint) {
+        this(constants, feedforward, model, 0, initialSetpoint, false);
+    }
+
+    /**
+     * Sets the feedforward gains of the controller. Safe to call from any thread.
+     *
+     * @param constants The FeedforwardConstants containing the feedforward gains.
+     */
+    public void setFeedforwardConstants(FeedforwardConstants constants) {
+        feedforward = Objects.requireNonNull(constants);
+    }
+
+    /**
+     * Returns the current feedforward gains of the controller. Safe to call from any thread.
+     *
+     * @return A FeedforwardConstants containing the feedforward gains.
+     */
+    public FeedforwardConstants getFeedforwardConstants() {
+        return feedforward;
+    }
+
+    /**
+     * Returns the model of the mechanism.
+     *
+     * @return The model used for gravity compensation.
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Sets the setpoint (target) of the controller, with zero velocity and acceleration setpoints.
+     *
+     * @param value The new target of the controller.
+     */
+    @Override
+    public void setSetpoint(double value) {
+        setSetpoint(value, 0, 0);
+    }
+
+    /**
+     * Sets the setpoint (target) of the controller, along with the velocity and acceleration used
+     * by the feedforward.
+     *
+     * @param value The new target of the controller.
+     * @param velocity The velocity setpoint.
+     * @param acceleration The acceleration setpoint.
+     */
+    public void setSetpoint(double value, double velocity, double acceleration) {
+        super.setSetpoint(value);
+
+        velocitySetpoint = velocity;
+        accelerationSetpoint = acceleration;
+    }
+
+    /**
+     * Returns the velocity setpoint used by the feedforward.
+     *
+     * @return The current velocity setpoint.
+     */
+    @Log
+    public double getVelocitySetpoint() {
+        return velocitySetpoint;
+    }
+
+    /**
+     * Returns the acceleration setpoint used by the feedforward.
+     *
+     * @return The current acceleration setpoint.
+     */
+    @Log
+    public double getAccelerationSetpoint() {
+        return accelerationSetpoint;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected double calculateFeedforward(double measurement, double dt) {
+        FeedforwardConstants gains = feedforward;
+
+        double gravity;
+
+        switch (model) {
+            case ELEVATOR:
+                gravity = gains.getkG();
+                break;
+            case ARM:
+                gravity = gains.getkG() * Math.cos(getSetpoint());
+                break;
+            default:
+                gravity = 0;
+        }
+
+        lastFeedforwardContribution =
+                (gains.getkS() * Math.signum(velocitySetpoint))
+                        + (gains.getkV() * velocitySetpoint)
+                        + (gains.getkA() * accelerationSetpoint)
+                        + gravity;
+
+        return lastFeedforwardContribution;
+    }
+
+    /**
+     * Returns the last result of just the feedforward.
+     *
+     * @return The last feedforward result. Equal to 0 if {@code calculate()} has not been called.
+     */
+    @Log
+    public double getFeedforwardContribution() {
+        return lastFeedforwardContribution;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return super.getStateSize() + (7 * Double.BYTES);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        super.saveState(buffer);
+
+        FeedforwardConstants gains = feedforward;
+        buffer.putDouble(gains.getkS());
+        buffer.putDouble(gains.getkV());
+        buffer.putDouble(gains.getkA());
+        buffer.putDouble(gains.getkG());
+        buffer.putDouble(velocitySetpoint);
+        buffer.putDouble(accelerationSetpoint);
+        buffer.putDouble(lastFeedforwardContribution);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        super.restoreState(buffer);
+
+        double kS = buffer.getDouble();
+        double kV = buffer.getDouble();
+        double kA = buffer.getDouble();
+        double kG = buffer.getDouble();
+
+        // like the PID gains, only allocate a new snapshot if the restored gains differ
+        FeedforwardConstants gains = feedforward;
+        if (kS != gains.getkS()
+                || kV != gains.getkV()
+                || kA != gains.getkA()
+                || kG != gains.getkG()) {
+            feedforward = new FeedforwardConstants(kS, kV, kA, kG);
+        }
+
+        velocitySetpoint = buffer.getDouble();
+        accelerationSetpoint = buffer.getDouble();
+        lastFeedforwardContribution = buffer.getDouble();
+    }
+}
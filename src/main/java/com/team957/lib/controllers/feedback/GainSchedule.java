@@ -0,0 +1,193 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import java.util.Arrays;
+
+/**
+ * Table of PID gains at breakpoints of a scheduling variable (such as arm angle, elevator height,
+ * or carried load), linearly interpolated between breakpoints.
+ *
+ * <p>Outside of the first and last breakpoints, the gains of the nearest breakpoint are used.
+ *
+ * <p>If the breakpoints are evenly spaced, lookups take constant time; otherwise they take time
+ * logarithmic in the number of breakpoints. Lookups never allocate, except through {@code
+ * getConstants()}.
+ */
+public class GainSchedule {
+    private final double[] breakpoints;
+    private final double[] kP;
+    private final double[] kI;
+    private final double[] kD;
+
+    private final boolean uniform;
+    private final double first;
+    private final double inverseSpacing;
+
+    /**
+     * Constructs a GainSchedule. The arrays are copied, so changing them afterwards has no effect.
+     *
+     * @param breakpoints The values of the scheduling variable at which gains are given. Must be
+     *     strictly increasing, with at least 2 values.
+     * @param kP The proportional gain at each breakpoint.
+     * @param kI The integral gain at each breakpoint.
+     * @param kD The derivative gain at each breakpoint.
+     * @throws IllegalArgumentException If there are fewer than 2 breakpoints, the breakpoints are
+     *     not strictly increasing, or the arrays are of different lengths.
+     */
+    public GainSchedule(double[] breakpoints, double[] kP, double[] kI, double[] kD) {
+        if (breakpoints.length < 2) {
+            throw new IllegalArgumentException("Must have at least 2 breakpoints!");
+        }
+
+        if (kP.length != breakpoints.length
+                || kI.length != breakpoints.length
+                || kD.length != breakpoints.length) {
+            throw new IllegalArgumentException("Gain arrays must match breakpoints in length!");
+        }
+
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (!(breakpoints[i] > breakpoints[i - 1])) {
+                throw new IllegalArgumentException("Breakpoints must be strictly increasing!");
+            }
+        }
+
+        this.breakpoints = breakpoints.clone();
+        this.kP = kP.clone();
+        this.kI = kI.clone();
+        this.kD = kD.clone();
+
+        int last = breakpoints.length - 1;
+        double spacing = (breakpoints[last] - breakpoints[0]) / last;
+
+        boolean evenlySpaced = true;
+        for (int i = 1; i <= last; i++) {
+            double gap = breakpoints[i] - breakpoints[i - 1];
+            if (Math.abs(gap - spacing) > 1E-9 * spacing) {
+                evenlySpaced = false;
+                break;
+            }
+        }
+
+        uniform = evenlySpaced;
+        first = breakpoints[0];
+        inverseSpacing = 1 / spacing;
+    }
+
+    /**
+     * Constructs a GainSchedule with evenly spaced breakpoints.
+     *
+     * @param first The value of the scheduling variable at the first breakpoint.
+     * @param spacing The distance between breakpoints. Must be greater than 0.
+     * @param kP The proportional gain at each breakpoint.
+     * @param kI The integral gain at each breakpoint.
+     * @param kD The derivative gain at each breakpoint.
+     * @throws IllegalArgumentException If the spacing is not greater than 0, there are fewer than
+     *     2 breakpoints, or the arrays are of different lengths.
+     */
+    public GainSchedule(double first, double spacing, double[] kP, double[] kI, double[] kD) {
+        this(evenBreakpoints(first, spacing, kP.length), kP, kI, kD);
+    }
+
+    private static double[] evenBreakpoints(double first, double spacing, int count) {
+        if (!(spacing > 0)) throw new IllegalArgumentException("Spacing must be greater than 0!");
+
+        double[] breakpoints = new double[count];
+        for (int i = 0; i < count; i++) breakpoints[i] = first + (i * spacing);
+
+        return breakpoints;
+    }
+
+    // index of the breakpoint starting the segment containing x, between 0 and length - 2
+    private int segment(double x) {
+        int last = breakpoints.length - 2;
+
+        if (x <= breakpoints[0]) return 0;
+        if (x >= breakpoints[last + 1]) return last;
+
+        if (uniform) {
+            int index = Math.min((int) ((x - first) * inverseSpacing), last);
+
+            // the estimate can be off by one from rounding right at a breakpoint
+            if (index > 0 && x < breakpoints[index]) index--;
+            else if (index < last && x >= breakpoints[index + 1]) index++;
+
+            return index;
+        }
+
+        int found = Arrays.binarySearch(breakpoints, x);
+
+        // if not exact, binarySearch returns -(index of the first larger breakpoint) - 1
+        int index = (found >= 0) ? found : -found - 2;
+
+        return Math.min(index, last);
+    }
+
+    /**
+     * Looks up the gains at a value of the scheduling variable, without allocating.
+     *
+     * @param x The value of the scheduling variable.
+     * @param destination Array to write the gains into, in the order kP, kI, kD. Must be at least 3
+     *     long.
+     */
+    public void lookup(double x, double[] destination) {
+        int i = segment(x);
+
+        double start = breakpoints[i];
+        double end = breakpoints[i + 1];
+
+        double t = (x - start) / (end - start);
+        if (t < 0) t = 0;
+        else if (t > 1) t = 1;
+
+        destination[0] = kP[i] + (t * (kP[i + 1] - kP[i]));
+        destination[1] = kI[i] + (t * (kI[i + 1] - kI[i]));
+        destination[2] = kD[i] + (t * (kD[i + 1] - kD[i]));
+    }
+
+    /**
+     * Returns the gains at a value of the scheduling variable.
+     *
+     * @param x The value of the scheduling variable.
+     * @return A new PIDConstants with the interpolated gains.
+     */
+    public PIDConstants getConstants(double x) {
+        double[] gains = new double[3];
+        lookup(x, gains);
+
+        return new PIDConstants(gains[0], gains[1], gains[2]);
+    }
+
+    /**
+     * Returns whether the breakpoints are evenly spaced, so lookups take constant time.
+     *
+     * @return Whether the breakpoints are evenly spaced.
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * Returns the number of breakpoints in the table.
+     *
+     * @return The number of breakpoints.
+     */
+    public int size() {
+        return breakpoints.length;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import com.team957.lib.util.DeltaTimeUtil;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * PID controller whose gains change with a scheduling variable, such as the angle of an arm or the
+ * height of an elevator, following a {@link GainSchedule}.
+ *
+ * <p>Gains are looked up at the start of every {@code calculate()} call. When the
+ * integral gain changes, the integral accumulation is rescaled so the I contribution stays the same
+ * (bumpless transfer), instead of jumping with the gain. If the integral gain becomes 0, the
+ * accumulation is kept unchanged; if it becomes nonzero from 0, the accumulation is reset, since
+ * the I contribution was previously 0.
+ *
+ * <p>The wrapped controller is used for everything except gains: setpoints, limits, and tolerances
+ * should be set on it directly. The scheduled gains are passed straight into its calculation, so
+ * its own gains are ignored and nothing is allocated per loop, even when the gains change every
+ * loop.
+ */
+public class GainScheduledPID implements Logged {
+    private final PID controller;
+    private final GainSchedule schedule;
+
+    private final double[] gains = new double[3];
+
+    private double schedulingVariable = 0;
+
+    private final DeltaTimeUtil dtUtil = new DeltaTimeUtil();
+
+    /**
+     * Constructs a GainScheduledPID.
+     *
+     * @param controller The controller to schedule the gains of.
+     * @param schedule The table of gains to follow.
+     */
+    public GainScheduledPID(PID controller, GainSchedule schedule) {
+        this.controller = controller;
+        this.schedule = schedule;
+
+        // the accumulation so far was built up under the controller's own kI
+        PIDConstants initial = controller.getConstants();
+        gains[0] = initial.getkP();
+        gains[1] = initial.getkI();
+        gains[2] = initial.getkD();
+    }
+
+    /**
+     * Constructs a non-angular GainScheduledPID around a new controller with an infinite
+     * integration window.
+     *
+     * @param schedule The table of gains to follow.
+     * @param initialSetpoint The initial setpoint (or target) of the controller.
+     */
+    public GainScheduledPID(GainSchedule schedule, double initialSetpoint) {
+        this(new PID(schedule.getConstants(0), initialSetpoint), schedule);
+    }
+
+    /**
+     * Looks up the gains for a value of the scheduling variable, with bumpless transfer of the
+     * controller's integral term. The gains are used by following {@code calculate()} calls.
+     *
+     * @param schedulingVariable The current value of the scheduling variable.
+     */
+    public void schedule(double schedulingVariable) {
+        this.schedulingVariable = schedulingVariable;
+
+        double oldkI = gains[1];
+
+        schedule.lookup(schedulingVariable, gains);
+
+        double newkI = gains[1];
+
+        if (newkI != oldkI) {
+            if (oldkI == 0) controller.resetIntegralAccumulation();
+            else if (newkI != 0) controller.scaleIntegralAccumulation(oldkI / newkI);
+        }
+    }
+
+    /**
+     * Returns an output from the controller with a given dt, after scheduling the gains.
+     *
+     * @param measurement The value of the measured feedback.
+     * @param schedulingVariable The current value of the scheduling variable.
+     * @param dt The time, in seconds, since the last update of this controller.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement, double schedulingVariable, double dt) {
+        schedule(schedulingVariable);
+
+        return controller.calculate(measurement, dt, gains[0], gains[1], gains[2]);
+    }
+
+    /**
+     * Returns an output from the controller, after scheduling the gains.
+     *
+     * <p>Uses the time elapsed since last calling this method as a parameter. If this method is
+     * being called for the first time, uses the time since construction.
+     *
+     * @param measurement The value of the measured feedback.
+     * @param schedulingVariable The current value of the scheduling variable.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement, double schedulingVariable) {
+        return calculate(measurement, schedulingVariable, dtUtil.getTimeSecondsSinceLastCall());
+    }
+
+    /**
+     * Returns the value of the scheduling variable the gains were last scheduled for.
+     *
+     * @return The last scheduling variable.
+     */
+    @Log
+    public double getSchedulingVariable() {
+        return schedulingVariable;
+    }
+
+    /**
+     * Returns the scheduled proportional gain.
+     *
+     * @return The kP for the last scheduling variable.
+     */
+    @Log
+    public double getkP() {
+        return gains[0];
+    }
+
+    /**
+     * Returns the scheduled integral gain.
+     *
+     * @return The kI for the last scheduling variable.
+     */
+    @Log
+    public double getkI() {
+        return gains[1];
+    }
+
+    /**
+     * Returns the scheduled derivative gain.
+     *
+     * @return The kD for the last scheduling variable.
+     */
+    @Log
+    public double getkD() {
+        return gains[2];
+    }
+
+    /**
+     * Returns the wrapped controller.
+     *
+     * @return The controller whose gains are scheduled.
+     */
+    public PID getController() {
+        return controller;
+    }
+
+    /**
+     * Returns the table of gains being followed.
+     *
+     * @return The gain schedule.
+     */
+    public GainSchedule getSchedule() {
+        return schedule;
+    }
+}
@@ -0,0 +1,658 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import edu.wpi.first.math.MathUtil;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Discrete linear-quadratic regulator: optimal full-state feedback {@code u = -K(x - r)} for a
+ * linear model {@code dx/dt = Ax + Bu}, such as a drivetrain's heading and turn rate or an arm's
+ * angle and velocity.
+ *
+ * <p>The gain matrix K minimizes the sum over time of {@code e'Qe + u'Ru}, where e is the state
+ * error, so Q sets how much each state's error costs and R how much each input costs. The model is
+ * discretized with a zero-order hold at the controller's period, and the discrete algebraic
+ * Riccati equation is solved by structured doubling.
+ *
+ * <p>Since solving takes much longer than a control loop should, the gains can be cached to disk,
+ * keyed by the model, weights, and period: at startup they are loaded if a cache file for exactly
+ * those inputs exists, and otherwise computed and saved. Calculating an output doesn't allocate,
+ * and is unrolled for models of up to four states.
+ */
+public class LQR implements Logged {
+    private static final int CACHE_VERSION = 1;
+    private static final int MAX_DOUBLINGS = 64;
+    private static final double CONVERGENCE_TOLERANCE = 1E-12;
+
+    private final int states;
+    private final int inputs;
+
+    private final double[] gain; // row-major, inputs x states
+
+    private final boolean[] angular;
+    private final double[] error;
+    private final double[] output;
+
+    private final boolean loadedFromCache;
+
+    /**
+     * Constructs an LQR with a precomputed gain matrix.
+     *
+     * @param gain The gain matrix K, with a row per input and a column per state.
+     * @throws IllegalArgumentException If the matrix is empty or not rectangular.
+     */
+    public LQR(double[][] gain) {
+        this(gain, false);
+    }
+
+    /**
+     * Constructs an LQR, computing its gains.
+     *
+     * @param a The continuous state matrix A, n by n.
+     * @param b The continuous input matrix B, n by m.
+     * @param q The state error cost matrix Q, n by n. Must be symmetric and positive semidefinite.
+     * @param r The input cost matrix R, m by m. Must be symmetric and positive definite.
+     * @param dtSeconds The period the controller is called at, in seconds. Must be greater than 0.
+     * @throws IllegalArgumentException If the matrices have the wrong dimensions, R is not
+     *     positive definite, or the period is not greater than 0.
+     * @throws IllegalStateException If no stabilizing gains exist for the model and weights.
+     */
+    public LQR(double[][] a, double[][] b, double[][] q, double[][] r, double dtSeconds) {
+        this(computeGain(a, b, q, r, dtSeconds), false);
+    }
+
+    /**
+     * Constructs an LQR, loading its gains from a cache directory if they were computed before for
+     * exactly the same model, weights, and period, and otherwise computing them and saving them to
+     * the directory. A cache file that can't be read is ignored, and a failure to save the gains
+     * leaves them uncached, but still used.
+     *
+     * @param a The continuous state matrix A, n by n.
+     * @param b The continuous input matrix B, n by m.
+     * @param q The state error cost matrix Q, n by n. Must be symmetric and positive semidefinite.
+     * @param r The input cost matrix R, m by m. Must be symmetric and positive definite.
+     * @param dtSeconds The period the controller is called at, in seconds. Must be greater than 0.
+     * @param cacheDirectory The directory to keep cached gains in. Created if it doesn't exist.
+     * @throws IllegalArgumentException If the matrices have the wrong dimensions, R is not
+     *     positive definite, or the period is not greater than 0.
+     * @throws IllegalStateException If no stabilizing gains exist for the model and weights.
+     */
+    public LQR(
+            double[][] a,
+            double[][] b,
+            double[][] q,
+            double[][] r,
+            double dtSeconds,
+            Path cacheDirectory) {
+        this(loadOrComputeGain(a, b, q, r, dtSeconds, cacheDirectory));
+    }
+
+    private LQR(CachedGain cached) {
+        this(cached.gain, cached.loaded);
+    }
+
+    private LQR(double[][] gain, boolean loadedFromCache) {
+        if (gain.length == 0 || gain[0].length == 0) {
+            throw new IllegalArgumentException("Gain matrix must not be empty!");
+        }
+
+        inputs = gain.length;
+        states = gain[0].length;
+
+        this.gain = new double[inputs * states];
+        for (int i = 0; i < inputs; i++) {
+            if (gain[i].length != states) {
+                throw new IllegalArgumentException("Gain matrix must be rectangular!");
+            }
+
+            System.arraycopy(gain[i], 0, this.gain, i * states, states);
+        }
+
+        angular = new boolean[states];
+        error = new double[states];
+        output = new double[inputs];
+
+        this.loadedFromCache = loadedFromCache;
+    }
+
+    /**
+     * Sets whether a state is an angle that "wraps", so that its error is taken the short way
+     * around the circle. Angular states are expected to be in radians.
+     *
+     * @param state The index of the state.
+     * @param angular Whether the state is angular.
+     */
+    public void setAngular(int state, boolean angular) {
+        this.angular[state] = angular;
+    }
+
+    /**
+     * Calculates the controller's inputs to the system. Doesn't allocate.
+     *
+     * @param state The current state x. Must have a value per state.
+     * @param reference The desired state r. Must have a value per state.
+     * @param result An array to write the inputs u into. Must have a value per input.
+     */
+    public void calculate(double[] state, double[] reference, double[] result) {
+        for (int j = 0; j < states; j++) {
+            double e = state[j] - reference[j];
+            error[j] = angular[j] ? MathUtil.angleModulus(e) : e;
+        }
+
+        switch (states) {
+            case 1:
+                {
+                    double e0 = error[0];
+                    for (int i = 0; i < inputs; i++) output[i] = -(gain[i] * e0);
+                    break;
+                }
+            case 2:
+                {
+                    double e0 = error[0];
+                    double e1 = error[1];
+                    for (int i = 0, row = 0; i < inputs; i++, row += 2) {
+                        output[i] = -((gain[row] * e0) + (gain[row + 1] * e1));
+                    }
+                    break;
+                }
+            case 3:
+                {
+                    double e0 = error[0];
+                    double e1 = error[1];
+                    double e2 = error[2];
+                    for (int i = 0, row = 0; i < inputs; i++, row += 3) {
+                        output[i] =
+                                -((gain[row] * e0) + (gain[row + 1] * e1) + (gain[row + 2] * e2));
+                    }
+                    break;
+                }
+            case 4:
+                {
+                    double e0 = error[0];
+                    double e1 = error[1];
+                    double e2 = error[2];
+                    double e3 = error[3];
+                    for (int i = 0, row = 0; i < inputs; i++, row += 4) {
+                        output[i] =
+                                -((gain[row] * e0)
+                                        + (gain[row + 1] * e1)
+                                        + (gain[row + 2] * e2)
+                                        + (gain[row + 3] * e3));
+                    }
+                    break;
+                }
+            default:
+                for (int i = 0, row = 0; i < inputs; i++, row += states) {
+                    double sum = 0;
+                    for (int j = 0; j < states; j++) sum += gain[row + j] * error[j];
+                    output[i] = -sum;
+                }
+        }
+
+        System.arraycopy(output, 0, result, 0, inputs);
+    }
+
+    /**
+     * Calculates the input to a system with two states (such as position and velocity) and one
+     * input, without arrays.
+     *
+     * @param state0 The current value of the first state.
+     * @param state1 The current value of the second state.
+     * @param reference0 The desired value of the first state.
+     * @param reference1 The desired value of the second state.
+     * @return The input u.
+     * @throws IllegalStateException If the controller isn't for two states and one input.
+     */
+    public double calculate(double state0, double state1, double reference0, double reference1) {
+        if (states != 2 || inputs != 1) {
+            throw new IllegalStateException("Controller must have 2 states and 1 input!");
+        }
+
+        double e0 = state0 - reference0;
+        double e1 = state1 - reference1;
+        if (angular[0]) e0 = MathUtil.angleModulus(e0);
+        if (angular[1]) e1 = MathUtil.angleModulus(e1);
+
+        output[0] = -((gain[0] * e0) + (gain[1] * e1));
+        return output[0];
+    }
+
+    /**
+     * Computes the gain matrix of an LQR, without caching.
+     *
+     * @param a The continuous state matrix A, n by n.
+     * @param b The continuous input matrix B, n by m.
+     * @param q The state error cost matrix Q, n by n. Must be symmetric and positive semidefinite.
+     * @param r The input cost matrix R, m by m. Must be symmetric and positive definite.
+     * @param dtSeconds The period the controller is called at, in seconds. Must be greater than 0.
+     * @return The gain matrix K, m by n.
+     * @throws IllegalArgumentException If the matrices have the wrong dimensions, R is not
+     *     positive definite, or the period is not greater than 0.
+     * @throws IllegalStateException If no stabilizing gains exist for the model and weights.
+     */
+    public static double[][] computeGain(
+            double[][] a, double[][] b, double[][] q, double[][] r, double dtSeconds) {
+        checkDimensions(a, b, q, r, dtSeconds);
+
+        int n = a.length;
+        int m = b[0].length;
+
+        // zero-order hold: exp([A B; 0 0] dt) = [Ad Bd; 0 I]
+        double[][] augmented = new double[n + m][n + m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) augmented[i][j] = a[i][j] * dtSeconds;
+            for (int j = 0; j < m; j++) augmented[i][n + j] = b[i][j] * dtSeconds;
+        }
+
+        double[][] exponential = exp(augmented);
+
+        double[][] ad = new double[n][n];
+        double[][] bd = new double[n][m];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(exponential[i], 0, ad[i], 0, n);
+            System.arraycopy(exponential[i], n, bd[i], 0, m);
+        }
+
+        double[][] p = solveRiccati(ad, bd, q, r);
+
+        // K = (R + Bd'PBd)^-1 Bd'PAd
+        double[][] btp = multiply(transpose(bd), p);
+        return solve(add(r, multiply(btp, bd)), multiply(btp, ad));
+    }
+
+    // structured doubling: converges quadratically to the stabilizing solution P of
+    // P = A'PA - A'PB(R + B'PB)^-1 B'PA + Q
+    private static double[][] solveRiccati(
+            double[][] a, double[][] b, double[][] q, double[][] r) {
+        int n = a.length;
+
+        double[][] g = multiply(b, solve(r, transpose(b)));
+        double[][] h = copy(q);
+
+        for (int k = 0; k < MAX_DOUBLINGS; k++) {
+            double[][] w = add(identity(n), multiply(g, h));
+
+            double[][] wInverseA = solve(w, a);
+            double[][] nextA = multiply(a, wInverseA);
+            double[][] nextG = add(g, multiply(multiply(a, solve(w, g)), transpose(a)));
+            double[][] nextH = add(h, multiply(multiply(transpose(a), h), wInverseA));
+
+            double change = 0;
+            double magnitude = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    change = Math.max(change, Math.abs(nextH[i][j] - h[i][j]));
+                    magnitude = Math.max(magnitude, Math.abs(nextH[i][j]));
+                }
+            }
+
+            a = nextA;
+            g = nextG;
+            h = nextH;
+
+            if (!Double.isFinite(magnitude)) break;
+            if (change <= CONVERGENCE_TOLERANCE * Math.max(1, magnitude)) return h;
+        }
+
+        throw new IllegalStateException("Riccati equation did not converge, check the model!");
+    }
+
+    private static CachedGain loadOrComputeGain(
+            double[][] a,
+            double[][] b,
+            double[][] q,
+            double[][] r,
+            double dtSeconds,
+            Path cacheDirectory) {
+        byte[] key = cacheKey(a, b, q, r, dtSeconds);
+        Path file = cacheFile(cacheDirectory, key);
+
+        int n = a.length;
+        int m = b[0].length;
+
+        try {
+            byte[] contents = Files.readAllBytes(file);
+
+            // the inputs are stored in full, so a hash collision can't load the wrong gains
+            if (contents.length == key.length + (Double.BYTES * n * m)
+                    && Arrays.equals(contents, 0, key.length, key, 0, key.length)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents, key.length, Double.BYTES * n * m);
+
+                double[][] gain = new double[m][n];
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) gain[i][j] = buffer.getDouble();
+                }
+
+                return new CachedGain(gain, true);
+            }
+        } catch (IOException e) {
+            // not cached yet, or unreadable, so compute it
+        }
+
+        double[][] gain = computeGain(a, b, q, r, dtSeconds);
+
+        ByteBuffer buffer = ByteBuffer.allocate(key.length + (Double.BYTES * n * m));
+        buffer.put(key);
+        for (double[] row : gain) for (double value : row) buffer.putDouble(value);
+
+        try {
+            Files.createDirectories(cacheDirectory);
+
+            // write then rename, so a partly written file is never loaded
+            Path temporary = Files.createTempFile(cacheDirectory, "lqr", ".tmp");
+            Files.write(temporary, buffer.array());
+            Files.move(
+                    temporary,
+                    file,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the gains are still valid, just not cached
+        }
+
+        return new CachedGain(gain, false);
+    }
+
+    private static final class CachedGain {
+        private final double[][] gain;
+        private final boolean loaded;
+
+        private CachedGain(double[][] gain, boolean loaded) {
+            this.gain = gain;
+            this.loaded = loaded;
+        }
+    }
+
+    private static byte[] cacheKey(
+            double[][] a, double[][] b, double[][] q, double[][] r, double dtSeconds) {
+        checkDimensions(a, b, q, r, dtSeconds);
+
+        int n = a.length;
+        int m = b[0].length;
+
+        ByteBuffer buffer =
+                ByteBuffer.allocate(
+                        (3 * Integer.BYTES)
+                                + (Double.BYTES * (1 + (2 * n * n) + (n * m) + (m * m))));
+        buffer.putInt(CACHE_VERSION).putInt(n).putInt(m).putDouble(dtSeconds);
+
+        for (double[][] matrix : new double[][][] {a, b, q, r}) {
+            for (double[] row : matrix) for (double value : row) buffer.putDouble(value);
+        }
+
+        return buffer.array();
+    }
+
+    private static Path cacheFile(Path directory, byte[] key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key);
+
+            StringBuilder name = new StringBuilder("lqr-");
+            for (int i = 0; i < 16; i++) name.append(String.format("%02x", hash[i]));
+
+            return directory.resolve(name.append(".bin").toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available!", e);
+        }
+    }
+
+    private static void checkDimensions(
+            double[][] a, double[][] b, double[][] q, double[][] r, double dtSeconds) {
+        if (!(dtSeconds > 0)) throw new IllegalArgumentException("dt must be greater than 0!");
+
+        int n = a.length;
+        if (n == 0 || b.length != n || b[0].length == 0) {
+            throw new IllegalArgumentException("A and B must have a row per state!");
+        }
+
+        int m = b[0].length;
+        if (!isShape(a, n, n) || !isShape(b, n, m) || !isShape(q, n, n) || !isShape(r, m, m)) {
+            throw new IllegalArgumentException("Matrix dimensions don't match!");
+        }
+
+        if (!isPositiveDefinite(r)) {
+            throw new IllegalArgumentException("R must be positive definite!");
+        }
+    }
+
+    private static boolean isShape(double[][] matrix, int rows, int columns) {
+        if (matrix.length != rows) return false;
+
+        for (double[] row : matrix) {
+            if (row.length != columns) return false;
+        }
+
+        return true;
+    }
+
+    // attempts a Cholesky decomposition, which exists only for positive definite matrices
+    private static boolean isPositiveDefinite(double[][] matrix) {
+        int size = matrix.length;
+        double[][] lower = new double[size][size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (matrix[i][j] != matrix[j][i]) return false;
+
+                double sum = matrix[i][j];
+                for (int k = 0; k < j; k++) sum -= lower[i][k] * lower[j][k];
+
+                if (i == j) {
+                    if (!(sum > 0)) return false;
+                    lower[i][i] = Math.sqrt(sum);
+                } else {
+                    lower[i][j] = sum / lower[j][j];
+                }
+            }
+        }
+
+        return true;
+    }
+
+    // matrix exponential by scaling and squaring of a Taylor series
+    private static double[][] exp(double[][] matrix) {
+        int size = matrix.length;
+
+        double norm = 0;
+        for (double[] row : matrix) {
+            double sum = 0;
+            for (double value : row) sum += Math.abs(value);
+            norm = Math.max(norm, sum);
+        }
+
+        int squarings = (norm > 0.5) ? (int) Math.ceil(Math.log(norm / 0.5) / Math.log(2)) : 0;
+        double scale = Math.scalb(1.0, -squarings);
+
+        double[][] scaled = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) scaled[i][j] = matrix[i][j] * scale;
+        }
+
+        double[][] result = identity(size);
+        double[][] term = identity(size);
+
+        // the scaled norm is at most 0.5, so 20 terms are well past double precision
+        for (int k = 1; k <= 20; k++) {
+            term = multiply(term, scaled);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    term[i][j] /= k;
+                    result[i][j] += term[i][j];
+                }
+            }
+        }
+
+        for (int s = 0; s < squarings; s++) result = multiply(result, result);
+
+        return result;
+    }
+
+    // solves AX = B by Gaussian elimination with partial pivoting
+    private static double[][] solve(double[][] a, double[][] b) {
+        int size = a.length;
+        int columns = b[0].length;
+
+        double[][] lhs = copy(a);
+        double[][] rhs = copy(b);
+
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < size; row++) {
+                if (Math.abs(lhs[row][col]) > Math.abs(lhs[pivot][col])) pivot = row;
+            }
+
+            if (lhs[pivot][col] == 0) {
+                throw new IllegalStateException("Singular matrix in Riccati solution!");
+            }
+
+            double[] swap = lhs[col];
+            lhs[col] = lhs[pivot];
+            lhs[pivot] = swap;
+            swap = rhs[col];
+            rhs[col] = rhs[pivot];
+            rhs[pivot] = swap;
+
+            for (int row = col + 1; row < size; row++) {
+                double factor = lhs[row][col] / lhs[col][col];
+                if (factor == 0) continue;
+
+                for (int j = col; j < size; j++) lhs[row][j] -= factor * lhs[col][j];
+                for (int j = 0; j < columns; j++) rhs[row][j] -= factor * rhs[col][j];
+            }
+        }
+
+        double[][] x = new double[size][columns];
+        for (int row = size - 1; row >= 0; row--) {
+            for (int j = 0; j < columns; j++) {
+                double sum = rhs[row][j];
+                for (int k = row + 1; k < size; k++) sum -= lhs[row][k] * x[k][j];
+                x[row][j] = sum / lhs[row][row];
+            }
+        }
+
+        return x;
+    }
+
+    private static double[][] multiply(double[][] a, double[][] b) {
+        int rows = a.length;
+        int inner = b.length;
+        int columns = b[0].length;
+
+        double[][] product = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int k = 0; k < inner; k++) {
+                double value = a[i][k];
+                if (value == 0) continue;
+
+                for (int j = 0; j < columns; j++) product[i][j] += value * b[k][j];
+            }
+        }
+
+        return product;
+    }
+
+    private static double[][] add(double[][] a, double[][] b) {
+        double[][] sum = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) sum[i][j] = a[i][j] + b[i][j];
+        }
+
+        return sum;
+    }
+
+    private static double[][] transpose(double[][] matrix) {
+        double[][] transposed = new double[matrix[0].length][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[0].length; j++) transposed[j][i] = matrix[i][j];
+        }
+
+        return transposed;
+    }
+
+    private static double[][] identity(int size) {
+        double[][] identity = new double[size][size];
+        for (int i = 0; i < size; i++) identity[i][i] = 1;
+
+        return identity;
+    }
+
+    private static double[][] copy(double[][] matrix) {
+        double[][] copy = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) copy[i] = matrix[i].clone();
+
+        return copy;
+    }
+
+    /**
+     * Returns an element of the gain matrix.
+     *
+     * @param input The row, which is the index of the input.
+     * @param state The column, which is the index of the state.
+     * @return The gain from that state's error to that input.
+     */
+    public double getGain(int input, int state) {
+        return gain[(input * states) + state];
+    }
+
+    /**
+     * Returns the number of states the controller feeds back.
+     *
+     * @return The number of states.
+     */
+    public int getStateCount() {
+        return states;
+    }
+
+    /**
+     * Returns the number of inputs the controller computes.
+     *
+     * @return The number of inputs.
+     */
+    public int getInputCount() {
+        return inputs;
+    }
+
+    /**
+     * Returns the first input from the last calculation.
+     *
+     * @return The first input, or 0 if nothing has been calculated.
+     */
+    @Log
+    public double getOutput() {
+        return output[0];
+    }
+
+    /**
+     * Returns whether the gains were loaded from a cache instead of being computed.
+     *
+     * @return Whether the gains came from the cache.
+     */
+    @Log
+    public boolean isLoadedFromCache() {
+        return loadedFromCache;
+    }
+}
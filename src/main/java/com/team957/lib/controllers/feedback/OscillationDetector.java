@@ -0,0 +1,314 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import com.team957.lib.util.DoubleRingBuffer;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Detects sustained oscillation (a limit cycle) in a controller's error, such as from gains that
+ * have become too aggressive after mechanical wear, and estimates its frequency and amplitude.
+ *
+ * <p>Two independent signs of oscillation must agree. First, zero crossings of the error (outside
+ * of a deadband, to ignore noise) must be regularly spaced: the spread of the last several
+ * half-periods must be small relative to their mean. Second, the autocorrelation of the error at a
+ * lag of one estimated period must be high, meaning the error actually repeats itself each cycle.
+ * The autocorrelation is measured over an exponentially weighted window, and all statistics are
+ * updated in constant time per sample.
+ *
+ * <p>Attach to a {@link PID} with {@code PID.setOscillationDetector()} to update automatically on
+ * every {@code calculate()} call. Optionally, the controller's gains can be backed off
+ * automatically when oscillation starts.
+ */
+public class OscillationDetector implements Logged {
+    private static final double REGULARITY_THRESHOLD = 0.25;
+    private static final double CORRELATION_THRESHOLD = 0.5;
+
+    private final double deadband;
+    private final double minAmplitude;
+    private final double smoothing;
+
+    // recent error samples, for looking up the error one period ago
+    private final DoubleRingBuffer history;
+
+    private final DoubleRingBuffer halfPeriods;
+    private double halfPeriodSum = 0;
+    private double halfPeriodSquaresSum = 0;
+
+    private final DoubleRingBuffer peaks;
+    private double peakSum = 0;
+
+    private int sign = 0; // side of the deadband the error was last on
+    private double sinceCrossingSeconds = 0;
+    private double peak = 0;
+    private boolean crossed = false;
+
+    private double meanDt = 0;
+    private double energy = 0;
+    private double laggedEnergy = 0;
+    private double correlation = 0;
+
+    private boolean oscillating = false;
+    private double frequency = 0;
+    private double amplitude = 0;
+
+    private double backoffFactor = 1;
+    private long backoffCount = 0;
+
+    /**
+     * Constructs an OscillationDetector.
+     *
+     * @param cycles The number of consecutive regular half-cycles needed to detect oscillation.
+     *     Must be at least 2.
+     * @param maxPeriodSamples The longest oscillation period to detect, in samples. Must be at
+     *     least 2.
+     * @param deadband The error magnitude that must be exceeded on each side of zero for a
+     *     crossing to count. Should be larger than measurement noise.
+     * @param minAmplitude The smallest mean oscillation amplitude to report.
+     * @throws IllegalArgumentException If the cycle count or maximum period is less than 2, or the
+     *     deadband or minimum amplitude is negative.
+     */
+    public OscillationDetector(
+            int cycles, int maxPeriodSamples, double deadband, double minAmplitude) {
+        if (cycles < 2) throw new IllegalArgumentException("Cycles must be at least 2!");
+        if (maxPeriodSamples < 2) {
+            throw new IllegalArgumentException("Max period must be at least 2 samples!");
+        }
+        if (deadband < 0) throw new IllegalArgumentException("Deadband must not be negative!");
+        if (minAmplitude < 0) {
+            throw new IllegalArgumentException("Minimum amplitude must not be negative!");
+        }
+
+        this.deadband = deadband;
+        this.minAmplitude = minAmplitude;
+
+        history = new DoubleRingBuffer(maxPeriodSamples + 1);
+        halfPeriods = new DoubleRingBuffer(cycles);
+        peaks = new DoubleRingBuffer(cycles);
+
+        // the correlation window spans about two of the longest periods
+        smoothing = 1.0 / (2 * maxPeriodSamples);
+    }
+
+    /**
+     * Constructs an OscillationDetector which needs 6 regular half-cycles to detect oscillation.
+     *
+     * @param maxPeriodSamples The longest oscillation period to detect, in samples.
+     * @param deadband The error magnitude that must be exceeded on each side of zero for a
+     *     crossing to count.
+     */
+    public OscillationDetector(int maxPeriodSamples, double deadband) {
+        this(6, maxPeriodSamples, deadband, deadband);
+    }
+
+    /**
+     * Sets whether to back off a controller's gains when oscillation is detected. Only applies
+     * when updated by an attached controller.
+     *
+     * @param factor The factor to multiply all gains by at the start of each detected oscillation,
+     *     between 0 and 1. 1 disables backing off.
+     * @throws IllegalArgumentException If the factor is not between 0 and 1.
+     */
+    public void setBackoff(double factor) {
+        if (!(factor >= 0 && factor <= 1)) {
+            throw new IllegalArgumentException("Backoff factor must be between 0 and 1!");
+        }
+
+        backoffFactor = factor;
+    }
+
+    /**
+     * Updates the detector with a new error sample.
+     *
+     * @param error The controller's error (setpoint minus measurement).
+     * @param dt The time, in seconds, since the last sample.
+     * @return Whether oscillation is currently detected.
+     */
+    public boolean update(double error, double dt) {
+        meanDt = (meanDt == 0) ? dt : meanDt + (0.05 * (dt - meanDt));
+
+        history.push(error);
+
+        sinceCrossingSeconds += dt;
+        peak = Math.max(peak, Math.abs(error));
+
+        int side = (error > deadband) ? 1 : (error < -deadband) ? -1 : 0;
+
+        if (side != 0 && side != sign) {
+            if (sign != 0) recordHalfPeriod();
+
+            sign = side;
+            sinceCrossingSeconds = 0;
+            peak = Math.abs(error);
+        }
+
+        // autocorrelation at a lag of one estimated period, normalized by the energy at both ends
+        // of the lag so that a growing oscillation still correlates
+        int lag = periodSamples();
+        if (lag > 0) {
+            double lagged = history.get(history.size() - 1 - lag);
+
+            energy += smoothing * ((error * error) - energy);
+            laggedEnergy += smoothing * ((lagged * lagged) - laggedEnergy);
+            correlation += smoothing * ((error * lagged) - correlation);
+        }
+
+        double meanHalfPeriod = halfPeriodSum / halfPeriods.size();
+
+        oscillating =
+                crossed
+                        && halfPeriods.isFull()
+                        && isRegular(meanHalfPeriod)
+                        && getAutocorrelation() >= CORRELATION_THRESHOLD
+                        && (peakSum / peaks.size()) >= minAmplitude
+                        && sinceCrossingSeconds < 2 * meanHalfPeriod;
+
+        if (oscillating) {
+            frequency = 1 / (2 * meanHalfPeriod);
+            amplitude = peakSum / peaks.size();
+        }
+
+        return oscillating;
+    }
+
+    // updates the attached controller's detector, backing off gains at the start of oscillation
+    void update(PID controller, double error, double dt) {
+        boolean wasOscillating = oscillating;
+
+        if (update(error, dt) && !wasOscillating && backoffFactor < 1) {
+            controller.scaleConstants(backoffFactor);
+
+            backoffCount++;
+
+            // the new gains have to oscillate all over again to be backed off again
+            reset();
+        }
+    }
+
+    private void recordHalfPeriod() {
+        crossed = true;
+
+        double halfPeriod = sinceCrossingSeconds;
+
+        boolean full = halfPeriods.isFull();
+        double evicted = halfPeriods.push(halfPeriod);
+        if (full) {
+            halfPeriodSum -= evicted;
+            halfPeriodSquaresSum -= evicted * evicted;
+        }
+        halfPeriodSum += halfPeriod;
+        halfPeriodSquaresSum += halfPeriod * halfPeriod;
+
+        full = peaks.isFull();
+        evicted = peaks.push(peak);
+        if (full) peakSum -= evicted;
+        peakSum += peak;
+    }
+
+    private boolean isRegular(double meanHalfPeriod) {
+        int count = halfPeriods.size();
+        double variance = (halfPeriodSquaresSum / count) - (meanHalfPeriod * meanHalfPeriod);
+
+        return Math.sqrt(Math.max(variance, 0)) <= REGULARITY_THRESHOLD * meanHalfPeriod;
+    }
+
+    // estimated period in samples, or 0 if unknown or too long to look back on
+    private int periodSamples() {
+        if (halfPeriods.size() == 0 || meanDt <= 0) return 0;
+
+        long lag = Math.round(2 * (halfPeriodSum / halfPeriods.size()) / meanDt);
+
+        if (lag < 1 || lag >= history.size()) return 0;
+        return (int) lag;
+    }
+
+    /** Clears all statistics, as if no samples had been seen. */
+    public void reset() {
+        history.clear();
+        halfPeriods.clear();
+        halfPeriodSum = 0;
+        halfPeriodSquaresSum = 0;
+        peaks.clear();
+        peakSum = 0;
+
+        sign = 0;
+        sinceCrossingSeconds = 0;
+        peak = 0;
+        crossed = false;
+
+        energy = 0;
+        laggedEnergy = 0;
+        correlation = 0;
+
+        oscillating = false;
+    }
+
+    /**
+     * Returns whether sustained oscillation is currently detected.
+     *
+     * @return Whether the error is oscillating.
+     */
+    @Log
+    public boolean isOscillating() {
+        return oscillating;
+    }
+
+    /**
+     * Returns the frequency of the most recently detected oscillation.
+     *
+     * @return The frequency, in hertz, or 0 if no oscillation has been detected.
+     */
+    @Log
+    public double getFrequencyHz() {
+        return frequency;
+    }
+
+    /**
+     * Returns the amplitude of the most recently detected oscillation.
+     *
+     * @return The mean peak error magnitude per half-cycle, or 0 if no oscillation has been
+     *     detected.
+     */
+    @Log
+    public double getAmplitude() {
+        return amplitude;
+    }
+
+    /**
+     * Returns the normalized autocorrelation of the error at a lag of one estimated period.
+     *
+     * @return The autocorrelation, between -1 and 1. Near 1 when the error repeats every period.
+     */
+    @Log
+    public double getAutocorrelation() {
+        double normalization = Math.sqrt(energy * laggedEnergy);
+        if (normalization <= 0) return 0;
+
+        return correlation / normalization;
+    }
+
+    /**
+     * Returns the number of times gains have been backed off.
+     *
+     * @return The number of backoffs.
+     */
+    @Log
+    public long getBackoffCount() {
+        return backoffCount;
+    }
+}
@@ -18,9 +18,14 @@ package com.team957.lib.controllers.feedback;
 
 import com.team957.lib.math.UtilityMath;
 import com.team957.lib.util.DeltaTimeUtil;
-import com.team957.lib.util.SizedStack;
+import com.team957.lib.util.DoubleRingBuffer;
+import com.team957.lib.util.DoubleSeqLock;
 import edu.wpi.first.math.MathUtil;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import monologue.Annotations.Log;
 import monologue.Logged;
 
@@ -111,6 +116,36 @@ public class PID implements Logged {
             return kD;
         }
 
+        /**
+         * Returns a copy of these constants with a different proportional gain.
+         *
+         * @param kP The new proportional gain.
+         * @return A new PIDConstants.
+         */
+        public PIDConstants withkP(double kP) {
+            return new PIDConstants(kP, kI, kD);
+        }
+
+        /**
+         * Returns a copy of these constants with a different integral gain.
+         *
+         * @param kI The new integral gain.
+         * @return A new PIDConstants.
+         */
+        public PIDConstants withkI(double kI) {
+            return new PIDConstants(kP, kI, kD);
+        }
+
+        /**
+         * Returns a copy of these constants with a different derivative gain.
+         *
+         * @param kD The new derivative gain.
+         * @return A new PIDConstants.
+         */
+        public PIDConstants withkD(double kD) {
+            return new PIDConstants(kP, kI, kD);
+        }
+
         @Override
         public boolean equals(Object other) {
             double epsilon = 0.0001;
@@ -135,11 +170,109 @@ public class PID implements Logged {
         }
     }
 
+    /**
+     * Mutable holder for a consistent set of a controller's outputs from a single {@code
+     * calculate()} call, for reading from a thread other than the one running the controller.
+     *
+     * <p>Allocate one per reader and reuse it with {@code PID.readOutputs()}.
+     */
+    public static class Outputs {
+        private final double[] values = new double[OUTPUT_COUNT];
+        private long sequence = 0;
+
+        /**
+         * Returns the total output of the controller.
+         *
+         * @return The output.
+         */
+        public double getOutput() {
+            return values[OUTPUT];
+        }
+
+        /**
+         * Returns the contribution of the P term.
+         *
+         * @return The P contribution.
+         */
+        public double getPContribution() {
+            return values[P_CONTRIBUTION];
+        }
+
+        /**
+         * Returns the contribution of the I term.
+         *
+         * @return The I contribution.
+         */
+        public double getIContribution() {
+            return values[I_CONTRIBUTION];
+        }
+
+        /**
+         * Returns the contribution of the D term.
+         *
+         * @return The D contribution.
+         */
+        public double getDContribution() {
+            return values[D_CONTRIBUTION];
+        }
+
+        /**
+         * Returns the setpoint used to calculate the output.
+         *
+         * @return The setpoint.
+         */
+        public double getSetpoint() {
+            return values[SETPOINT];
+        }
+
+        /**
+         * Returns the measurement used to calculate the output.
+         *
+         * @return The measurement.
+         */
+        public double getMeasurement() {
+            return values[MEASUREMENT];
+        }
+
+        /**
+         * Returns a number which increases with every {@code calculate()} call, to tell whether the
+         * outputs have changed since a previous read.
+         *
+         * @return The sequence number of these outputs.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    private static final int OUTPUT = 0;
+    private static final int P_CONTRIBUTION = 1;
+    private static final int I_CONTRIBUTION = 2;
+    private static final int D_CONTRIBUTION = 3;
+    private static final int SETPOINT = 4;
+    private static final int MEASUREMENT = 5;
+    private static final int OUTPUT_COUNT = 6;
+
+    private final DoubleSeqLock publishedOutputs = new DoubleSeqLock(OUTPUT_COUNT);
+
     private final boolean angular;
 
-    private double kP;
-    private double kI;
-    private double kD;
+    private static final VarHandle CONSTANTS;
+
+    static {
+        try {
+            CONSTANTS =
+                    MethodHandles.lookup()
+                            .findVarHandle(PID.class, "constants", PIDConstants.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // immutable snapshot of the gains, only accessed through CONSTANTS so that a set of gains
+    // published by one thread is seen whole by calculate() on another
+    @SuppressWarnings("unused")
+    private PIDConstants constants;
 
     private double lastMeasurement = 0;
     private double lastSetpoint = 0;
@@ -163,7 +296,18 @@ public class PID implements Logged {
 
     private double currentValue = 0;
 
-    private final SizedStack<Double> integrationStack;
+    // past integral terms, so they can be removed from the sum as they leave the window. null if
+    // the window is infinite
+    private final DoubleRingBuffer integrationHistory;
+
+    // running integral, with a compensation term to cancel out rounding error (Neumaier summation)
+    private double integrationSum = 0;
+    private double integrationCompensation = 0;
+
+    private boolean integrating = true;
+
+    private ControlMetrics metrics = null;
+    private OscillationDetector oscillationDetector = null;
 
     private final DeltaTimeUtil dtUtil = new DeltaTimeUtil();
 
@@ -186,11 +330,10 @@ public class PID implements Logged {
             int integrationWindow,
             double initialSetpoint,
             boolean angular) {
-        this.kP = kP;
-        this.kI = kI;
-        this.kD = kD;
+        CONSTANTS.setRelease(this, new PIDConstants(kP, kI, kD));
 
-        integrationStack = new SizedStack<>(integrationWindow);
+        integrationHistory =
+                (integrationWindow > 0) ? new DoubleRingBuffer(integrationWindow) : null;
 
         if (angular) {
             setpoint = MathUtil.angleModulus(initialSetpoint);
@@ -310,34 +453,54 @@ public class PID implements Logged {
     /**
      * Sets the gains of the controller using provided gains.
      *
+     * <p>Like all gain setters, this is safe to call from a different thread than the one calling
+     * {@code calculate()}, such as a dashboard listener. Each {@code calculate()} call uses a
+     * consistent set of gains, either entirely from before or entirely from after the change.
+     *
      * @param kP The proportional gain for the controller.
      * @param kI The integral gain for the controller.
      * @param kD The derivative gain for the controller.
      */
     public void setConstants(double kP, double kI, double kD) {
-        this.kP = kP;
-        this.kI = kI;
-        this.kD = kD;
+        setConstants(new PIDConstants(kP, kI, kD));
     }
 
     /**
-     * Sets the gains of the controller using a provided PIDConstants.
+     * Sets the gains of the controller using a provided PIDConstants. Safe to call from any thread.
      *
      * @param constants The PIDConstants containing the gains for the controller.
      */
     public void setConstants(PIDConstants constants) {
-        this.kP = constants.getkP();
-        this.kI = constants.getkI();
-        this.kD = constants.getkD();
+        CONSTANTS.setRelease(this, Objects.requireNonNull(constants));
     }
 
     /**
-     * Returns the current gains of the controller.
+     * Returns the current gains of the controller. Safe to call from any thread.
      *
      * @return A PIDConstants containing the gains of the controller.
      */
     public PIDConstants getConstants() {
-        return new PIDConstants(kP, kI, kD);
+        return (PIDConstants) CONSTANTS.getAcquire(this);
+    }
+
+    // derives new gains from the current ones, retrying if another thread changed them meanwhile
+    private void updateConstants(UnaryOperator<PIDConstants> update) {
+        while (true) {
+            PIDConstants current = getConstants();
+            PIDConstants next = Objects.requireNonNull(update.apply(current));
+
+            if (CONSTANTS.compareAndSet(this, current, next)) return;
+        }
+    }
+
+    // scales every gain, without losing a concurrent change to one of them
+    void scaleConstants(double factor) {
+        updateConstants(
+                current ->
+                        new PIDConstants(
+                                current.getkP() * factor,
+                                current.getkI() * factor,
+                                current.getkD() * factor));
     }
 
     /**
@@ -347,7 +510,7 @@ public class PID implements Logged {
      */
     @Log
     public double getkP() {
-        return kP;
+        return getConstants().getkP();
     }
 
     /**
@@ -356,7 +519,7 @@ public class PID implements Logged {
      * @param kP The new kP for the controller.
      */
     public void setkP(double kP) {
-        this.kP = kP;
+        updateConstants(current -> current.withkP(kP));
     }
 
     /**
@@ -366,7 +529,7 @@ public class PID implements Logged {
      */
     @Log
     public double getkI() {
-        return kI;
+        return getConstants().getkI();
     }
 
     /**
@@ -375,7 +538,7 @@ public class PID implements Logged {
      * @param kI The new kI for the controller.
      */
     public void setkI(double kI) {
-        this.kI = kI;
+        updateConstants(current -> current.withkI(kI));
     }
 
     /**
@@ -385,7 +548,7 @@ public class PID implements Logged {
      */
     @Log
     public double getkD() {
-        return kD;
+        return getConstants().getkD();
     }
 
     /**
@@ -394,7 +557,7 @@ public class PID implements Logged {
      * @param kD The new kD for the controller.
      */
     public void setkD(double kD) {
-        this.kD = kD;
+        updateConstants(current -> current.withkD(kD));
     }
 
     /**
@@ -421,22 +584,70 @@ public class PID implements Logged {
      * Returns the accumulated past error in the integral term. Not equal to the output of the I
      * term: this is not multiplied by the gain.
      *
+     * <p>This is kept as a running sum, so it's cheap to call.
+     *
      * @return The integral of error with respect to time from the last reset to now.
      */
     @Log
     public double getIntegralAccumulation() {
-        double integrationSum = 0;
-
-        for (double entry : integrationStack) {
-            integrationSum += entry;
-        }
-
-        return integrationSum;
+        return integrationSum + integrationCompensation;
     }
 
     /** Resets accumulation of past error in the integral term. */
     public void resetIntegralAccumulation() {
-        integrationStack.clear();
+        if (integrationHistory != null) integrationHistory.clear();
+
+        integrationSum = 0;
+        integrationCompensation = 0;
+    }
+
+    /**
+     * Multiplies the accumulated past error in the integral term, including any history still in
+     * the integration window, by a factor.
+     *
+     * <p>When changing kI while running, scaling by {@code oldkI / newkI} keeps the I contribution
+     * continuous, instead of jumping by the change in gain times the accumulated error.
+     *
+     * @param factor The factor to multiply the accumulation by.
+     */
+    public void scaleIntegralAccumulation(double factor) {
+        if (integrationHistory != null) integrationHistory.scale(factor);
+
+        integrationSum *= factor;
+        integrationCompensation *= factor;
+    }
+
+    /**
+     * Sets whether new error is added to the integral accumulation. Pausing integration while the
+     * output is saturated is a common way to prevent integral windup.
+     *
+     * @param integrating Whether to integrate error in future {@code calculate()} calls.
+     */
+    public void setIntegrating(boolean integrating) {
+        this.integrating = integrating;
+    }
+
+    /**
+     * Returns whether new error is added to the integral accumulation.
+     *
+     * @return Whether integration is enabled.
+     */
+    @Log
+    public boolean isIntegrating() {
+        return integrating;
+    }
+
+    private void accumulateIntegral(double value) {
+        double sum = integrationSum + value;
+
+        // recover the low-order bits lost by whichever addend was smaller
+        if (Math.abs(integrationSum) >= Math.abs(value)) {
+            integrationCompensation += (integrationSum - sum) + value;
+        } else {
+            integrationCompensation += (value - sum) + integrationSum;
+        }
+
+        integrationSum = sum;
     }
 
     /** Resets the previous measurement used for velocity approximation for the derivative term. */
@@ -492,14 +703,35 @@ public class PID implements Logged {
      * @return The output of the controller.
      */
     public double calculate(double measurement, double dt) {
+        PIDConstants gains = getConstants(); // one consistent set for this whole call
+
+        return calculate(measurement, dt, gains.getkP(), gains.getkI(), gains.getkD());
+    }
+
+    // error the next calculate() would act on, wrapped the short way around if angular
+    double error(double measurement) {
+        if (!angular) return setpoint - measurement;
+
+        return MathUtil.inputModulus(
+                setpoint - MathUtil.angleModulus(measurement), -Math.PI, Math.PI);
+    }
+
+    // calculates with gains supplied by the caller instead of the published ones, so that gains
+    // which change every loop (such as from a schedule) don't need a new snapshot each time
+    double calculate(double measurement, double dt, double kP, double kI, double kD) {
         if (angular) measurement = MathUtil.angleModulus(measurement);
 
-        double error =
-                angular
-                        ? MathUtil.inputModulus(setpoint - measurement, -Math.PI, Math.PI)
-                        : setpoint - measurement;
+        double error = error(measurement);
 
-        integrationStack.push(dt * error);
+        // while integration is paused, zeros still go through the window so it keeps its length
+        double integralTerm = integrating ? dt * error : 0;
+
+        if (integrationHistory != null) {
+            // push() returns 0 until the window fills, after that the term leaving the window
+            accumulateIntegral(-integrationHistory.push(integralTerm));
+        }
+
+        accumulateIntegral(integralTerm);
 
         if (dt == 0) { // sensible way to handle dt of zero
             velocity = 0;
@@ -507,14 +739,8 @@ public class PID implements Logged {
             velocity = ((error - (lastSetpoint - lastMeasurement)) / dt);
         }
 
-        double integrationSum = 0;
-
-        for (double entry : integrationStack) {
-            integrationSum += entry;
-        }
-
         double rawP = kP * (error);
-        double rawI = kI * integrationSum;
+        double rawI = kI * getIntegralAccumulation();
         double rawD = kD * velocity;
 
         if (Math.abs(maxAbsPContribution) == 0) lastPContribution = rawP;
@@ -529,22 +755,112 @@ public class PID implements Logged {
         lastMeasurement = measurement;
         lastSetpoint = setpoint;
 
-        double effortsSum = lastPContribution + lastIContribution + lastDContribution;
+        double effortsSum =
+                lastPContribution
+                        + lastIContribution
+                        + lastDContribution
+                        + calculateFeedforward(measurement, dt);
 
         if (Math.abs(maxAbsControlEffort) == 0) currentValue = effortsSum;
         else currentValue = UtilityMath.clamp(maxAbsControlEffort, effortsSum);
 
+        if (metrics != null) metrics.update(setpoint, error, dt);
+        if (oscillationDetector != null) oscillationDetector.update(this, error, dt);
+
+        publishOutputs();
+
         return currentValue;
     }
 
+    private void publishOutputs() {
+        publishedOutputs.beginWrite();
+        publishedOutputs.set(OUTPUT, currentValue);
+        publishedOutputs.set(P_CONTRIBUTION, lastPContribution);
+        publishedOutputs.set(I_CONTRIBUTION, lastIContribution);
+        publishedOutputs.set(D_CONTRIBUTION, lastDContribution);
+        publishedOutputs.set(SETPOINT, lastSetpoint);
+        publishedOutputs.set(MEASUREMENT, lastMeasurement);
+        publishedOutputs.endWrite();
+    }
+
+    /**
+     * Attaches a tracker of response quality metrics, which is updated on every {@code
+     * calculate()} call and resets itself whenever the setpoint changes.
+     *
+     * @param metrics The tracker to update, or null to stop tracking.
+     */
+    public void setMetrics(ControlMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the attached tracker of response quality metrics.
+     *
+     * @return The tracker, or null if none is attached.
+     */
+    public ControlMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Attaches a detector of sustained oscillation, which is updated on every {@code calculate()}
+     * call, and may back off this controller's gains if configured to.
+     *
+     * @param detector The detector to update, or null to stop detecting.
+     */
+    public void setOscillationDetector(OscillationDetector detector) {
+        oscillationDetector = detector;
+    }
+
+    /**
+     * Returns the attached detector of sustained oscillation.
+     *
+     * @return The detector, or null if none is attached.
+     */
+    public OscillationDetector getOscillationDetector() {
+        return oscillationDetector;
+    }
+
+    /**
+     * Returns a feedforward term to add to the output, before the total control effort is
+     * clamped. Called once by every {@code calculate()} call, after the P, I, and D terms.
+     *
+     * <p>Plain PID controllers have no feedforward, so this returns 0. Subclasses can override it
+     * to fuse a feedforward model into the controller.
+     *
+     * @param measurement The value of the measured feedback, wrapped if the controller is angular.
+     * @param dt The time, in seconds, since the last update of this controller.
+     * @return The feedforward term.
+     */
+    protected double calculateFeedforward(double measurement, double dt) {
+        return 0;
+    }
+
+    /**
+     * Copies the outputs of the last {@code calculate()} call into a holder, as a consistent set.
+     *
+     * <p>This is safe to call from a different thread than the one calling {@code calculate()},
+     * and never blocks it. Unlike the individual output getters, the values are all from the same
+     * call. It does not allocate.
+     *
+     * @param destination The holder to copy the outputs into.
+     * @return The same holder, for convenience.
+     */
+    public Outputs readOutputs(Outputs destination) {
+        destination.sequence = publishedOutputs.read(destination.values);
+        return destination;
+    }
+
     /**
      * Returns the last output of the controller without updating with a new value.
      *
+     * <p>This is safe to call from any thread, as are the contribution getters below.
+     *
      * @return The last output of the controller.
      */
     @Log
     public double getCurrentValue() {
-        return currentValue;
+        return publishedOutputs.get(OUTPUT);
     }
 
     /**
@@ -554,7 +870,7 @@ public class PID implements Logged {
      */
     @Log
     public double getPContribution() {
-        return lastPContribution;
+        return publishedOutputs.get(P_CONTRIBUTION);
     }
 
     /**
@@ -564,7 +880,7 @@ public class PID implements Logged {
      */
     @Log
     public double getIContribution() {
-        return lastIContribution;
+        return publishedOutputs.get(I_CONTRIBUTION);
     }
 
     /**
@@ -574,7 +890,7 @@ public class PID implements Logged {
      */
     @Log
     public double getDContribution() {
-        return lastDContribution;
+        return publishedOutputs.get(D_CONTRIBUTION);
     }
 
     /**
@@ -683,4 +999,97 @@ public class PID implements Logged {
         return (Math.abs(setpoint - lastMeasurement) < Math.abs(positionTolerance * setpoint)
                 && Math.abs(velocity) < Math.abs(velocityTolerance * setpoint));
     }
+
+    /**
+     * Returns the number of bytes written by {@code saveState()}. This is constant for the lifetime
+     * of the controller.
+     *
+     * @return The size of the controller's state, in bytes.
+     */
+    public int getStateSize() {
+        int historySize = (integrationHistory != null) ? integrationHistory.getStateSize() : 0;
+
+        return (19 * Double.BYTES) + 1 + historySize;
+    }
+
+    /**
+     * Writes the complete internal state of the controller (gains, limits, setpoint, previous
+     * measurement, whether it's integrating, and integral history) into a ByteBuffer at its
+     * current position, so that it can later be resumed with {@code restoreState()}.
+     *
+     * @param buffer The ByteBuffer to write to. Its position is advanced by {@code
+     *     getStateSize()}.
+     */
+    public void saveState(ByteBuffer buffer) {
+        PIDConstants gains = getConstants();
+        buffer.putDouble(gains.getkP());
+        buffer.putDouble(gains.getkI());
+        buffer.putDouble(gains.getkD());
+        buffer.putDouble(setpoint);
+        buffer.putDouble(lastMeasurement);
+        buffer.putDouble(lastSetpoint);
+        buffer.putDouble(velocity);
+        buffer.putDouble(lastPContribution);
+        buffer.putDouble(lastIContribution);
+        buffer.putDouble(lastDContribution);
+        buffer.putDouble(currentValue);
+        buffer.putDouble(maxAbsControlEffort);
+        buffer.putDouble(maxAbsPContribution);
+        buffer.putDouble(maxAbsIContribution);
+        buffer.putDouble(maxAbsDContribution);
+        buffer.putDouble(positionTolerance);
+        buffer.putDouble(velocityTolerance);
+
+        buffer.putDouble(integrationSum);
+        buffer.putDouble(integrationCompensation);
+        buffer.put((byte) (integrating ? 1 : 0));
+
+        if (integrationHistory != null) integrationHistory.saveState(buffer);
+    }
+
+    /**
+     * Replaces the internal state of the controller with one previously written by {@code
+     * saveState()} of a controller with the same integration window and angularity.
+     *
+     * <p>This only allocates if the saved gains differ from the current ones, so restoring a
+     * snapshot of the same controller every loop (for example, to replay a prediction) is free.
+     *
+     * @param buffer The ByteBuffer to read from. Its position is advanced by {@code
+     *     getStateSize()}.
+     * @throws IllegalStateException If the saved integral history doesn't fit in this controller's
+     *     integration window.
+     */
+    public void restoreState(ByteBuffer buffer) {
+        double kP = buffer.getDouble();
+        double kI = buffer.getDouble();
+        double kD = buffer.getDouble();
+
+        PIDConstants gains = getConstants();
+        if (kP != gains.getkP() || kI != gains.getkI() || kD != gains.getkD()) {
+            setConstants(kP, kI, kD);
+        }
+
+        setpoint = buffer.getDouble();
+        lastMeasurement = buffer.getDouble();
+        lastSetpoint = buffer.getDouble();
+        velocity = buffer.getDouble();
+        lastPContribution = buffer.getDouble();
+        lastIContribution = buffer.getDouble();
+        lastDContribution = buffer.getDouble();
+        currentValue = buffer.getDouble();
+        maxAbsControlEffort = buffer.getDouble();
+        maxAbsPContribution = buffer.getDouble();
+        maxAbsIContribution = buffer.getDouble();
+        maxAbsDContribution = buffer.getDouble();
+        positionTolerance = buffer.getDouble();
+        velocityTolerance = buffer.getDouble();
+
+        integrationSum = buffer.getDouble();
+        integrationCompensation = buffer.getDouble();
+        integrating = buffer.get() != 0;
+
+        if (integrationHistory != null) integrationHistory.restoreState(buffer);
+
+        publishOutputs();
+    }
 }
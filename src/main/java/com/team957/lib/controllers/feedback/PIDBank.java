@@ -0,0 +1,460 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import com.team957.lib.math.UtilityMath;
+import edu.wpi.first.math.MathUtil;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * A group of independent PID controllers, stored as parallel primitive arrays and updated together
+ * in one call.
+ *
+ * <p>Each controller in the bank behaves exactly like a {@link PID} with the same gains, limits,
+ * integration window, and angularity: given the same sequence of setpoints, measurements, and
+ * timesteps, the outputs are bit-for-bit identical. Keeping the state of many controllers (such as
+ * every module of a swerve drive) together avoids the overhead of many separate objects, and
+ * nothing is allocated after construction.
+ *
+ * <p>Controllers are referred to by their index in the bank.
+ */
+public class PIDBank implements Logged {
+    private final int size;
+
+    private final boolean[] angular;
+
+    private final double[] kP;
+    private final double[] kI;
+    private final double[] kD;
+
+    private final double[] setpoint;
+    private final double[] lastMeasurement;
+    private final double[] lastSetpoint;
+    private final double[] velocity;
+
+    private final double[] lastPContribution;
+    private final double[] lastIContribution;
+    private final double[] lastDContribution;
+    private final double[] currentValue;
+    private final double[] loggedOutputs; // reused by getLoggedOutputs(), so logging is free
+
+    private final double[] maxAbsControlEffort;
+    private final double[] maxAbsPContribution;
+    private final double[] maxAbsIContribution;
+    private final double[] maxAbsDContribution;
+
+    private final double[] integrationSum;
+    private final double[] integrationCompensation;
+
+    // integration windows, packed end to end into one array
+    private final int[] historyOffset;
+    private final int[] historyCapacity; // 0 for an infinite window
+    private final int[] historyHead;
+    private final int[] historySize;
+    private final double[] history;
+
+    /**
+     * Constructs a PIDBank with all gains initially 0.
+     *
+     * @param integrationWindows The integration window of each controller. If less than or equal to
+     *     0, that controller has an infinite window. The length of this is the size of the bank.
+     * @param angular Whether each controller is controlling an angular quantity that "wraps". Must
+     *     be the same length as {@code integrationWindows}.
+     * @throws IllegalArgumentException If the arrays are of different lengths.
+     */
+    public PIDBank(int[] integrationWindows, boolean[] angular) {
+        if (integrationWindows.length != angular.length) {
+            throw new IllegalArgumentException(
+                    "Window and angularity arrays must be the same length!");
+        }
+
+        size = integrationWindows.length;
+
+        this.angular = angular.clone();
+
+        kP = new double[size];
+        kI = new double[size];
+        kD = new double[size];
+
+        setpoint = new double[size];
+        lastMeasurement = new double[size];
+        lastSetpoint = new double[size];
+        velocity = new double[size];
+
+        lastPContribution = new double[size];
+        lastIContribution = new double[size];
+        lastDContribution = new double[size];
+        currentValue = new double[size];
+        loggedOutputs = new double[size];
+
+        maxAbsControlEffort = new double[size];
+        maxAbsPContribution = new double[size];
+        maxAbsIContribution = new double[size];
+        maxAbsDContribution = new double[size];
+
+        integrationSum = new double[size];
+        integrationCompensation = new double[size];
+
+        historyOffset = new int[size];
+        historyCapacity = new int[size];
+        historyHead = new int[size];
+        historySize = new int[size];
+
+        int totalHistory = 0;
+        for (int i = 0; i < size; i++) {
+            historyOffset[i] = totalHistory;
+            historyCapacity[i] = Math.max(integrationWindows[i], 0);
+            totalHistory += historyCapacity[i];
+        }
+
+        history = new double[totalHistory];
+    }
+
+    /**
+     * Constructs a PIDBank of identically configured controllers, with all gains initially 0.
+     *
+     * @param size The number of controllers in the bank.
+     * @param integrationWindow The integration window of every controller. If less than or equal
+     *     to 0, the controllers have an infinite window.
+     * @param angular Whether the controllers are controlling angular quantities that "wrap".
+     */
+    public PIDBank(int size, int integrationWindow, boolean angular) {
+        this(filled(size, integrationWindow), filled(size, angular));
+    }
+
+    private static int[] filled(int size, int value) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) array[i] = value;
+        return array;
+    }
+
+    private static boolean[] filled(int size, boolean value) {
+        boolean[] array = new boolean[size];
+        for (int i = 0; i < size; i++) array[i] = value;
+        return array;
+    }
+
+    /**
+     * Returns the number of controllers in the bank.
+     *
+     * @return The size of the bank.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the gains of a controller.
+     *
+     * @param index The index of the controller.
+     * @param kP The proportional gain.
+     * @param kI The integral gain.
+     * @param kD The derivative gain.
+     */
+    public void setConstants(int index, double kP, double kI, double kD) {
+        this.kP[index] = kP;
+        this.kI[index] = kI;
+        this.kD[index] = kD;
+    }
+
+    /**
+     * Sets the gains of a controller using a PIDConstants.
+     *
+     * @param index The index of the controller.
+     * @param constants The PIDConstants containing the gains.
+     */
+    public void setConstants(int index, PIDConstants constants) {
+        setConstants(index, constants.getkP(), constants.getkI(), constants.getkD());
+    }
+
+    /**
+     * Returns the gains of a controller.
+     *
+     * @param index The index of the controller.
+     * @return A PIDConstants containing the gains of the controller.
+     */
+    public PIDConstants getConstants(int index) {
+        return new PIDConstants(kP[index], kI[index], kD[index]);
+    }
+
+    /**
+     * Sets the setpoint (target) of a controller.
+     *
+     * @param index The index of the controller.
+     * @param value The new target of the controller.
+     */
+    public void setSetpoint(int index, double value) {
+        setpoint[index] = angular[index] ? MathUtil.angleModulus(value) : value;
+    }
+
+    /**
+     * Returns the current setpoint (target) of a controller.
+     *
+     * @param index The index of the controller.
+     * @return The current setpoint.
+     */
+    public double getSetpoint(int index) {
+        return setpoint[index];
+    }
+
+    /**
+     * Sets the maximum absolute control effort of a controller.
+     *
+     * @param index The index of the controller.
+     * @param newValue The maximum absolute control effort. If zero, no limits are applied.
+     */
+    public void setMaxAbsControlEffort(int index, double newValue) {
+        maxAbsControlEffort[index] = newValue;
+    }
+
+    /**
+     * Sets the maximum absolute contribution of a controller's P term.
+     *
+     * @param index The index of the controller.
+     * @param newValue The maximum absolute contribution. If zero, no limits are applied.
+     */
+    public void setMaxAbsPContribution(int index, double newValue) {
+        maxAbsPContribution[index] = Math.abs(newValue);
+    }
+
+    /**
+     * Sets the maximum absolute contribution of a controller's I term.
+     *
+     * @param index The index of the controller.
+     * @param newValue The maximum absolute contribution. If zero, no limits are applied.
+     */
+    public void setMaxAbsIContribution(int index, double newValue) {
+        maxAbsIContribution[index] = Math.abs(newValue);
+    }
+
+    /**
+     * Sets the maximum absolute contribution of a controller's D term.
+     *
+     * @param index The index of the controller.
+     * @param newValue The maximum absolute contribution. If zero, no limits are applied.
+     */
+    public void setMaxAbsDContribution(int index, double newValue) {
+        maxAbsDContribution[index] = Math.abs(newValue);
+    }
+
+    /**
+     * Resets accumulation of past error in a controller's integral term.
+     *
+     * @param index The index of the controller.
+     */
+    public void resetIntegralAccumulation(int index) {
+        historyHead[index] = 0;
+        historySize[index] = 0;
+        integrationSum[index] = 0;
+        integrationCompensation[index] = 0;
+    }
+
+    /**
+     * Resets the previous measurement used for a controller's derivative term.
+     *
+     * @param index The index of the controller.
+     */
+    public void resetPreviousMeasurement(int index) {
+        lastMeasurement[index] = 0;
+        lastSetpoint[index] = setpoint[index];
+    }
+
+    /**
+     * Resets all references to past states in a controller.
+     *
+     * @param index The index of the controller.
+     */
+    public void reset(int index) {
+        resetIntegralAccumulation(index);
+        resetPreviousMeasurement(index);
+    }
+
+    /**
+     * Sets the setpoints of every controller, and then updates them all with new measurements.
+     *
+     * @param measurements The measured feedback of each controller. Not modified.
+     * @param setpoints The new setpoint of each controller. Not modified.
+     * @param dt The time, in seconds, since the last update of the bank.
+     * @param outputs Array to write the output of each controller into. May be the same array as
+     *     one of the inputs.
+     */
+    public void calculate(double[] measurements, double[] setpoints, double dt, double[] outputs) {
+        for (int i = 0; i < size; i++) setSetpoint(i, setpoints[i]);
+
+        calculate(measurements, dt, outputs);
+    }
+
+    /**
+     * Updates every controller with new measurements, using their current setpoints.
+     *
+     * @param measurements The measured feedback of each controller. Not modified.
+     * @param dt The time, in seconds, since the last update of the bank.
+     * @param outputs Array to write the output of each controller into. May be the same array as
+     *     {@code measurements}.
+     */
+    public void calculate(double[] measurements, double dt, double[] outputs) {
+        for (int i = 0; i < size; i++) {
+            double measurement = measurements[i];
+
+            if (angular[i]) measurement = MathUtil.angleModulus(measurement);
+
+            double error =
+                    angular[i]
+                            ? MathUtil.inputModulus(setpoint[i] - measurement, -Math.PI, Math.PI)
+                            : setpoint[i] - measurement;
+
+            double integralTerm = dt * error;
+
+            if (historyCapacity[i] > 0) accumulateIntegral(i, -pushHistory(i, integralTerm));
+
+            accumulateIntegral(i, integralTerm);
+
+            if (dt == 0) {
+                velocity[i] = 0;
+            } else {
+                velocity[i] = ((error - (lastSetpoint[i] - lastMeasurement[i])) / dt);
+            }
+
+            double rawP = kP[i] * (error);
+            double rawI = kI[i] * (integrationSum[i] + integrationCompensation[i]);
+            double rawD = kD[i] * velocity[i];
+
+            if (Math.abs(maxAbsPContribution[i]) == 0) lastPContribution[i] = rawP;
+            else lastPContribution[i] = UtilityMath.clamp(maxAbsPContribution[i], rawP);
+
+            if (Math.abs(maxAbsIContribution[i]) == 0) lastIContribution[i] = rawI;
+            else lastIContribution[i] = UtilityMath.clamp(maxAbsIContribution[i], rawI);
+
+            if (Math.abs(maxAbsDContribution[i]) == 0) lastDContribution[i] = rawD;
+            else lastDContribution[i] = UtilityMath.clamp(maxAbsDContribution[i], rawD);
+
+            lastMeasurement[i] = measurement;
+            lastSetpoint[i] = setpoint[i];
+
+            double effortsSum = lastPContribution[i] + lastIContribution[i] + lastDContribution[i];
+
+            if (Math.abs(maxAbsControlEffort[i]) == 0) currentValue[i] = effortsSum;
+            else currentValue[i] = UtilityMath.clamp(maxAbsControlEffort[i], effortsSum);
+
+            outputs[i] = currentValue[i];
+        }
+    }
+
+    // same behavior as DoubleRingBuffer.push()
+    private double pushHistory(int index, double value) {
+        int slot = historyOffset[index] + historyHead[index];
+        double evicted = (historySize[index] == historyCapacity[index]) ? history[slot] : 0;
+
+        history[slot] = value;
+        historyHead[index] = (historyHead[index] + 1) % historyCapacity[index];
+
+        if (historySize[index] < historyCapacity[index]) historySize[index]++;
+
+        return evicted;
+    }
+
+    // same behavior as PID.accumulateIntegral()
+    private void accumulateIntegral(int index, double value) {
+        double sum = integrationSum[index] + value;
+
+        if (Math.abs(integrationSum[index]) >= Math.abs(value)) {
+            integrationCompensation[index] += (integrationSum[index] - sum) + value;
+        } else {
+            integrationCompensation[index] += (value - sum) + integrationSum[index];
+        }
+
+        integrationSum[index] = sum;
+    }
+
+    /**
+     * Returns the last output of a controller.
+     *
+     * @param index The index of the controller.
+     * @return The last output.
+     */
+    public double getOutput(int index) {
+        return currentValue[index];
+    }
+
+    /**
+     * Returns the last outputs of every controller.
+     *
+     * <p>This returns a copy, so it isn't logged; prefer {@code getOutput()} inside of control
+     * loops.
+     *
+     * @return An array of the last outputs, by index.
+     */
+    public double[] getOutputs() {
+        return currentValue.clone();
+    }
+
+    /**
+     * Returns the last outputs of every controller, for logging. Doesn't allocate.
+     *
+     * <p>The returned array is owned by the bank and overwritten by the next call of this, so it
+     * should be read immediately and not kept or modified. Use {@code getOutputs()} for a copy.
+     *
+     * @return An array of the last outputs, by index.
+     */
+    @Log
+    public double[] getLoggedOutputs() {
+        System.arraycopy(currentValue, 0, loggedOutputs, 0, size);
+        return loggedOutputs;
+    }
+
+    /**
+     * Returns the last result of just a controller's P term.
+     *
+     * @param index The index of the controller.
+     * @return The last P result.
+     */
+    public double getPContribution(int index) {
+        return lastPContribution[index];
+    }
+
+    /**
+     * Returns the last result of just a controller's I term.
+     *
+     * @param index The index of the controller.
+     * @return The last I result.
+     */
+    public double getIContribution(int index) {
+        return lastIContribution[index];
+    }
+
+    /**
+     * Returns the last result of just a controller's D term.
+     *
+     * @param index The index of the controller.
+     * @return The last D result.
+     */
+    public double getDContribution(int index) {
+        return lastDContribution[index];
+    }
+
+    /**
+     * Returns the accumulated past error in a controller's integral term.
+     *
+     * @param index The index of the controller.
+     * @return The integral of error with respect to time from the last reset to now.
+     */
+    public double getIntegralAccumulation(int index) {
+        return integrationSum[index] + integrationCompensation[index];
+    }
+}
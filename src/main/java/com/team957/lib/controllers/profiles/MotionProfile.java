@@ -0,0 +1,221 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.profiles;
+
+/**
+ * A planned one-dimensional motion from a start state to a goal, which comes to rest at the goal.
+ *
+ * <p>A profile is stored as a short list of segments (at most {@code MAX_SEGMENTS}) in primitive
+ * arrays, each with a constant jerk. Planning overwrites these arrays in place, so replanning
+ * mid-motion never allocates, and sampling the profile at any time takes constant time.
+ *
+ * <p>Times are in seconds since the start of the most recent plan. Before the start the profile
+ * holds the start state, and after the end it holds the goal at rest.
+ */
+public abstract class MotionProfile {
+    /** The maximum number of segments in a profile. */
+    public static final int MAX_SEGMENTS = 7;
+
+    private final double[] segmentStart = new double[MAX_SEGMENTS];
+    private final double[] segmentPosition = new double[MAX_SEGMENTS];
+    private final double[] segmentVelocity = new double[MAX_SEGMENTS];
+    private final double[] segmentAcceleration = new double[MAX_SEGMENTS];
+    private final double[] segmentJerk = new double[MAX_SEGMENTS];
+
+    private int segmentCount = 0;
+
+    private double startPosition = 0;
+    private double startVelocity = 0;
+    private double goal = 0;
+
+    // running end state while segments are being added
+    private double endTime = 0;
+    private double endPosition = 0;
+    private double endVelocity = 0;
+
+    /**
+     * Plans a new motion, replacing any previous one.
+     *
+     * @param startPosition The position to start from.
+     * @param startVelocity The velocity to start with.
+     * @param goal The position to come to rest at.
+     */
+    public void plan(double startPosition, double startVelocity, double goal) {
+        this.startPosition = startPosition;
+        this.startVelocity = startVelocity;
+        this.goal = goal;
+
+        segmentCount = 0;
+        endTime = 0;
+        endPosition = startPosition;
+        endVelocity = startVelocity;
+
+        generate(startPosition, startVelocity, goal);
+    }
+
+    /**
+     * Plans a new motion starting at rest, replacing any previous one.
+     *
+     * @param startPosition The position to start from.
+     * @param goal The position to come to rest at.
+     */
+    public void plan(double startPosition, double goal) {
+        plan(startPosition, 0, goal);
+    }
+
+    /**
+     * Fills in the segments of a new plan by calling {@code addSegment()} in order.
+     *
+     * @param startPosition The position to start from.
+     * @param startVelocity The velocity to start with.
+     * @param goal The position to come to rest at.
+     */
+    protected abstract void generate(double startPosition, double startVelocity, double goal);
+
+    /**
+     * Appends a segment to the plan being generated, continuing from the end of the last one.
+     * Segments with no duration are skipped.
+     *
+     * @param duration The length of the segment, in seconds.
+     * @param acceleration The acceleration at the start of the segment.
+     * @param jerk The constant jerk throughout the segment.
+     * @throws IllegalStateException If the plan already has {@code MAX_SEGMENTS} segments.
+     */
+    protected void addSegment(double duration, double acceleration, double jerk) {
+        if (!(duration > 0)) return;
+
+        if (segmentCount == MAX_SEGMENTS) {
+            throw new IllegalStateException("Profile has too many segments!");
+        }
+
+        segmentStart[segmentCount] = endTime;
+        segmentPosition[segmentCount] = endPosition;
+        segmentVelocity[segmentCount] = endVelocity;
+        segmentAcceleration[segmentCount] = acceleration;
+        segmentJerk[segmentCount] = jerk;
+        segmentCount++;
+
+        double squared = duration * duration;
+
+        endPosition +=
+                (endVelocity * duration)
+                        + (acceleration * squared / 2)
+                        + (jerk * squared * duration / 6);
+        endVelocity += (acceleration * duration) + (jerk * squared / 2);
+        endTime += duration;
+    }
+
+    // index of the segment active at a time, or -1 if the profile is finished
+    private int segmentAt(double timeSeconds) {
+        if (timeSeconds >= endTime) return -1;
+
+        int i = segmentCount - 1;
+        while (i > 0 && timeSeconds < segmentStart[i]) i--;
+
+        return i;
+    }
+
+    /**
+     * Returns the position along the profile at a time.
+     *
+     * @param timeSeconds The time since the start of the plan, in seconds.
+     * @return The position at that time.
+     */
+    public double getPosition(double timeSeconds) {
+        if (timeSeconds <= 0) return startPosition;
+
+        int i = segmentAt(timeSeconds);
+        if (i < 0) return goal;
+
+        double dt = timeSeconds - segmentStart[i];
+        double squared = dt * dt;
+
+        return segmentPosition[i]
+                + (segmentVelocity[i] * dt)
+                + (segmentAcceleration[i] * squared / 2)
+                + (segmentJerk[i] * squared * dt / 6);
+    }
+
+    /**
+     * Returns the velocity along the profile at a time.
+     *
+     * @param timeSeconds The time since the start of the plan, in seconds.
+     * @return The velocity at that time.
+     */
+    public double getVelocity(double timeSeconds) {
+        if (timeSeconds <= 0) return startVelocity;
+
+        int i = segmentAt(timeSeconds);
+        if (i < 0) return 0;
+
+        double dt = timeSeconds - segmentStart[i];
+
+        return segmentVelocity[i] + (segmentAcceleration[i] * dt) + (segmentJerk[i] * dt * dt / 2);
+    }
+
+    /**
+     * Returns the acceleration along the profile at a time.
+     *
+     * @param timeSeconds The time since the start of the plan, in seconds.
+     * @return The acceleration at that time. 0 before the start and after the end.
+     */
+    public double getAcceleration(double timeSeconds) {
+        if (timeSeconds < 0) return 0;
+
+        int i = segmentAt(timeSeconds);
+        if (i < 0) return 0;
+
+        return segmentAcceleration[i] + (segmentJerk[i] * (timeSeconds - segmentStart[i]));
+    }
+
+    /**
+     * Returns the total duration of the planned motion.
+     *
+     * @return The time from the start of the plan to reaching the goal, in seconds.
+     */
+    public double getTotalTimeSeconds() {
+        return endTime;
+    }
+
+    /**
+     * Returns whether the motion is complete at a time.
+     *
+     * @param timeSeconds The time since the start of the plan, in seconds.
+     * @return Whether the profile has reached the goal.
+     */
+    public boolean isFinished(double timeSeconds) {
+        return timeSeconds >= endTime;
+    }
+
+    /**
+     * Returns the goal of the planned motion.
+     *
+     * @return The position the profile comes to rest at.
+     */
+    public double getGoal() {
+        return goal;
+    }
+
+    /**
+     * Returns the number of segments in the planned motion.
+     *
+     * @return The number of constant-jerk segments.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+}
@@ -0,0 +1,197 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.profiles;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID;
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.util.DeltaTimeUtil;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Drives the setpoint of a {@link PID} along a {@link MotionProfile}, so that large changes in goal
+ * are approached smoothly instead of as a step that saturates the controller.
+ *
+ * <p>Changing the goal mid-motion replans from the current state of the profile, so the setpoint
+ * stays continuous. The profile's velocity and acceleration at the current time are also available
+ * for feedforward, and are passed along automatically if the controller is a {@link
+ * FeedforwardPID}.
+ */
+public class ProfileFollower implements Logged {
+    private final MotionProfile profile;
+    private final PID controller;
+
+    private double elapsedSeconds = 0;
+
+    private final DeltaTimeUtil dtUtil = new DeltaTimeUtil();
+
+    /**
+     * Constructs a ProfileFollower. The profile starts at rest at the controller's current
+     * setpoint.
+     *
+     * @param profile The profile to plan motions with. Replanned by this follower.
+     * @param controller The controller to drive the setpoint of.
+     */
+    public ProfileFollower(MotionProfile profile, PID controller) {
+        this.profile = profile;
+        this.controller = controller;
+
+        profile.plan(controller.getSetpoint(), controller.getSetpoint());
+    }
+
+    /**
+     * Starts a new motion from rest at a position, such as the current measurement.
+     *
+     * @param startPosition The position to start from.
+     * @param goal The position to come to rest at.
+     */
+    public void start(double startPosition, double goal) {
+        profile.plan(startPosition, goal);
+        elapsedSeconds = 0;
+
+        controller.setSetpoint(startPosition);
+    }
+
+    /**
+     * Changes the goal, replanning from the current position and velocity of the profile.
+     *
+     * @param goal The position to come to rest at.
+     */
+    public void setGoal(double goal) {
+        double position = profile.getPosition(elapsedSeconds);
+        double velocity = profile.getVelocity(elapsedSeconds);
+
+        profile.plan(position, velocity, goal);
+        elapsedSeconds = 0;
+    }
+
+    /**
+     * Advances along the profile, sets the controller's setpoint, and returns the controller's
+     * output with a given dt.
+     *
+     * @param measurement The value of the measured feedback.
+     * @param dt The time, in seconds, since the last update.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement, double dt) {
+        elapsedSeconds += dt;
+
+        if (controller instanceof FeedforwardPID) {
+            ((FeedforwardPID) controller)
+                    .setSetpoint(
+                            profile.getPosition(elapsedSeconds),
+                            profile.getVelocity(elapsedSeconds),
+                            profile.getAcceleration(elapsedSeconds));
+        } else {
+            controller.setSetpoint(profile.getPosition(elapsedSeconds));
+        }
+
+        return controller.calculate(measurement, dt);
+    }
+
+    /**
+     * Advances along the profile, sets the controller's setpoint, and returns the controller's
+     * output.
+     *
+     * <p>Uses the time elapsed since last calling this method as a parameter. If this method is
+     * being called for the first time, uses the time since construction.
+     *
+     * @param measurement The value of the measured feedback.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement) {
+        return calculate(measurement, dtUtil.getTimeSecondsSinceLastCall());
+    }
+
+    /**
+     * Returns the goal of the current motion.
+     *
+     * @return The position the profile comes to rest at.
+     */
+    @Log
+    public double getGoal() {
+        return profile.getGoal();
+    }
+
+    /**
+     * Returns the profile's position at the current time, which is the controller's setpoint.
+     *
+     * @return The current setpoint.
+     */
+    @Log
+    public double getSetpointPosition() {
+        return profile.getPosition(elapsedSeconds);
+    }
+
+    /**
+     * Returns the profile's velocity at the current time.
+     *
+     * @return The current setpoint velocity.
+     */
+    @Log
+    public double getSetpointVelocity() {
+        return profile.getVelocity(elapsedSeconds);
+    }
+
+    /**
+     * Returns the profile's acceleration at the current time.
+     *
+     * @return The current setpoint acceleration.
+     */
+    @Log
+    public double getSetpointAcceleration() {
+        return profile.getAcceleration(elapsedSeconds);
+    }
+
+    /**
+     * Returns the time since the current motion was planned.
+     *
+     * @return The time along the profile, in seconds.
+     */
+    @Log
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /**
+     * Returns whether the profile has reached its goal. The controller may still be settling.
+     *
+     * @return Whether the setpoint has reached the goal.
+     */
+    @Log
+    public boolean isFinished() {
+        return profile.isFinished(elapsedSeconds);
+    }
+
+    /**
+     * Returns the controller being driven.
+     *
+     * @return The controller.
+     */
+    public PID getController() {
+        return controller;
+    }
+
+    /**
+     * Returns the profile being followed.
+     *
+     * @return The profile.
+     */
+    public MotionProfile getProfile() {
+        return profile;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.profiles;
+
+/**
+ * Motion profile with limited velocity, acceleration, and jerk, whose velocity over time is an
+ * S-curve. Acceleration ramps up and down smoothly instead of changing instantly, which reduces
+ * shock to mechanisms and makes profiles easier for a controller to track.
+ *
+ * <p>Plans always start and end with zero acceleration. When replanning from the middle of a
+ * motion, the current position and velocity carry over, but acceleration restarts from 0.
+ */
+public class SCurveProfile extends MotionProfile {
+    private static final int SEARCH_ITERATIONS = 60;
+
+    private final double maxVelocity;
+    private final double maxAcceleration;
+    private final double maxJerk;
+
+    private double direction = 1;
+
+    /**
+     * Constructs an SCurveProfile. No motion is planned until {@code plan()} is called.
+     *
+     * @param maxVelocity The maximum magnitude of velocity. Must be greater than 0.
+     * @param maxAcceleration The maximum magnitude of acceleration. Must be greater than 0.
+     * @param maxJerk The maximum magnitude of jerk (rate of change of acceleration). Must be
+     *     greater than 0.
+     * @throws IllegalArgumentException If any limit is not greater than 0.
+     */
+    public SCurveProfile(double maxVelocity, double maxAcceleration, double maxJerk) {
+        if (!(maxVelocity > 0)) {
+            throw new IllegalArgumentException("Max velocity must be greater than 0!");
+        }
+
+        if (!(maxAcceleration > 0)) {
+            throw new IllegalArgumentException("Max acceleration must be greater than 0!");
+        }
+
+        if (!(maxJerk > 0)) {
+            throw new IllegalArgumentException("Max jerk must be greater than 0!");
+        }
+
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxJerk = maxJerk;
+    }
+
+    // duration of the jerk ramps when changing velocity by delta
+    private double rampTime(double delta) {
+        if (delta * maxJerk >= maxAcceleration * maxAcceleration) return maxAcceleration / maxJerk;
+        return Math.sqrt(delta / maxJerk);
+    }
+
+    // duration at max acceleration when changing velocity by delta
+    private double holdTime(double delta) {
+        return Math.max(0, (delta / maxAcceleration) - (maxAcceleration / maxJerk));
+    }
+
+    // signed distance covered changing velocity from one value to another, which is symmetric
+    private double changeDistance(double from, double to) {
+        double delta = Math.abs(to - from);
+        return (from + to) / 2 * ((2 * rampTime(delta)) + holdTime(delta));
+    }
+
+    private double travelDistance(double initial, double peak) {
+        return changeDistance(initial, peak) + changeDistance(peak, 0);
+    }
+
+    private void addChange(double from, double to) {
+        double delta = Math.abs(to - from);
+        double jerk = ((to >= from) ? 1 : -1) * direction * maxJerk;
+
+        double ramp = rampTime(delta);
+        double peakAcceleration = jerk * ramp;
+
+        addSegment(ramp, 0, jerk);
+        addSegment(holdTime(delta), peakAcceleration, 0);
+        addSegment(ramp, peakAcceleration, -jerk);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void generate(double startPosition, double startVelocity, double goal) {
+        double distance = goal - startPosition;
+
+        // plan towards the goal, unless already moving so fast that stopping would overshoot it
+        direction = (distance - changeDistance(startVelocity, 0) >= 0) ? 1 : -1;
+
+        // work with the motion flipped to be in the positive direction
+        distance *= direction;
+        double initial = startVelocity * direction;
+
+        double low = (initial > maxVelocity) ? maxVelocity : Math.max(initial, 0);
+        double high = Math.max(initial, maxVelocity);
+
+        double peak;
+
+        if (travelDistance(initial, maxVelocity) <= distance) {
+            peak = maxVelocity;
+        } else {
+            // travel distance increases with the peak velocity, so search for the one that fits
+            for (int i = 0; i < SEARCH_ITERATIONS; i++) {
+                double mid = (low + high) / 2;
+
+                if (travelDistance(initial, mid) <= distance) low = mid;
+                else high = mid;
+            }
+
+            peak = low;
+        }
+
+        double cruiseTime =
+                (peak > 0) ? Math.max(0, (distance - travelDistance(initial, peak)) / peak) : 0;
+
+        addChange(initial, peak);
+        addSegment(cruiseTime, 0, 0);
+        addChange(peak, 0);
+    }
+
+    /**
+     * Returns the maximum magnitude of velocity.
+     *
+     * @return The velocity limit.
+     */
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    /**
+     * Returns the maximum magnitude of acceleration.
+     *
+     * @return The acceleration limit.
+     */
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    /**
+     * Returns the maximum magnitude of jerk.
+     *
+     * @return The jerk limit.
+     */
+    public double getMaxJerk() {
+        return maxJerk;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.profiles;
+
+/**
+ * Motion profile with limited velocity and acceleration, whose velocity over time is a trapezoid:
+ * accelerate to a cruising velocity, cruise, then decelerate to rest at the goal. Short motions
+ * that never reach the maximum velocity form a triangle instead.
+ *
+ * <p>Acceleration changes instantly between segments. For smoother motion, see {@link
+ * SCurveProfile}.
+ */
+public class TrapezoidalProfile extends MotionProfile {
+    private final double maxVelocity;
+    private final double maxAcceleration;
+
+    /**
+     * Constructs a TrapezoidalProfile. No motion is planned until {@code plan()} is called.
+     *
+     * @param maxVelocity The maximum magnitude of velocity. Must be greater than 0.
+     * @param maxAcceleration The maximum magnitude of acceleration. Must be greater than 0.
+     * @throws IllegalArgumentException If either limit is not greater than 0.
+     */
+    public TrapezoidalProfile(double maxVelocity, double maxAcceleration) {
+        if (!(maxVelocity > 0)) {
+            throw new IllegalArgumentException("Max velocity must be greater than 0!");
+        }
+
+        if (!(maxAcceleration > 0)) {
+            throw new IllegalArgumentException("Max acceleration must be greater than 0!");
+        }
+
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void generate(double startPosition, double startVelocity, double goal) {
+        double distance = goal - startPosition;
+
+        // plan towards the goal, unless already moving so fast that stopping would overshoot it
+        double stoppingDistance = startVelocity * Math.abs(startVelocity) / (2 * maxAcceleration);
+        double direction = (distance - stoppingDistance >= 0) ? 1 : -1;
+
+        // work with the motion flipped to be in the positive direction
+        distance *= direction;
+        double initial = startVelocity * direction;
+
+        // peak velocity of a triangular profile covering the distance
+        double reachable = Math.sqrt((maxAcceleration * distance) + (initial * initial / 2));
+
+        double peak = (initial > maxVelocity) ? maxVelocity : Math.min(maxVelocity, reachable);
+
+        double accelerateTime = Math.abs(peak - initial) / maxAcceleration;
+        double accelerateDistance = (initial + peak) / 2 * accelerateTime;
+
+        double decelerateTime = peak / maxAcceleration;
+        double decelerateDistance = peak / 2 * decelerateTime;
+
+        double cruiseTime =
+                (peak > 0)
+                        ? Math.max(0, (distance - accelerateDistance - decelerateDistance) / peak)
+                        : 0;
+
+        double accelerateSign = (peak >= initial) ? 1 : -1;
+
+        addSegment(accelerateTime, direction * accelerateSign * maxAcceleration, 0);
+        addSegment(cruiseTime, 0, 0);
+        addSegment(decelerateTime, -direction * maxAcceleration, 0);
+    }
+
+    /**
+     * Returns the maximum magnitude of velocity.
+     *
+     * @return The velocity limit.
+     */
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    /**
+     * Returns the maximum magnitude of acceleration.
+     *
+     * @return The acceleration limit.
+     */
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+}
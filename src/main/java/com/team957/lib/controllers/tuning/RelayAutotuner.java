@@ -0,0 +1,286 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.tuning;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Finds PID gains automatically with an Astrom-Hagglund relay feedback experiment.
+ *
+ * <p>Instead of a controller, a relay is put in the loop: the output is {@code +amplitude} while
+ * the measurement is below the setpoint and {@code -amplitude} while it's above. Most plants settle
+ * into a steady oscillation under relay feedback, whose period is close to the plant's ultimate
+ * period, and whose amplitude gives the ultimate gain. Gains can then be found from these with a
+ * {@link TuningRule}.
+ *
+ * <p>The experiment can be stepped manually with {@code calculate()} (for example against a
+ * simulated plant), or run on a background thread with {@code start()}. Either way, the mechanism
+ * will oscillate around the setpoint with a magnitude that depends on the relay amplitude, so it
+ * should have room to move safely.
+ */
+public class RelayAutotuner implements Logged {
+    private final double setpoint;
+    private final double amplitude;
+    private final double hysteresis;
+    private final int cycles;
+
+    private double output = 0;
+    private double elapsedSeconds = 0;
+
+    private boolean hasRisingEdge = false;
+    private double lastRisingEdgeSeconds = 0;
+    private int completedCycles = 0;
+
+    private double cycleMax = Double.NEGATIVE_INFINITY;
+    private double cycleMin = Double.POSITIVE_INFINITY;
+
+    private double periodSum = 0;
+    private double amplitudeSum = 0;
+
+    private volatile boolean finished = false;
+    private volatile double ultimateGain = 0;
+    private volatile double ultimatePeriodSeconds = 0;
+
+    /**
+     * Constructs a RelayAutotuner.
+     *
+     * @param setpoint The setpoint to oscillate around.
+     * @param amplitude The magnitude of the relay output. Should be large enough to move the
+     *     mechanism well past any static friction.
+     * @param hysteresis How far the measurement must cross the setpoint before the relay switches.
+     *     Should be a little larger than the measurement noise, to avoid chattering.
+     * @param cycles The number of oscillation cycles to average over, after the first (which is
+     *     discarded as transient). Must be at least 1.
+     * @throws IllegalArgumentException If the amplitude is not greater than 0, the hysteresis is
+     *     negative, or the cycle count is less than 1.
+     */
+    public RelayAutotuner(double setpoint, double amplitude, double hysteresis, int cycles) {
+        if (amplitude <= 0) throw new IllegalArgumentException("Amplitude must be greater than 0!");
+        if (hysteresis < 0) throw new IllegalArgumentException("Hysteresis must not be negative!");
+        if (cycles < 1) throw new IllegalArgumentException("Cycles must be at least 1!");
+
+        this.setpoint = setpoint;
+        this.amplitude = amplitude;
+        this.hysteresis = hysteresis;
+        this.cycles = cycles;
+    }
+
+    /**
+     * Constructs a RelayAutotuner which averages over 4 cycles.
+     *
+     * @param setpoint The setpoint to oscillate around.
+     * @param amplitude The magnitude of the relay output.
+     * @param hysteresis How far the measurement must cross the setpoint before the relay switches.
+     */
+    public RelayAutotuner(double setpoint, double amplitude, double hysteresis) {
+        this(setpoint, amplitude, hysteresis, 4);
+    }
+
+    /**
+     * Advances the experiment with a new measurement, and returns the relay output to apply.
+     *
+     * @param measurement The value of the measured feedback.
+     * @param dtSeconds The time, in seconds, since the last call.
+     * @return The output to apply to the plant. 0 once the experiment is finished.
+     */
+    public double calculate(double measurement, double dtSeconds) {
+        if (finished) return 0;
+
+        elapsedSeconds += dtSeconds;
+
+        cycleMax = Math.max(cycleMax, measurement);
+        cycleMin = Math.min(cycleMin, measurement);
+
+        double error = setpoint - measurement;
+
+        if (error > hysteresis && output <= 0) {
+            // a rising edge of the relay marks the start of a new cycle
+            if (hasRisingEdge) endCycle();
+
+            hasRisingEdge = true;
+            lastRisingEdgeSeconds = elapsedSeconds;
+            cycleMax = measurement;
+            cycleMin = measurement;
+
+            output = amplitude;
+        } else if (error < -hysteresis && output >= 0) {
+            output = -amplitude;
+        } else if (output == 0) {
+            output = (error >= 0) ? amplitude : -amplitude;
+        }
+
+        return finished ? 0 : output;
+    }
+
+    private void endCycle() {
+        completedCycles++;
+
+        if (completedCycles == 1) return; // first cycle is still settling
+
+        periodSum += elapsedSeconds - lastRisingEdgeSeconds;
+        amplitudeSum += (cycleMax - cycleMin) / 2;
+
+        int measured = completedCycles - 1;
+
+        if (measured >= cycles) {
+            double meanAmplitude = amplitudeSum / measured;
+
+            // describing function of a relay with hysteresis
+            double effectiveAmplitude =
+                    Math.sqrt(
+                            Math.max(
+                                    meanAmplitude * meanAmplitude - hysteresis * hysteresis,
+                                    Double.MIN_NORMAL));
+
+            ultimateGain = (4 * amplitude) / (Math.PI * effectiveAmplitude);
+            ultimatePeriodSeconds = periodSum / measured;
+            output = 0;
+            finished = true;
+        }
+    }
+
+    /**
+     * Returns whether enough cycles have been measured to find gains.
+     *
+     * @return Whether the experiment is finished.
+     */
+    @Log
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the measured ultimate gain.
+     *
+     * @return The ultimate gain, or 0 if the experiment isn't finished.
+     */
+    @Log
+    public double getUltimateGain() {
+        return ultimateGain;
+    }
+
+    /**
+     * Returns the measured ultimate period.
+     *
+     * @return The ultimate period, in seconds, or 0 if the experiment isn't finished.
+     */
+    @Log
+    public double getUltimatePeriodSeconds() {
+        return ultimatePeriodSeconds;
+    }
+
+    /**
+     * Computes gains from the experiment's results.
+     *
+     * @param rule The rule to compute gains with.
+     * @return The computed gains.
+     * @throws IllegalStateException If the experiment isn't finished.
+     */
+    public PIDConstants computeConstants(TuningRule rule) {
+        if (!finished) throw new IllegalStateException("Relay experiment is not finished!");
+
+        return rule.compute(ultimateGain, ultimatePeriodSeconds);
+    }
+
+    /**
+     * Computes gains from the experiment's results, and applies them to a controller.
+     *
+     * @param controller The controller to apply gains to.
+     * @param rule The rule to compute gains with.
+     * @throws IllegalStateException If the experiment isn't finished.
+     */
+    public void applyTo(PID controller, TuningRule rule) {
+        controller.setConstants(computeConstants(rule));
+    }
+
+    /**
+     * Runs the experiment on a new background thread, so it doesn't block the main loop.
+     *
+     * <p>The returned future completes on the background thread, once the experiment finishes, with
+     * the computed gains. The actuator is set to 0 when the experiment ends for any reason.
+     *
+     * @param measurement Supplier of the measured feedback. Called from the background thread.
+     * @param actuator Consumer of the relay output. Called from the background thread.
+     * @param periodSeconds The period to run the experiment at, in seconds.
+     * @param rule The rule to compute gains with.
+     * @param timeoutSeconds How long to wait for the experiment to finish before giving up, in
+     *     seconds. If it times out, the future completes exceptionally with a {@link
+     *     TimeoutException}.
+     * @return A future of the computed gains. Cancelling it stops the experiment.
+     */
+    public CompletableFuture<PIDConstants> start(
+            DoubleSupplier measurement,
+            DoubleConsumer actuator,
+            double periodSeconds,
+            TuningRule rule,
+            double timeoutSeconds) {
+        CompletableFuture<PIDConstants> result = new CompletableFuture<>();
+
+        Runnable experiment =
+                () -> run(measurement, actuator, periodSeconds, rule, timeoutSeconds, result);
+
+        Thread thread = new Thread(experiment, "RelayAutotuner");
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return result;
+    }
+
+    private void run(
+            DoubleSupplier measurement,
+            DoubleConsumer actuator,
+            double periodSeconds,
+            TuningRule rule,
+            double timeoutSeconds,
+            CompletableFuture<PIDConstants> result) {
+        long periodNanos = (long) (periodSeconds * 1E9);
+        long last = System.nanoTime();
+        long deadline = last + (long) (timeoutSeconds * 1E9);
+
+        try {
+            while (!finished && !result.isDone()) {
+                long now = System.nanoTime();
+
+                if (now - deadline > 0) {
+                    result.completeExceptionally(
+                            new TimeoutException("Relay experiment did not converge!"));
+                    break;
+                }
+
+                actuator.accept(calculate(measurement.getAsDouble(), (now - last) / 1E9));
+                last = now;
+
+                LockSupport.parkNanos(periodNanos);
+            }
+
+            if (finished) result.complete(computeConstants(rule));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            actuator.accept(0);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.tuning;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Source of PID gains from a local properties file, which is watched for changes so controllers can
+ * be retuned by editing the file, without redeploying.
+ *
+ * <p>Each registered controller has a name, and reads its gains from the keys {@code name.kP},
+ * {@code name.kI}, and {@code name.kD}. Missing keys leave that gain unchanged. For example:
+ *
+ * <pre>
+ * arm.kP = 4.5
+ * arm.kI = 0.1
+ * arm.kD = 0.02
+ * </pre>
+ *
+ * <p>When the file changes, it is reread on a background thread, and each controller's gains are
+ * replaced in one step with {@code PID.setConstants()}, which is safe while the controllers are
+ * running. If the file can't be read or parsed, all gains are left as they were and the error is
+ * counted.
+ */
+public class TuningFile implements Logged, AutoCloseable {
+    private final Path file;
+
+    private final Map<String, PID> controllers = new LinkedHashMap<>();
+
+    private WatchService watcher = null;
+    private Thread thread = null;
+
+    private volatile long reloadCount = 0;
+    private volatile long errorCount = 0;
+
+    /**
+     * Constructs a TuningFile. The file isn't read until {@code reload()} or {@code start()} is
+     * called.
+     *
+     * @param file The path of the properties file to read gains from.
+     */
+    public TuningFile(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Registers a controller to receive gains from the file.
+     *
+     * @param name The prefix of the controller's keys in the file.
+     * @param controller The controller to set gains of.
+     */
+    public synchronized void register(String name, PID controller) {
+        controllers.put(name, controller);
+    }
+
+    /**
+     * Reads the file and applies its gains to all registered controllers.
+     *
+     * @return Whether the file was read successfully.
+     */
+    public synchronized boolean reload() {
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+
+            // parse everything before applying anything, so a bad value doesn't apply partially
+            Map<PID, PIDConstants> updates = new LinkedHashMap<>();
+
+            for (Map.Entry<String, PID> entry : controllers.entrySet()) {
+                String name = entry.getKey();
+                PIDConstants current = entry.getValue().getConstants();
+
+                updates.put(
+                        entry.getValue(),
+                        new PIDConstants(
+                                parse(properties, name + ".kP", current.getkP()),
+                                parse(properties, name + ".kI", current.getkI()),
+                                parse(properties, name + ".kD", current.getkD())));
+            }
+
+            for (Map.Entry<PID, PIDConstants> update : updates.entrySet()) {
+                update.getKey().setConstants(update.getValue());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            errorCount = errorCount + 1;
+            return false;
+        }
+
+        reloadCount = reloadCount + 1;
+        return true;
+    }
+
+    private static double parse(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) return fallback;
+
+        return Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Reads the file, and starts a daemon thread which rereads it whenever it changes. Has no
+     * effect if already started.
+     *
+     * @throws IOException If the file's directory can't be watched.
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) return;
+
+        WatchService service = FileSystems.getDefault().newWatchService();
+        file.getParent()
+                .register(
+                        service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcher = service;
+
+        reload();
+
+        thread = new Thread(() -> watch(service), "TuningFile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService service) {
+        Path name = file.getFileName();
+
+        try {
+            while (true) {
+                WatchKey key = service.take();
+
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (name.equals(event.context())) changed = true;
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) changed = true;
+                }
+
+                if (changed) reload();
+
+                if (!key.reset()) return; // directory is gone
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed, so stop watching
+        }
+    }
+
+    /** Stops watching the file. Gains already applied are kept. */
+    @Override
+    public synchronized void close() {
+        if (watcher == null) return;
+
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // the watching thread stops either way
+        }
+
+        thread.interrupt();
+    }
+
+    /**
+     * Returns the number of times the file has been read successfully.
+     *
+     * @return The number of successful reloads.
+     */
+    @Log
+    public long getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * Returns the number of times the file couldn't be read or parsed.
+     *
+     * @return The number of failed reloads.
+     */
+    @Log
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the path of the file being read.
+     *
+     * @return The absolute path of the file.
+     */
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.tuning;
+
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+
+/**
+ * Rules for finding PID gains from the ultimate gain and period of a plant (the proportional gain
+ * at which a P controller oscillates steadily, and the period of that oscillation).
+ *
+ * <p>Gains are returned in the form used by {@link com.team957.lib.controllers.feedback.PID}, where
+ * the integral gain multiplies the time integral of error and the derivative gain multiplies the
+ * rate of change of error.
+ */
+public enum TuningRule {
+    /**
+     * Classic Ziegler-Nichols PID rule. Responds quickly, but with significant overshoot and little
+     * robustness margin.
+     */
+    ZIEGLER_NICHOLS(0.6, 0.5, 0.125),
+
+    /**
+     * Tyreus-Luyben PID rule. Much less aggressive than Ziegler-Nichols, with less overshoot and
+     * more robustness, at the cost of slower response.
+     */
+    TYREUS_LUYBEN(1 / 2.2, 2.2, 1 / 6.3),
+
+    /**
+     * PI rule from Skogestad's SIMC tuning, with the closed-loop time constant equal to the delay,
+     * expressed through the ultimate gain and period by assuming an integrating plant with delay.
+     * Well-suited to position loops, and robust to modeling error.
+     */
+    SIMC(1 / Math.PI, 2, 0);
+
+    private final double gainRatio;
+    private final double integralTimeRatio;
+    private final double derivativeTimeRatio;
+
+    TuningRule(double gainRatio, double integralTimeRatio, double derivativeTimeRatio) {
+        this.gainRatio = gainRatio;
+        this.integralTimeRatio = integralTimeRatio;
+        this.derivativeTimeRatio = derivativeTimeRatio;
+    }
+
+    /**
+     * Computes PID gains from the ultimate gain and period of a plant.
+     *
+     * @param ultimateGain The proportional gain at which the plant oscillates steadily.
+     * @param ultimatePeriodSeconds The period of that oscillation, in seconds.
+     * @return The gains given by this rule.
+     */
+    public PIDConstants compute(double ultimateGain, double ultimatePeriodSeconds) {
+        double kP = gainRatio * ultimateGain;
+        double integralTime = integralTimeRatio * ultimatePeriodSeconds;
+        double derivativeTime = derivativeTimeRatio * ultimatePeriodSeconds;
+
+        return new PIDConstants(kP, kP / integralTime, kP * derivativeTime);
+    }
+}
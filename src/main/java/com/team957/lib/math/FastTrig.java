@@ -0,0 +1,272 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math;
+
+/**
+ * Sine and cosine from a lookup table with polynomial refinement, for hot paths (such as swerve
+ * kinematics or rotating many points) where {@code Math.sin} and {@code Math.cos} dominate.
+ *
+ * <p>An angle is split into the nearest table angle and a small remainder, and the table's sine
+ * and cosine are rotated by the remainder using short Taylor series. Sine and cosine share one
+ * table, so {@code sinCos()}, {@code tan()}, and {@code cot()} each cost about the same as either
+ * alone.
+ *
+ * <p>The maximum absolute error is chosen at construction, which sets the table size; tables are
+ * small (a few kilobytes for errors around 1E-12), so they stay in cache. The error bound holds
+ * for all finite angles: angles larger in magnitude than 2^20 radians fall back to {@code Math}.
+ * Absolute error means reciprocal functions (such as {@code UtilityMath.csc()}) lose relative
+ * accuracy near the zeros of the function they invert.
+ */
+public class FastTrig {
+    private static final double TWO_PI = 2 * Math.PI;
+
+    // 2 pi minus its nearest double
+    private static final double TWO_PI_LOW = 2.4492935982947064E-16;
+
+    // bound on rounding error from the table, reduction, and polynomial arithmetic
+    private static final double ROUNDING_ERROR = 2E-15;
+
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private static final double REDUCTION_LIMIT = 1 << 20;
+
+    private final int mask;
+    private final int quarter;
+    private final double[] sines;
+
+    private final double inverseStep;
+    private final double stepHigh;
+    private final double stepLow;
+
+    private final double maxError;
+
+    /**
+     * Constructs a FastTrig with the smallest table that meets an error bound.
+     *
+     * @param maxError The largest acceptable absolute error of any result. Must be at least
+     *     {@code 4E-15}.
+     * @throws IllegalArgumentException If the error bound is too small to guarantee.
+     */
+    public FastTrig(double maxError) {
+        if (!(maxError >= 2 * ROUNDING_ERROR)) {
+            throw new IllegalArgumentException("Max error must be at least 4E-15!");
+        }
+
+        int size = MIN_TABLE_SIZE;
+        while (errorBound(size) > maxError && size < MAX_TABLE_SIZE) size *= 2;
+
+        mask = size - 1;
+        quarter = size / 4;
+        this.maxError = errorBound(size);
+
+        double step = TWO_PI / size; // exact, since the size is a power of 2
+
+        // the high part has few enough bits that multiplying it by any index is exact
+        stepHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(step) & (-1L << 36));
+        stepLow = (step - stepHigh) + (TWO_PI_LOW / size);
+        inverseStep = size / TWO_PI;
+
+        sines = new double[size];
+        for (int i = 0; i < size; i++) sines[i] = Math.sin((i * stepHigh) + (i * stepLow));
+    }
+
+    // truncation error of the series at the largest remainder, plus rounding
+    private static double errorBound(int size) {
+        double remainder = Math.PI / size;
+        double squared = remainder * remainder;
+        double sixth = squared * squared * squared;
+
+        return (sixth / 720) + ((sixth * remainder) / 5040) + ROUNDING_ERROR;
+    }
+
+    /**
+     * Returns the sine of an angle.
+     *
+     * @param angleRadians The angle, in radians.
+     * @return The sine, within {@code getMaxError()} of the exact value.
+     */
+    public double sin(double angleRadians) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) return Math.sin(angleRadians);
+
+        long index = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (index * stepHigh)) - (index * stepLow);
+
+        int i = (int) (index & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        return (tableSin * cosRemainder(remainder)) + (tableCos * sinRemainder(remainder));
+    }
+
+    /**
+     * Returns the cosine of an angle.
+     *
+     * @param angleRadians The angle, in radians.
+     * @return The cosine, within {@code getMaxError()} of the exact value.
+     */
+    public double cos(double angleRadians) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) return Math.cos(angleRadians);
+
+        long index = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (index * stepHigh)) - (index * stepLow);
+
+        int i = (int) (index & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        return (tableCos * cosRemainder(remainder)) - (tableSin * sinRemainder(remainder));
+    }
+
+    /**
+     * Computes the sine and cosine of an angle together, for the cost of one. Doesn't allocate.
+     *
+     * @param angleRadians The angle, in radians.
+     * @param result An array to write the sine and cosine into, in that order. Each is within
+     *     {@code getMaxError()} of the exact value.
+     */
+    public void sinCos(double angleRadians, double[] result) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) {
+            result[0] = Math.sin(angleRadians);
+            result[1] = Math.cos(angleRadians);
+            return;
+        }
+
+        long index = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (index * stepHigh)) - (index * stepLow);
+
+        int i = (int) (index & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        double cosRemainder = cosRemainder(remainder);
+        double sinRemainder = sinRemainder(remainder);
+
+        result[0] = (tableSin * cosRemainder) + (tableCos * sinRemainder);
+        result[1] = (tableCos * cosRemainder) - (tableSin * sinRemainder);
+    }
+
+    /**
+     * Returns the tangent of an angle, from one table lookup. Doesn't allocate.
+     *
+     * @param angleRadians The angle, in radians. If the approximate cosine is 0, this will return
+     *     {@code NaN}.
+     * @return The tangent. Its error is the absolute error of the sine and cosine, which becomes a
+     *     large relative error near pi/2 and -pi/2.
+     */
+    public double tan(double angleRadians) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) return Math.tan(angleRadians);
+
+        long index = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (index * stepHigh)) - (index * stepLow);
+
+        int i = (int) (index & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        double cosRemainder = cosRemainder(remainder);
+        double sinRemainder = sinRemainder(remainder);
+
+        double cos = (tableCos * cosRemainder) - (tableSin * sinRemainder);
+        if (cos == 0) return Double.NaN;
+
+        return ((tableSin * cosRemainder) + (tableCos * sinRemainder)) / cos;
+    }
+
+    /**
+     * Returns the cotangent of an angle, from one table lookup. Doesn't allocate.
+     *
+     * @param angleRadians The angle, in radians. If the approximate sine is 0, this will return
+     *     {@code NaN}.
+     * @return The cotangent. Its error is the absolute error of the sine and cosine, which becomes
+     *     a large relative error near multiples of pi.
+     */
+    public double cot(double angleRadians) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) {
+            double sin = Math.sin(angleRadians);
+            return (sin == 0) ? Double.NaN : Math.cos(angleRadians) / sin;
+        }
+
+        long index = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (index * stepHigh)) - (index * stepLow);
+
+        int i = (int) (index & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        double cosRemainder = cosRemainder(remainder);
+        double sinRemainder = sinRemainder(remainder);
+
+        double sin = (tableSin * cosRemainder) + (tableCos * sinRemainder);
+        if (sin == 0) return Double.NaN;
+
+        return ((tableCos * cosRemainder) - (tableSin * sinRemainder)) / sin;
+    }
+
+    // writes magnitude * (cos, sin) of the angle into the arrays at an index, from one lookup,
+    // so bulk kernels can share the reduction without a scratch array
+    void scaledCosSin(double angleRadians, double magnitude, double[] xs, double[] ys, int index) {
+        if (!(Math.abs(angleRadians) <= REDUCTION_LIMIT)) {
+            xs[index] = magnitude * Math.cos(angleRadians);
+            ys[index] = magnitude * Math.sin(angleRadians);
+            return;
+        }
+
+        long tableIndex = Math.round(angleRadians * inverseStep);
+        double remainder = (angleRadians - (tableIndex * stepHigh)) - (tableIndex * stepLow);
+
+        int i = (int) (tableIndex & mask);
+        double tableSin = sines[i];
+        double tableCos = sines[(i + quarter) & mask];
+
+        double cosRemainder = cosRemainder(remainder);
+        double sinRemainder = sinRemainder(remainder);
+
+        xs[index] = magnitude * ((tableCos * cosRemainder) - (tableSin * sinRemainder));
+        ys[index] = magnitude * ((tableSin * cosRemainder) + (tableCos * sinRemainder));
+    }
+
+    // Taylor series to the 4th and 5th powers, accurate for remainders within half a table step
+    private static double cosRemainder(double remainder) {
+        double squared = remainder * remainder;
+        return 1 - (squared * (0.5 - (squared * (1.0 / 24))));
+    }
+
+    private static double sinRemainder(double remainder) {
+        double squared = remainder * remainder;
+        return remainder * (1 - (squared * ((1.0 / 6) - (squared * (1.0 / 120)))));
+    }
+
+    /**
+     * Returns the guaranteed bound on absolute error, which is at most the bound requested at
+     * construction.
+     *
+     * @return The maximum absolute error of any result.
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /**
+     * Returns the number of entries in the lookup table.
+     *
+     * @return The table size, a power of 2.
+     */
+    public int getTableSize() {
+        return sines.length;
+    }
+}
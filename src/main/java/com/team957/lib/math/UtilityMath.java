@@ -22,6 +22,7 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.numbers.N2;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** Various useful small math functions. */
@@ -43,6 +44,49 @@ public class UtilityMath {
         // remainder of the angle and 2pi, positive coterminal'd, and then remainder'd again
     }
 
+    /**
+     * Normalizes angles in radians between 0 and 2 pi, in place. Doesn't allocate.
+     *
+     * <p>Results are bit-for-bit identical to {@code normalizeAngleRadians(double)}, but angles
+     * already within one turn of the range (the common case) skip the slow floating-point
+     * remainder.
+     *
+     * @param anglesRadians The angles to normalize, in radians.
+     */
+    public static void normalizeAngleRadians(double[] anglesRadians) {
+        normalizeAngleRadians(anglesRadians, anglesRadians);
+    }
+
+    /**
+     * Normalizes angles in radians between 0 and 2 pi. Doesn't allocate.
+     *
+     * <p>Results are bit-for-bit identical to {@code normalizeAngleRadians(double)}, but angles
+     * already within one turn of the range (the common case) skip the slow floating-point
+     * remainder.
+     *
+     * @param anglesRadians The angles to normalize, in radians.
+     * @param normalized An array to write the normalized angles into. Must be at least as long as
+     *     the input, and may be the same array.
+     */
+    public static void normalizeAngleRadians(double[] anglesRadians, double[] normalized) {
+        double turn = 2 * Math.PI;
+
+        for (int i = 0; i < anglesRadians.length; i++) {
+            double angle = anglesRadians[i];
+
+            if (angle > -turn && angle < turn) {
+                // the first remainder is a no-op here, and the second only needs to subtract a
+                // turn, which is exact (Sterbenz) since the sum is in [turn, 2 * turn]
+                double shifted = angle + turn;
+                if (shifted >= turn) shifted -= turn;
+
+                normalized[i] = (shifted >= turn) ? 0 : shifted;
+            } else {
+                normalized[i] = normalizeAngleRadians(angle);
+            }
+        }
+    }
+
     /**
      * Normalizes an angle in degrees between 0 and 360.
      *
@@ -94,6 +138,9 @@ public class UtilityMath {
      * Scales a set of doubles symmetrically such that they sum to a desired number, while
      * maintaining the same ratio.
      *
+     * <p>This boxes every value. In loops, prefer the {@code double[]} overloads, which don't
+     * allocate.
+     *
      * @param inputs A list of doubles. If empty, this will return an empty list. If this sums to
      *     zero, this will be returned.
      * @param desiredSum The desired sum, positive or negative, of the outputs. If equal to zero,
@@ -101,56 +148,138 @@ public class UtilityMath {
      * @return A list of doubles with the same ratios between each other as the inputs.
      */
     public static List<Double> scaleToSum(List<Double> inputs, double desiredSum) {
-        if (inputs.size() == 0) return List.of();
-        if (desiredSum == 0) return new ArrayList<>(inputs.size());
+        double[] values = toArray(inputs);
+        scaleToSum(values, desiredSum);
 
-        double sum = 0;
-        for (double value : inputs) {
-            sum += value;
+        return toList(values);
+    }
+
+    /**
+     * Scales a set of doubles symmetrically such that they sum to a desired number, while
+     * maintaining the same ratio, in place. Doesn't allocate.
+     *
+     * @param values The values to scale. If these sum to zero, they are left unchanged.
+     * @param desiredSum The desired sum, positive or negative, of the values. If equal to zero,
+     *     all values are set to zero.
+     */
+    public static void scaleToSum(double[] values, double desiredSum) {
+        scaleToSum(values, values, desiredSum);
+    }
+
+    /**
+     * Scales a set of doubles symmetrically such that they sum to a desired number, while
+     * maintaining the same ratio. Doesn't allocate.
+     *
+     * @param inputs The values to scale. If these sum to zero, they are copied unchanged.
+     * @param outputs An array to write the scaled values into, in the same order. Must be at least
+     *     as long as the inputs, and may be the same array.
+     * @param desiredSum The desired sum, positive or negative, of the outputs. If equal to zero,
+     *     the outputs are all zero.
+     */
+    public static void scaleToSum(double[] inputs, double[] outputs, double desiredSum) {
+        int length = inputs.length;
+
+        if (desiredSum == 0) {
+            Arrays.fill(outputs, 0, length, 0);
+            return;
         }
 
-        if (sum == 0) return inputs;
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += inputs[i];
+        }
 
-        ArrayList<Double> outputs = new ArrayList<>();
+        if (sum == 0) {
+            if (outputs != inputs) System.arraycopy(inputs, 0, outputs, 0, length);
+            return;
+        }
 
         double scalingFactor = desiredSum / sum;
 
-        for (int i = 0; i < inputs.size(); i++) {
-            outputs.add(inputs.get(i) * scalingFactor);
+        for (int i = 0; i < length; i++) {
+            outputs[i] = inputs[i] * scalingFactor;
         }
-
-        return outputs;
     }
 
     /**
      * Scales a set of doubles symmetrically to ensure that none of them exceed a maximum absolute
      * value, while still maintaining the same ratio.
      *
+     * <p>This boxes every value. In loops (such as desaturating swerve module speeds), prefer the
+     * {@code double[]} overloads, which don't allocate.
+     *
      * @param inputs A list of the input values. If empty, this will return an empty array.
      * @param maxAbsoluteValue The maximum absolute value allowed for an output.
      * @return A list of the scaled values, in the same order as they were input.
      */
     public static List<Double> normalizeSet(List<Double> inputs, double maxAbsoluteValue) {
-        if (inputs.size() == 0) return inputs;
-        int highestIndex = 0; // find the largest absolute value element in the list
-        for (int i = 0; i < inputs.size(); i++) {
-            if (Math.abs(inputs.get(highestIndex)) < Math.abs(inputs.get(i))) {
+        double[] values = toArray(inputs);
+        normalizeSet(values, maxAbsoluteValue);
+
+        return toList(values);
+    }
+
+    /**
+     * Scales a set of doubles symmetrically to ensure that none of them exceed a maximum absolute
+     * value, while still maintaining the same ratio, in place. Doesn't allocate.
+     *
+     * @param values The values to scale. Left unchanged if none exceed the maximum.
+     * @param maxAbsoluteValue The maximum absolute value allowed for a value.
+     */
+    public static void normalizeSet(double[] values, double maxAbsoluteValue) {
+        normalizeSet(values, values, maxAbsoluteValue);
+    }
+
+    /**
+     * Scales a set of doubles symmetrically to ensure that none of them exceed a maximum absolute
+     * value, while still maintaining the same ratio. Doesn't allocate.
+     *
+     * @param inputs The values to scale. Copied unchanged if none exceed the maximum.
+     * @param outputs An array to write the scaled values into, in the same order. Must be at least
+     *     as long as the inputs, and may be the same array.
+     * @param maxAbsoluteValue The maximum absolute value allowed for an output.
+     */
+    public static void normalizeSet(double[] inputs, double[] outputs, double maxAbsoluteValue) {
+        int length = inputs.length;
+        if (length == 0) return;
+
+        int highestIndex = 0; // find the largest absolute value element in the array
+        for (int i = 0; i < length; i++) {
+            if (Math.abs(inputs[highestIndex]) < Math.abs(inputs[i])) {
                 highestIndex = i;
             }
         }
-        if (Math.abs(inputs.get(highestIndex)) <= maxAbsoluteValue) {
-            return inputs; // if it's <= the max absolute value, just return the inputs
+
+        if (Math.abs(inputs[highestIndex]) <= maxAbsoluteValue) {
+            // if it's <= the max absolute value, just pass the inputs through
+            if (outputs != inputs) System.arraycopy(inputs, 0, outputs, 0, length);
         } else {
-            ArrayList<Double> outputs = new ArrayList<>();
-            double scalingFactor = maxAbsoluteValue / Math.abs(inputs.get(highestIndex));
-            for (int i = 0; i < inputs.size(); i++) {
+            double scalingFactor = maxAbsoluteValue / Math.abs(inputs[highestIndex]);
+            for (int i = 0; i < length; i++) {
                 // get the scaling factor and apply it to each element
-                outputs.add(inputs.get(i) * scalingFactor);
+                outputs[i] = inputs[i] * scalingFactor;
             }
-            return outputs;
         }
     }
 
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+
+        return array;
+    }
+
+    private static List<Double> toList(double[] values) {
+        ArrayList<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+
+        return list;
+    }
+
     /**
      * Constrains a value between two other numbers.
      *
@@ -165,6 +294,37 @@ public class UtilityMath {
         else return value;
     }
 
+    /**
+     * Constrains values between two other numbers, in place. Doesn't allocate.
+     *
+     * <p>Results are identical to {@code clamp(double, double, double)}.
+     *
+     * @param ceiling The maximum allowed value of the outputs.
+     * @param floor The minimum allowed value of the outputs.
+     * @param values The values to constrain.
+     */
+    public static void clamp(double ceiling, double floor, double[] values) {
+        clamp(ceiling, floor, values, values);
+    }
+
+    /**
+     * Constrains values between two other numbers. Doesn't allocate.
+     *
+     * <p>Results are identical to {@code clamp(double, double, double)}.
+     *
+     * @param ceiling The maximum allowed value of the outputs.
+     * @param floor The minimum allowed value of the outputs.
+     * @param values The values to constrain.
+     * @param constrained An array to write the constrained values into. Must be at least as long
+     *     as the input, and may be the same array.
+     */
+    public static void clamp(double ceiling, double floor, double[] values, double[] constrained) {
+        for (int i = 0; i < values.length; i++) {
+            double value = values[i];
+            constrained[i] = (value > ceiling) ? ceiling : (value < floor) ? floor : value;
+        }
+    }
+
     /**
      * Constrains a value under a maximum absolute value.
      *
@@ -310,9 +470,25 @@ public class UtilityMath {
      * @return The cosecant of the angle.
      */
     public static double csc(double thetaRadians) {
-        if (Math.sin(thetaRadians) == 0) return Double.NaN;
+        double sin = Math.sin(thetaRadians);
+        if (sin == 0) return Double.NaN;
 
-        return 1 / Math.sin(thetaRadians);
+        return 1 / sin;
+    }
+
+    /**
+     * Takes the trigonometric cosecant of an angle, using a fast sine approximation.
+     *
+     * @param thetaRadians The angle. If the approximate sine is 0, this will return {@code NaN}.
+     * @param trig The sine approximation. Its absolute error becomes a large relative error near
+     *     multiples of pi.
+     * @return The cosecant of the angle.
+     */
+    public static double csc(double thetaRadians, FastTrig trig) {
+        double sin = trig.sin(thetaRadians);
+        if (sin == 0) return Double.NaN;
+
+        return 1 / sin;
     }
 
     /**
@@ -322,9 +498,25 @@ public class UtilityMath {
      * @return The secant of the angle.
      */
     public static double sec(double thetaRadians) {
-        if (Math.cos(thetaRadians) == 0) return Double.NaN;
+        double cos = Math.cos(thetaRadians);
+        if (cos == 0) return Double.NaN;
+
+        return 1 / cos;
+    }
+
+    /**
+     * Takes the trigonometric secant of an angle, using a fast cosine approximation.
+     *
+     * @param thetaRadians The angle. If the approximate cosine is 0, this will return {@code NaN}.
+     * @param trig The cosine approximation. Its absolute error becomes a large relative error near
+     *     pi/2 and -pi/2.
+     * @return The secant of the angle.
+     */
+    public static double sec(double thetaRadians, FastTrig trig) {
+        double cos = trig.cos(thetaRadians);
+        if (cos == 0) return Double.NaN;
 
-        return 1 / Math.cos(thetaRadians);
+        return 1 / cos;
     }
 
     /**
@@ -334,9 +526,23 @@ public class UtilityMath {
      * @return The cotangent of the angle.
      */
     public static double cot(double thetaRadians) {
-        if (Math.sin(thetaRadians) == 0) return Double.NaN;
+        double sin = Math.sin(thetaRadians);
+        if (sin == 0) return Double.NaN;
 
-        return Math.cos(thetaRadians) / Math.sin(thetaRadians);
+        return Math.cos(thetaRadians) / sin;
+    }
+
+    /**
+     * Takes the trigonometric cotangent of an angle, using fast sine and cosine approximations.
+     * Doesn't allocate.
+     *
+     * @param thetaRadians The angle. If the approximate sine is 0, this will return {@code NaN}.
+     * @param trig The sine and cosine approximation. Its absolute error becomes a large relative
+     *     error near multiples of pi.
+     * @return The cotangent of the angle.
+     */
+    public static double cot(double thetaRadians, FastTrig trig) {
+        return trig.cot(thetaRadians);
     }
 
     /**
@@ -415,6 +621,22 @@ public class UtilityMath {
         return Tuple2.of(magnitude * Math.cos(angle), magnitude * Math.sin(angle));
     }
 
+    /**
+     * Converts a point in polar coordinates into a point in Cartesian coordinates, using fast sine
+     * and cosine approximations.
+     *
+     * @param angle The angle, in radians counterclockwise from the positive x-axis, of the point
+     *     vector.
+     * @param magnitude The magnitude of the point vector.
+     * @param trig The sine and cosine approximation. The error of each coordinate is at most its
+     *     error times the magnitude.
+     * @return A Tuple2 of the Cartesian coordinates, as (x, y).
+     */
+    public static Tuple2<Double> fromPolarToCartesian(
+            double angle, double magnitude, FastTrig trig) {
+        return Tuple2.of(magnitude * trig.cos(angle), magnitude * trig.sin(angle));
+    }
+
     /**
      * Converts a point in Cartesian coordinates into a point in polar coordinates.
      *
@@ -426,6 +648,77 @@ public class UtilityMath {
         return Tuple2.of(Math.atan2(y, x), hypotenuse(x, y));
     }
 
+    /**
+     * Converts points in polar coordinates into points in Cartesian coordinates. Doesn't allocate.
+     *
+     * <p>Results are bit-for-bit identical to {@code fromPolarToCartesian(double, double)}.
+     *
+     * @param angles The angles, in radians counterclockwise from the positive x-axis, of the point
+     *     vectors.
+     * @param magnitudes The magnitudes of the point vectors. Must be at least as long as the
+     *     angles.
+     * @param xs An array to write the x-values of the points into. Must be at least as long as the
+     *     angles, and may be the same as either input.
+     * @param ys An array to write the y-values of the points into. Must be at least as long as the
+     *     angles, and may be the same as either input.
+     */
+    public static void fromPolarToCartesian(
+            double[] angles, double[] magnitudes, double[] xs, double[] ys) {
+        for (int i = 0; i < angles.length; i++) {
+            double angle = angles[i];
+            double magnitude = magnitudes[i];
+
+            xs[i] = magnitude * Math.cos(angle);
+            ys[i] = magnitude * Math.sin(angle);
+        }
+    }
+
+    /**
+     * Converts points in polar coordinates into points in Cartesian coordinates, using fast sine
+     * and cosine approximations. Doesn't allocate.
+     *
+     * @param angles The angles, in radians counterclockwise from the positive x-axis, of the point
+     *     vectors.
+     * @param magnitudes The magnitudes of the point vectors. Must be at least as long as the
+     *     angles.
+     * @param xs An array to write the x-values of the points into. Must be at least as long as the
+     *     angles, and may be the same as either input.
+     * @param ys An array to write the y-values of the points into. Must be at least as long as the
+     *     angles, and may be the same as either input.
+     * @param trig The sine and cosine approximation. The error of each coordinate is at most its
+     *     error times the magnitude.
+     */
+    public static void fromPolarToCartesian(
+            double[] angles, double[] magnitudes, double[] xs, double[] ys, FastTrig trig) {
+        for (int i = 0; i < angles.length; i++) {
+            trig.scaledCosSin(angles[i], magnitudes[i], xs, ys, i);
+        }
+    }
+
+    /**
+     * Converts points in Cartesian coordinates into points in polar coordinates. Doesn't allocate.
+     *
+     * <p>Angles are bit-for-bit identical to {@code fromCartesianToPolar(double, double)}, and
+     * magnitudes are within 1 ulp, since they use a correctly rounded square root.
+     *
+     * @param xs The x-values of the points.
+     * @param ys The y-values of the points. Must be at least as long as the x-values.
+     * @param angles An array to write the angles of the points into, in radians. Must be at least
+     *     as long as the x-values, and may be the same as either input.
+     * @param magnitudes An array to write the magnitudes of the points into. Must be at least as
+     *     long as the x-values, and may be the same as either input.
+     */
+    public static void fromCartesianToPolar(
+            double[] xs, double[] ys, double[] angles, double[] magnitudes) {
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            double y = ys[i];
+
+            angles[i] = Math.atan2(y, x);
+            magnitudes[i] = Math.sqrt((x * x) + (y * y));
+        }
+    }
+
     /**
      * Computes the arithmetic mean, often called the average, of a set of numbers.
      *
@@ -434,7 +727,19 @@ public class UtilityMath {
      * @return The arithmetic mean.
      */
     public static double arithmeticMean(List<Double> values) {
-        if (values.size() == 0) return 0;
+        return arithmeticMean(toArray(values));
+    }
+
+    /**
+     * Computes the arithmetic mean, often called the average, of a set of numbers. Doesn't
+     * allocate.
+     *
+     * @param values The numbers to find the arithmetic mean of. If empty, this will return {@code
+     *     0}.
+     * @return The arithmetic mean.
+     */
+    public static double arithmeticMean(double[] values) {
+        if (values.length == 0) return 0;
 
         double sum = 0;
 
@@ -442,7 +747,7 @@ public class UtilityMath {
             sum += entry;
         }
 
-        return (sum / values.size());
+        return (sum / values.length);
     }
 
     /**
@@ -453,7 +758,18 @@ public class UtilityMath {
      * @return The geometric mean.
      */
     public static double geometricMean(List<Double> values) {
-        if (values.size() == 0) return 0;
+        return geometricMean(toArray(values));
+    }
+
+    /**
+     * Computes the geometric mean of a series of numbers. Doesn't allocate.
+     *
+     * @param values The numbers to find the geometric mean of. If empty, this will return {@code
+     *     0}.
+     * @return The geometric mean.
+     */
+    public static double geometricMean(double[] values) {
+        if (values.length == 0) return 0;
 
         double product = 1;
 
@@ -461,7 +777,7 @@ public class UtilityMath {
             product = product * entry;
         }
 
-        return Math.pow(product, 1.0 / values.size());
+        return Math.pow(product, 1.0 / values.length);
     }
 
     /**
@@ -474,14 +790,28 @@ public class UtilityMath {
      * @return The geometric mean.
      */
     public static double harmonicMean(List<Double> values) {
-        ArrayList<Double> reciprocals = new ArrayList<>();
+        return harmonicMean(toArray(values));
+    }
 
-        for (int i = 0; i < values.size(); i++) {
-            if (values.get(i) == 0) reciprocals.add(0.0);
-            else reciprocals.add(1 / values.get(i));
+    /**
+     * Computes the harmonic mean of a series of numbers. Doesn't allocate.
+     *
+     * <p>If a number input to this is 0, its reciprocal will be defined as 0, and if the arithmetic
+     * mean before reciprocation is 0, this will return 0.
+     *
+     * @param values The numbers to find the harmonic mean of. If empty, this will return {@code 0}.
+     * @return The harmonic mean.
+     */
+    public static double harmonicMean(double[] values) {
+        if (values.length == 0) return 0;
+
+        double reciprocalSum = 0;
+
+        for (double entry : values) {
+            if (entry != 0) reciprocalSum += 1 / entry;
         }
 
-        double aMean = arithmeticMean(reciprocals);
+        double aMean = reciprocalSum / values.length;
 
         if (aMean == 0) return 0;
         else return (1 / aMean);
@@ -508,15 +838,31 @@ public class UtilityMath {
      * @return The 2-dimensional rotation matrix for the given angle.
      */
     public static Matrix<N2, N2> get2DRotationMatrix(double angleRadians) {
+        return rotationMatrix(Math.sin(angleRadians), Math.cos(angleRadians));
+    }
+
+    /**
+     * Returns a rotation matrix for 2-dimensional vectors, using fast sine and cosine
+     * approximations.
+     *
+     * @param angleRadians An angle, in radians, to generate a rotation matrix for.
+     * @param trig The sine and cosine approximation. Each element is within its error.
+     * @return The 2-dimensional rotation matrix for the given angle.
+     */
+    public static Matrix<N2, N2> get2DRotationMatrix(double angleRadians, FastTrig trig) {
+        return rotationMatrix(trig.sin(angleRadians), trig.cos(angleRadians));
+    }
+
+    private static Matrix<N2, N2> rotationMatrix(double sin, double cos) {
         var mat = new Matrix<>(N2.instance, N2.instance);
 
-        mat.set(0, 0, Math.cos(angleRadians));
+        mat.set(0, 0, cos);
 
-        mat.set(0, 1, -Math.sin(angleRadians));
+        mat.set(0, 1, -sin);
 
-        mat.set(1, 0, Math.sin(angleRadians));
+        mat.set(1, 0, sin);
 
-        mat.set(1, 1, Math.cos(angleRadians));
+        mat.set(1, 1, cos);
 
         return mat;
     }
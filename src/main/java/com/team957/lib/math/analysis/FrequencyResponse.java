@@ -0,0 +1,189 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.analysis;
+
+/**
+ * The response of a system to sine waves at a set of frequencies, as found by a {@link
+ * FrequencyResponseAnalyzer}.
+ *
+ * <p>Phases are unwrapped across the frequencies, in order, so a lag of more than half a cycle is
+ * reported as such. Phase delay is the time a sine wave of a frequency is shifted by, and group
+ * delay is the time the envelope of a signal near that frequency is shifted by, which is what
+ * matters for the latency of a filter. For most low-pass filters, the two are nearly equal at low
+ * frequencies.
+ */
+public class FrequencyResponse {
+    private final double[] frequenciesHz;
+    private final double[] real;
+    private final double[] imaginary;
+    private final double[] phases;
+    private final double[] groupDelays;
+
+    /**
+     * Constructs a FrequencyResponse.
+     *
+     * @param frequenciesHz The frequencies, in hertz, in increasing order.
+     * @param real The real parts of the response at each frequency.
+     * @param imaginary The imaginary parts of the response at each frequency.
+     * @param groupDelaysSeconds The group delay at each frequency, or null to estimate it from the
+     *     change in phase between frequencies.
+     * @throws IllegalArgumentException If the arrays are of different lengths.
+     */
+    public FrequencyResponse(
+            double[] frequenciesHz,
+            double[] real,
+            double[] imaginary,
+            double[] groupDelaysSeconds) {
+        int n = frequenciesHz.length;
+        if (real.length != n
+                || imaginary.length != n
+                || (groupDelaysSeconds != null && groupDelaysSeconds.length != n)) {
+            throw new IllegalArgumentException("Arrays must be the same length!");
+        }
+
+        this.frequenciesHz = frequenciesHz.clone();
+        this.real = real.clone();
+        this.imaginary = imaginary.clone();
+
+        phases = new double[n];
+        for (int i = 0; i < n; i++) {
+            phases[i] = Math.atan2(imaginary[i], real[i]);
+
+            if (i > 0) {
+                // take the equivalent angle closest to the previous phase
+                double step = phases[i] - phases[i - 1];
+                phases[i] -= 2 * Math.PI * Math.round(step / (2 * Math.PI));
+            }
+        }
+
+        if (groupDelaysSeconds != null) {
+            groupDelays = groupDelaysSeconds.clone();
+        } else {
+            groupDelays = new double[n];
+
+            for (int i = 0; i < n; i++) {
+                int low = Math.max(0, i - 1);
+                int high = Math.min(n - 1, i + 1);
+
+                double span = 2 * Math.PI * (frequenciesHz[high] - frequenciesHz[low]);
+
+                groupDelays[i] =
+                        (low == high) ? Double.NaN : -(phases[high] - phases[low]) / span;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of frequencies in the response.
+     *
+     * @return The number of frequencies.
+     */
+    public int size() {
+        return frequenciesHz.length;
+    }
+
+    /**
+     * Returns a frequency of the response.
+     *
+     * @param index The index of the frequency.
+     * @return The frequency, in hertz.
+     */
+    public double getFrequencyHz(int index) {
+        return frequenciesHz[index];
+    }
+
+    /**
+     * Returns the gain at a frequency.
+     *
+     * @param index The index of the frequency.
+     * @return The ratio of the output amplitude to the input amplitude.
+     */
+    public double getMagnitude(int index) {
+        return Math.hypot(real[index], imaginary[index]);
+    }
+
+    /**
+     * Returns the gain at a frequency, in decibels.
+     *
+     * @param index The index of the frequency.
+     * @return The gain, in decibels.
+     */
+    public double getMagnitudeDecibels(int index) {
+        return 20 * Math.log10(getMagnitude(index));
+    }
+
+    /**
+     * Returns the phase shift at a frequency. Negative values are lag.
+     *
+     * @param index The index of the frequency.
+     * @return The unwrapped phase, in radians.
+     */
+    public double getPhaseRadians(int index) {
+        return phases[index];
+    }
+
+    /**
+     * Returns the phase shift at a frequency, in degrees. Negative values are lag.
+     *
+     * @param index The index of the frequency.
+     * @return The unwrapped phase, in degrees.
+     */
+    public double getPhaseDegrees(int index) {
+        return Math.toDegrees(phases[index]);
+    }
+
+    /**
+     * Returns the time a sine wave at a frequency is delayed by.
+     *
+     * @param index The index of the frequency.
+     * @return The phase delay, in seconds.
+     */
+    public double getPhaseDelaySeconds(int index) {
+        return -phases[index] / (2 * Math.PI * frequenciesHz[index]);
+    }
+
+    /**
+     * Returns the time the envelope of a signal near a frequency is delayed by.
+     *
+     * @param index The index of the frequency.
+     * @return The group delay, in seconds, or NaN if it couldn't be estimated from a single
+     *     frequency.
+     */
+    public double getGroupDelaySeconds(int index) {
+        return groupDelays[index];
+    }
+
+    /**
+     * Returns the real part of the response at a frequency.
+     *
+     * @param index The index of the frequency.
+     * @return The real part of the response.
+     */
+    public double getReal(int index) {
+        return real[index];
+    }
+
+    /**
+     * Returns the imaginary part of the response at a frequency.
+     *
+     * @param index The index of the frequency.
+     * @return The imaginary part of the response.
+     */
+    public double getImaginary(int index) {
+        return imaginary[index];
+    }
+}
@@ -0,0 +1,378 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.analysis;
+
+import com.team957.lib.math.filters.Filter;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the gain and phase shift of filters and control loops across frequency, so their lag and
+ * noise rejection can be compared directly instead of by eye from plots.
+ *
+ * <p>Filters that know their own response (see {@link Filter#frequencyResponse}), including sums,
+ * scalings, and compositions of them, are evaluated exactly. Anything else is treated as a black
+ * box, a function of its input and the tick length, and measured by simulation: either by a
+ * stepped sine, which drives a separate instance of the system with a sine wave at each frequency
+ * in parallel, or by a chirp, which drives one instance with a single sweep through all the
+ * frequencies. Stepped sines are slower but more accurate, especially for nonlinear systems.
+ *
+ * <p>In both cases, the response at each frequency is found by correlating the input and output
+ * with a complex sinusoid at that frequency, and taking the ratio. The mean of each is removed
+ * first, so a constant offset in the output doesn't leak into the result.
+ */
+public class FrequencyResponseAnalyzer {
+    // relative frequency step used to differentiate an exact phase into a group delay
+    private static final double GROUP_DELAY_STEP = 1E-4;
+
+    private final double dtSeconds;
+
+    private double amplitude = 1;
+    private double offset = 0;
+    private int settleCycles = 5;
+    private int measureCycles = 10;
+
+    /**
+     * Constructs a FrequencyResponseAnalyzer.
+     *
+     * @param dtSeconds The tick length the systems run at, in seconds. Must be greater than 0.
+     * @throws IllegalArgumentException If the tick length is not greater than 0.
+     */
+    public FrequencyResponseAnalyzer(double dtSeconds) {
+        if (!(dtSeconds > 0)) throw new IllegalArgumentException("dt must be greater than 0!");
+
+        this.dtSeconds = dtSeconds;
+    }
+
+    /**
+     * Sets the input signal used for simulated measurements. For nonlinear systems (such as loops
+     * with output limits or static friction), the response depends on both.
+     *
+     * @param amplitude The amplitude of the input sine wave. Must be greater than 0.
+     * @param offset The constant the sine wave is centered on, such as a setpoint to oscillate
+     *     around.
+     * @throws IllegalArgumentException If the amplitude is not greater than 0.
+     */
+    public void setInput(double amplitude, double offset) {
+        if (!(amplitude > 0)) {
+            throw new IllegalArgumentException("Amplitude must be greater than 0!");
+        }
+
+        this.amplitude = amplitude;
+        this.offset = offset;
+    }
+
+    /**
+     * Sets the length of stepped sine measurements.
+     *
+     * @param settleCycles The number of cycles to run at each frequency before measuring, so that
+     *     the transient from starting the sine wave dies out. Must not be negative.
+     * @param measureCycles The number of cycles to measure over at each frequency. Must be at least
+     *     1.
+     * @throws IllegalArgumentException If the settling cycles are negative or the measured cycles
+     *     are less than 1.
+     */
+    public void setCycles(int settleCycles, int measureCycles) {
+        if (settleCycles < 0) {
+            throw new IllegalArgumentException("Settling cycles must not be negative!");
+        }
+        if (measureCycles < 1) {
+            throw new IllegalArgumentException("Measured cycles must be at least 1!");
+        }
+
+        this.settleCycles = settleCycles;
+        this.measureCycles = measureCycles;
+    }
+
+    /**
+     * Finds the frequency response of a filter. If the filter (and every stage of it) has an exact
+     * response, it is evaluated at every frequency in parallel, and the filter isn't run.
+     * Otherwise, the response is measured by a stepped sine, one frequency at a time, resetting
+     * the filter before each.
+     *
+     * @param filter The filter to analyze.
+     * @param frequenciesHz The frequencies to find the response at, in hertz, in increasing order.
+     *     All must be between 0 and the Nyquist frequency, exclusive.
+     * @return The frequency response.
+     * @throws IllegalArgumentException If the frequencies are out of range or out of order.
+     */
+    public FrequencyResponse analyze(Filter filter, double... frequenciesHz) {
+        checkFrequencies(frequenciesHz);
+
+        int n = frequenciesHz.length;
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        double[] groupDelays = new double[n];
+
+        try {
+            // check support before spending the parallel evaluation on it
+            filter.frequencyResponse(frequenciesHz[0], dtSeconds, new double[2]);
+        } catch (UnsupportedOperationException e) {
+            for (int i = 0; i < n; i++) {
+                filter.reset();
+                steppedSine(filter::calculate, frequenciesHz[i], real, imaginary, i);
+            }
+
+            return new FrequencyResponse(frequenciesHz, real, imaginary, null);
+        }
+
+        IntStream.range(0, n)
+                .parallel()
+                .forEach(
+                        (i) -> {
+                            double f = frequenciesHz[i];
+                            double[] response = new double[2];
+                            double[] below = new double[2];
+                            double[] above = new double[2];
+
+                            filter.frequencyResponse(f, dtSeconds, response);
+                            filter.frequencyResponse(
+                                    f * (1 - GROUP_DELAY_STEP), dtSeconds, below);
+                            filter.frequencyResponse(
+                                    f * (1 + GROUP_DELAY_STEP), dtSeconds, above);
+
+                            real[i] = response[0];
+                            imaginary[i] = response[1];
+
+                            // angle of above / below, which can't wrap for a small step
+                            double phaseStep =
+                                    Math.atan2(
+                                            (above[1] * below[0]) - (above[0] * below[1]),
+                                            (above[0] * below[0]) + (above[1] * below[1]));
+
+                            groupDelays[i] =
+                                    -phaseStep / (2 * Math.PI * 2 * f * GROUP_DELAY_STEP);
+                        });
+
+        return new FrequencyResponse(frequenciesHz, real, imaginary, groupDelays);
+    }
+
+    /**
+     * Measures the frequency response of a system by stepped sine, in parallel. Each frequency is
+     * measured on a new instance of the system, so instances must not share state.
+     *
+     * <p>For example, a closed position loop from setpoint to position can be measured by
+     * supplying a function that builds a new controller and {@code Simulation}, and returns a
+     * function which ticks the simulation with the input as the setpoint.
+     *
+     * @param systems Supplies new instances of the system, each a function of its input and the
+     *     tick length, in seconds, returning its output.
+     * @param frequenciesHz The frequencies to measure the response at, in hertz, in increasing
+     *     order. All must be between 0 and the Nyquist frequency, exclusive.
+     * @return The frequency response.
+     * @throws IllegalArgumentException If the frequencies are out of range or out of order.
+     */
+    public FrequencyResponse measure(
+            Supplier<? extends DoubleBinaryOperator> systems, double... frequenciesHz) {
+        checkFrequencies(frequenciesHz);
+
+        int n = frequenciesHz.length;
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+
+        IntStream.range(0, n)
+                .parallel()
+                .forEach((i) -> steppedSine(systems.get(), frequenciesHz[i], real, imaginary, i));
+
+        return new FrequencyResponse(frequenciesHz, real, imaginary, null);
+    }
+
+    /**
+     * Measures the frequency response of a system with a single exponential chirp, which sweeps
+     * from the lowest frequency to the highest, spending the same number of cycles at each octave.
+     * The response at each frequency is then found in parallel from the recorded sweep.
+     *
+     * @param system The system, a function of its input and the tick length, in seconds, returning
+     *     its output.
+     * @param durationSeconds The length of the sweep, in seconds. Longer sweeps are more accurate.
+     *     Must be greater than 0.
+     * @param frequenciesHz The frequencies to find the response at, in hertz, in increasing order.
+     *     All must be between 0 and the Nyquist frequency, exclusive.
+     * @return The frequency response.
+     * @throws IllegalArgumentException If the duration is not greater than 0, or the frequencies
+     *     are out of range or out of order.
+     */
+    public FrequencyResponse measureChirp(
+            DoubleBinaryOperator system, double durationSeconds, double... frequenciesHz) {
+        if (!(durationSeconds > 0)) {
+            throw new IllegalArgumentException("Duration must be greater than 0!");
+        }
+        checkFrequencies(frequenciesHz);
+
+        int n = frequenciesHz.length;
+        double start = frequenciesHz[0];
+        double end = frequenciesHz[n - 1];
+
+        int samples = (int) Math.ceil(durationSeconds / dtSeconds);
+        double[] inputs = new double[samples];
+        double[] outputs = new double[samples];
+
+        double rate = Math.log(end / start) / durationSeconds;
+
+        for (int k = 0; k < samples; k++) {
+            double t = k * dtSeconds;
+
+            // integral of the instantaneous frequency start * e^(rate * t)
+            double phase =
+                    (rate == 0)
+                            ? 2 * Math.PI * start * t
+                            : 2 * Math.PI * start * Math.expm1(rate * t) / rate;
+
+            inputs[k] = amplitude * Math.sin(phase);
+            outputs[k] = system.applyAsDouble(offset + inputs[k], dtSeconds);
+        }
+
+        removeMean(inputs);
+        removeMean(outputs);
+
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+
+        IntStream.range(0, n)
+                .parallel()
+                .forEach(
+                        (i) ->
+                                ratio(
+                                        inputs,
+                                        outputs,
+                                        0,
+                                        samples,
+                                        frequenciesHz[i],
+                                        real,
+                                        imaginary,
+                                        i));
+
+        return new FrequencyResponse(frequenciesHz, real, imaginary, null);
+    }
+
+    /**
+     * Returns frequencies spaced evenly on a logarithmic scale, as used for Bode plots.
+     *
+     * @param startHz The lowest frequency. Must be greater than 0.
+     * @param endHz The highest frequency. Must be greater than the lowest.
+     * @param count The number of frequencies. Must be at least 2.
+     * @return The frequencies, in increasing order.
+     * @throws IllegalArgumentException If the range is invalid or the count is less than 2.
+     */
+    public static double[] logSpace(double startHz, double endHz, int count) {
+        if (!(startHz > 0) || !(endHz > startHz)) {
+            throw new IllegalArgumentException("Invalid frequency range!");
+        }
+        if (count < 2) throw new IllegalArgumentException("Count must be at least 2!");
+
+        double[] frequencies = new double[count];
+        double ratio = Math.log(endHz / startHz);
+
+        for (int i = 0; i < count; i++) {
+            frequencies[i] = startHz * Math.exp(ratio * i / (count - 1));
+        }
+
+        return frequencies;
+    }
+
+    private void steppedSine(
+            DoubleBinaryOperator system,
+            double frequencyHz,
+            double[] real,
+            double[] imaginary,
+            int index) {
+        double samplesPerCycle = 1 / (frequencyHz * dtSeconds);
+
+        int settle = (int) Math.round(settleCycles * samplesPerCycle);
+        int measured = Math.max(1, (int) Math.round(measureCycles * samplesPerCycle));
+
+        double[] inputs = new double[measured];
+        double[] outputs = new double[measured];
+
+        for (int k = 0; k < settle + measured; k++) {
+            double input = amplitude * Math.sin(2 * Math.PI * frequencyHz * k * dtSeconds);
+            double output = system.applyAsDouble(offset + input, dtSeconds);
+
+            if (k >= settle) {
+                inputs[k - settle] = input;
+                outputs[k - settle] = output;
+            }
+        }
+
+        removeMean(inputs);
+        removeMean(outputs);
+        ratio(inputs, outputs, settle, measured, frequencyHz, real, imaginary, index);
+    }
+
+    private static void removeMean(double[] values) {
+        double sum = 0;
+        for (double value : values) sum += value;
+
+        double mean = sum / values.length;
+        for (int i = 0; i < values.length; i++) values[i] -= mean;
+    }
+
+    // ratio of the output's to the input's correlation with a complex sinusoid at a frequency
+    private void ratio(
+            double[] inputs,
+            double[] outputs,
+            int firstSample,
+            int length,
+            double frequencyHz,
+            double[] real,
+            double[] imaginary,
+            int index) {
+        double omega = 2 * Math.PI * frequencyHz * dtSeconds;
+
+        double inputReal = 0;
+        double inputImaginary = 0;
+        double outputReal = 0;
+        double outputImaginary = 0;
+
+        for (int k = 0; k < length; k++) {
+            double angle = omega * (firstSample + k);
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+
+            inputReal += inputs[k] * cos;
+            inputImaginary -= inputs[k] * sin;
+            outputReal += outputs[k] * cos;
+            outputImaginary -= outputs[k] * sin;
+        }
+
+        double denominator = (inputReal * inputReal) + (inputImaginary * inputImaginary);
+
+        real[index] = ((outputReal * inputReal) + (outputImaginary * inputImaginary)) / denominator;
+        imaginary[index] =
+                ((outputImaginary * inputReal) - (outputReal * inputImaginary)) / denominator;
+    }
+
+    private void checkFrequencies(double[] frequenciesHz) {
+        if (frequenciesHz.length == 0) {
+            throw new IllegalArgumentException("At least one frequency is needed!");
+        }
+
+        double nyquist = 0.5 / dtSeconds;
+
+        for (int i = 0; i < frequenciesHz.length; i++) {
+            double f = frequenciesHz[i];
+
+            if (!(f > 0 && f < nyquist)) {
+                throw new IllegalArgumentException("Frequencies must be between 0 and Nyquist!");
+            }
+            if (i > 0 && !(f > frequenciesHz[i - 1])) {
+                throw new IllegalArgumentException("Frequencies must be increasing!");
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.estimation;
+
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Online linear parameter estimator using recursive least squares with exponential forgetting.
+ *
+ * <p>Estimates the parameters {@code theta} of a model of the form {@code y = x[0] * theta[0] +
+ * x[1] * theta[1] + ...}, where {@code x} is a vector of known regressors and {@code y} is a
+ * measured output. For example, a flywheel's feedforward gains can be found with a measurement of
+ * applied voltage and regressors of velocity and acceleration, giving estimates of kV and kA.
+ *
+ * <p>The forgetting factor allows estimates to track parameters that drift over time (such as
+ * friction as a mechanism wears), by exponentially discounting the influence of old samples. A
+ * forgetting factor of 1 weights all samples equally; values between 0.95 and 0.999 are typical.
+ *
+ * <p>Regressors should be sufficiently varied ("persistently exciting") for the estimates to be
+ * meaningful; a mechanism held at a single steady state can't distinguish its parameters.
+ *
+ * <p>All storage is allocated at construction, so this can be updated every control loop.
+ */
+public class RecursiveLeastSquares implements Logged {
+    /** Largest supported number of parameters. */
+    public static final int MAX_PARAMETERS = 4;
+
+    private final int size;
+    private final double forgettingFactor;
+    private final double initialCovariance;
+
+    private final double[] estimates;
+    private final double[] covariance; // size x size, row-major
+    private final double[] regressor;
+    private final double[] gain;
+
+    private double lastError = 0;
+
+    /**
+     * Constructs a RecursiveLeastSquares.
+     *
+     * @param parameters The number of parameters to estimate. Must be within [1, {@code
+     *     MAX_PARAMETERS}].
+     * @param forgettingFactor The factor by which past samples are discounted every update. Must be
+     *     within (0, 1].
+     * @param initialCovariance The initial uncertainty in the estimates. Larger values make the
+     *     estimator converge faster from its initial guess. Must be greater than 0.
+     * @throws IllegalArgumentException If any of the parameters are out of range.
+     */
+    public RecursiveLeastSquares(
+            int parameters, double forgettingFactor, double initialCovariance) {
+        if (parameters < 1 || parameters > MAX_PARAMETERS) {
+            throw new IllegalArgumentException(
+                    "Number of parameters must be within [1, " + MAX_PARAMETERS + "]!");
+        }
+        if (forgettingFactor <= 0 || forgettingFactor > 1) {
+            throw new IllegalArgumentException("Forgetting factor must be within (0, 1]!");
+        }
+        if (initialCovariance <= 0) {
+            throw new IllegalArgumentException("Initial covariance must be greater than 0!");
+        }
+
+        size = parameters;
+        this.forgettingFactor = forgettingFactor;
+        this.initialCovariance = initialCovariance;
+
+        estimates = new double[size];
+        covariance = new double[size * size];
+        regressor = new double[size];
+        gain = new double[size];
+
+        reset();
+    }
+
+    /**
+     * Constructs a RecursiveLeastSquares with an initial covariance of 1000.
+     *
+     * @param parameters The number of parameters to estimate. Must be within [1, {@code
+     *     MAX_PARAMETERS}].
+     * @param forgettingFactor The factor by which past samples are discounted every update. Must be
+     *     within (0, 1].
+     */
+    public RecursiveLeastSquares(int parameters, double forgettingFactor) {
+        this(parameters, forgettingFactor, 1000);
+    }
+
+    /**
+     * Updates the estimates with a new sample of a one-parameter model.
+     *
+     * @param measurement The measured output.
+     * @param x0 The regressor for the first parameter.
+     * @return The error of the prediction made before this update.
+     */
+    public double update(double measurement, double x0) {
+        checkSize(1);
+        regressor[0] = x0;
+        return updateFromRegressor(measurement);
+    }
+
+    /**
+     * Updates the estimates with a new sample of a two-parameter model.
+     *
+     * @param measurement The measured output.
+     * @param x0 The regressor for the first parameter.
+     * @param x1 The regressor for the second parameter.
+     * @return The error of the prediction made before this update.
+     */
+    public double update(double measurement, double x0, double x1) {
+        checkSize(2);
+        regressor[0] = x0;
+        regressor[1] = x1;
+        return updateFromRegressor(measurement);
+    }
+
+    /**
+     * Updates the estimates with a new sample of a three-parameter model.
+     *
+     * @param measurement The measured output.
+     * @param x0 The regressor for the first parameter.
+     * @param x1 The regressor for the second parameter.
+     * @param x2 The regressor for the third parameter.
+     * @return The error of the prediction made before this update.
+     */
+    public double update(double measurement, double x0, double x1, double x2) {
+        checkSize(3);
+        regressor[0] = x0;
+        regressor[1] = x1;
+        regressor[2] = x2;
+        return updateFromRegressor(measurement);
+    }
+
+    /**
+     * Updates the estimates with a new sample of a four-parameter model.
+     *
+     * @param measurement The measured output.
+     * @param x0 The regressor for the first parameter.
+     * @param x1 The regressor for the second parameter.
+     * @param x2 The regressor for the third parameter.
+     * @param x3 The regressor for the fourth parameter.
+     * @return The error of the prediction made before this update.
+     */
+    public double update(double measurement, double x0, double x1, double x2, double x3) {
+        checkSize(4);
+        regressor[0] = x0;
+        regressor[1] = x1;
+        regressor[2] = x2;
+        regressor[3] = x3;
+        return updateFromRegressor(measurement);
+    }
+
+    /**
+     * Updates the estimates with a new sample.
+     *
+     * @param measurement The measured output.
+     * @param regressors The regressors, one per parameter. Not modified.
+     * @return The error of the prediction made before this update.
+     * @throws IllegalArgumentException If the number of regressors doesn't match the number of
+     *     parameters.
+     */
+    public double update(double measurement, double[] regressors) {
+        if (regressors.length != size) {
+            throw new IllegalArgumentException(
+                    "Expected " + size + " regressors, got " + regressors.length + "!");
+        }
+
+        System.arraycopy(regressors, 0, regressor, 0, size);
+        return updateFromRegressor(measurement);
+    }
+
+    private void checkSize(int given) {
+        if (given != size) {
+            throw new IllegalArgumentException(
+                    "Expected " + size + " regressors, got " + given + "!");
+        }
+    }
+
+    private double updateFromRegressor(double measurement) {
+        // gain numerator P * x, and denominator lambda + x^T * P * x
+        double denominator = forgettingFactor;
+        for (int i = 0; i < size; i++) {
+            double sum = 0;
+            for (int j = 0; j < size; j++) sum += covariance[i * size + j] * regressor[j];
+            gain[i] = sum;
+            denominator += regressor[i] * sum;
+        }
+
+        lastError = measurement - predict();
+
+        for (int i = 0; i < size; i++) {
+            gain[i] /= denominator;
+            estimates[i] += gain[i] * lastError;
+        }
+
+        // P = (P - K * x^T * P) / lambda, where x^T * P = (P * x)^T = K^T * denominator
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                double updated =
+                        (covariance[i * size + j] - gain[i] * gain[j] * denominator)
+                                / forgettingFactor;
+                // writing both halves keeps P exactly symmetric despite rounding
+                covariance[i * size + j] = updated;
+                covariance[j * size + i] = updated;
+            }
+        }
+
+        return lastError;
+    }
+
+    /**
+     * Returns the output of the model for the most recently supplied regressors, using the current
+     * estimates.
+     *
+     * @return The predicted output.
+     */
+    public double predict() {
+        double prediction = 0;
+        for (int i = 0; i < size; i++) prediction += estimates[i] * regressor[i];
+        return prediction;
+    }
+
+    /**
+     * Returns the current estimate of a single parameter.
+     *
+     * @param index The index of the parameter.
+     * @return The estimate of the parameter.
+     */
+    public double getEstimate(int index) {
+        return estimates[index];
+    }
+
+    /**
+     * Returns the current estimate of the first parameter, for logging.
+     *
+     * @return The estimate of parameter 0.
+     */
+    @Log
+    public double getEstimate0() {
+        return getEstimateOrZero(0);
+    }
+
+    /**
+     * Returns the current estimate of the second parameter, for logging.
+     *
+     * @return The estimate of parameter 1, or 0 if the model has fewer parameters.
+     */
+    @Log
+    public double getEstimate1() {
+        return getEstimateOrZero(1);
+    }
+
+    /**
+     * Returns the current estimate of the third parameter, for logging.
+     *
+     * @return The estimate of parameter 2, or 0 if the model has fewer parameters.
+     */
+    @Log
+    public double getEstimate2() {
+        return getEstimateOrZero(2);
+    }
+
+    /**
+     * Returns the current estimate of the fourth parameter, for logging.
+     *
+     * @return The estimate of parameter 3, or 0 if the model has fewer parameters.
+     */
+    @Log
+    public double getEstimate3() {
+        return getEstimateOrZero(3);
+    }
+
+    // fixed slots for logging, since logged getters can't take an index
+    private double getEstimateOrZero(int index) {
+        return (index < size) ? estimates[index] : 0;
+    }
+
+    /**
+     * Returns the current estimates of all parameters.
+     *
+     * <p>This returns a copy, so it isn't logged; prefer {@code getEstimate()} inside of control
+     * loops.
+     *
+     * @return An array of the estimates, in the order of the regressors.
+     */
+    public double[] getEstimates() {
+        return estimates.clone();
+    }
+
+    /**
+     * Returns the error between the measurement and the model's prediction in the last update,
+     * from before the estimates were updated.
+     *
+     * @return The last prediction error.
+     */
+    @Log
+    public double getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Returns the current variance (uncertainty, scaled by the measurement noise) of a single
+     * parameter's estimate.
+     *
+     * @param index The index of the parameter.
+     * @return The diagonal element of the covariance matrix for the parameter.
+     */
+    public double getVariance(int index) {
+        return covariance[index * size + index];
+    }
+
+    /**
+     * Returns the number of parameters being estimated.
+     *
+     * @return The number of parameters.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the current estimates, for example to seed the estimator with known values.
+     *
+     * @param initialEstimates The estimates, one per parameter. Not modified.
+     * @throws IllegalArgumentException If the number of estimates doesn't match the number of
+     *     parameters.
+     */
+    public void setEstimates(double[] initialEstimates) {
+        if (initialEstimates.length != size) {
+            throw new IllegalArgumentException(
+                    "Expected " + size + " estimates, got " + initialEstimates.length + "!");
+        }
+
+        System.arraycopy(initialEstimates, 0, estimates, 0, size);
+    }
+
+    /** Resets the estimates to 0 and the covariance to its initial value. */
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            estimates[i] = 0;
+            regressor[i] = 0;
+            for (int j = 0; j < size; j++) {
+                covariance[i * size + j] = (i == j) ? initialCovariance : 0;
+            }
+        }
+
+        lastError = 0;
+    }
+}
@@ -0,0 +1,409 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.estimation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.FeedforwardPID.Model;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Offline identification of a mechanism's feedforward gains from logged data, by ordinary least
+ * squares fit of {@code V = kS * sign(v) + kV * v + kA * a + gravity}, where gravity is {@code kG}
+ * for an elevator, {@code kG * cos(position)} for an arm, and absent for a simple motor (see
+ * {@link Model}). The result can be used directly by a {@code FeedforwardPID}, or a simulated
+ * {@code MechanismPlant}.
+ *
+ * <p>Logs are binary files of fixed-size records, each being a number of little-endian doubles
+ * (columns), one record per sample. The columns holding the timestamp (in seconds), applied
+ * voltage, position, and velocity are configurable, and acceleration can either be logged or found
+ * by central differences of velocity. Files are memory-mapped and processed in chunks on the common
+ * {@code ForkJoinPool}, each accumulating partial sums of the normal equations, which are then
+ * combined and solved, so datasets much larger than memory can be fit quickly.
+ *
+ * <p>Samples at (nearly) zero velocity are skipped, since static friction makes the model invalid
+ * at rest. For the fit to be meaningful, the data must contain a variety of velocities and
+ * accelerations, such as from the quasistatic and dynamic tests of a SysId routine.
+ */
+public class SystemIdentification {
+
+    /** Data class for holding the result of a fit. */
+    public static class Result {
+        private final FeedforwardConstants constants;
+        private final double rSquared;
+        private final double rmsError;
+        private final long samples;
+
+        /**
+         * Constructs a Result.
+         *
+         * @param constants The fitted gains.
+         * @param rSquared The coefficient of determination of the fit.
+         * @param rmsError The root mean square of the residual voltage.
+         * @param samples The number of samples fit.
+         */
+        public Result(
+                FeedforwardConstants constants, double rSquared, double rmsError, long samples) {
+            this.constants = constants;
+            this.rSquared = rSquared;
+            this.rmsError = rmsError;
+            this.samples = samples;
+        }
+
+        /**
+         * Returns the fitted gains. kG is 0 for the simple motor model.
+         *
+         * @return The FeedforwardConstants of the fit.
+         */
+        public FeedforwardConstants getConstants() {
+            return constants;
+        }
+
+        /**
+         * Returns the proportion of the variance of the voltage explained by the model.
+         *
+         * @return The coefficient of determination, where 1 is a perfect fit.
+         */
+        public double getRSquared() {
+            return rSquared;
+        }
+
+        /**
+         * Returns the typical voltage not explained by the model.
+         *
+         * @return The root mean square of the residuals, in volts.
+         */
+        public double getRmsError() {
+            return rmsError;
+        }
+
+        /**
+         * Returns the number of samples that were fit, after skipping those at rest.
+         *
+         * @return The number of samples.
+         */
+        public long getSamples() {
+            return samples;
+        }
+
+        @Override
+        public String toString() {
+            return ("SystemIdentification.Result: " + constants + ", R^2 = " + rSquared);
+        }
+    }
+
+    // partial sums of the normal equations over some of the samples
+    private static class Sums {
+        private final int size;
+        private final double[] xtx;
+        private final double[] xty;
+        private double sumY = 0;
+        private double sumYSquared = 0;
+        private long count = 0;
+
+        private Sums(int size) {
+            this.size = size;
+            xtx = new double[size * size];
+            xty = new double[size];
+        }
+
+        private void add(double[] x, double y) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j <= i; j++) xtx[(i * size) + j] += x[i] * x[j];
+                xty[i] += x[i] * y;
+            }
+
+            sumY += y;
+            sumYSquared += y * y;
+            count++;
+        }
+
+        private Sums combine(Sums other) {
+            for (int i = 0; i < xtx.length; i++) xtx[i] += other.xtx[i];
+            for (int i = 0; i < size; i++) xty[i] += other.xty[i];
+
+            sumY += other.sumY;
+            sumYSquared += other.sumYSquared;
+            count += other.count;
+
+            return this;
+        }
+    }
+
+    private final Model model;
+    private final int columns;
+    private final int timeColumn;
+    private final int voltageColumn;
+    private final int positionColumn;
+    private final int velocityColumn;
+
+    private int accelerationColumn = -1;
+    private double minVelocity = 0;
+    private int chunkRecords = 1 << 16;
+
+    /**
+     * Constructs a SystemIdentification.
+     *
+     * @param model The model of the mechanism, which decides how gravity is fit.
+     * @param columns The number of doubles in each record of the log.
+     * @param timeColumn The column of the timestamp, in seconds.
+     * @param voltageColumn The column of the applied voltage.
+     * @param positionColumn The column of the position. Only used by the arm model, where it must
+     *     be an angle in radians with 0 being horizontal.
+     * @param velocityColumn The column of the velocity.
+     * @throws IllegalArgumentException If a column is out of range.
+     */
+    public SystemIdentification(
+            Model model,
+            int columns,
+            int timeColumn,
+            int voltageColumn,
+            int positionColumn,
+            int velocityColumn) {
+        checkColumn(timeColumn, columns);
+        checkColumn(voltageColumn, columns);
+        checkColumn(positionColumn, columns);
+        checkColumn(velocityColumn, columns);
+
+        this.model = model;
+        this.columns = columns;
+        this.timeColumn = timeColumn;
+        this.voltageColumn = voltageColumn;
+        this.positionColumn = positionColumn;
+        this.velocityColumn = velocityColumn;
+    }
+
+    private static void checkColumn(int column, int columns) {
+        if (column < 0 || column >= columns) {
+            throw new IllegalArgumentException("Column must be within [0, " + columns + ")!");
+        }
+    }
+
+    /**
+     * Sets the column of logged acceleration. Otherwise, acceleration is found by central
+     * differences of velocity, and the first and last samples are skipped.
+     *
+     * @param column The column of the acceleration, or -1 to compute it.
+     * @throws IllegalArgumentException If the column is out of range.
+     */
+    public void setAccelerationColumn(int column) {
+        if (column != -1) checkColumn(column, columns);
+
+        accelerationColumn = column;
+    }
+
+    /**
+     * Sets the speed below which samples are considered at rest, and skipped.
+     *
+     * @param velocity The minimum absolute velocity of a sample to fit. Samples at exactly 0 are
+     *     always skipped.
+     * @throws IllegalArgumentException If the velocity is negative.
+     */
+    public void setMinVelocity(double velocity) {
+        if (velocity < 0) throw new IllegalArgumentException("Velocity must not be negative!");
+
+        minVelocity = velocity;
+    }
+
+    /**
+     * Sets the number of records processed together by each parallel task.
+     *
+     * @param records The number of records per chunk. Must be at least 1.
+     * @throws IllegalArgumentException If the number of records is less than 1.
+     */
+    public void setChunkRecords(int records) {
+        if (records < 1) throw new IllegalArgumentException("Chunk must be at least 1 record!");
+
+        chunkRecords = records;
+    }
+
+    /**
+     * Fits the model to a log file.
+     *
+     * @param log The path of the binary log file.
+     * @return The result of the fit.
+     * @throws IOException If the file can't be read.
+     * @throws IllegalArgumentException If the file's size isn't a whole number of records.
+     * @throws IllegalStateException If there aren't enough varied samples to fit the model.
+     */
+    public Result fit(Path log) throws IOException {
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            long recordBytes = (long) columns * Double.BYTES;
+            long size = channel.size();
+
+            if (size % recordBytes != 0) {
+                throw new IllegalArgumentException("Log size must be a whole number of records!");
+            }
+
+            long records = size / recordBytes;
+            int chunks = (int) ((records + chunkRecords - 1) / chunkRecords);
+
+            Sums sums;
+            try {
+                sums =
+                        IntStream.range(0, chunks)
+                                .parallel()
+                                .mapToObj(chunk -> sumChunk(channel, records, chunk))
+                                .reduce(Sums::combine)
+                                .orElseGet(() -> new Sums(parameterCount()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return solve(sums);
+        }
+    }
+
+    private int parameterCount() {
+        return (model == Model.SIMPLE_MOTOR) ? 3 : 4;
+    }
+
+    private Sums sumChunk(FileChannel channel, long records, int chunk) {
+        long start = (long) chunk * chunkRecords;
+        long end = Math.min(records, start + chunkRecords);
+
+        // one record of overlap on each side, for central differences
+        long first = Math.max(0, start - 1);
+        long last = Math.min(records, end + 1);
+
+        long recordBytes = (long) columns * Double.BYTES;
+
+        MappedByteBuffer buffer;
+        try {
+            buffer =
+                    channel.map(
+                            FileChannel.MapMode.READ_ONLY,
+                            first * recordBytes,
+                            (last - first) * recordBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        Sums sums = new Sums(parameterCount());
+        double[] x = new double[parameterCount()];
+
+        for (long record = start; record < end; record++) {
+            int offset = (int) (record - first);
+
+            double velocity = read(buffer, offset, velocityColumn);
+            if (velocity == 0 || Math.abs(velocity) < minVelocity) continue;
+
+            double acceleration;
+            if (accelerationColumn >= 0) {
+                acceleration = read(buffer, offset, accelerationColumn);
+            } else {
+                if (record == 0 || record == records - 1) continue;
+
+                double dt =
+                        read(buffer, offset + 1, timeColumn) - read(buffer, offset - 1, timeColumn);
+                if (!(dt > 0)) continue;
+
+                acceleration =
+                        (read(buffer, offset + 1, velocityColumn)
+                                        - read(buffer, offset - 1, velocityColumn))
+                                / dt;
+            }
+
+            x[0] = Math.signum(velocity);
+            x[1] = velocity;
+            x[2] = acceleration;
+
+            if (model == Model.ELEVATOR) {
+                x[3] = 1;
+            } else if (model == Model.ARM) {
+                x[3] = Math.cos(read(buffer, offset, positionColumn));
+            }
+
+            sums.add(x, read(buffer, offset, voltageColumn));
+        }
+
+        return sums;
+    }
+
+    private double read(MappedByteBuffer buffer, int record, int column) {
+        return buffer.getDouble(((record * columns) + column) * Double.BYTES);
+    }
+
+    private Result solve(Sums sums) {
+        int n = sums.size;
+
+        if (sums.count < n) throw new IllegalStateException("Not enough samples to fit!");
+
+        // fill in the upper triangle, and solve by Gaussian elimination with partial pivoting
+        double[][] a = new double[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = (j <= i) ? sums.xtx[(i * n) + j] : sums.xtx[(j * n) + i];
+            }
+            a[i][n] = sums.xty[i];
+        }
+
+        double scale = 0;
+        for (int i = 0; i < n; i++) scale = Math.max(scale, Math.abs(a[i][i]));
+
+        for (int column = 0; column < n; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < n; row++) {
+                if (Math.abs(a[row][column]) > Math.abs(a[pivot][column])) pivot = row;
+            }
+
+            if (Math.abs(a[pivot][column]) <= scale * 1E-12) {
+                throw new IllegalStateException(
+                        "Samples are not varied enough to distinguish the gains!");
+            }
+
+            double[] swap = a[pivot];
+            a[pivot] = a[column];
+            a[column] = swap;
+
+            for (int row = column + 1; row < n; row++) {
+                double factor = a[row][column] / a[column][column];
+                for (int j = column; j <= n; j++) a[row][j] -= factor * a[column][j];
+            }
+        }
+
+        double[] theta = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int j = row + 1; j < n; j++) sum -= a[row][j] * theta[j];
+            theta[row] = sum / a[row][row];
+        }
+
+        // residual sum of squares, which is y'y - theta'X'y since X'X theta = X'y at the solution
+        double explained = 0;
+        for (int i = 0; i < n; i++) explained += theta[i] * sums.xty[i];
+        double residual = Math.max(0, sums.sumYSquared - explained);
+
+        double mean = sums.sumY / sums.count;
+        double total = sums.sumYSquared - (sums.count * mean * mean);
+
+        double rSquared = (total > 0) ? 1 - (residual / total) : 1;
+        double rmsError = Math.sqrt(residual / sums.count);
+
+        FeedforwardConstants constants =
+                new FeedforwardConstants(theta[0], theta[1], theta[2], (n > 3) ? theta[3] : 0);
+
+        return new Result(constants, rSquared, rmsError, sums.count);
+    }
+}
@@ -16,6 +16,7 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,6 +49,7 @@ public class ComposedFilter extends Filter {
             lastValue = filter.calculate(lastValue, dtSeconds);
         }
         currentOuput = lastValue;
+        publishOutput(currentOuput);
         return currentOuput;
     }
 
@@ -62,6 +64,59 @@ public class ComposedFilter extends Filter {
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return currentOuput;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        int size = Double.BYTES;
+
+        for (Filter filter : filters) {
+            size += filter.getStateSize();
+        }
+
+        return size;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(currentOuput);
+
+        for (Filter filter : filters) {
+            filter.saveState(buffer);
+        }
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        currentOuput = buffer.getDouble();
+        publishOutput(currentOuput);
+
+        for (Filter filter : filters) {
+            filter.restoreState(buffer);
+        }
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        double[] stage = new double[2];
+
+        // filters in series multiply their responses
+        response[0] = 1;
+        response[1] = 0;
+
+        for (Filter filter : filters) {
+            filter.frequencyResponse(frequencyHz, dtSeconds, stage);
+
+            double real = (response[0] * stage[0]) - (response[1] * stage[1]);
+            double imaginary = (response[0] * stage[1]) + (response[1] * stage[0]);
+
+            response[0] = real;
+            response[1] = imaginary;
+        }
     }
 }
@@ -16,6 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
+import java.nio.ByteBuffer;
+
 /**
  * A filter that returns the rate of change (derivative) of a stream of data.
  *
@@ -45,6 +47,7 @@ public class DifferentiatingFilter extends Filter {
         if (dtSeconds == 0) return 0;
         currentDeriv = (value - lastValue) / dtSeconds;
         lastValue = value;
+        publishOutput(currentDeriv);
         return currentDeriv;
     }
 
@@ -53,11 +56,43 @@ public class DifferentiatingFilter extends Filter {
     public void reset() {
         lastValue = 0;
         currentDeriv = 0;
+        publishOutput(currentDeriv);
     }
 
     /** {@inheritDoc} */
     @Override
     public double getCurrentOutput() {
-        return currentDeriv;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return 2 * Double.BYTES;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(lastValue);
+        buffer.putDouble(currentDeriv);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        lastValue = buffer.getDouble();
+        currentDeriv = buffer.getDouble();
+        publishOutput(currentDeriv);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        // (1 - z^-1) / dt
+        double omega = 2 * Math.PI * frequencyHz * dtSeconds;
+
+        response[0] = (1 - Math.cos(omega)) / dtSeconds;
+        response[1] = Math.sin(omega) / dtSeconds;
     }
 }
@@ -16,6 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
+import java.nio.ByteBuffer;
+
 /**
  * An IIR variation upon the moving average. Instead of moving outside of the window, a past value's
  * influence over the filter's current value approaches but never reaches zero.
@@ -42,6 +44,7 @@ public class ExponentialMovingAverage extends Filter {
     /** {@inheritDoc} */
     public double calculate(double value, double dtSeconds) {
         lastOutput = (value * responseConstant) + ((1 - responseConstant) * lastOutput);
+        publishOutput(lastOutput);
 
         return lastOutput;
     }
@@ -50,11 +53,46 @@ public class ExponentialMovingAverage extends Filter {
     /** {@inheritDoc} */
     public void reset() {
         lastOutput = 0;
+        publishOutput(lastOutput);
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return lastOutput;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(lastOutput);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        lastOutput = buffer.getDouble();
+        publishOutput(lastOutput);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        // a / (1 - (1 - a) * z^-1)
+        double omega = 2 * Math.PI * frequencyHz * dtSeconds;
+        double feedback = 1 - responseConstant;
+
+        double real = 1 - (feedback * Math.cos(omega));
+        double imaginary = feedback * Math.sin(omega);
+        double squared = (real * real) + (imaginary * imaginary);
+
+        response[0] = responseConstant * real / squared;
+        response[1] = -responseConstant * imaginary / squared;
     }
 }
@@ -0,0 +1,243 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.filters;
+
+import com.team957.lib.util.DoubleRingBuffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Filter which compensates for a known measurement latency by extrapolating its input forward in
+ * time.
+ *
+ * <p>A polynomial (constant, linear, or quadratic) is fit by least squares to the most recent
+ * window of inputs, and the output is that polynomial evaluated {@code latencySeconds} after the
+ * newest input. This is useful for feeding a feedback controller a measurement that already
+ * accounts for sensor and transport delay, so it doesn't need to be detuned to stay stable.
+ *
+ * <p>Extrapolation amplifies noise, especially with higher orders and longer latencies, so it's
+ * usually worth smoothing the input first (for example with a {@link ComposedFilter}).
+ *
+ * <p>No allocation is done after construction.
+ */
+public class ExtrapolatingFilter extends Filter {
+    /** Highest polynomial order supported by this filter. */
+    public static final int MAX_ORDER = 2;
+
+    private final DoubleRingBuffer values;
+    private final DoubleRingBuffer timestamps;
+
+    private final int order;
+    private final double latencySeconds;
+
+    // augmented normal equation matrix, rows of (MAX_ORDER + 2), flattened
+    private final double[] system = new double[(MAX_ORDER + 1) * (MAX_ORDER + 2)];
+    private final double[] coefficients = new double[MAX_ORDER + 1];
+
+    // span of the window the last fit was in units of, so the system is well-scaled at any rate
+    private double timeScale = 1;
+
+    private double elapsedSeconds = 0;
+
+    private double currentOutput = 0;
+
+    /**
+     * Constructs an ExtrapolatingFilter.
+     *
+     * @param window Number of past inputs to fit the polynomial to. Must be greater than {@code
+     *     order}.
+     * @param order Order of the fitted polynomial. 0 is a moving average, 1 extrapolates with the
+     *     current rate of change, and 2 additionally extrapolates with the current acceleration.
+     * @param latencySeconds How far past the newest input to extrapolate, in seconds.
+     * @throws IllegalArgumentException If the order is not within [0, {@code MAX_ORDER}], or the
+     *     window is too small to fit a polynomial of that order.
+     */
+    public ExtrapolatingFilter(int window, int order, double latencySeconds) {
+        if (order < 0 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Order must be within [0, " + MAX_ORDER + "]!");
+        }
+        if (window <= order) {
+            throw new IllegalArgumentException("Window must be greater than the order!");
+        }
+
+        values = new DoubleRingBuffer(window);
+        timestamps = new DoubleRingBuffer(window);
+
+        this.order = order;
+        this.latencySeconds = latencySeconds;
+    }
+
+    /**
+     * Constructs a linear ExtrapolatingFilter.
+     *
+     * @param window Number of past inputs to fit the line to. Must be at least 2.
+     * @param latencySeconds How far past the newest input to extrapolate, in seconds.
+     */
+    public ExtrapolatingFilter(int window, double latencySeconds) {
+        this(window, 1, latencySeconds);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double calculate(double value, double dtSeconds) {
+        elapsedSeconds += dtSeconds;
+
+        values.push(value);
+        timestamps.push(elapsedSeconds);
+
+        // lower the order until the fit is well-defined (not enough samples, or repeated times)
+        int fitOrder = Math.min(order, values.size() - 1);
+        while (fitOrder > 0 && !fit(fitOrder)) fitOrder--;
+
+        if (fitOrder == 0) fit(0);
+
+        double prediction = 0;
+        double power = 1;
+        for (int i = 0; i <= fitOrder; i++) {
+            prediction += coefficients[i] * power;
+            power *= latencySeconds / timeScale;
+        }
+
+        currentOutput = prediction;
+        publishOutput(currentOutput);
+        return currentOutput;
+    }
+
+    /**
+     * Fits a polynomial of the given order to the history, with time measured relative to the
+     * newest sample, in units of the window's span. The result is left in {@code coefficients}.
+     *
+     * @return Whether the fit succeeded (the normal equations weren't singular).
+     */
+    private boolean fit(int fitOrder) {
+        int n = fitOrder + 1;
+        int cols = n + 1;
+
+        for (int i = 0; i < n * cols; i++) system[i] = 0;
+
+        double newest = timestamps.getNewest();
+
+        timeScale = newest - timestamps.get(0);
+        if (!(timeScale > 0)) {
+            if (fitOrder > 0) return false; // every sample at the same time
+            timeScale = 1;
+        }
+
+        for (int s = 0; s < values.size(); s++) {
+            double tau = (timestamps.get(s) - newest) / timeScale;
+            double y = values.get(s);
+
+            double rowPower = 1;
+            for (int r = 0; r < n; r++) {
+                double power = rowPower;
+                for (int c = 0; c < n; c++) {
+                    system[r * cols + c] += power;
+                    power *= tau;
+                }
+                system[r * cols + n] += y * rowPower;
+                rowPower *= tau;
+            }
+        }
+
+        // entries are on the order of the sample count, so this catches repeated times
+        double tolerance = 1E-12 * system[0];
+
+        // gaussian elimination with partial pivoting
+        for (int p = 0; p < n; p++) {
+            int pivotRow = p;
+            for (int r = p + 1; r < n; r++) {
+                if (Math.abs(system[r * cols + p]) > Math.abs(system[pivotRow * cols + p])) {
+                    pivotRow = r;
+                }
+            }
+
+            if (Math.abs(system[pivotRow * cols + p]) < tolerance) return false;
+
+            if (pivotRow != p) {
+                for (int c = 0; c < cols; c++) {
+                    double temp = system[p * cols + c];
+                    system[p * cols + c] = system[pivotRow * cols + c];
+                    system[pivotRow * cols + c] = temp;
+                }
+            }
+
+            for (int r = p + 1; r < n; r++) {
+                double factor = system[r * cols + p] / system[p * cols + p];
+                for (int c = p; c < cols; c++) {
+                    system[r * cols + c] -= factor * system[p * cols + c];
+                }
+            }
+        }
+
+        for (int r = n - 1; r >= 0; r--) {
+            double sum = system[r * cols + n];
+            for (int c = r + 1; c < n; c++) sum -= system[r * cols + c] * coefficients[c];
+            coefficients[r] = sum / system[r * cols + r];
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns how far ahead of its input this filter extrapolates.
+     *
+     * @return The compensated latency, in seconds.
+     */
+    public double getLatencySeconds() {
+        return latencySeconds;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void reset() {
+        values.clear();
+        timestamps.clear();
+        elapsedSeconds = 0;
+        currentOutput = 0;
+        publishOutput(currentOutput);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getCurrentOutput() {
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return (2 * Double.BYTES) + values.getStateSize() + timestamps.getStateSize();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(elapsedSeconds);
+        buffer.putDouble(currentOutput);
+        values.saveState(buffer);
+        timestamps.saveState(buffer);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        elapsedSeconds = buffer.getDouble();
+        currentOutput = buffer.getDouble();
+        publishOutput(currentOutput);
+        values.restoreState(buffer);
+        timestamps.restoreState(buffer);
+    }
+}
@@ -17,13 +17,39 @@ If not, see <https://www.gnu.org/licenses/>.
 package com.team957.lib.math.filters;
 
 import com.team957.lib.util.DeltaTimeUtil;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
 import monologue.Annotations.Log;
 import monologue.Logged;
 
-/** Common superclass for this library's filters. */
+/**
+ * Common superclass for this library's filters.
+ *
+ * <p>{@code getCurrentOutput()} is logged, and so may be called from a different thread than the
+ * one calling {@code calculate()}. Plain {@code double} fields can tear when read that way, so
+ * subclasses should call {@code publishOutput()} whenever their output changes (in {@code
+ * calculate()}, {@code reset()}, and {@code restoreState()}), and return {@code
+ * getPublishedOutput()} from {@code getCurrentOutput()}.
+ */
 public abstract class Filter implements Logged {
+    private static final VarHandle OUTPUT_BITS;
+
+    static {
+        try {
+            OUTPUT_BITS =
+                    MethodHandles.lookup().findVarHandle(Filter.class, "outputBits", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final DeltaTimeUtil dtUtil = new DeltaTimeUtil();
 
+    // raw bits of the current output, so it can be read whole from a logging thread
+    @SuppressWarnings("unused")
+    private long outputBits = Double.doubleToRawLongBits(0);
+
     /**
      * Adds the value to the window and calculates the current output of the filter.
      *
@@ -56,12 +82,92 @@ public abstract class Filter implements Logged {
     /**
      * Returns the current output of the filter without updating with a new value.
      *
+     * <p>This should be safe to call from any thread, such as a logger running alongside the loop
+     * that calls {@code calculate()}.
+     *
      * @return The current output of the filter (0 if no values have been given to {@code
      *     calculate()}).
      */
     @Log
     public abstract double getCurrentOutput();
 
+    /**
+     * Publishes a new current output, to be returned by {@code getPublishedOutput()}. Subclasses
+     * should call this whenever their output changes.
+     *
+     * @param output The new output of the filter.
+     */
+    protected final void publishOutput(double output) {
+        OUTPUT_BITS.setRelease(this, Double.doubleToRawLongBits(output));
+    }
+
+    /**
+     * Returns the output last given to {@code publishOutput()}. This is safe to call from any
+     * thread, and never returns a torn value.
+     *
+     * @return The last published output, or 0 if none has been published.
+     */
+    protected final double getPublishedOutput() {
+        return Double.longBitsToDouble((long) OUTPUT_BITS.getAcquire(this));
+    }
+
+    /**
+     * Returns the number of bytes written by {@code saveState()}. This is constant for the lifetime
+     * of the filter, so a region of a buffer can be reserved for it once.
+     *
+     * @return The size of the filter's state, in bytes.
+     * @throws UnsupportedOperationException If the filter does not support state snapshots.
+     */
+    public int getStateSize() {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support state snapshots!");
+    }
+
+    /**
+     * Writes the complete internal state of the filter (including any history) into a ByteBuffer at
+     * its current position, so that it can later be resumed with {@code restoreState()}.
+     *
+     * <p>This does not allocate, so it's safe to call every loop.
+     *
+     * @param buffer The ByteBuffer to write to. Its position is advanced by {@code
+     *     getStateSize()}.
+     * @throws UnsupportedOperationException If the filter does not support state snapshots.
+     */
+    public void saveState(ByteBuffer buffer) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support state snapshots!");
+    }
+
+    /**
+     * Replaces the internal state of the filter with one previously written by {@code saveState()}
+     * of an identically constructed filter.
+     *
+     * @param buffer The ByteBuffer to read from. Its position is advanced by {@code
+     *     getStateSize()}.
+     * @throws UnsupportedOperationException If the filter does not support state snapshots.
+     */
+    public void restoreState(ByteBuffer buffer) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support state snapshots!");
+    }
+
+    /**
+     * Evaluates the filter's transfer function at a frequency, for filters which are linear and
+     * time-invariant when called at a fixed period. This is the steady-state response to a sine
+     * wave: its magnitude is the gain, and its angle is the phase shift.
+     *
+     * @param frequencyHz The frequency of the input, in hertz.
+     * @param dtSeconds The period the filter is called at, in seconds.
+     * @param response An array to write the real and imaginary parts of the response into, in
+     *     that order.
+     * @throws UnsupportedOperationException If the filter is nonlinear, or its transfer function
+     *     isn't known.
+     */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not have a known transfer function!");
+    }
+
     /**
      * Returns a filter of a sum of the outputs of two other filters.
      *
@@ -91,6 +197,35 @@ public abstract class Filter implements Logged {
             public double getCurrentOutput() {
                 return filterA.getCurrentOutput() + filterB.getCurrentOutput();
             }
+
+            @Override
+            public int getStateSize() {
+                return filterA.getStateSize() + filterB.getStateSize();
+            }
+
+            @Override
+            public void saveState(ByteBuffer buffer) {
+                filterA.saveState(buffer);
+                filterB.saveState(buffer);
+            }
+
+            @Override
+            public void restoreState(ByteBuffer buffer) {
+                filterA.restoreState(buffer);
+                filterB.restoreState(buffer);
+            }
+
+            @Override
+            public void frequencyResponse(
+                    double frequencyHz, double dtSeconds, double[] response) {
+                double[] responseB = new double[2];
+
+                filterA.frequencyResponse(frequencyHz, dtSeconds, response);
+                filterB.frequencyResponse(frequencyHz, dtSeconds, responseB);
+
+                response[0] += responseB[0];
+                response[1] += responseB[1];
+            }
         }
 
         return new AddedFilter();
@@ -125,6 +260,30 @@ public abstract class Filter implements Logged {
             public double getCurrentOutput() {
                 return filter.getCurrentOutput() * scalar;
             }
+
+            @Override
+            public int getStateSize() {
+                return filter.getStateSize();
+            }
+
+            @Override
+            public void saveState(ByteBuffer buffer) {
+                filter.saveState(buffer);
+            }
+
+            @Override
+            public void restoreState(ByteBuffer buffer) {
+                filter.restoreState(buffer);
+            }
+
+            @Override
+            public void frequencyResponse(
+                    double frequencyHz, double dtSeconds, double[] response) {
+                filter.frequencyResponse(frequencyHz, dtSeconds, response);
+
+                response[0] *= scalar;
+                response[1] *= scalar;
+            }
         }
         return new MultipliedFilter();
     }
@@ -16,7 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
-import com.team957.lib.util.SizedStack;
+import com.team957.lib.util.DoubleRingBuffer;
+import java.nio.ByteBuffer;
 
 /**
  * Filter which returns an time-weighted sum (integral) of a series of values.
@@ -24,7 +25,7 @@ import com.team957.lib.util.SizedStack;
  * <p>Approximated with finite timesteps using a trapezoidal Riemann sum.
  */
 public class IntegratingFilter extends Filter {
-    private final SizedStack<Double> stack;
+    private final DoubleRingBuffer history;
 
     private double currentOutput = 0;
 
@@ -39,9 +40,9 @@ public class IntegratingFilter extends Filter {
      *     will instead be an infinite window.
      */
     public IntegratingFilter(int window) {
-        stack = new SizedStack<>(window);
-
         infinite = (window < 1);
+
+        history = infinite ? null : new DoubleRingBuffer(window);
     }
 
     @Override
@@ -55,19 +56,21 @@ public class IntegratingFilter extends Filter {
     public double calculate(double value, double dt) {
         if (infinite) {
             currentOutput = currentOutput + (dt * 0.5 * (value + previousInputValue));
+            publishOutput(currentOutput);
 
             previousInputValue = value;
 
             return currentOutput;
         }
 
-        stack.push(dt * 0.5 * (value + previousInputValue));
+        history.push(dt * 0.5 * (value + previousInputValue));
 
         double sum = 0;
 
-        for (double entry : stack) sum += entry;
+        for (int i = 0; i < history.size(); i++) sum += history.get(i);
 
         currentOutput = sum;
+        publishOutput(currentOutput);
 
         previousInputValue = value;
 
@@ -77,12 +80,68 @@ public class IntegratingFilter extends Filter {
     @Override
     /** {@inheritDoc} */
     public void reset() {
-        stack.clear();
+        if (!infinite) history.clear();
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return currentOutput;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return (2 * Double.BYTES) + (infinite ? 0 : history.getStateSize());
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(currentOutput);
+        buffer.putDouble(previousInputValue);
+        if (!infinite) history.saveState(buffer);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        currentOutput = buffer.getDouble();
+        publishOutput(currentOutput);
+        previousInputValue = buffer.getDouble();
+        if (!infinite) history.restoreState(buffer);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        double omega = 2 * Math.PI * frequencyHz * dtSeconds;
+
+        // trapezoid of the last two values: dt / 2 * (1 + z^-1)
+        double trapezoidReal = dtSeconds / 2 * (1 + Math.cos(omega));
+        double trapezoidImaginary = -dtSeconds / 2 * Math.sin(omega);
+
+        // summed forever, 1 / (1 - z^-1), or over the window, 1 + z^-1 + ... + z^-(n - 1)
+        double sumReal;
+        double sumImaginary;
+
+        if (infinite) {
+            double real = 1 - Math.cos(omega);
+            double imaginary = Math.sin(omega);
+            double squared = (real * real) + (imaginary * imaginary);
+
+            sumReal = real / squared;
+            sumImaginary = -imaginary / squared;
+        } else {
+            sumReal = 0;
+            sumImaginary = 0;
+            for (int k = 0; k < history.capacity(); k++) {
+                sumReal += Math.cos(omega * k);
+                sumImaginary -= Math.sin(omega * k);
+            }
+        }
+
+        response[0] = (trapezoidReal * sumReal) - (trapezoidImaginary * sumImaginary);
+        response[1] = (trapezoidReal * sumImaginary) + (trapezoidImaginary * sumReal);
     }
 }
@@ -16,9 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
-import com.team957.lib.math.UtilityMath;
-import com.team957.lib.util.SizedStack;
-import java.util.ArrayList;
+import com.team957.lib.util.DoubleRingBuffer;
+import java.nio.ByteBuffer;
 
 /** Filter which computes the arithmetic mean of a stream of data. */
 public class MovingAverageFilter extends Filter {
@@ -35,7 +34,13 @@ public class MovingAverageFilter extends Filter {
         HARMONIC
     }
 
-    private final SizedStack<Double> stack;
+    private final DoubleRingBuffer history; // null if the window is infinite
+
+    // running accumulators, only used if the window is infinite
+    private long count = 0;
+    private double sum = 0;
+    private double product = 1;
+    private double reciprocalSum = 0;
 
     private double currentOutput = 0;
 
@@ -49,35 +54,131 @@ public class MovingAverageFilter extends Filter {
      * @param impl Implementation of the mean to use.
      */
     public MovingAverageFilter(int window, MEAN_IMPLEMENTATION impl) {
-        stack = new SizedStack<>(window);
+        history = (window < 1) ? null : new DoubleRingBuffer(window);
         this.impl = impl;
     }
 
     @Override
     /** {@inheritDoc} */
     public double calculate(double value, double dtSeconds) {
-        stack.push(value);
+        if (history == null) {
+            // the accumulators see values in the same order the means below would, so results are
+            // identical to keeping every value
+            count++;
+            sum += value;
+            product *= value;
+            reciprocalSum += (value == 0) ? 0 : 1 / value;
+        } else {
+            history.push(value);
+
+            count = history.size();
+            sum = 0;
+            product = 1;
+            reciprocalSum = 0;
 
+            for (int i = 0; i < count; i++) {
+                double entry = history.get(i);
+
+                sum += entry;
+                product *= entry;
+                reciprocalSum += (entry == 0) ? 0 : 1 / entry;
+            }
+        }
+
+        // same definitions as the means in UtilityMath
         if (impl == MEAN_IMPLEMENTATION.GEOMETRIC) {
-            currentOutput = UtilityMath.geometricMean(new ArrayList<>(stack));
+            currentOutput = Math.pow(product, 1.0 / count);
         } else if (impl == MEAN_IMPLEMENTATION.HARMONIC) {
-            currentOutput = UtilityMath.harmonicMean(new ArrayList<>(stack));
+            double reciprocalMean = reciprocalSum / count;
+            currentOutput = (reciprocalMean == 0) ? 0 : 1 / reciprocalMean;
         } else {
-            currentOutput = UtilityMath.arithmeticMean(new ArrayList<>(stack));
+            currentOutput = sum / count;
         }
 
+        publishOutput(currentOutput);
         return currentOutput;
     }
 
     @Override
     /** {@inheritDoc} */
     public void reset() {
-        stack.clear();
+        if (history != null) history.clear();
+
+        count = 0;
+        sum = 0;
+        product = 1;
+        reciprocalSum = 0;
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return currentOutput;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        if (history == null) return Long.BYTES + (4 * Double.BYTES);
+        else return Double.BYTES + history.getStateSize();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(currentOutput);
+
+        if (history == null) {
+            buffer.putLong(count);
+            buffer.putDouble(sum);
+            buffer.putDouble(product);
+            buffer.putDouble(reciprocalSum);
+        } else {
+            history.saveState(buffer);
+        }
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        currentOutput = buffer.getDouble();
+        publishOutput(currentOutput);
+
+        if (history == null) {
+            count = buffer.getLong();
+            sum = buffer.getDouble();
+            product = buffer.getDouble();
+            reciprocalSum = buffer.getDouble();
+        } else {
+            history.restoreState(buffer);
+        }
+    }
+
+    @Override
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only an arithmetic mean over a finite window is linear and time-invariant, once the window
+     * is full.
+     */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        if (impl != MEAN_IMPLEMENTATION.ARITHMETIC || history == null) {
+            super.frequencyResponse(frequencyHz, dtSeconds, response);
+            return;
+        }
+
+        // (1 + z^-1 + ... + z^-(n - 1)) / n
+        double omega = 2 * Math.PI * frequencyHz * dtSeconds;
+        int window = history.capacity();
+
+        double real = 0;
+        double imaginary = 0;
+        for (int k = 0; k < window; k++) {
+            real += Math.cos(omega * k);
+            imaginary -= Math.sin(omega * k);
+        }
+
+        response[0] = real / window;
+        response[1] = imaginary / window;
     }
 }
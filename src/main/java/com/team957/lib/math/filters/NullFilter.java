@@ -16,6 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
+import java.nio.ByteBuffer;
+
 /**
  * Filter which performs a nonop on a signal (returns it unchanged).
  *
@@ -29,6 +31,7 @@ public class NullFilter extends Filter {
     /** {@inheritDoc} */
     public double calculate(double value) {
         currentValue = value;
+        publishOutput(currentValue);
         return value;
     }
 
@@ -42,11 +45,38 @@ public class NullFilter extends Filter {
     /** {@inheritDoc} */
     public void reset() {
         currentValue = 0;
+        publishOutput(currentValue);
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return currentValue;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(currentValue);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        currentValue = buffer.getDouble();
+        publishOutput(currentValue);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void frequencyResponse(double frequencyHz, double dtSeconds, double[] response) {
+        response[0] = 1;
+        response[1] = 0;
     }
 }
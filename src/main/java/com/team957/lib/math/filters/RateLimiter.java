@@ -17,6 +17,7 @@ If not, see <https://www.gnu.org/licenses/>.
 package com.team957.lib.math.filters;
 
 import edu.wpi.first.math.MathUtil;
+import java.nio.ByteBuffer;
 
 /**
  * Filter which constrains the maximum rate of change of a reference. Useful for ensuring that an
@@ -49,6 +50,7 @@ public class RateLimiter extends Filter {
                             + MathUtil.clamp(delta, -rateLimit * dtSeconds, rateLimit * dtSeconds);
         else lastValue = value;
 
+        publishOutput(lastValue);
         return lastValue;
     }
 
@@ -56,11 +58,31 @@ public class RateLimiter extends Filter {
     /** {@inheritDoc} */
     public void reset() {
         lastValue = 0;
+        publishOutput(lastValue);
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return lastValue;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(lastValue);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        lastValue = buffer.getDouble();
+        publishOutput(lastValue);
     }
 }
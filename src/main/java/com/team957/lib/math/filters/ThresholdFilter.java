@@ -16,6 +16,8 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math.filters;
 
+import java.nio.ByteBuffer;
+
 /**
  * A filter that completely attentuates any value (infinite impulse) below or above a defined
  * threshold.
@@ -45,6 +47,7 @@ public class ThresholdFilter extends Filter {
         } else {
             currentValue = (value >= threshold) ? value : 0;
         }
+        publishOutput(currentValue);
         return currentValue;
     }
 
@@ -52,11 +55,31 @@ public class ThresholdFilter extends Filter {
     /** {@inheritDoc} */
     public void reset() {
         currentValue = 0;
+        publishOutput(currentValue);
     }
 
     @Override
     /** {@inheritDoc} */
     public double getCurrentOutput() {
-        return currentValue;
+        return getPublishedOutput();
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public int getStateSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putDouble(currentValue);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void restoreState(ByteBuffer buffer) {
+        currentValue = buffer.getDouble();
+        publishOutput(currentValue);
     }
 }
@@ -0,0 +1,272 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Adaptive Dormand-Prince (RK45) integration: each requested step is split into as many substeps
+ * as needed to keep the estimated local error within a tolerance, so fast transients (such as a
+ * motor's electrical dynamics) are resolved without making the whole simulation use tiny steps.
+ *
+ * <p>Each substep computes fifth and fourth order solutions from the same six evaluations (plus
+ * one shared with the next substep), and their difference estimates the error. The substep size
+ * adapts to the error, and the last accepted size is reused to start the next step. In a batch,
+ * all systems share one substep size, chosen for the system with the largest error. Steps must be
+ * forward in time.
+ */
+public class DormandPrinceIntegrator extends Integrator implements Logged {
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40;
+    private static final double A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45;
+    private static final double A42 = -56.0 / 15;
+    private static final double A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561;
+    private static final double A52 = -25360.0 / 2187;
+    private static final double A53 = 64448.0 / 6561;
+    private static final double A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168;
+    private static final double A62 = -355.0 / 33;
+    private static final double A63 = 46732.0 / 5247;
+    private static final double A64 = 49.0 / 176;
+    private static final double A65 = -5103.0 / 18656;
+
+    // fifth order weights, which are also the last stage
+    private static final double B1 = 35.0 / 384;
+    private static final double B3 = 500.0 / 1113;
+    private static final double B4 = 125.0 / 192;
+    private static final double B5 = -2187.0 / 6784;
+    private static final double B6 = 11.0 / 84;
+
+    // difference between the fifth and fourth order weights
+    private static final double E1 = 71.0 / 57600;
+    private static final double E3 = -71.0 / 16695;
+    private static final double E4 = 71.0 / 1920;
+    private static final double E5 = -17253.0 / 339200;
+    private static final double E6 = 22.0 / 525;
+    private static final double E7 = -1.0 / 40;
+
+    private static final double C2 = 1.0 / 5;
+    private static final double C3 = 3.0 / 10;
+    private static final double C4 = 4.0 / 5;
+    private static final double C5 = 8.0 / 9;
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_SCALE = 0.2;
+    private static final double MAX_SCALE = 5;
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+
+    private final double[] k1;
+    private final double[] k2;
+    private final double[] k3;
+    private final double[] k4;
+    private final double[] k5;
+    private final double[] k6;
+    private final double[] k7;
+    private final double[] temp;
+    private final double[] next;
+
+    private double substepSeconds = 0;
+
+    private long acceptedCount = 0;
+    private long rejectedCount = 0;
+
+    /**
+     * Constructs a DormandPrinceIntegrator.
+     *
+     * @param dimension The number of state variables per system. Must be at least 1.
+     * @param capacity The maximum number of systems to step in one batch. Must be at least 1.
+     * @param absoluteTolerance The largest acceptable local error of a state variable near 0.
+     * @param relativeTolerance The largest acceptable local error of a state variable, as a
+     *     proportion of its magnitude.
+     * @throws IllegalArgumentException If the dimension or capacity is less than 1, the tolerances
+     *     are negative, or both tolerances are 0.
+     */
+    public DormandPrinceIntegrator(
+            int dimension, int capacity, double absoluteTolerance, double relativeTolerance) {
+        super(dimension, capacity);
+
+        if (absoluteTolerance < 0 || relativeTolerance < 0) {
+            throw new IllegalArgumentException("Tolerances must not be negative!");
+        }
+        if (absoluteTolerance == 0 && relativeTolerance == 0) {
+            throw new IllegalArgumentException("Tolerances must not both be 0!");
+        }
+
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+
+        int size = dimension * capacity;
+        k1 = new double[size];
+        k2 = new double[size];
+        k3 = new double[size];
+        k4 = new double[size];
+        k5 = new double[size];
+        k6 = new double[size];
+        k7 = new double[size];
+        temp = new double[size];
+        next = new double[size];
+    }
+
+    /**
+     * Constructs a DormandPrinceIntegrator for a single system, with absolute and relative
+     * tolerances of 1E-6.
+     *
+     * @param dimension The number of state variables. Must be at least 1.
+     */
+    public DormandPrinceIntegrator(int dimension) {
+        this(dimension, 1, 1E-6, 1E-6);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void integrate(
+            OdeSystem system, double t, double[] states, int length, double dtSeconds) {
+        if (dtSeconds <= 0) return; // only integrates forward in time
+
+        double end = t + dtSeconds;
+        double h = (substepSeconds > 0) ? Math.min(substepSeconds, dtSeconds) : dtSeconds;
+        double minStep = Math.abs(dtSeconds) * 1E-9;
+
+        evaluate(system, t, states, k1, length);
+
+        while (t < end) {
+            h = Math.min(h, end - t);
+            boolean last = (h == end - t);
+
+            for (int i = 0; i < length; i++) temp[i] = states[i] + (h * A21 * k1[i]);
+            evaluate(system, t + (C2 * h), temp, k2, length);
+
+            for (int i = 0; i < length; i++) {
+                temp[i] = states[i] + (h * ((A31 * k1[i]) + (A32 * k2[i])));
+            }
+            evaluate(system, t + (C3 * h), temp, k3, length);
+
+            for (int i = 0; i < length; i++) {
+                temp[i] = states[i] + (h * ((A41 * k1[i]) + (A42 * k2[i]) + (A43 * k3[i])));
+            }
+            evaluate(system, t + (C4 * h), temp, k4, length);
+
+            for (int i = 0; i < length; i++) {
+                temp[i] =
+                        states[i]
+                                + (h
+                                        * ((A51 * k1[i])
+                                                + (A52 * k2[i])
+                                                + (A53 * k3[i])
+                                                + (A54 * k4[i])));
+            }
+            evaluate(system, t + (C5 * h), temp, k5, length);
+
+            for (int i = 0; i < length; i++) {
+                temp[i] =
+                        states[i]
+                                + (h
+                                        * ((A61 * k1[i])
+                                                + (A62 * k2[i])
+                                                + (A63 * k3[i])
+                                                + (A64 * k4[i])
+                                                + (A65 * k5[i])));
+            }
+            evaluate(system, t + h, temp, k6, length);
+
+            for (int i = 0; i < length; i++) {
+                next[i] =
+                        states[i]
+                                + (h
+                                        * ((B1 * k1[i])
+                                                + (B3 * k3[i])
+                                                + (B4 * k4[i])
+                                                + (B5 * k5[i])
+                                                + (B6 * k6[i])));
+            }
+            evaluate(system, t + h, next, k7, length);
+
+            // largest error relative to its tolerance, where 1 is just acceptable
+            double errorRatio = 0;
+            for (int i = 0; i < length; i++) {
+                double error =
+                        h
+                                * ((E1 * k1[i])
+                                        + (E3 * k3[i])
+                                        + (E4 * k4[i])
+                                        + (E5 * k5[i])
+                                        + (E6 * k6[i])
+                                        + (E7 * k7[i]));
+                double scale =
+                        absoluteTolerance
+                                + (relativeTolerance
+                                        * Math.max(Math.abs(states[i]), Math.abs(next[i])));
+
+                errorRatio = Math.max(errorRatio, Math.abs(error) / scale);
+            }
+
+            if (errorRatio <= 1 || h <= minStep || Double.isNaN(errorRatio)) {
+                System.arraycopy(next, 0, states, 0, length);
+                System.arraycopy(k7, 0, k1, 0, length); // the last stage is the next first stage
+
+                t = last ? end : t + h;
+                acceptedCount++;
+
+                // a last substep shortened to land on the end says little about the right size
+                if (!last || h >= substepSeconds) substepSeconds = h;
+            } else {
+                rejectedCount++;
+            }
+
+            double scale =
+                    (errorRatio == 0) ? MAX_SCALE : SAFETY * Math.pow(errorRatio, -1.0 / 5);
+            h *= Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+            h = Math.max(h, minStep);
+        }
+    }
+
+    /**
+     * Returns the length of the last accepted substep (other than one shortened to end a step),
+     * which the next step starts with.
+     *
+     * @return The substep length, in seconds, or 0 if nothing has been integrated.
+     */
+    @Log
+    public double getSubstepSeconds() {
+        return substepSeconds;
+    }
+
+    /**
+     * Returns the number of substeps accepted.
+     *
+     * @return The number of accepted substeps.
+     */
+    @Log
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Returns the number of substeps rejected for exceeding the tolerance and retried smaller.
+     *
+     * @return The number of rejected substeps.
+     */
+    @Log
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+}
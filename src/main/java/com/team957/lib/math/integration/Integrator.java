@@ -0,0 +1,133 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+/**
+ * Common superclass for numerical ODE integrators over primitive state arrays.
+ *
+ * <p>All working memory is allocated at construction for a fixed state dimension and a maximum
+ * number of systems, so stepping never allocates. A batch of systems is stored one after another
+ * in a single array, and each stage of the method is applied to the whole batch before the next,
+ * which keeps the inner loops simple and friendly to the JIT. An integrator is not thread-safe;
+ * use one per thread.
+ */
+public abstract class Integrator {
+    /** The number of state variables per system. */
+    protected final int dimension;
+
+    /** The maximum number of systems per batch. */
+    protected final int capacity;
+
+    /**
+     * Constructs an Integrator.
+     *
+     * @param dimension The number of state variables per system. Must be at least 1.
+     * @param capacity The maximum number of systems to step in one batch. Must be at least 1.
+     * @throws IllegalArgumentException If the dimension or capacity is less than 1.
+     */
+    protected Integrator(int dimension, int capacity) {
+        if (dimension < 1) throw new IllegalArgumentException("Dimension must be at least 1!");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1!");
+
+        this.dimension = dimension;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Advances a single system by a step, in place.
+     *
+     * @param system The system of equations.
+     * @param t The time at the start of the step, in seconds.
+     * @param state The state of the system, which is replaced with the state at the end of the
+     *     step.
+     * @param dtSeconds The length of the step, in seconds.
+     * @throws IllegalArgumentException If the state is shorter than the dimension.
+     */
+    public void step(OdeSystem system, double t, double[] state, double dtSeconds) {
+        stepBatch(system, t, state, 1, dtSeconds);
+    }
+
+    /**
+     * Advances a batch of independent systems by a step, in place.
+     *
+     * @param system The system of equations, which is evaluated for every system in the batch.
+     * @param t The time at the start of the step, in seconds.
+     * @param states The states of the systems, one after another, which are replaced with the
+     *     states at the end of the step.
+     * @param count The number of systems in the batch.
+     * @param dtSeconds The length of the step, in seconds.
+     * @throws IllegalArgumentException If the count is not between 1 and the capacity, or the
+     *     states array is too short for the count.
+     */
+    public void stepBatch(
+            OdeSystem system, double t, double[] states, int count, double dtSeconds) {
+        if (count < 1 || count > capacity) {
+            throw new IllegalArgumentException("Count must be between 1 and the capacity!");
+        }
+        if (states.length < count * dimension) {
+            throw new IllegalArgumentException("States array is too short for the count!");
+        }
+
+        integrate(system, t, states, count * dimension, dtSeconds);
+    }
+
+    /**
+     * Advances the first {@code length} elements of a batch of states by a step, in place.
+     *
+     * @param system The system of equations.
+     * @param t The time at the start of the step, in seconds.
+     * @param states The states of the systems, one after another.
+     * @param length The number of elements of the states array in use.
+     * @param dtSeconds The length of the step, in seconds.
+     */
+    protected abstract void integrate(
+            OdeSystem system, double t, double[] states, int length, double dtSeconds);
+
+    /**
+     * Evaluates the derivative of every system in a batch.
+     *
+     * @param system The system of equations.
+     * @param t The time, in seconds.
+     * @param states The states of the systems, one after another.
+     * @param derivatives The array to write the derivatives into.
+     * @param length The number of elements of the states array in use.
+     */
+    protected final void evaluate(
+            OdeSystem system, double t, double[] states, double[] derivatives, int length) {
+        for (int offset = 0; offset < length; offset += dimension) {
+            system.derivative(t, states, derivatives, offset);
+        }
+    }
+
+    /**
+     * Returns the number of state variables per system.
+     *
+     * @return The dimension of the state.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the maximum number of systems per batch.
+     *
+     * @return The capacity of the integrator.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
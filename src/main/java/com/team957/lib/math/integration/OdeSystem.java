@@ -0,0 +1,38 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+/**
+ * A system of ordinary differential equations, {@code x' = f(t, x)}, over a primitive state array.
+ *
+ * <p>To allow many independent systems to be stored in one array and stepped together, the state
+ * of a system starts at an offset into the array, and its derivative must be written at the same
+ * offset of the derivative array. When stepped in a batch, the index of the system being evaluated
+ * is {@code offset / dimension}, so per-system parameters can be looked up by it.
+ */
+@FunctionalInterface
+public interface OdeSystem {
+    /**
+     * Computes the derivative of the state. Must not modify the state, and should not allocate.
+     *
+     * @param t The time, in seconds.
+     * @param state The array containing the state.
+     * @param derivative The array to write the derivative of the state into.
+     * @param offset The index of the first element of this system's state, and of its derivative.
+     */
+    void derivative(double t, double[] state, double[] derivative, int offset);
+}
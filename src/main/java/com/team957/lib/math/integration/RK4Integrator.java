@@ -0,0 +1,80 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+/**
+ * Classic fourth-order Runge-Kutta integration, with four evaluations per step. The error shrinks
+ * with the fourth power of the step size, so it's accurate at the step sizes of a control loop for
+ * most smooth, non-stiff systems.
+ */
+public class RK4Integrator extends Integrator {
+    private final double[] k1;
+    private final double[] k2;
+    private final double[] k3;
+    private final double[] k4;
+    private final double[] temp;
+
+    /**
+     * Constructs an RK4Integrator.
+     *
+     * @param dimension The number of state variables per system. Must be at least 1.
+     * @param capacity The maximum number of systems to step in one batch. Must be at least 1.
+     * @throws IllegalArgumentException If the dimension or capacity is less than 1.
+     */
+    public RK4Integrator(int dimension, int capacity) {
+        super(dimension, capacity);
+
+        int size = dimension * capacity;
+        k1 = new double[size];
+        k2 = new double[size];
+        k3 = new double[size];
+        k4 = new double[size];
+        temp = new double[size];
+    }
+
+    /**
+     * Constructs an RK4Integrator for a single system.
+     *
+     * @param dimension The number of state variables. Must be at least 1.
+     */
+    public RK4Integrator(int dimension) {
+        this(dimension, 1);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void integrate(
+            OdeSystem system, double t, double[] states, int length, double dtSeconds) {
+        double halfDt = dtSeconds / 2;
+
+        evaluate(system, t, states, k1, length);
+
+        for (int i = 0; i < length; i++) temp[i] = states[i] + (halfDt * k1[i]);
+        evaluate(system, t + halfDt, temp, k2, length);
+
+        for (int i = 0; i < length; i++) temp[i] = states[i] + (halfDt * k2[i]);
+        evaluate(system, t + halfDt, temp, k3, length);
+
+        for (int i = 0; i < length; i++) temp[i] = states[i] + (dtSeconds * k3[i]);
+        evaluate(system, t + dtSeconds, temp, k4, length);
+
+        double sixthDt = dtSeconds / 6;
+        for (int i = 0; i < length; i++) {
+            states[i] += sixthDt * (k1[i] + (2 * k2[i]) + (2 * k3[i]) + k4[i]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+/**
+ * Semi-implicit (symplectic) Euler integration of second-order mechanical systems: velocities are
+ * advanced with the accelerations at the current state, and positions are then advanced with the
+ * new velocities.
+ *
+ * <p>This costs one evaluation per step, like explicit Euler, but it doesn't gain or lose energy
+ * over time on oscillating systems, so it's suited to long simulations of springs and pendulums at
+ * coarse steps. The state of each system must be its positions, followed by the same number of
+ * velocities; the derivative of the positions is ignored.
+ */
+public class SemiImplicitEulerIntegrator extends Integrator {
+    private final double[] derivatives;
+
+    /**
+     * Constructs a SemiImplicitEulerIntegrator.
+     *
+     * @param dimension The number of state variables per system: the positions followed by the
+     *     velocities. Must be even and at least 2.
+     * @param capacity The maximum number of systems to step in one batch. Must be at least 1.
+     * @throws IllegalArgumentException If the dimension is odd or less than 2, or the capacity is
+     *     less than 1.
+     */
+    public SemiImplicitEulerIntegrator(int dimension, int capacity) {
+        super(dimension, capacity);
+
+        if (dimension % 2 != 0) throw new IllegalArgumentException("Dimension must be even!");
+
+        derivatives = new double[dimension * capacity];
+    }
+
+    /**
+     * Constructs a SemiImplicitEulerIntegrator for a single system.
+     *
+     * @param dimension The number of state variables: the positions followed by the velocities.
+     *     Must be even and at least 2.
+     */
+    public SemiImplicitEulerIntegrator(int dimension) {
+        this(dimension, 1);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void integrate(
+            OdeSystem system, double t, double[] states, int length, double dtSeconds) {
+        evaluate(system, t, states, derivatives, length);
+
+        int half = dimension / 2;
+
+        for (int offset = 0; offset < length; offset += dimension) {
+            for (int i = offset + half; i < offset + dimension; i++) {
+                states[i] += derivatives[i] * dtSeconds;
+            }
+            for (int i = offset; i < offset + half; i++) {
+                states[i] += states[i + half] * dtSeconds;
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Covariance matrix adaptation evolution strategy (CMA-ES), a robust search for noisy, rugged, or
+ * badly scaled costs, such as a closed-loop simulation scored by IAE.
+ *
+ * <p>Each generation, a population of candidates is sampled from a multivariate normal
+ * distribution, and the whole population is evaluated in parallel. The distribution's mean then
+ * moves toward the best candidates, and its shape and size adapt to the directions that improved
+ * the cost, so correlated parameters (such as kP and kD) are searched along their correlation.
+ * Sampling is seeded and done on one thread, so results are reproducible.
+ */
+public class CMAES extends Optimizer {
+    private final int maxEvaluations;
+    private final long seed;
+
+    private int populationSize;
+    private double[] initial = null;
+    private double initialSigma = 0.3;
+    private double tolerance = 1E-9;
+
+    /**
+     * Constructs a CMAES with the default population size for the number of parameters.
+     *
+     * @param lower The lowest value of each parameter.
+     * @param upper The highest value of each parameter.
+     * @param maxEvaluations The most evaluations of the cost function. Must be at least 1.
+     * @param seed The seed for sampling candidates.
+     * @throws IllegalArgumentException If the bounds are invalid, or the maximum evaluations is
+     *     less than 1.
+     */
+    public CMAES(double[] lower, double[] upper, int maxEvaluations, long seed) {
+        super(lower, upper);
+
+        if (maxEvaluations < 1) {
+            throw new IllegalArgumentException("Max evaluations must be at least 1!");
+        }
+
+        this.maxEvaluations = maxEvaluations;
+        this.seed = seed;
+
+        populationSize = 4 + (int) (3 * Math.log(lower.length));
+    }
+
+    /**
+     * Sets the number of candidates per generation. Larger populations search more globally, and
+     * make better use of many cores, at the cost of more evaluations per generation.
+     *
+     * @param size The population size. Must be at least 2.
+     * @throws IllegalArgumentException If the size is less than 2.
+     */
+    public void setPopulationSize(int size) {
+        if (size < 2) throw new IllegalArgumentException("Population size must be at least 2!");
+
+        populationSize = size;
+    }
+
+    /**
+     * Returns the number of candidates per generation.
+     *
+     * @return The population size.
+     */
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * Sets the initial mean of the search. Otherwise, it starts at the center of the bounds.
+     *
+     * @param parameters The initial guess of the parameters, or null to start at the center.
+     * @throws IllegalArgumentException If the initial guess is the wrong length.
+     */
+    public void setInitialGuess(double[] parameters) {
+        if (parameters != null && parameters.length != getDimension()) {
+            throw new IllegalArgumentException("Initial guess must match the bounds!");
+        }
+
+        initial = (parameters == null) ? null : parameters.clone();
+    }
+
+    /**
+     * Sets the initial standard deviation of the search.
+     *
+     * @param sigma The standard deviation, as a proportion of the range of each parameter. Must be
+     *     greater than 0.
+     * @throws IllegalArgumentException If sigma is not greater than 0.
+     */
+    public void setInitialSigma(double sigma) {
+        if (!(sigma > 0)) throw new IllegalArgumentException("Sigma must be greater than 0!");
+
+        initialSigma = sigma;
+    }
+
+    /**
+     * Sets when the search stops early: once the distribution's largest standard deviation is less
+     * than this.
+     *
+     * @param tolerance The standard deviation to stop at, as a proportion of the range of each
+     *     parameter. Must not be negative.
+     * @throws IllegalArgumentException If the tolerance is negative.
+     */
+    public void setTolerance(double tolerance) {
+        if (tolerance < 0) throw new IllegalArgumentException("Tolerance must not be negative!");
+
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected OptimizationResult search(CostFunction function) {
+        int n = getDimension();
+        int lambda = populationSize;
+        int mu = lambda / 2;
+
+        // recombination weights, decreasing with rank
+        double[] weights = new double[mu];
+        double weightSum = 0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+            weightSum += weights[i];
+        }
+        double squaredSum = 0;
+        for (int i = 0; i < mu; i++) {
+            weights[i] /= weightSum;
+            squaredSum += weights[i] * weights[i];
+        }
+        double muEff = 1 / squaredSum;
+
+        // learning rates, as recommended by Hansen
+        double cc = (4 + (muEff / n)) / (n + 4 + (2 * muEff / n));
+        double cs = (muEff + 2) / (n + muEff + 5);
+        double c1 = 2 / (((n + 1.3) * (n + 1.3)) + muEff);
+        double cmu =
+                Math.min(1 - c1, 2 * (muEff - 2 + (1 / muEff)) / (((n + 2) * (n + 2)) + muEff));
+        double damps = 1 + (2 * Math.max(0, Math.sqrt((muEff - 1) / (n + 1)) - 1)) + cs;
+        double chiN = Math.sqrt(n) * (1 - (1.0 / (4 * n)) + (1.0 / (21 * n * n)));
+
+        double[] mean = new double[n];
+        if (initial != null) {
+            normalize(initial, mean);
+        } else {
+            Arrays.fill(mean, 0.5);
+        }
+        double sigma = initialSigma;
+
+        double[][] covariance = new double[n][n];
+        double[][] basis = new double[n][n];
+        double[] scales = new double[n];
+        for (int i = 0; i < n; i++) {
+            covariance[i][i] = 1;
+            basis[i][i] = 1;
+            scales[i] = 1;
+        }
+
+        double[] pathC = new double[n];
+        double[] pathS = new double[n];
+
+        double[][] candidates = new double[lambda][n];
+        double[][] steps = new double[lambda][n];
+        double[] costs = new double[lambda];
+        Integer[] order = new Integer[lambda];
+        double[] z = new double[n];
+        double[] oldMean = new double[n];
+        double[] temp = new double[n];
+
+        Random random = new Random(seed);
+
+        double[] best = mean.clone();
+        double bestCost = Double.POSITIVE_INFINITY;
+
+        long evaluations = 0;
+        int generation = 0;
+
+        while (evaluations + lambda <= maxEvaluations || evaluations == 0) {
+            int count = (int) Math.min(lambda, maxEvaluations - evaluations);
+
+            // sample, keeping the actual (clamped) step taken from the mean
+            for (int k = 0; k < count; k++) {
+                for (int i = 0; i < n; i++) z[i] = scales[i] * random.nextGaussian();
+
+                for (int i = 0; i < n; i++) {
+                    double y = 0;
+                    for (int j = 0; j < n; j++) y += basis[i][j] * z[j];
+
+                    double x = Math.max(0, Math.min(1, mean[i] + (sigma * y)));
+                    candidates[k][i] = x;
+                    steps[k][i] = (x - mean[i]) / sigma;
+                }
+            }
+
+            IntStream.range(0, count)
+                    .parallel()
+                    .forEach(
+                            k ->
+                                    costs[k] =
+                                            evaluateNormalized(
+                                                    function, candidates[k], new double[n]));
+            evaluations += count;
+
+            for (int k = 0; k < count; k++) order[k] = k;
+            Arrays.sort(order, 0, count, (a, b) -> Double.compare(costs[a], costs[b]));
+
+            if (costs[order[0]] < bestCost) {
+                bestCost = costs[order[0]];
+                System.arraycopy(candidates[order[0]], 0, best, 0, n);
+            }
+
+            if (count < lambda) break; // ran out of evaluations mid-generation
+
+            generation++;
+
+            // move the mean toward the best candidates
+            System.arraycopy(mean, 0, oldMean, 0, n);
+            Arrays.fill(mean, 0);
+            for (int r = 0; r < mu; r++) {
+                for (int i = 0; i < n; i++) mean[i] += weights[r] * candidates[order[r]][i];
+            }
+
+            // C^-1/2 * (mean - oldMean) / sigma, from the eigendecomposition C = B * D^2 * B^T
+            for (int j = 0; j < n; j++) {
+                double projection = 0;
+                for (int i = 0; i < n; i++) projection += basis[i][j] * (mean[i] - oldMean[i]);
+                temp[j] = projection / (sigma * scales[j]);
+            }
+
+            double normS = 0;
+            for (int i = 0; i < n; i++) {
+                double whitened = 0;
+                for (int j = 0; j < n; j++) whitened += basis[i][j] * temp[j];
+
+                pathS[i] = ((1 - cs) * pathS[i]) + (Math.sqrt(cs * (2 - cs) * muEff) * whitened);
+                normS += pathS[i] * pathS[i];
+            }
+            normS = Math.sqrt(normS);
+
+            boolean stalled =
+                    normS / Math.sqrt(1 - Math.pow(1 - cs, 2 * generation)) / chiN
+                            >= 1.4 + (2.0 / (n + 1));
+            double hSigma = stalled ? 0 : 1;
+
+            for (int i = 0; i < n; i++) {
+                pathC[i] =
+                        ((1 - cc) * pathC[i])
+                                + (hSigma
+                                        * Math.sqrt(cc * (2 - cc) * muEff)
+                                        * (mean[i] - oldMean[i])
+                                        / sigma);
+            }
+
+            // rank-one and rank-mu updates of the covariance
+            double correction = (1 - hSigma) * cc * (2 - cc);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    double rankMu = 0;
+                    for (int r = 0; r < mu; r++) {
+                        rankMu += weights[r] * steps[order[r]][i] * steps[order[r]][j];
+                    }
+
+                    double rankOne = (pathC[i] * pathC[j]) + (correction * covariance[i][j]);
+                    double value =
+                            ((1 - c1 - cmu) * covariance[i][j]) + (c1 * rankOne) + (cmu * rankMu);
+
+                    covariance[i][j] = value;
+                    covariance[j][i] = value;
+                }
+            }
+
+            sigma *= Math.exp((cs / damps) * ((normS / chiN) - 1));
+
+            decompose(covariance, basis, scales);
+
+            double maxScale = 0;
+            for (int i = 0; i < n; i++) maxScale = Math.max(maxScale, scales[i]);
+            if (sigma * maxScale < tolerance) break;
+        }
+
+        return result(best, bestCost);
+    }
+
+    // eigendecomposition of a symmetric matrix by cyclic Jacobi rotations, giving the eigenvectors
+    // as columns of the basis and the square roots of the eigenvalues as the scales
+    private static void decompose(double[][] matrix, double[][] basis, double[] scales) {
+        int n = matrix.length;
+
+        double[][] a = new double[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = matrix[i].clone();
+            Arrays.fill(basis[i], 0);
+            basis[i][i] = 1;
+        }
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double offDiagonal = 0;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) offDiagonal += a[p][q] * a[p][q];
+            }
+            if (offDiagonal < 1E-30) break;
+
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (a[p][q] == 0) continue;
+
+                    double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+                    double t =
+                            Math.signum(theta == 0 ? 1 : theta)
+                                    / (Math.abs(theta) + Math.sqrt((theta * theta) + 1));
+                    double c = 1 / Math.sqrt((t * t) + 1);
+                    double s = t * c;
+
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k][p];
+                        double akq = a[k][q];
+                        a[k][p] = (c * akp) - (s * akq);
+                        a[k][q] = (s * akp) + (c * akq);
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p][k];
+                        double aqk = a[q][k];
+                        a[p][k] = (c * apk) - (s * aqk);
+                        a[q][k] = (s * apk) + (c * aqk);
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double bkp = basis[k][p];
+                        double bkq = basis[k][q];
+                        basis[k][p] = (c * bkp) - (s * bkq);
+                        basis[k][q] = (s * bkp) + (c * bkq);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) scales[i] = Math.sqrt(Math.max(a[i][i], 1E-20));
+    }
+}
@@ -0,0 +1,37 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+/**
+ * Scores a set of parameters, such as the gains of a controller or the window of a filter, where
+ * lower is better.
+ *
+ * <p>Optimizers evaluate many parameter sets at once on different threads, so a cost function must
+ * be thread-safe. Usually, each evaluation should construct its own controllers, filters, and
+ * simulations from the parameters, and only share read-only data such as recorded signals.
+ */
+@FunctionalInterface
+public interface CostFunction {
+    /**
+     * Computes the cost of a set of parameters. A NaN cost (such as from an unstable simulation)
+     * is treated as infinitely bad.
+     *
+     * @param parameters The parameters to score. Must not be modified, or kept after returning.
+     * @return The cost of the parameters.
+     */
+    double cost(double[] parameters);
+}
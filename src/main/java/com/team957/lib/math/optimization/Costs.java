@@ -0,0 +1,123 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.math.filters.Filter;
+import com.team957.lib.simulation.Simulation;
+import java.util.function.DoubleBinaryOperator;
+
+/** Common building blocks of cost functions, for scoring filters and controllers. */
+public class Costs {
+    /**
+     * Scores how well a filter recovers a clean signal from a recorded noisy one, as the mean
+     * squared error between the filter's output and the reference. Both lag and leftover noise
+     * increase the error. The filter is reset first.
+     *
+     * @param filter The filter to score.
+     * @param input The recorded input to the filter.
+     * @param reference The clean signal the filter should output, at the same times as the input.
+     * @param dtSeconds The time, in seconds, between samples.
+     * @return The mean squared error.
+     * @throws IllegalArgumentException If the signals are empty or of different lengths.
+     */
+    public static double filterError(
+            Filter filter, double[] input, double[] reference, double dtSeconds) {
+        if (input.length == 0) throw new IllegalArgumentException("Input must not be empty!");
+        if (input.length != reference.length) {
+            throw new IllegalArgumentException("Input and reference must be the same length!");
+        }
+
+        filter.reset();
+
+        double sum = 0;
+        for (int i = 0; i < input.length; i++) {
+            double error = filter.calculate(input[i], dtSeconds) - reference[i];
+            sum += error * error;
+        }
+
+        return sum / input.length;
+    }
+
+    /**
+     * Scores the tradeoff between lag and noise of a filter on a recorded signal, when no clean
+     * reference is available. Lag is measured as the mean squared difference between the output
+     * and the input, and noise as the mean squared change in the output between samples. The filter
+     * is reset first.
+     *
+     * @param filter The filter to score.
+     * @param input The recorded input to the filter.
+     * @param dtSeconds The time, in seconds, between samples.
+     * @param noiseWeight How much to penalize noise relative to lag. Higher values favor smoother
+     *     filters.
+     * @return The weighted sum of lag and noise.
+     * @throws IllegalArgumentException If the input is empty.
+     */
+    public static double filterLagVsNoise(
+            Filter filter, double[] input, double dtSeconds, double noiseWeight) {
+        if (input.length == 0) throw new IllegalArgumentException("Input must not be empty!");
+
+        filter.reset();
+
+        double lag = 0;
+        double noise = 0;
+        double last = input[0];
+
+        for (int i = 0; i < input.length; i++) {
+            double output = filter.calculate(input[i], dtSeconds);
+
+            double tracking = output - input[i];
+            double change = (i == 0) ? 0 : output - last;
+
+            lag += tracking * tracking;
+            noise += change * change;
+            last = output;
+        }
+
+        return (lag + (noiseWeight * noise)) / input.length;
+    }
+
+    /**
+     * Scores a controller by the integral of absolute error (IAE) of a closed-loop simulation.
+     * Both the simulation and the controller are reset first. An unstable loop scores infinity or
+     * NaN, which optimizers treat as infinitely bad.
+     *
+     * @param simulation The simulation of the plant. Its measurement is compared directly to the
+     *     setpoint, so it should not be used with angular controllers that wrap.
+     * @param controller The controller, with its setpoint already set.
+     * @param durationSeconds The simulated time to run for, in seconds.
+     * @return The IAE of the plant's true output, relative to the setpoint.
+     */
+    public static double integralAbsoluteError(
+            Simulation simulation, PID controller, double durationSeconds) {
+        simulation.reset();
+        controller.reset();
+
+        double dt = simulation.getDtSeconds();
+        long ticks = (long) Math.ceil((durationSeconds / dt) - 1E-9);
+
+        DoubleBinaryOperator step = controller::calculate;
+
+        double sum = 0;
+        for (long i = 0; i < ticks; i++) {
+            simulation.tick(step);
+            sum += Math.abs(controller.getSetpoint() - simulation.getPlant().getOutput()) * dt;
+        }
+
+        return sum;
+    }
+}
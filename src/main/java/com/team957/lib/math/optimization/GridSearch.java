@@ -0,0 +1,151 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exhaustive search of an evenly spaced grid of parameters, including the bounds. The number of
+ * evaluations grows exponentially with the number of parameters, so this is best for one to three
+ * parameters, or for a coarse look at the cost before a finer search.
+ *
+ * <p>The grid is split recursively into blocks which are evaluated in parallel by the common
+ * {@code ForkJoinPool}.
+ */
+public class GridSearch extends Optimizer {
+    private static final int BLOCK_SIZE = 16;
+
+    private final int points;
+    private final long total;
+
+    /**
+     * Constructs a GridSearch.
+     *
+     * @param lower The lowest value of each parameter.
+     * @param upper The highest value of each parameter.
+     * @param pointsPerDimension The number of grid points along each parameter. Must be at least
+     *     2.
+     * @throws IllegalArgumentException If the bounds are invalid, there are fewer than 2 points per
+     *     dimension, or the grid has more than {@code Long.MAX_VALUE} points.
+     */
+    public GridSearch(double[] lower, double[] upper, int pointsPerDimension) {
+        super(lower, upper);
+
+        if (pointsPerDimension < 2) {
+            throw new IllegalArgumentException("Points per dimension must be at least 2!");
+        }
+
+        long count = 1;
+        for (int i = 0; i < lower.length; i++) {
+            count = Math.multiplyExact(count, pointsPerDimension);
+        }
+
+        this.points = pointsPerDimension;
+        this.total = count;
+    }
+
+    /**
+     * Returns the number of points in the grid.
+     *
+     * @return The number of evaluations per search.
+     */
+    public long getGridSize() {
+        return total;
+    }
+
+    // best index and cost found in a block of the grid
+    private static class Best {
+        private final long index;
+        private final double cost;
+
+        private Best(long index, double cost) {
+            this.index = index;
+            this.cost = cost;
+        }
+
+        private static Best of(Best a, Best b) {
+            // ties go to the lower index, so the result doesn't depend on scheduling
+            if (b.cost < a.cost || (b.cost == a.cost && b.index < a.index)) return b;
+            return a;
+        }
+    }
+
+    private class Block extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+
+        private final CostFunction function;
+        private final long start;
+        private final long end;
+
+        private Block(CostFunction function, long start, long end) {
+            this.function = function;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Best compute() {
+            if (end - start > BLOCK_SIZE) {
+                long middle = start + ((end - start) / 2);
+
+                Block left = new Block(function, start, middle);
+                left.fork();
+
+                Best right = new Block(function, middle, end).compute();
+                return Best.of(left.join(), right);
+            }
+
+            double[] normalized = new double[getDimension()];
+            double[] parameters = new double[getDimension()];
+
+            long bestIndex = start;
+            double bestCost = Double.POSITIVE_INFINITY;
+
+            for (long index = start; index < end; index++) {
+                point(index, normalized);
+
+                double cost = evaluateNormalized(function, normalized, parameters);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestIndex = index;
+                }
+            }
+
+            return new Best(bestIndex, bestCost);
+        }
+    }
+
+    // normalized coordinates of a grid point, numbered with the first parameter varying fastest
+    private void point(long index, double[] normalized) {
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] = (double) (index % points) / (points - 1);
+            index /= points;
+        }
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected OptimizationResult search(CostFunction function) {
+        Best best = ForkJoinPool.commonPool().invoke(new Block(function, 0, total));
+
+        double[] normalized = new double[getDimension()];
+        point(best.index, normalized);
+
+        return result(normalized, best.cost);
+    }
+}
@@ -0,0 +1,260 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Nelder-Mead simplex search, which needs no derivatives and few evaluations per iteration, but
+ * can stop at a local minimum. To make that less likely, several searches from different starting
+ * points are run in parallel, and the best result is kept.
+ *
+ * <p>The first search starts from a given initial guess (or the center of the bounds), and the rest
+ * from seeded random points, so results are reproducible.
+ */
+public class NelderMead extends Optimizer {
+    private static final double REFLECTION = 1;
+    private static final double EXPANSION = 2;
+    private static final double CONTRACTION = 0.5;
+    private static final double SHRINK = 0.5;
+
+    private final int starts;
+    private final int maxEvaluationsPerStart;
+    private final long seed;
+
+    private double[] initial = null;
+    private double initialStep = 0.1;
+    private double tolerance = 1E-9;
+
+    /**
+     * Constructs a NelderMead.
+     *
+     * @param lower The lowest value of each parameter.
+     * @param upper The highest value of each parameter.
+     * @param starts The number of searches to run from different starting points. Must be at
+     *     least 1.
+     * @param maxEvaluationsPerStart The most evaluations of the cost function per search. Must be
+     *     greater than the number of parameters.
+     * @param seed The seed for choosing random starting points.
+     * @throws IllegalArgumentException If the bounds are invalid, there are no starts, or too few
+     *     evaluations.
+     */
+    public NelderMead(
+            double[] lower, double[] upper, int starts, int maxEvaluationsPerStart, long seed) {
+        super(lower, upper);
+
+        if (starts < 1) throw new IllegalArgumentException("Starts must be at least 1!");
+        if (maxEvaluationsPerStart <= lower.length) {
+            throw new IllegalArgumentException(
+                    "Max evaluations must be greater than the number of parameters!");
+        }
+
+        this.starts = starts;
+        this.maxEvaluationsPerStart = maxEvaluationsPerStart;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the starting point of the first search. Otherwise, it starts at the center of the
+     * bounds.
+     *
+     * @param parameters The initial guess of the parameters, or null to start at the center.
+     * @throws IllegalArgumentException If the initial guess is the wrong length.
+     */
+    public void setInitialGuess(double[] parameters) {
+        if (parameters != null && parameters.length != getDimension()) {
+            throw new IllegalArgumentException("Initial guess must match the bounds!");
+        }
+
+        initial = (parameters == null) ? null : parameters.clone();
+    }
+
+    /**
+     * Sets the size of the initial simplex.
+     *
+     * @param step The distance from the starting point to the other points of the simplex, as a
+     *     proportion of the range of each parameter. Must be greater than 0.
+     * @throws IllegalArgumentException If the step is not greater than 0.
+     */
+    public void setInitialStep(double step) {
+        if (!(step > 0)) throw new IllegalArgumentException("Step must be greater than 0!");
+
+        initialStep = step;
+    }
+
+    /**
+     * Sets when a search stops early: once the costs across the simplex differ by less than this.
+     *
+     * @param tolerance The spread of costs to stop at. Must not be negative.
+     * @throws IllegalArgumentException If the tolerance is negative.
+     */
+    public void setTolerance(double tolerance) {
+        if (tolerance < 0) throw new IllegalArgumentException("Tolerance must not be negative!");
+
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected OptimizationResult search(CostFunction function) {
+        int n = getDimension();
+
+        double[][] startPoints = new double[starts][n];
+        Random random = new Random(seed);
+
+        if (initial != null) {
+            normalize(initial, startPoints[0]);
+        } else {
+            Arrays.fill(startPoints[0], 0.5);
+        }
+        for (int s = 1; s < starts; s++) {
+            for (int i = 0; i < n; i++) startPoints[s][i] = random.nextDouble();
+        }
+
+        double[][] bests = new double[starts][];
+        double[] costs = new double[starts];
+
+        IntStream.range(0, starts)
+                .parallel()
+                .forEach(
+                        s -> {
+                            bests[s] = startPoints[s];
+                            costs[s] = run(function, startPoints[s]);
+                        });
+
+        int best = 0;
+        for (int s = 1; s < starts; s++) {
+            if (costs[s] < costs[best]) best = s;
+        }
+
+        return result(bests[best], costs[best]);
+    }
+
+    // runs one search, leaving the best point in start and returning its cost
+    private double run(CostFunction function, double[] start) {
+        int n = getDimension();
+        double[] scratch = new double[n];
+
+        double[][] simplex = new double[n + 1][];
+        double[] costs = new double[n + 1];
+
+        for (int v = 0; v <= n; v++) {
+            simplex[v] = start.clone();
+            if (v > 0) {
+                // step inward if the start is on the upper bound
+                int i = v - 1;
+                simplex[v][i] += (start[i] + initialStep <= 1) ? initialStep : -initialStep;
+            }
+
+            costs[v] = evaluateNormalized(function, simplex[v], scratch);
+        }
+
+        int evaluations = n + 1;
+
+        double[] centroid = new double[n];
+        double[] reflected = new double[n];
+        double[] trial = new double[n];
+
+        Integer[] order = new Integer[n + 1];
+
+        while (evaluations < maxEvaluationsPerStart) {
+            // sort vertices from best to worst
+            for (int v = 0; v <= n; v++) order[v] = v;
+            Arrays.sort(order, (a, b) -> Double.compare(costs[a], costs[b]));
+
+            int best = order[0];
+            int secondWorst = order[n - 1];
+            int worst = order[n];
+
+            if (Math.abs(costs[worst] - costs[best]) <= tolerance) break;
+
+            Arrays.fill(centroid, 0);
+            for (int v = 0; v <= n; v++) {
+                if (v == worst) continue;
+                for (int i = 0; i < n; i++) centroid[i] += simplex[v][i] / n;
+            }
+
+            for (int i = 0; i < n; i++) {
+                reflected[i] = centroid[i] + (REFLECTION * (centroid[i] - simplex[worst][i]));
+            }
+            clamp(reflected);
+            double reflectedCost = evaluateNormalized(function, reflected, scratch);
+            evaluations++;
+
+            if (reflectedCost < costs[best]) {
+                for (int i = 0; i < n; i++) {
+                    trial[i] = centroid[i] + (EXPANSION * (reflected[i] - centroid[i]));
+                }
+                clamp(trial);
+                double expandedCost = evaluateNormalized(function, trial, scratch);
+                evaluations++;
+
+                if (expandedCost < reflectedCost) {
+                    replace(simplex, costs, worst, trial, expandedCost);
+                } else {
+                    replace(simplex, costs, worst, reflected, reflectedCost);
+                }
+            } else if (reflectedCost < costs[secondWorst]) {
+                replace(simplex, costs, worst, reflected, reflectedCost);
+            } else {
+                // contract toward the better of the worst point and its reflection
+                boolean outside = reflectedCost < costs[worst];
+                double[] toward = outside ? reflected : simplex[worst];
+
+                for (int i = 0; i < n; i++) {
+                    trial[i] = centroid[i] + (CONTRACTION * (toward[i] - centroid[i]));
+                }
+                double contractedCost = evaluateNormalized(function, trial, scratch);
+                evaluations++;
+
+                if (contractedCost < Math.min(reflectedCost, costs[worst])) {
+                    replace(simplex, costs, worst, trial, contractedCost);
+                } else {
+                    for (int v = 0; v <= n; v++) {
+                        if (v == best) continue;
+                        for (int i = 0; i < n; i++) {
+                            double offset = simplex[v][i] - simplex[best][i];
+                            simplex[v][i] = simplex[best][i] + (SHRINK * offset);
+                        }
+                        costs[v] = evaluateNormalized(function, simplex[v], scratch);
+                    }
+                    evaluations += n;
+                }
+            }
+        }
+
+        int best = 0;
+        for (int v = 1; v <= n; v++) {
+            if (costs[v] < costs[best]) best = v;
+        }
+
+        System.arraycopy(simplex[best], 0, start, 0, n);
+        return costs[best];
+    }
+
+    private static void replace(
+            double[][] simplex, double[] costs, int vertex, double[] point, double cost) {
+        System.arraycopy(point, 0, simplex[vertex], 0, point.length);
+        costs[vertex] = cost;
+    }
+
+    private static void clamp(double[] point) {
+        for (int i = 0; i < point.length; i++) point[i] = Math.max(0, Math.min(1, point[i]));
+    }
+}
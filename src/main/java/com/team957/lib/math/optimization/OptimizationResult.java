@@ -0,0 +1,82 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import java.util.Arrays;
+
+/** Data class for holding the best parameters found by an {@link Optimizer}. */
+public class OptimizationResult {
+    private final double[] parameters;
+    private final double cost;
+    private final long evaluations;
+
+    /**
+     * Constructs an OptimizationResult.
+     *
+     * @param parameters The best parameters found.
+     * @param cost The cost of the best parameters.
+     * @param evaluations The number of times the cost function was evaluated.
+     */
+    public OptimizationResult(double[] parameters, double cost, long evaluations) {
+        this.parameters = parameters.clone();
+        this.cost = cost;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * Returns the best parameters found.
+     *
+     * @return A copy of the parameters.
+     */
+    public double[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * Returns one of the best parameters found.
+     *
+     * @param index The index of the parameter.
+     * @return The value of the parameter.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public double getParameter(int index) {
+        return parameters[index];
+    }
+
+    /**
+     * Returns the cost of the best parameters found.
+     *
+     * @return The lowest cost found.
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns the number of times the cost function was evaluated.
+     *
+     * @return The number of evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return ("OptimizationResult: " + Arrays.toString(parameters) + ", " + cost);
+    }
+}
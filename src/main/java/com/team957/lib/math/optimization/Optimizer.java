@@ -0,0 +1,177 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Common superclass for this library's optimizers, which search a box of parameters for the set
+ * with the lowest cost.
+ *
+ * <p>Candidate parameter sets are evaluated in parallel on the common {@code ForkJoinPool}, which
+ * uses every core. Internally, the searches work in coordinates normalized to the bounds, so
+ * parameters of very different scales (such as kP and kD) are searched evenly. An optimizer may be
+ * reused, but should not run more than one search at a time.
+ */
+public abstract class Optimizer {
+    private final double[] lower;
+    private final double[] upper;
+
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Constructs an Optimizer.
+     *
+     * @param lower The lowest value of each parameter.
+     * @param upper The highest value of each parameter.
+     * @throws IllegalArgumentException If the bounds are empty, of different lengths, or a lower
+     *     bound is greater than its upper bound.
+     */
+    protected Optimizer(double[] lower, double[] upper) {
+        if (lower.length == 0) throw new IllegalArgumentException("Bounds must not be empty!");
+        if (lower.length != upper.length) {
+            throw new IllegalArgumentException("Bounds must be the same length!");
+        }
+        for (int i = 0; i < lower.length; i++) {
+            if (!(lower[i] <= upper[i])) {
+                throw new IllegalArgumentException("Lower bounds must not exceed upper bounds!");
+            }
+        }
+
+        this.lower = lower.clone();
+        this.upper = upper.clone();
+    }
+
+    /**
+     * Searches for the parameters with the lowest cost.
+     *
+     * @param function The cost function to minimize.
+     * @return The best parameters found.
+     */
+    public final OptimizationResult minimize(CostFunction function) {
+        evaluations.reset();
+        return search(function);
+    }
+
+    /**
+     * Searches for the parameters with the lowest cost, evaluating them with {@code evaluate()}.
+     *
+     * @param function The cost function to minimize.
+     * @return The best parameters found.
+     */
+    protected abstract OptimizationResult search(CostFunction function);
+
+    /**
+     * Evaluates the cost of a set of parameters and counts the evaluation. Safe to call from any
+     * thread.
+     *
+     * @param function The cost function.
+     * @param parameters The parameters to evaluate.
+     * @return The cost, or positive infinity if the cost was NaN.
+     */
+    protected final double evaluate(CostFunction function, double[] parameters) {
+        evaluations.increment();
+
+        double cost = function.cost(parameters);
+        return Double.isNaN(cost) ? Double.POSITIVE_INFINITY : cost;
+    }
+
+    /**
+     * Evaluates the cost of a set of normalized parameters.
+     *
+     * @param function The cost function.
+     * @param normalized The parameters, where 0 is the lower bound and 1 is the upper bound of
+     *     each. Values outside of the bounds are clamped.
+     * @param scratch An array of the dimension to hold the real parameters.
+     * @return The cost, or positive infinity if the cost was NaN.
+     */
+    protected final double evaluateNormalized(
+            CostFunction function, double[] normalized, double[] scratch) {
+        denormalize(normalized, scratch);
+        return evaluate(function, scratch);
+    }
+
+    /**
+     * Converts normalized parameters to real parameters.
+     *
+     * @param normalized The parameters, where 0 is the lower bound and 1 is the upper bound of
+     *     each. Values outside of the bounds are clamped.
+     * @param parameters The array to write the real parameters to.
+     */
+    protected final void denormalize(double[] normalized, double[] parameters) {
+        for (int i = 0; i < lower.length; i++) {
+            double clamped = Math.max(0, Math.min(1, normalized[i]));
+            parameters[i] = lower[i] + (clamped * (upper[i] - lower[i]));
+        }
+    }
+
+    /**
+     * Converts real parameters to normalized parameters. Degenerate bounds map to 0.
+     *
+     * @param parameters The real parameters.
+     * @param normalized The array to write the normalized parameters to.
+     */
+    protected final void normalize(double[] parameters, double[] normalized) {
+        for (int i = 0; i < lower.length; i++) {
+            double range = upper[i] - lower[i];
+            normalized[i] = (range == 0) ? 0 : (parameters[i] - lower[i]) / range;
+        }
+    }
+
+    /**
+     * Creates a result from normalized parameters, with the evaluations counted so far.
+     *
+     * @param normalized The best normalized parameters.
+     * @param cost The cost of the best parameters.
+     * @return The result of the search.
+     */
+    protected final OptimizationResult result(double[] normalized, double cost) {
+        double[] parameters = new double[lower.length];
+        denormalize(normalized, parameters);
+
+        return new OptimizationResult(parameters, cost, evaluations.sum());
+    }
+
+    /**
+     * Returns the number of parameters searched.
+     *
+     * @return The dimension of the search.
+     */
+    public int getDimension() {
+        return lower.length;
+    }
+
+    /**
+     * Returns the lowest value of a parameter.
+     *
+     * @param index The index of the parameter.
+     * @return The lower bound.
+     */
+    public double getLowerBound(int index) {
+        return lower[index];
+    }
+
+    /**
+     * Returns the highest value of a parameter.
+     *
+     * @param index The index of the parameter.
+     * @return The upper bound.
+     */
+    public double getUpperBound(int index) {
+        return upper[index];
+    }
+}
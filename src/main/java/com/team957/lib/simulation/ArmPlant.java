@@ -0,0 +1,54 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+
+/**
+ * Model of a single-jointed arm driven by a DC motor, where gravity scales with the cosine of the
+ * angle, with hard stops at the ends of travel. Angles are in radians, with 0 being horizontal.
+ * The output is the angle of the arm.
+ */
+public class ArmPlant extends MechanismPlant {
+    /**
+     * Constructs an ArmPlant.
+     *
+     * @param constants The feedforward gains of the arm, where kG is the input needed to hold the
+     *     arm horizontal.
+     * @param initialAngle The angle of the arm when constructed or reset, in radians.
+     * @param minAngle The angle of the lower hard stop, in radians.
+     * @param maxAngle The angle of the upper hard stop, in radians.
+     * @throws IllegalArgumentException If the gains are out of range, or the initial angle is not
+     *     between the hard stops.
+     */
+    public ArmPlant(
+            FeedforwardConstants constants, double initialAngle, double minAngle, double maxAngle) {
+        super(constants, initialAngle, minAngle, maxAngle);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected double getGravityInput(double position, double kG) {
+        return kG * Math.cos(position);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return getPosition();
+    }
+}
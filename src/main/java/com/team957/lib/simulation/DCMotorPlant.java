@@ -0,0 +1,46 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+
+/**
+ * Model of a DC motor driving an inertial load with friction, with no gravity or hard stops, such
+ * as a turret or drivetrain. The output is the position of the load.
+ */
+public class DCMotorPlant extends MechanismPlant {
+    /**
+     * Constructs a DCMotorPlant starting at rest at position 0.
+     *
+     * @param constants The feedforward gains of the mechanism. kG is ignored.
+     */
+    public DCMotorPlant(FeedforwardConstants constants) {
+        super(constants, 0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected double getGravityInput(double position, double kG) {
+        return 0;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return getPosition();
+    }
+}
@@ -0,0 +1,51 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+
+/**
+ * Model of an elevator driven by a DC motor, with constant gravity and hard stops at the bottom
+ * and top of travel. The output is the height of the carriage.
+ */
+public class ElevatorPlant extends MechanismPlant {
+    /**
+     * Constructs an ElevatorPlant starting at rest at the bottom of travel.
+     *
+     * @param constants The feedforward gains of the elevator, where kG is the input needed to hold
+     *     the carriage up.
+     * @param minHeight The height of the bottom of travel.
+     * @param maxHeight The height of the top of travel.
+     * @throws IllegalArgumentException If the gains are out of range, or the minimum height is
+     *     greater than the maximum.
+     */
+    public ElevatorPlant(FeedforwardConstants constants, double minHeight, double maxHeight) {
+        super(constants, minHeight, minHeight, maxHeight);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected double getGravityInput(double position, double kG) {
+        return kG;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return getPosition();
+    }
+}
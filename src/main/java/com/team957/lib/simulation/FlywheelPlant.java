@@ -0,0 +1,37 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+
+/** Model of a flywheel driven by a DC motor. The output is the velocity of the flywheel. */
+public class FlywheelPlant extends DCMotorPlant {
+    /**
+     * Constructs a FlywheelPlant starting at rest.
+     *
+     * @param constants The feedforward gains of the flywheel. kG is ignored.
+     */
+    public FlywheelPlant(FeedforwardConstants constants) {
+        super(constants);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return getVelocity();
+    }
+}
@@ -0,0 +1,191 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import monologue.Annotations.Log;
+
+/**
+ * Model of a mechanism driven by a DC motor, described by the same gains as its feedforward: an
+ * input voltage of {@code kS * sign(v) + kV * v + kA * a + gravity} produces an acceleration of
+ * {@code a} at a velocity of {@code v}. These can be measured with system identification, so a
+ * simulation and a {@code FeedforwardPID} can share one set of constants.
+ *
+ * <p>Static friction holds the mechanism still until the net input exceeds {@code kS}. Gravity is
+ * held constant over each step, and otherwise the motion within a step is solved exactly, so steps
+ * much longer than the mechanism's time constant are still stable. Position may be limited by hard
+ * stops, which stop the mechanism dead.
+ */
+public abstract class MechanismPlant extends Plant {
+    private final FeedforwardConstants constants;
+
+    private final double initialPosition;
+    private final double minPosition;
+    private final double maxPosition;
+
+    private double position;
+    private double velocity = 0;
+    private double acceleration = 0;
+
+    /**
+     * Constructs a MechanismPlant.
+     *
+     * @param constants The feedforward gains of the mechanism. kA must be greater than 0, and the
+     *     others must not be negative.
+     * @param initialPosition The position of the mechanism at rest, when constructed or reset.
+     * @param minPosition The position of the lower hard stop.
+     * @param maxPosition The position of the upper hard stop.
+     * @throws IllegalArgumentException If the gains are out of range, or the initial position is
+     *     not between the hard stops.
+     */
+    protected MechanismPlant(
+            FeedforwardConstants constants,
+            double initialPosition,
+            double minPosition,
+            double maxPosition) {
+        if (!(constants.getkA() > 0)) throw new IllegalArgumentException("kA must be positive!");
+        if (constants.getkS() < 0 || constants.getkV() < 0 || constants.getkG() < 0) {
+            throw new IllegalArgumentException("kS, kV, and kG must not be negative!");
+        }
+        if (!(initialPosition >= minPosition && initialPosition <= maxPosition)) {
+            throw new IllegalArgumentException("Initial position must be between the hard stops!");
+        }
+
+        this.constants = constants;
+        this.initialPosition = initialPosition;
+        this.minPosition = minPosition;
+        this.maxPosition = maxPosition;
+
+        position = initialPosition;
+    }
+
+    /**
+     * Returns the input needed to hold the mechanism against gravity.
+     *
+     * @param position The position of the mechanism.
+     * @param kG The gravity gain of the mechanism.
+     * @return The gravity input, in the same units as the plant's input.
+     */
+    protected abstract double getGravityInput(double position, double kG);
+
+    @Override
+    /** {@inheritDoc} */
+    protected void advance(double input, double dtSeconds) {
+        double kS = constants.getkS();
+        double kV = constants.getkV();
+        double kA = constants.getkA();
+
+        double net = input - getGravityInput(position, constants.getkG());
+
+        double lastVelocity = velocity;
+
+        if (velocity == 0 && Math.abs(net) <= kS) {
+            // held by static friction
+        } else {
+            double drive = net - (kS * Math.signum((velocity != 0) ? velocity : net));
+
+            if (kV == 0) {
+                double accel = drive / kA;
+                position += (velocity * dtSeconds) + (0.5 * accel * dtSeconds * dtSeconds);
+                velocity += accel * dtSeconds;
+            } else {
+                // v' = (drive - kV * v) / kA, which decays exponentially toward drive / kV
+                double terminal = drive / kV;
+                double rate = kV / kA;
+                double decay = Math.exp(-rate * dtSeconds);
+
+                position +=
+                        (terminal * dtSeconds) + ((velocity - terminal) * (1 - decay) / rate);
+                velocity = terminal + ((velocity - terminal) * decay);
+            }
+
+            // friction can stop the mechanism, but not reverse it
+            if (lastVelocity != 0
+                    && Math.signum(velocity) != Math.signum(lastVelocity)
+                    && Math.abs(net) <= kS) {
+                velocity = 0;
+            }
+        }
+
+        if (position <= minPosition) {
+            position = minPosition;
+            if (velocity < 0) velocity = 0;
+        } else if (position >= maxPosition) {
+            position = maxPosition;
+            if (velocity > 0) velocity = 0;
+        }
+
+        acceleration = (velocity - lastVelocity) / dtSeconds;
+    }
+
+    /**
+     * Sets the position and velocity of the mechanism, such as to start a simulation mid-motion.
+     *
+     * @param position The new position, which is clamped between the hard stops.
+     * @param velocity The new velocity.
+     */
+    public void setState(double position, double velocity) {
+        this.position = Math.max(minPosition, Math.min(maxPosition, position));
+        this.velocity = velocity;
+        acceleration = 0;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void reset() {
+        setState(initialPosition, 0);
+    }
+
+    /**
+     * Returns the position of the mechanism.
+     *
+     * @return The current position.
+     */
+    @Log
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the velocity of the mechanism.
+     *
+     * @return The current velocity, in position units per second.
+     */
+    @Log
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Returns the average acceleration of the mechanism over the last step.
+     *
+     * @return The acceleration, in position units per second squared.
+     */
+    @Log
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * Returns the feedforward gains the mechanism is modeled with.
+     *
+     * @return The FeedforwardConstants of the mechanism.
+     */
+    public FeedforwardConstants getConstants() {
+        return constants;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.math.integration.Integrator;
+import com.team957.lib.math.integration.OdeSystem;
+
+/**
+ * Model of an arbitrary, possibly nonlinear, system described by differential equations, which
+ * are solved numerically with an {@link Integrator}. For example, a DC motor with its electrical
+ * dynamics and a nonlinear load.
+ */
+public class OdePlant extends Plant {
+
+    /** Differential equations of a plant with a single input. */
+    @FunctionalInterface
+    public interface Dynamics {
+        /**
+         * Computes the derivative of the state. Must not modify the state, and should not
+         * allocate.
+         *
+         * @param state The state of the plant.
+         * @param input The input to the plant, which is constant over the step.
+         * @param derivative The array to write the derivative of the state into.
+         */
+        void derivative(double[] state, double input, double[] derivative);
+    }
+
+    private final Integrator integrator;
+    private final OdeSystem system;
+    private final int outputIndex;
+
+    private final double[] initialState;
+    private final double[] state;
+
+    private double input = 0;
+    private double timeSeconds = 0;
+
+    /**
+     * Constructs an OdePlant.
+     *
+     * @param dynamics The differential equations of the plant.
+     * @param integrator The integrator to solve the equations with, with the same dimension as the
+     *     state.
+     * @param initialState The state of the plant when constructed or reset.
+     * @param outputIndex The index of the state variable measured by the plant's sensor.
+     * @throws IllegalArgumentException If the integrator's dimension doesn't match the state, or
+     *     the output index is out of range.
+     */
+    public OdePlant(
+            Dynamics dynamics, Integrator integrator, double[] initialState, int outputIndex) {
+        if (integrator.getDimension() != initialState.length) {
+            throw new IllegalArgumentException("Integrator dimension must match the state!");
+        }
+        if (outputIndex < 0 || outputIndex >= initialState.length) {
+            throw new IllegalArgumentException("Output index is out of range!");
+        }
+
+        this.integrator = integrator;
+        this.outputIndex = outputIndex;
+        this.initialState = initialState.clone();
+
+        state = initialState.clone();
+
+        // single system, so the offset is always 0
+        system = (t, x, derivative, offset) -> dynamics.derivative(x, input, derivative);
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void advance(double input, double dtSeconds) {
+        this.input = input;
+
+        integrator.step(system, timeSeconds, state, dtSeconds);
+        timeSeconds += dtSeconds;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void reset() {
+        System.arraycopy(initialState, 0, state, 0, state.length);
+        timeSeconds = 0;
+    }
+
+    /**
+     * Returns a state variable of the plant.
+     *
+     * @param index The index of the state variable.
+     * @return The current value of the state variable.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public double getState(int index) {
+        return state[index];
+    }
+
+    /**
+     * Sets a state variable of the plant.
+     *
+     * @param index The index of the state variable.
+     * @param value The new value of the state variable.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public void setState(int index, double value) {
+        state[index] = value;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return state[outputIndex];
+    }
+}
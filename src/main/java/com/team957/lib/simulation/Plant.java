@@ -0,0 +1,96 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Discrete-time model of a physical system, which can be stepped forward in simulated time as fast
+ * as it can be computed.
+ *
+ * <p>Each step holds the input constant for the duration of the step (a zero-order hold), as a
+ * motor controller does between updates. Stepping does not allocate.
+ */
+public abstract class Plant implements Logged {
+    private double inputLimit = 0;
+    private double lastInput = 0;
+
+    /**
+     * Advances the plant by one step with a constant input, after clamping it to the input limit.
+     *
+     * @param input The input to the plant, such as a voltage.
+     * @param dtSeconds The length of the step, in seconds.
+     */
+    public final void step(double input, double dtSeconds) {
+        if (inputLimit != 0) input = Math.max(-inputLimit, Math.min(inputLimit, input));
+
+        lastInput = input;
+        advance(input, dtSeconds);
+    }
+
+    /**
+     * Advances the state of the plant by one step.
+     *
+     * @param input The clamped input to the plant.
+     * @param dtSeconds The length of the step, in seconds.
+     */
+    protected abstract void advance(double input, double dtSeconds);
+
+    /**
+     * Returns the quantity that would be measured by the plant's sensor.
+     *
+     * @return The current output of the plant.
+     */
+    @Log
+    public abstract double getOutput();
+
+    /** Returns the plant to its initial state. */
+    public abstract void reset();
+
+    /**
+     * Sets the largest magnitude of input the plant accepts, such as the battery voltage. Inputs
+     * beyond this are clamped.
+     *
+     * @param limit The maximum absolute value of the input. If 0, the input is not limited.
+     * @throws IllegalArgumentException If the limit is negative.
+     */
+    public void setInputLimit(double limit) {
+        if (limit < 0) throw new IllegalArgumentException("Input limit must not be negative!");
+
+        inputLimit = limit;
+    }
+
+    /**
+     * Returns the largest magnitude of input the plant accepts.
+     *
+     * @return The maximum absolute value of the input, or 0 if not limited.
+     */
+    public double getInputLimit() {
+        return inputLimit;
+    }
+
+    /**
+     * Returns the input applied in the last step, after clamping.
+     *
+     * @return The last input, or 0 if the plant hasn't been stepped.
+     */
+    @Log
+    public double getLastInput() {
+        return lastInput;
+    }
+}
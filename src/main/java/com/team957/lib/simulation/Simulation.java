@@ -0,0 +1,233 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import com.team957.lib.math.filters.Filter;
+import com.team957.lib.util.DoubleRingBuffer;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import monologue.Annotations.Log;
+import monologue.Logged;
+
+/**
+ * Closes a control loop around a {@link Plant} on a simulated clock, so that controllers and filter
+ * chains can be tested and tuned thousands of times faster than real time, without hardware.
+ *
+ * <p>Each tick, the plant's output is read by a simulated sensor, which can add Gaussian noise,
+ * round to a resolution (as an encoder or ADC does), and deliver the reading some time late. The
+ * reading then passes through an optional measurement filter, and the controller computes the
+ * plant's input from it, which is held for the tick.
+ *
+ * <p>The controller is a function of the measurement and the tick length, so a {@code PID} can be
+ * passed as {@code pid::calculate}. The noise is seeded, so runs are reproducible. Ticking does not
+ * allocate.
+ */
+public class Simulation implements Logged {
+    private final Plant plant;
+    private final double dtSeconds;
+
+    private Filter measurementFilter = null;
+
+    private double noiseStdDev = 0;
+    private Random random = new Random(0);
+    private double resolution = 0;
+    private DoubleRingBuffer delayed = null;
+
+    private double timeSeconds = 0;
+    private double measurement = 0;
+    private double input = 0;
+
+    /**
+     * Constructs a Simulation.
+     *
+     * @param plant The plant to control.
+     * @param dtSeconds The length of each tick, in seconds. Must be greater than 0.
+     * @throws IllegalArgumentException If the tick length is not greater than 0.
+     */
+    public Simulation(Plant plant, double dtSeconds) {
+        if (!(dtSeconds > 0)) throw new IllegalArgumentException("dt must be greater than 0!");
+
+        this.plant = plant;
+        this.dtSeconds = dtSeconds;
+    }
+
+    /**
+     * Sets the Gaussian noise added to each sensor reading.
+     *
+     * @param stdDev The standard deviation of the noise. If 0, no noise is added.
+     * @param seed The seed of the noise, so runs can be reproduced.
+     * @throws IllegalArgumentException If the standard deviation is negative.
+     */
+    public void setNoise(double stdDev, long seed) {
+        if (stdDev < 0) throw new IllegalArgumentException("Noise must not be negative!");
+
+        noiseStdDev = stdDev;
+        random = new Random(seed);
+    }
+
+    /**
+     * Sets the resolution of the sensor. Readings are rounded to the nearest multiple of it.
+     *
+     * @param resolution The smallest change the sensor can read. If 0, readings aren't rounded.
+     * @throws IllegalArgumentException If the resolution is negative.
+     */
+    public void setQuantization(double resolution) {
+        if (resolution < 0) throw new IllegalArgumentException("Resolution must not be negative!");
+
+        this.resolution = resolution;
+    }
+
+    /**
+     * Sets how late sensor readings are delivered to the controller, such as from CAN transit time
+     * or a status frame period. The latency is rounded to a whole number of ticks. Until the first
+     * reading arrives, the controller sees the plant's output from the time this was called.
+     *
+     * @param latencySeconds The latency, in seconds. If 0, readings are delivered immediately.
+     * @throws IllegalArgumentException If the latency is negative.
+     */
+    public void setLatency(double latencySeconds) {
+        if (latencySeconds < 0) throw new IllegalArgumentException("Latency must not be negative!");
+
+        int ticks = (int) Math.round(latencySeconds / dtSeconds);
+
+        if (ticks == 0) {
+            delayed = null;
+        } else {
+            delayed = new DoubleRingBuffer(ticks);
+            fillLatency();
+        }
+    }
+
+    private void fillLatency() {
+        delayed.clear();
+        for (int i = 0; i < delayed.capacity(); i++) delayed.push(plant.getOutput());
+    }
+
+    /**
+     * Sets a filter (or composed chain of filters) to pass sensor readings through before the
+     * controller.
+     *
+     * @param filter The measurement filter, or null to pass readings directly.
+     */
+    public void setMeasurementFilter(Filter filter) {
+        measurementFilter = filter;
+    }
+
+    /**
+     * Advances the simulation by one tick.
+     *
+     * @param controller Computes the plant's input from the measurement and the tick length, in
+     *     seconds.
+     * @return The measurement the controller saw this tick.
+     */
+    public double tick(DoubleBinaryOperator controller) {
+        double reading = plant.getOutput();
+
+        if (noiseStdDev != 0) reading += noiseStdDev * random.nextGaussian();
+        if (resolution != 0) reading = Math.round(reading / resolution) * resolution;
+        if (delayed != null) reading = delayed.push(reading);
+
+        if (measurementFilter != null) reading = measurementFilter.calculate(reading, dtSeconds);
+
+        measurement = reading;
+        input = controller.applyAsDouble(reading, dtSeconds);
+
+        plant.step(input, dtSeconds);
+        timeSeconds += dtSeconds;
+
+        return reading;
+    }
+
+    /**
+     * Advances the simulation for a length of simulated time.
+     *
+     * @param controller Computes the plant's input from the measurement and the tick length, in
+     *     seconds.
+     * @param durationSeconds The simulated time to run for, in seconds. Rounded up to a whole
+     *     number of ticks.
+     * @return The plant's output at the end of the run.
+     */
+    public double run(DoubleBinaryOperator controller, double durationSeconds) {
+        long ticks = (long) Math.ceil((durationSeconds / dtSeconds) - 1E-9);
+
+        for (long i = 0; i < ticks; i++) tick(controller);
+
+        return plant.getOutput();
+    }
+
+    /**
+     * Resets the plant, the measurement filter, the sensor latency, and the simulated clock. The
+     * controller isn't reset, and the noise continues from where it was.
+     */
+    public void reset() {
+        plant.reset();
+        if (measurementFilter != null) measurementFilter.reset();
+        if (delayed != null) fillLatency();
+
+        timeSeconds = 0;
+        measurement = 0;
+        input = 0;
+    }
+
+    /**
+     * Returns the simulated time since construction or the last reset.
+     *
+     * @return The simulated time, in seconds.
+     */
+    @Log
+    public double getTimeSeconds() {
+        return timeSeconds;
+    }
+
+    /**
+     * Returns the measurement the controller saw in the last tick.
+     *
+     * @return The last measurement, after noise, quantization, latency, and filtering.
+     */
+    @Log
+    public double getMeasurement() {
+        return measurement;
+    }
+
+    /**
+     * Returns the input the controller computed in the last tick, before the plant clamped it.
+     *
+     * @return The last controller output.
+     */
+    @Log
+    public double getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the plant being controlled.
+     *
+     * @return The plant.
+     */
+    public Plant getPlant() {
+        return plant;
+    }
+
+    /**
+     * Returns the length of each tick.
+     *
+     * @return The tick length, in seconds.
+     */
+    public double getDtSeconds() {
+        return dtSeconds;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import monologue.Annotations.Log;
+
+/**
+ * First-order thermal model, such as of a motor's windings heating under load: the temperature
+ * approaches {@code ambient + gain * input} exponentially with a fixed time constant. The output
+ * is the temperature.
+ */
+public class ThermalPlant extends Plant {
+    private final double ambient;
+    private final double gain;
+    private final double timeConstantSeconds;
+
+    private double temperature;
+
+    /**
+     * Constructs a ThermalPlant starting at the ambient temperature.
+     *
+     * @param ambient The temperature with no input.
+     * @param gain The steady-state rise in temperature per unit of input.
+     * @param timeConstantSeconds The time, in seconds, to reach 63% of a step change in
+     *     steady-state temperature. Must be greater than 0.
+     * @throws IllegalArgumentException If the time constant is not greater than 0.
+     */
+    public ThermalPlant(double ambient, double gain, double timeConstantSeconds) {
+        if (!(timeConstantSeconds > 0)) {
+            throw new IllegalArgumentException("Time constant must be greater than 0!");
+        }
+
+        this.ambient = ambient;
+        this.gain = gain;
+        this.timeConstantSeconds = timeConstantSeconds;
+
+        temperature = ambient;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    protected void advance(double input, double dtSeconds) {
+        double steadyState = ambient + (gain * input);
+
+        temperature =
+                steadyState
+                        + ((temperature - steadyState)
+                                * Math.exp(-dtSeconds / timeConstantSeconds));
+    }
+
+    /**
+     * Sets the temperature, such as to start a simulation already warm.
+     *
+     * @param temperature The new temperature.
+     */
+    public void setTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public void reset() {
+        temperature = ambient;
+    }
+
+    /**
+     * Returns the temperature.
+     *
+     * @return The current temperature.
+     */
+    @Log
+    public double getTemperature() {
+        return temperature;
+    }
+
+    @Override
+    /** {@inheritDoc} */
+    public double getOutput() {
+        return temperature;
+    }
+}
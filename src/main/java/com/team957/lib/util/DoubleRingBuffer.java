@@ -0,0 +1,186 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-capacity circular buffer of primitive doubles. Once full, pushing a new value overwrites
+ * the oldest one.
+ *
+ * <p>Unlike {@link SizedStack}, this never boxes values and never allocates after construction,
+ * which makes it suitable for use inside of control loops.
+ */
+public class DoubleRingBuffer {
+    private final double[] data;
+
+    private int head = 0; // index the next value will be written to
+    private int size = 0;
+
+    /**
+     * Constructs a DoubleRingBuffer.
+     *
+     * @param capacity The maximum number of values this can hold. Must be at least 1.
+     * @throws IllegalArgumentException If the capacity is less than 1.
+     */
+    public DoubleRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1!");
+        }
+
+        data = new double[capacity];
+    }
+
+    /**
+     * Adds a value to the buffer. If the buffer is full, the oldest value is removed to make room.
+     *
+     * @param value The value to add.
+     * @return The value that was removed to make room, or 0 if the buffer was not full.
+     */
+    public double push(double value) {
+        double evicted = isFull() ? data[head] : 0;
+
+        data[head] = value;
+        head = (head + 1) % data.length;
+
+        if (size < data.length) size++;
+
+        return evicted;
+    }
+
+    /**
+     * Returns a value in the buffer by age.
+     *
+     * @param index The index of the value, where 0 is the oldest value and {@code size() - 1} is
+     *     the newest.
+     * @return The value at the index.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@code size()}.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size);
+        }
+
+        return data[(head - size + index + data.length) % data.length];
+    }
+
+    /**
+     * Returns the most recently added value.
+     *
+     * @return The newest value, or 0 if the buffer is empty.
+     */
+    public double getNewest() {
+        if (size == 0) return 0;
+        return data[(head - 1 + data.length) % data.length];
+    }
+
+    /**
+     * Returns the least recently added value still in the buffer.
+     *
+     * @return The oldest value, or 0 if the buffer is empty.
+     */
+    public double getOldest() {
+        if (size == 0) return 0;
+        return get(0);
+    }
+
+    /**
+     * Returns the number of values currently held.
+     *
+     * @return The number of values in the buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of values this can hold.
+     *
+     * @return The capacity of the buffer.
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Returns whether the buffer is holding as many values as it can.
+     *
+     * @return Whether {@code size() == capacity()}.
+     */
+    public boolean isFull() {
+        return size == data.length;
+    }
+
+    /**
+     * Multiplies every value currently held by a factor, in place.
+     *
+     * @param factor The factor to multiply by.
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < data.length; i++) data[i] *= factor;
+    }
+
+    /** Removes all values from the buffer. */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of bytes written by {@code saveState()}. This depends only on the
+     * capacity, not on how many values are currently held.
+     *
+     * @return The size of this buffer's state, in bytes.
+     */
+    public int getStateSize() {
+        return Integer.BYTES + (data.length * Double.BYTES);
+    }
+
+    /**
+     * Writes the contents of the buffer, oldest first, into a ByteBuffer at its current position.
+     *
+     * @param buffer The ByteBuffer to write to. Its position is advanced by {@code
+     *     getStateSize()}.
+     */
+    public void saveState(ByteBuffer buffer) {
+        buffer.putInt(size);
+
+        for (int i = 0; i < data.length; i++) {
+            buffer.putDouble(i < size ? get(i) : 0);
+        }
+    }
+
+    /**
+     * Replaces the contents of the buffer with ones previously written by {@code saveState()}.
+     *
+     * @param buffer The ByteBuffer to read from. Its position is advanced by {@code
+     *     getStateSize()}.
+     * @throws IllegalStateException If the saved state doesn't fit in this buffer's capacity.
+     */
+    public void restoreState(ByteBuffer buffer) {
+        int savedSize = buffer.getInt();
+
+        if (savedSize < 0 || savedSize > data.length) {
+            throw new IllegalStateException("Saved state does not match buffer capacity!");
+        }
+
+        for (int i = 0; i < data.length; i++) data[i] = buffer.getDouble();
+
+        size = savedSize;
+        head = savedSize % data.length;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A fixed-size group of doubles which one thread can write and any number of other threads can
+ * read as a consistent set, without locking.
+ *
+ * <p>This is a sequence lock: the writer increments a sequence number before and after changing
+ * the values, and readers retry if the sequence number was odd (a write was in progress) or changed
+ * while they were reading. The writer never waits on readers, and readers only retry when they
+ * overlap with a write, which for values written once per control loop is rare.
+ *
+ * <p>Only one thread may write at a time. Individual values are always read atomically, even on
+ * 32-bit platforms where plain {@code double} fields can tear.
+ */
+public class DoubleSeqLock {
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE =
+                    MethodHandles.lookup()
+                            .findVarHandle(DoubleSeqLock.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long[] values;
+
+    @SuppressWarnings("unused") // accessed through SEQUENCE
+    private long sequence = 0;
+
+    /**
+     * Constructs a DoubleSeqLock. All values are initially 0.
+     *
+     * @param size The number of values in the group.
+     */
+    public DoubleSeqLock(int size) {
+        values = new long[size];
+    }
+
+    /**
+     * Begins a write. Values set before the matching {@code endWrite()} are seen by readers all at
+     * once.
+     */
+    public void beginWrite() {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setOpaque(this, current + 1);
+        VarHandle.releaseFence(); // keep the value writes below the odd sequence number
+    }
+
+    /**
+     * Sets a value. Should only be called between {@code beginWrite()} and {@code endWrite()}.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     */
+    public void set(int index, double value) {
+        VALUES.setOpaque(values, index, Double.doubleToRawLongBits(value));
+    }
+
+    /** Ends a write, publishing all values set since {@code beginWrite()}. */
+    public void endWrite() {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setRelease(this, current + 1);
+    }
+
+    /**
+     * Reads a consistent copy of all values, retrying if a write is in progress.
+     *
+     * @param destination Array to copy the values into. Must be at least {@code size()} long.
+     * @return The sequence number of the values read. This increases by 2 with each write, so it
+     *     can be used to tell whether anything has changed since a previous read.
+     */
+    public long read(double[] destination) {
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+
+            if ((before & 1) == 0) {
+                for (int i = 0; i < values.length; i++) {
+                    destination[i] = Double.longBitsToDouble((long) VALUES.getOpaque(values, i));
+                }
+
+                VarHandle.acquireFence(); // keep the value reads above the second sequence read
+
+                if ((long) SEQUENCE.getOpaque(this) == before) return before;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reads a single value. This is atomic, but not necessarily consistent with other values.
+     *
+     * @param index The index of the value.
+     * @return The most recently written value.
+     */
+    public double get(int index) {
+        return Double.longBitsToDouble((long) VALUES.getAcquire(values, index));
+    }
+
+    /**
+     * Returns the number of values in the group.
+     *
+     * @return The size of the group.
+     */
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.math.filters.NullFilter;
+import org.junit.Test;
+
+public class FixedRateExecutorTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void fixedRateExecutorTicksTasks() throws InterruptedException {
+        FixedRateExecutor executor = new FixedRateExecutor(0.001);
+
+        int filterHandle = executor.addFilter(new NullFilter(), () -> 4);
+        int pidHandle = executor.addPID(new PID(2, 0, 0, 0, 10), () -> 7);
+
+        executor.start();
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (executor.getTickCount() < 20 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(5);
+        }
+
+        executor.stop();
+
+        assertTrue(executor.getTickCount() >= 20);
+        assertEquals(4, executor.getOutput(filterHandle), epsilon);
+        assertEquals(6, executor.getOutput(pidHandle), epsilon);
+        assertTrue(executor.getMaxJitterSeconds() >= executor.getMeanJitterSeconds());
+        assertFalse(executor.isRunning());
+    }
+
+    @Test
+    public void fixedRateExecutorStopWaitsForTick() {
+        FixedRateExecutor executor = new FixedRateExecutor(0.001);
+        executor.addFilter(new NullFilter(), () -> 1);
+
+        executor.start();
+        executor.stop();
+
+        long ticks = executor.getTickCount();
+        assertFalse(executor.isRunning());
+        assertEquals(ticks, executor.getTickCount());
+    }
+
+    @Test
+    public void fixedRateExecutorStopsOnFailure() throws InterruptedException {
+        FixedRateExecutor executor = new FixedRateExecutor(0.001);
+        RuntimeException thrown = new RuntimeException("sensor unplugged");
+
+        executor.addFilter(
+                new NullFilter(),
+                () -> {
+                    throw thrown;
+                });
+
+        executor.start();
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (executor.isRunning() && System.currentTimeMillis() < timeout) Thread.sleep(5);
+
+        assertFalse(executor.isRunning());
+        assertTrue(executor.hasFailed());
+        assertSame(thrown, executor.getFailure());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixedRateExecutorRejectsSubNanosecondPeriod() {
+        new FixedRateExecutor(1E-10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fixedRateExecutorRejectsLateTasks() {
+        FixedRateExecutor executor = new FixedRateExecutor(0.01);
+
+        executor.start();
+
+        try {
+            executor.addFilter(new NullFilter(), () -> 0);
+        } finally {
+            executor.stop();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.concurrent.SamplePublisher.Backpressure;
+import com.team957.lib.math.filters.IntegratingFilter;
+import java.util.ArrayList;
+import java.util.concurrent.Flow;
+import org.junit.Test;
+
+public class SamplePublisherTests {
+    private static final double epsilon = 0.0001;
+
+    private static class ManualSubscriber implements Flow.Subscriber<Sample> {
+        private final ArrayList<Double> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed = false;
+        private Throwable error = null;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Sample item) {
+            received.add(item.getValue());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    public void samplePublisherDropsOldest() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.DROP_OLDEST, 2);
+        ManualSubscriber subscriber = new ManualSubscriber();
+        publisher.subscribe(subscriber);
+
+        for (int i = 1; i <= 4; i++) publisher.publish(i, i);
+        subscriber.subscription.request(10);
+
+        assertEquals(2, subscriber.received.size());
+        assertEquals(3, subscriber.received.get(0), 0);
+        assertEquals(4, subscriber.received.get(1), 0);
+        assertEquals(2, publisher.getDroppedCount());
+    }
+
+    @Test
+    public void samplePublisherCancelsThrowingSubscriber() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.DROP_OLDEST, 4);
+        RuntimeException thrown = new RuntimeException("bad sample");
+
+        ManualSubscriber subscriber =
+                new ManualSubscriber() {
+                    @Override
+                    public void onNext(Sample item) {
+                        super.onNext(item);
+                        throw thrown;
+                    }
+                };
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        publisher.publish(1, 1);
+        publisher.publish(2, 2);
+
+        assertSame(thrown, subscriber.error);
+        assertEquals(1, subscriber.received.size());
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void samplePublisherKeepsLatest() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.KEEP_LATEST, 5);
+        ManualSubscriber subscriber = new ManualSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        publisher.publish(1, 0);
+        publisher.publish(2, 0);
+        publisher.publish(3, 0);
+        subscriber.subscription.request(5);
+
+        assertEquals(2, subscriber.received.size());
+        assertEquals(1, subscriber.received.get(0), 0);
+        assertEquals(3, subscriber.received.get(1), 0);
+    }
+
+    @Test
+    public void samplePublisherConflates() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.CONFLATE, 1);
+        ManualSubscriber subscriber = new ManualSubscriber();
+        publisher.subscribe(subscriber);
+
+        publisher.publish(1, 0);
+        publisher.publish(2, 0);
+        publisher.publish(6, 0);
+        subscriber.subscription.request(1);
+
+        assertEquals(1, subscriber.received.size());
+        assertEquals(3, subscriber.received.get(0), epsilon);
+    }
+
+    @Test
+    public void samplePublisherCompletesAfterDraining() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.DROP_OLDEST, 4);
+        ManualSubscriber subscriber = new ManualSubscriber();
+        publisher.subscribe(subscriber);
+
+        publisher.publish(1, 0);
+        publisher.close();
+        assertEquals(false, subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.completed);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void filterProcessorFiltersWithSampleTimestamps() {
+        SamplePublisher publisher = new SamplePublisher(Runnable::run, Backpressure.DROP_OLDEST, 8);
+        FilterProcessor integrator =
+                new FilterProcessor(new IntegratingFilter(0), Backpressure.KEEP_LATEST);
+        LatestSampleSubscriber latest = new LatestSampleSubscriber();
+
+        publisher.subscribe(integrator);
+        integrator.subscribe(latest);
+
+        publisher.publish(2, 1);
+        publisher.publish(2, 2);
+        publisher.publish(2, 3.5);
+
+        assertEquals(5, latest.getLatestValue(), epsilon);
+        assertEquals(3.5, latest.getLatest().getTimestampSeconds(), 0);
+
+        publisher.close();
+        assertTrue(latest.isCompleted());
+    }
+}
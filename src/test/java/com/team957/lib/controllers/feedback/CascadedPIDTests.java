@@ -0,0 +1,103 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CascadedPIDTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void cascadedPIDRunsOuterLoopOnSchedule() {
+        PID outer = new PID(2, 0, 0, 0);
+        PID inner = new PID(1, 0, 0, 0);
+
+        CascadedPID cascade = new CascadedPID(outer, inner, 4);
+        cascade.setGoal(1);
+
+        // the outer loop runs before the inner loop on the first tick
+        assertEquals(2, cascade.calculate(0, 0, 0.001), epsilon);
+        assertEquals(2, cascade.getInnerSetpoint(), epsilon);
+        assertEquals(1, cascade.getOuterTickCount());
+
+        // and holds its output for the rest of the cycle, even if its measurement changes
+        assertEquals(1.5, cascade.calculate(0.5, 0.5, 0.001), epsilon);
+        cascade.calculate(0.5, 0.5, 0.001);
+        cascade.calculate(0.5, 0.5, 0.001);
+        assertEquals(1, cascade.getOuterTickCount());
+        assertEquals(4, cascade.getInnerTickCount());
+
+        assertEquals(0.5, cascade.calculate(0.5, 0.5, 0.001), epsilon);
+        assertEquals(2, cascade.getOuterTickCount());
+    }
+
+    @Test
+    public void cascadedPIDAccumulatesOuterDt() {
+        // with only an integral term, the outer output is the integral of error over its own dt
+        PID outer = new PID(0, 1, 0, 1);
+        PID inner = new PID(1, 0, 0, 0);
+
+        CascadedPID cascade = new CascadedPID(outer, inner, 5);
+        cascade.setGoal(1);
+
+        for (int i = 0; i < 6; i++) cascade.calculate(0, 0, 0.01);
+
+        // one outer tick with dt 0.01, then one with the 0.05 since
+        assertEquals(0.06, outer.getIntegralAccumulation(), epsilon);
+    }
+
+    @Test
+    public void cascadedPIDWrapsAngularErrorForAntiWindup() {
+        PID outer = new PID(100, 1, 0, 0, 0, true);
+        PID inner = new PID(1, 0, 0, 0);
+        outer.setMaxAbsControlEffort(0.01);
+
+        CascadedPID cascade = new CascadedPID(outer, inner, 1);
+        cascade.setGoal(3.1);
+
+        // -3.1 is just short of 3.1 the other way around, so the error is negative, not 6.2
+        cascade.calculate(-3.1, 0, 0.001);
+        cascade.calculate(-3.1, 0, 0.001);
+
+        assertEquals(-0.01, inner.getSetpoint(), epsilon);
+        assertTrue(!outer.isIntegrating());
+    }
+
+    @Test
+    public void cascadedPIDPreventsWindupWhenSaturated() {
+        PID outer = new PID(1, 5, 0, 0);
+        PID inner = new PID(1, 5, 0, 0);
+        inner.setMaxAbsControlEffort(1);
+
+        CascadedPID cascade = new CascadedPID(outer, inner, 2);
+        cascade.setGoal(10);
+
+        // stuck mechanism, so the output saturates and stays there
+        for (int i = 0; i < 1000; i++) cascade.calculate(0, 0, 0.001);
+
+        assertEquals(1, cascade.getOutput(), epsilon);
+        assertTrue(!outer.isIntegrating());
+        assertTrue(!inner.isIntegrating());
+
+        // only the first tick integrated, before the output saturated
+        assertEquals(0.01, outer.getIntegralAccumulation(), epsilon);
+        assertEquals(0.01, inner.getIntegralAccumulation(), epsilon);
+    }
+}
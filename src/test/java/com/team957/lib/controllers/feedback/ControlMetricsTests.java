@@ -0,0 +1,82 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ControlMetricsTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void controlMetricsIntegratesError() {
+        ControlMetrics metrics = new ControlMetrics();
+
+        metrics.update(1, 1, 0);
+        metrics.update(1, -2, 1);
+        metrics.update(1, 0.5, 1);
+
+        assertEquals(2.5, metrics.getIntegralAbsoluteError(), epsilon);
+        assertEquals(4.25, metrics.getIntegralSquaredError(), epsilon);
+        assertEquals((1 * 2) + (2 * 0.5), metrics.getIntegralTimeAbsoluteError(), epsilon);
+
+        assertEquals(2, metrics.getOvershoot(), epsilon);
+        assertEquals(200, metrics.getPercentOvershoot(), epsilon);
+    }
+
+    @Test
+    public void controlMetricsMeasuresStepResponse() {
+        ControlMetrics metrics = new ControlMetrics(0.05);
+        double dt = 0.001;
+
+        // first order response to a step of -2, with a time constant of 1 second
+        for (int i = 0; i <= 5000; i++) {
+            double measurement = -2 * (1 - Math.exp(-i * dt));
+            metrics.update(-2, -2 - measurement, dt);
+        }
+
+        // analytically, ln(9) seconds for 10% to 90%, and ln(20) seconds to within 5%
+        assertEquals(Math.log(9), metrics.getRiseTimeSeconds(), 0.002);
+        assertEquals(Math.log(20), metrics.getSettlingTimeSeconds(), 0.002);
+        assertTrue(metrics.isSettled());
+        assertEquals(0, metrics.getOvershoot(), 0);
+        assertEquals(5, metrics.getElapsedSeconds(), epsilon);
+    }
+
+    @Test
+    public void controlMetricsResetOnSetpointChange() {
+        PID controller = new PID(1, 0, 0, 1);
+        ControlMetrics metrics = new ControlMetrics();
+        controller.setMetrics(metrics);
+
+        controller.calculate(0, 0.02);
+        controller.calculate(2, 0.02);
+        assertFalse(metrics.isSettled());
+        assertTrue(Double.isNaN(metrics.getSettlingTimeSeconds()));
+        assertEquals(1, metrics.getOvershoot(), epsilon);
+
+        controller.setSetpoint(5);
+        controller.calculate(2, 0.02);
+
+        assertEquals(0, metrics.getElapsedSeconds(), 0);
+        assertEquals(0, metrics.getOvershoot(), 0);
+        assertEquals(0.06, metrics.getIntegralAbsoluteError(), epsilon);
+    }
+}
@@ -0,0 +1,131 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.FeedforwardPID.Model;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class FeedforwardPIDTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void feedforwardPIDSimpleMotorWorks() {
+        FeedforwardPID controller =
+                new FeedforwardPID(
+                        new PIDConstants(0.5, 0, 0),
+                        new FeedforwardConstants(0.1, 2, 0.5, 100),
+                        Model.SIMPLE_MOTOR,
+                        0);
+
+        controller.setSetpoint(3, 3, 1);
+
+        // 0.1 + 2 * 3 + 0.5 * 1 feedforward, 0.5 * (3 - 2) feedback, no gravity
+        assertEquals(7.1, controller.calculate(2, 0.02), epsilon);
+        assertEquals(6.6, controller.getFeedforwardContribution(), epsilon);
+        assertEquals(0.5, controller.getPContribution(), epsilon);
+
+        controller.setSetpoint(-1, -1, 0);
+        assertEquals(-2.1, controller.calculate(-1, 0.02), epsilon);
+    }
+
+    @Test
+    public void feedforwardPIDGravityModelsWork() {
+        FeedforwardConstants gains = new FeedforwardConstants(0, 0, 0, 0.8);
+
+        FeedforwardPID elevator =
+                new FeedforwardPID(new PIDConstants(0, 0, 0), gains, Model.ELEVATOR, 1);
+        assertEquals(0.8, elevator.calculate(1, 0.02), epsilon);
+
+        FeedforwardPID arm = new FeedforwardPID(new PIDConstants(0, 0, 0), gains, Model.ARM, 0);
+        assertEquals(0.8, arm.calculate(0, 0.02), epsilon);
+
+        arm.setSetpoint(Math.PI / 3);
+        assertEquals(0.4, arm.calculate(0, 0.02), epsilon);
+
+        arm.setSetpoint(Math.PI / 2);
+        assertEquals(0, arm.calculate(0, 0.02), epsilon);
+    }
+
+    @Test
+    public void feedforwardPIDRespectsEffortLimit() {
+        FeedforwardPID controller =
+                new FeedforwardPID(
+                        new PIDConstants(1, 0, 0),
+                        new FeedforwardConstants(0, 1, 0, 0),
+                        Model.SIMPLE_MOTOR,
+                        0);
+
+        controller.setMaxAbsControlEffort(12);
+        controller.setSetpoint(10, 10, 0);
+
+        assertEquals(12, controller.calculate(0, 0.02), epsilon);
+        assertEquals(10, controller.getFeedforwardContribution(), epsilon);
+    }
+
+    @Test
+    public void feedforwardPIDSaveRestoreWorks() {
+        FeedforwardPID controller =
+                new FeedforwardPID(
+                        new PIDConstants(1, 0.5, 0.1),
+                        new FeedforwardConstants(0.2, 1, 0.1, 0.3),
+                        Model.ARM,
+                        0);
+
+        controller.setSetpoint(0.5, 1, 2);
+        controller.calculate(0.1, 0.02);
+
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.saveState(buffer);
+        buffer.flip();
+
+        FeedforwardPID restored =
+                new FeedforwardPID(
+                        new PIDConstants(0, 0, 0),
+                        new FeedforwardConstants(0, 0, 0, 0),
+                        Model.ARM,
+                        0);
+        restored.restoreState(buffer);
+
+        assertEquals(controller.getFeedforwardConstants(), restored.getFeedforwardConstants());
+        assertEquals(controller.calculate(0.2, 0.02), restored.calculate(0.2, 0.02), 0);
+    }
+
+    @Test
+    public void feedforwardPIDRestoringSameGainsKeepsConstants() {
+        FeedforwardPID controller =
+                new FeedforwardPID(
+                        new PIDConstants(1, 0.5, 0.1),
+                        new FeedforwardConstants(0.2, 1, 0.1, 0.3),
+                        Model.ARM,
+                        0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.saveState(buffer);
+        buffer.flip();
+
+        FeedforwardConstants before = controller.getFeedforwardConstants();
+        controller.restoreState(buffer);
+
+        assertSame(before, controller.getFeedforwardConstants());
+    }
+}
@@ -0,0 +1,103 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class GainScheduleTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void gainScheduleInterpolatesAndClamps() {
+        GainSchedule schedule =
+                new GainSchedule(
+                        new double[] {0, 1, 3},
+                        new double[] {1, 2, 6},
+                        new double[] {0, 0.5, 0.5},
+                        new double[] {0, 0, 1});
+
+        assertFalse(schedule.isUniform());
+
+        double[] gains = new double[3];
+
+        schedule.lookup(0.5, gains);
+        assertEquals(1.5, gains[0], epsilon);
+        assertEquals(0.25, gains[1], epsilon);
+        assertEquals(0, gains[2], epsilon);
+
+        schedule.lookup(2, gains);
+        assertEquals(4, gains[0], epsilon);
+        assertEquals(0.5, gains[1], epsilon);
+        assertEquals(0.5, gains[2], epsilon);
+
+        schedule.lookup(1, gains);
+        assertEquals(2, gains[0], epsilon);
+
+        schedule.lookup(-10, gains);
+        assertEquals(1, gains[0], epsilon);
+
+        schedule.lookup(10, gains);
+        assertEquals(6, gains[0], epsilon);
+        assertEquals(1, gains[2], epsilon);
+    }
+
+    @Test
+    public void gainScheduleUniformMatchesNonUniform() {
+        double[] kP = {0.3, 1.2, 0.7, 2.5, 1.1, 0.0};
+        double[] kI = {0, 0.1, 0.2, 0.3, 0.4, 0.5};
+        double[] kD = {1, 0, 1, 0, 1, 0};
+
+        GainSchedule uniform = new GainSchedule(-0.5, 0.1, kP, kI, kD);
+        assertTrue(uniform.isUniform());
+
+        // same breakpoints, but the binary search is forced by one far away breakpoint
+        double[] breakpoints = {-0.5, -0.4, -0.3, -0.2, -0.1, 0, 100};
+        GainSchedule searched =
+                new GainSchedule(
+                        breakpoints,
+                        new double[] {0.3, 1.2, 0.7, 2.5, 1.1, 0.0, 0.0},
+                        new double[] {0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.5},
+                        new double[] {1, 0, 1, 0, 1, 0, 0});
+        assertFalse(searched.isUniform());
+
+        double[] expected = new double[3];
+        double[] actual = new double[3];
+
+        Random random = new Random(957);
+        for (int i = 0; i < 1000; i++) {
+            double x = -0.6 + (0.7 * random.nextDouble());
+            if (i % 10 == 0) x = -0.5 + (0.1 * random.nextInt(6)); // exactly on breakpoints
+
+            searched.lookup(x, expected);
+            uniform.lookup(x, actual);
+
+            assertEquals(expected[0], actual[0], epsilon);
+            assertEquals(expected[1], actual[1], epsilon);
+            assertEquals(expected[2], actual[2], epsilon);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void gainScheduleRejectsUnsortedBreakpoints() {
+        new GainSchedule(new double[] {0, 2, 1}, new double[3], new double[3], new double[3]);
+    }
+}
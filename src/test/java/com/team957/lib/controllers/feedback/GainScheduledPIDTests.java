@@ -0,0 +1,87 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class GainScheduledPIDTests {
+    private static final double epsilon = 0.0001;
+
+    private static GainSchedule schedule() {
+        return new GainSchedule(
+                new double[] {0, 1},
+                new double[] {1, 3},
+                new double[] {0.5, 2},
+                new double[] {0, 0});
+    }
+
+    @Test
+    public void gainScheduledPIDFollowsSchedule() {
+        GainScheduledPID controller = new GainScheduledPID(schedule(), 10);
+
+        controller.calculate(10, 0.5, 0.02);
+
+        assertEquals(2, controller.getkP(), epsilon);
+        assertEquals(1.25, controller.getkI(), epsilon);
+        assertEquals(0.5, controller.getSchedulingVariable(), 0);
+    }
+
+    @Test
+    public void gainScheduledPIDDoesNotPublishGains() {
+        GainScheduledPID controller = new GainScheduledPID(schedule(), 10);
+        PID.PIDConstants published = controller.getController().getConstants();
+
+        // interpolated gains change on every call, but don't replace the controller's snapshot
+        for (int i = 0; i < 10; i++) controller.calculate(9, i / 10.0, 0.02);
+
+        assertSame(published, controller.getController().getConstants());
+        assertEquals(2.8, controller.getkP(), epsilon);
+        assertEquals(2.8, controller.getController().getPContribution(), epsilon);
+    }
+
+    @Test
+    public void gainScheduledPIDTransfersIntegralBumplessly() {
+        GainScheduledPID controller = new GainScheduledPID(schedule(), 1);
+
+        for (int i = 0; i < 50; i++) controller.calculate(0, 0, 0.02);
+
+        double before = controller.getController().getIContribution();
+        assertEquals(0.5, before, epsilon);
+
+        // at the setpoint, so only the I term contributes and it should not jump with the gain
+        controller.calculate(1, 1, 0.02);
+
+        assertEquals(before, controller.getController().getIContribution(), epsilon);
+        assertEquals(before, controller.getController().getCurrentValue(), epsilon);
+    }
+
+    @Test
+    public void pidScaleIntegralAccumulationScalesWindow() {
+        PID controller = new PID(0, 1, 0, 3, 1);
+
+        for (int i = 0; i < 3; i++) controller.calculate(0, 1);
+        controller.scaleIntegralAccumulation(0.5);
+        assertEquals(1.5, controller.getIntegralAccumulation(), epsilon);
+
+        // the oldest scaled term should leave the window at its scaled value
+        controller.calculate(1, 1);
+        assertEquals(1, controller.getIntegralAccumulation(), epsilon);
+    }
+}
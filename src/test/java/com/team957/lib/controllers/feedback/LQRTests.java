@@ -0,0 +1,214 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+public class LQRTests {
+    private static final double epsilon = 0.0001;
+
+    // position and velocity of a mass driven by a force
+    private static final double[][] doubleIntegratorA = {{0, 1}, {0, 0}};
+    private static final double[][] doubleIntegratorB = {{0}, {1}};
+
+    @Test
+    public void scalarGainMatchesClosedForm() {
+        double dt = 0.02;
+        double q = 4;
+        double r = 0.5;
+
+        double[][] gain =
+                LQR.computeGain(
+                        new double[][] {{-1}},
+                        new double[][] {{2}},
+                        new double[][] {{q}},
+                        new double[][] {{r}},
+                        dt);
+
+        // exact discretization of dx/dt = -x + 2u
+        double a = Math.exp(-dt);
+        double b = 2 * (1 - a);
+
+        // positive root of the scalar discrete Riccati equation
+        double linear = ((1 - (a * a)) * r) - (q * b * b);
+        double p = (-linear + Math.sqrt((linear * linear) + (4 * b * b * q * r))) / (2 * b * b);
+
+        assertEquals(a * b * p / (r + (b * b * p)), gain[0][0], epsilon);
+    }
+
+    @Test
+    public void lqrStabilizesDoubleIntegrator() {
+        double dt = 0.01;
+
+        LQR controller =
+                new LQR(
+                        doubleIntegratorA,
+                        doubleIntegratorB,
+                        new double[][] {{10, 0}, {0, 1}},
+                        new double[][] {{0.1}},
+                        dt);
+
+        assertEquals(2, controller.getStateCount());
+        assertEquals(1, controller.getInputCount());
+        assertTrue(controller.getGain(0, 0) > 0);
+        assertTrue(controller.getGain(0, 1) > 0);
+
+        double position = 0;
+        double velocity = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            double u = controller.calculate(position, velocity, 1, 0);
+
+            // exact zero-order hold
+            position += (velocity * dt) + (0.5 * u * dt * dt);
+            velocity += u * dt;
+        }
+
+        assertEquals(1, position, 0.001);
+        assertEquals(0, velocity, 0.001);
+    }
+
+    @Test
+    public void unrolledKernelsMatchGeneralKernel() {
+        double[][] gain = new double[2][5];
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 5; j++) gain[i][j] = (i + 1) * (j - 2.5);
+        }
+
+        double[] state = {0.3, -1.2, 2, 0.7, -0.4};
+        double[] reference = {1, 0.5, -0.25, 0, 2};
+
+        for (int states = 1; states <= 5; states++) {
+            double[][] truncated = new double[2][states];
+            for (int i = 0; i < 2; i++) System.arraycopy(gain[i], 0, truncated[i], 0, states);
+
+            double[] result = new double[2];
+            new LQR(truncated).calculate(state, reference, result);
+
+            for (int i = 0; i < 2; i++) {
+                double expected = 0;
+                for (int j = 0; j < states; j++) {
+                    expected -= truncated[i][j] * (state[j] - reference[j]);
+                }
+
+                assertEquals(expected, result[i], epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void angularStatesWrap() {
+        LQR controller = new LQR(new double[][] {{2, 0.5}});
+        controller.setAngular(0, true);
+
+        // the reference is just across the wrap, so the short way is 0.2 rad forward
+        double u = controller.calculate(Math.PI - 0.1, 0, -Math.PI + 0.1, 0);
+
+        assertEquals(0.4, u, epsilon);
+        assertEquals(0.4, controller.getOutput(), epsilon);
+    }
+
+    @Test
+    public void gainsAreCachedToDisk() throws Exception {
+        Path directory = Files.createTempDirectory("lqr").resolve("cache");
+
+        double[][] q = {{10, 0}, {0, 1}};
+        double[][] r = {{0.1}};
+
+        LQR computed = new LQR(doubleIntegratorA, doubleIntegratorB, q, r, 0.02, directory);
+        LQR loaded = new LQR(doubleIntegratorA, doubleIntegratorB, q, r, 0.02, directory);
+
+        assertFalse(computed.isLoadedFromCache());
+        assertTrue(loaded.isLoadedFromCache());
+        assertEquals(computed.getGain(0, 0), loaded.getGain(0, 0), 0);
+        assertEquals(computed.getGain(0, 1), loaded.getGain(0, 1), 0);
+
+        // different weights are a different cache entry
+        double[][] expensiveInput = {{1}};
+        LQR other =
+                new LQR(doubleIntegratorA, doubleIntegratorB, q, expensiveInput, 0.02, directory);
+
+        assertFalse(other.isLoadedFromCache());
+        assertTrue(other.getGain(0, 0) < computed.getGain(0, 0));
+
+        // corrupted entries are recomputed and replaced
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) Files.write(file, "junk".getBytes(StandardCharsets.UTF_8));
+        }
+
+        LQR recomputed = new LQR(doubleIntegratorA, doubleIntegratorB, q, r, 0.02, directory);
+        LQR reloaded = new LQR(doubleIntegratorA, doubleIntegratorB, q, r, 0.02, directory);
+
+        assertFalse(recomputed.isLoadedFromCache());
+        assertTrue(reloaded.isLoadedFromCache());
+        assertEquals(computed.getGain(0, 0), reloaded.getGain(0, 0), 0);
+    }
+
+    @Test
+    public void multipleInputsWork() {
+        // two independent double integrators, which should get the same gains
+        double[][] a = {{0, 1, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 1}, {0, 0, 0, 0}};
+        double[][] b = {{0, 0}, {1, 0}, {0, 0}, {0, 1}};
+        double[][] q = {{10, 0, 0, 0}, {0, 1, 0, 0}, {0, 0, 10, 0}, {0, 0, 0, 1}};
+
+        LQR coupled = new LQR(a, b, q, new double[][] {{0.1, 0}, {0, 0.1}}, 0.01);
+        LQR single =
+                new LQR(
+                        doubleIntegratorA,
+                        doubleIntegratorB,
+                        new double[][] {{10, 0}, {0, 1}},
+                        new double[][] {{0.1}},
+                        0.01);
+
+        double[] result = new double[2];
+        coupled.calculate(new double[] {0, 0, 1, 0}, new double[] {1, 0, 0, 0}, result);
+
+        double expected = single.calculate(0, 0, 1, 0);
+
+        assertArrayEquals(new double[] {expected, -expected}, result, epsilon);
+        assertEquals(0, coupled.getGain(0, 2), epsilon);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveDefiniteInputCostThrows() {
+        new LQR(
+                doubleIntegratorA,
+                doubleIntegratorB,
+                new double[][] {{1, 0}, {0, 1}},
+                new double[][] {{0}},
+                0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedDimensionsThrow() {
+        new LQR(
+                doubleIntegratorA,
+                new double[][] {{0}, {1}, {2}},
+                new double[][] {{1, 0}, {0, 1}},
+                new double[][] {{1}},
+                0.01);
+    }
+}
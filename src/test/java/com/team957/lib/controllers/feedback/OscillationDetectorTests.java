@@ -0,0 +1,96 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class OscillationDetectorTests {
+    private static final double dt = 0.01;
+
+    @Test
+    public void oscillationDetectorFindsSineOscillation() {
+        OscillationDetector detector = new OscillationDetector(100, 0.05);
+        Random random = new Random(957);
+
+        // 2 Hz oscillation with amplitude 0.5, plus noise
+        for (int i = 0; i < 1000; i++) {
+            double error = 0.5 * Math.sin(2 * Math.PI * 2 * i * dt);
+            detector.update(error + (0.02 * random.nextGaussian()), dt);
+        }
+
+        assertTrue(detector.isOscillating());
+        assertEquals(2, detector.getFrequencyHz(), 0.1);
+        assertEquals(0.5, detector.getAmplitude(), 0.1);
+        assertTrue(detector.getAutocorrelation() > 0.9);
+
+        // once the oscillation dies out, it's no longer detected
+        for (int i = 0; i < 100; i++) detector.update(0.01 * random.nextGaussian(), dt);
+        assertFalse(detector.isOscillating());
+    }
+
+    @Test
+    public void oscillationDetectorIgnoresNoiseAndDecay() {
+        OscillationDetector noise = new OscillationDetector(100, 0.05);
+        OscillationDetector decay = new OscillationDetector(100, 0.05);
+        Random random = new Random(997);
+
+        for (int i = 0; i < 2000; i++) {
+            noise.update(0.2 * random.nextGaussian(), dt);
+            assertFalse(noise.isOscillating());
+        }
+
+        // well-damped step response, which rings once or twice but doesn't sustain
+        for (int i = 0; i < 2000; i++) {
+            double t = i * dt;
+            decay.update(Math.exp(-2 * t) * Math.cos(2 * Math.PI * t), dt);
+            assertFalse(decay.isOscillating());
+        }
+    }
+
+    @Test
+    public void oscillationDetectorBacksOffGains() {
+        // pure proportional control of a plant with delay, with too much gain to be stable
+        PID controller = new PID(3, 0, 0, 1);
+        controller.setMaxAbsControlEffort(2);
+        OscillationDetector detector = new OscillationDetector(200, 0.02);
+        detector.setBackoff(0.5);
+        controller.setOscillationDetector(detector);
+
+        double[] delayed = new double[10];
+        double position = 0;
+
+        for (int i = 0; i < 5000; i++) {
+            double output = controller.calculate(position, dt);
+
+            double applied = delayed[i % delayed.length];
+            delayed[i % delayed.length] = output;
+
+            position += applied * dt * 10;
+        }
+
+        assertTrue(detector.getBackoffCount() >= 1);
+        assertTrue(controller.getkP() < 3);
+
+        // after backing off, the loop settles
+        assertEquals(1, position, 0.05);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.feedback;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class PIDBankTests {
+    @Test
+    public void pidBankMatchesIndividualControllers() {
+        Random random = new Random(957);
+
+        int[] windows = {0, 1, 5, 50, 0, 3};
+        boolean[] angular = {false, false, true, false, true, false};
+
+        PIDBank bank = new PIDBank(windows, angular);
+        PID[] controllers = new PID[windows.length];
+
+        for (int i = 0; i < windows.length; i++) {
+            double kP = random.nextDouble() * 2;
+            double kI = random.nextDouble();
+            double kD = random.nextDouble() * 0.1;
+
+            controllers[i] = new PID(kP, kI, kD, windows[i], 0, angular[i]);
+            bank.setConstants(i, kP, kI, kD);
+
+            if (i % 2 == 0) {
+                controllers[i].setMaxAbsControlEffort(1.5);
+                bank.setMaxAbsControlEffort(i, 1.5);
+                controllers[i].setMaxAbsIContribution(0.3);
+                bank.setMaxAbsIContribution(i, 0.3);
+            }
+        }
+
+        double[] measurements = new double[windows.length];
+        double[] setpoints = new double[windows.length];
+        double[] outputs = new double[windows.length];
+
+        for (int step = 0; step < 500; step++) {
+            double dt = (step % 50 == 0) ? 0 : 0.02 * random.nextDouble();
+
+            for (int i = 0; i < windows.length; i++) {
+                measurements[i] = random.nextGaussian() * 4;
+                setpoints[i] = random.nextGaussian() * 4;
+                controllers[i].setSetpoint(setpoints[i]);
+            }
+
+            bank.calculate(measurements, setpoints, dt, outputs);
+
+            for (int i = 0; i < windows.length; i++) {
+                assertEquals(controllers[i].calculate(measurements[i], dt), outputs[i], 0);
+                assertEquals(controllers[i].getIContribution(), bank.getIContribution(i), 0);
+                assertEquals(controllers[i].getDContribution(), bank.getDContribution(i), 0);
+            }
+
+            if (step == 250) {
+                controllers[2].reset();
+                bank.reset(2);
+            }
+        }
+    }
+
+    @Test
+    public void pidBankLoggedOutputsReuseArray() {
+        PIDBank bank = new PIDBank(2, 0, false);
+        bank.setConstants(0, 1, 0, 0);
+        bank.setConstants(1, 2, 0, 0);
+
+        double[] outputs = new double[2];
+        bank.calculate(new double[] {1, 1}, new double[] {3, 3}, 0.02, outputs);
+
+        double[] logged = bank.getLoggedOutputs();
+        assertArrayEquals(outputs, logged, 0);
+        assertArrayEquals(bank.getOutputs(), logged, 0);
+
+        bank.calculate(new double[] {2, 2}, new double[] {3, 3}, 0.02, outputs);
+
+        assertSame(logged, bank.getLoggedOutputs());
+        assertArrayEquals(outputs, logged, 0);
+    }
+}
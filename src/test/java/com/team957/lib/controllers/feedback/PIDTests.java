@@ -17,7 +17,11 @@ If not, see <https://www.gnu.org/licenses/>.
 package com.team957.lib.controllers.feedback;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
 /** Tests for the SpartanLib PID controller. */
@@ -78,4 +82,157 @@ public class PIDTests {
         controller.calculate(99.5, 1);
         assertEquals(true, controller.atSetpoint());
     }
+
+    @Test
+    public void pidRestoresState() {
+        PID controller = new PID(1, 0.1, 0.1, 3, 10);
+        PID restored = new PID(0, 0, 0, 3, 0);
+
+        controller.calculate(0, 1);
+        controller.calculate(1, 1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.saveState(buffer);
+        buffer.flip();
+        restored.restoreState(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(controller.getConstants(), restored.getConstants());
+        assertEquals(controller.getIntegralAccumulation(), restored.getIntegralAccumulation(), 0);
+        assertEquals(controller.calculate(4, 1), restored.calculate(4, 1), 0);
+        assertEquals(controller.calculate(5, 1), restored.calculate(5, 1), 0);
+    }
+
+    @Test
+    public void pidRestoresIntegrating() {
+        PID controller = new PID(1, 0.1, 0, 3, 10);
+        PID restored = new PID(0, 0, 0, 3, 0);
+
+        controller.calculate(0, 1);
+        controller.setIntegrating(false);
+
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.saveState(buffer);
+        buffer.flip();
+        restored.restoreState(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertFalse(restored.isIntegrating());
+        assertEquals(controller.calculate(4, 1), restored.calculate(4, 1), 0);
+        assertEquals(controller.getIntegralAccumulation(), restored.getIntegralAccumulation(), 0);
+    }
+
+    @Test
+    public void pidRestoringSameGainsKeepsConstants() {
+        PID controller = new PID(1, 0.1, 0.1, 3, 10);
+        controller.calculate(2, 1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.saveState(buffer);
+        buffer.flip();
+
+        PID.PIDConstants before = controller.getConstants();
+        controller.restoreState(buffer);
+
+        assertSame(before, controller.getConstants());
+    }
+
+    @Test
+    public void pidReadOutputsIsConsistent() {
+        PID controller = new PID(1, 0, 0.5, 0, 10);
+        PID.Outputs outputs = new PID.Outputs();
+
+        assertEquals(0, controller.readOutputs(outputs).getOutput(), 0);
+
+        controller.calculate(4, 1);
+        controller.readOutputs(outputs);
+
+        assertEquals(controller.getCurrentValue(), outputs.getOutput(), 0);
+        assertEquals(6, outputs.getPContribution(), epsilon);
+        assertEquals(controller.getDContribution(), outputs.getDContribution(), 0);
+        assertEquals(10, outputs.getSetpoint(), 0);
+        assertEquals(4, outputs.getMeasurement(), 0);
+        assertEquals(2, outputs.getSequence());
+    }
+
+    @Test
+    public void pidIntegralWindowEvictsOldError() {
+        PID controller = new PID(0, 1, 0, 2, 10);
+
+        assertEquals(10, controller.calculate(0, 1), epsilon);
+        assertEquals(15, controller.calculate(5, 1), epsilon);
+        assertEquals(6, controller.calculate(9, 1), epsilon);
+        assertEquals(6, controller.getIntegralAccumulation(), epsilon);
+    }
+
+    @Test
+    public void pidIntegralAccumulationStaysAccurate() {
+        PID controller = new PID(0, 0, 0, 0, 0.1);
+
+        for (int i = 0; i < 1000000; i++) controller.calculate(0, 0.001);
+
+        assertEquals(100, controller.getIntegralAccumulation(), 1E-12);
+    }
+
+    @Test
+    public void pidConstantsWithReplacesOneGain() {
+        PID.PIDConstants gains = new PID.PIDConstants(1, 2, 3);
+
+        assertEquals(new PID.PIDConstants(4, 2, 3), gains.withkP(4));
+        assertEquals(new PID.PIDConstants(1, 4, 3), gains.withkI(4));
+        assertEquals(new PID.PIDConstants(1, 2, 4), gains.withkD(4));
+        assertEquals(new PID.PIDConstants(1, 2, 3), gains);
+    }
+
+    @Test
+    public void pidGainUpdatesFromOtherThreadsAreAtomic() throws InterruptedException {
+        PID controller = new PID(0, 0, 0, 0);
+
+        Thread proportional =
+                new Thread(
+                        () -> {
+                            for (int i = 1; i <= 10000; i++) controller.setkP(i);
+                        });
+        Thread derivative =
+                new Thread(
+                        () -> {
+                            for (int i = 1; i <= 10000; i++) controller.setkD(-i);
+                        });
+
+        proportional.start();
+        derivative.start();
+        proportional.join();
+        derivative.join();
+
+        // neither thread's last update was lost to the other
+        assertEquals(10000, controller.getkP(), 0);
+        assertEquals(-10000, controller.getkD(), 0);
+    }
+
+    @Test
+    public void pidUsesConsistentGainsPerCalculate() throws InterruptedException {
+        PID controller = new PID(1, 0, 1, 1);
+
+        Thread tuner =
+                new Thread(
+                        () -> {
+                            for (int i = 0; i < 100000; i++) {
+                                double gain = (i % 2 == 0) ? 2 : 1;
+                                controller.setConstants(gain, 0, gain);
+                            }
+                        });
+
+        controller.calculate(0, 1);
+        tuner.start();
+
+        // the error grows by 1 each tick, so the output is kP * error + kD, which with matching
+        // gains is always a multiple of error + 1
+        for (int tick = 1; tuner.isAlive(); tick++) {
+            double output = controller.calculate(-tick, 1);
+            double multiple = output / (tick + 2);
+
+            assertTrue(multiple == 1 || multiple == 2);
+        }
+        tuner.join();
+    }
 }
@@ -0,0 +1,153 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.profiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.PID;
+import org.junit.Test;
+
+public class MotionProfileTests {
+    private static final double epsilon = 0.0001;
+
+    // checks that a profile stays within its limits, ends at rest at the goal, and that position,
+    // velocity, and acceleration are consistent with each other
+    private static void checkProfile(
+            MotionProfile profile, double maxVelocity, double maxAcceleration, double goal) {
+        double dt = 0.0005;
+        double total = profile.getTotalTimeSeconds();
+
+        for (double t = dt; t < total; t += dt) {
+            assertTrue(Math.abs(profile.getVelocity(t)) <= maxVelocity + epsilon);
+            assertTrue(Math.abs(profile.getAcceleration(t)) <= maxAcceleration + epsilon);
+
+            double change = profile.getPosition(t + dt) - profile.getPosition(t - dt);
+            assertEquals(profile.getVelocity(t), change / (2 * dt), 0.01);
+        }
+
+        assertEquals(goal, profile.getPosition(total - 1E-9), 1E-6);
+        assertEquals(0, profile.getVelocity(total - 1E-9), 1E-6);
+        assertEquals(goal, profile.getPosition(total + 1), 0);
+        assertTrue(profile.isFinished(total));
+    }
+
+    @Test
+    public void trapezoidalProfileWorks() {
+        TrapezoidalProfile profile = new TrapezoidalProfile(2, 1);
+        profile.plan(0, 10);
+
+        assertEquals(7, profile.getTotalTimeSeconds(), epsilon);
+        assertEquals(3, profile.getSegmentCount());
+
+        assertEquals(0.5, profile.getPosition(1), epsilon);
+        assertEquals(1, profile.getVelocity(1), epsilon);
+        assertEquals(1, profile.getAcceleration(1), epsilon);
+
+        assertEquals(5, profile.getPosition(3.5), epsilon);
+        assertEquals(2, profile.getVelocity(3.5), epsilon);
+        assertEquals(0, profile.getAcceleration(3.5), epsilon);
+
+        assertEquals(-1, profile.getAcceleration(6), epsilon);
+
+        checkProfile(profile, 2, 1, 10);
+    }
+
+    @Test
+    public void trapezoidalProfileHandlesShortAndReversedMotions() {
+        TrapezoidalProfile profile = new TrapezoidalProfile(10, 1);
+
+        // never reaches max velocity
+        profile.plan(0, -1);
+        assertEquals(2, profile.getTotalTimeSeconds(), epsilon);
+        assertEquals(-1, profile.getVelocity(1), epsilon);
+        checkProfile(profile, 10, 1, -1);
+
+        // moving too fast to stop before the goal, so it has to overshoot and come back
+        profile.plan(0, 3, 1);
+        assertEquals(3, profile.getVelocity(0), 0);
+        checkProfile(profile, 10, 1, 1);
+
+        // faster than the velocity limit, so slows down first
+        TrapezoidalProfile slow = new TrapezoidalProfile(1, 1);
+        slow.plan(0, 2, 20);
+        checkProfile(slow, 2, 1, 20);
+        assertEquals(1, slow.getVelocity(5), epsilon);
+    }
+
+    @Test
+    public void sCurveProfileWorks() {
+        SCurveProfile profile = new SCurveProfile(2, 1, 2);
+        profile.plan(1, 11);
+
+        assertEquals(7, profile.getSegmentCount());
+        assertEquals(0, profile.getAcceleration(0), 0);
+
+        // jerk-limited ramp at the start
+        assertEquals(0.2, profile.getAcceleration(0.1), epsilon);
+
+        checkProfile(profile, 2, 1, 11);
+
+        // the s-curve is slower than the trapezoid with the same velocity and acceleration limits
+        TrapezoidalProfile trapezoid = new TrapezoidalProfile(2, 1);
+        trapezoid.plan(1, 11);
+        assertTrue(profile.getTotalTimeSeconds() > trapezoid.getTotalTimeSeconds());
+    }
+
+    @Test
+    public void sCurveProfileHandlesShortAndMovingStarts() {
+        SCurveProfile profile = new SCurveProfile(5, 2, 4);
+
+        profile.plan(0, 0.1);
+        checkProfile(profile, 5, 2, 0.1);
+
+        profile.plan(0, -0.5, 3);
+        checkProfile(profile, 5, 2, 3);
+
+        profile.plan(0, 4, 0.5);
+        checkProfile(profile, 5, 2, 0.5);
+
+        profile.plan(0, 7, 30);
+        checkProfile(profile, 7, 2, 30);
+        assertEquals(5, profile.getVelocity(profile.getTotalTimeSeconds() / 2), epsilon);
+
+        profile.plan(2, 2);
+        assertEquals(0, profile.getTotalTimeSeconds(), 0);
+        assertEquals(2, profile.getPosition(1), 0);
+    }
+
+    @Test
+    public void profileFollowerDrivesSetpoint() {
+        PID controller = new PID(1, 0, 0, 0);
+        ProfileFollower follower = new ProfileFollower(new TrapezoidalProfile(2, 1), controller);
+
+        follower.start(0, 10);
+        follower.calculate(0, 1);
+        assertEquals(0.5, controller.getSetpoint(), epsilon);
+        assertEquals(1, follower.getSetpointVelocity(), epsilon);
+
+        // replanning mid-motion keeps the setpoint and its velocity continuous
+        follower.setGoal(-10);
+        assertEquals(0.5, follower.getSetpointPosition(), epsilon);
+        assertEquals(1, follower.getSetpointVelocity(), epsilon);
+
+        for (int i = 0; i < 200; i++) follower.calculate(0, 0.1);
+
+        assertTrue(follower.isFinished());
+        assertEquals(-10, controller.getSetpoint(), epsilon);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.tuning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import com.team957.lib.util.DoubleRingBuffer;
+import org.junit.Test;
+
+public class RelayAutotunerTests {
+    private static final double dt = 0.001;
+
+    // first order lag with dead time: tau * x' = -x + gain * u(t - delay)
+    private static class DelayedLag {
+        private static final double gain = 2;
+        private static final double tau = 0.5;
+        private static final double delay = 0.1;
+
+        private final DoubleRingBuffer inputs = new DoubleRingBuffer((int) (delay / dt));
+        private double state = 0;
+
+        double step(double input) {
+            double delayed = inputs.isFull() ? inputs.getOldest() : 0;
+            inputs.push(input);
+            state += dt * (-state + gain * delayed) / tau;
+            return state;
+        }
+    }
+
+    @Test
+    public void relayAutotunerFindsUltimatePoint() {
+        // analytically, the phase crossover of the plant is where delay * w + atan(tau * w) = pi
+        double low = 0;
+        double high = Math.PI / DelayedLag.delay;
+        for (int i = 0; i < 100; i++) {
+            double mid = (low + high) / 2;
+            if (DelayedLag.delay * mid + Math.atan(DelayedLag.tau * mid) < Math.PI) low = mid;
+            else high = mid;
+        }
+        double expectedPeriod = 2 * Math.PI / low;
+        double expectedGain = Math.hypot(1, DelayedLag.tau * low) / DelayedLag.gain;
+
+        RelayAutotuner tuner = new RelayAutotuner(1, 2, 0.01);
+        DelayedLag plant = new DelayedLag();
+
+        double measurement = 0;
+        for (int i = 0; i < 20000 && !tuner.isFinished(); i++) {
+            measurement = plant.step(tuner.calculate(measurement, dt));
+        }
+
+        assertTrue(tuner.isFinished());
+        // the describing function analysis behind relay tuning is approximate
+        assertEquals(expectedPeriod, tuner.getUltimatePeriodSeconds(), expectedPeriod * 0.1);
+        assertEquals(expectedGain, tuner.getUltimateGain(), expectedGain * 0.25);
+    }
+
+    @Test
+    public void relayAutotunerGainsStabilizePlant() {
+        RelayAutotuner tuner = new RelayAutotuner(1, 2, 0.01);
+        DelayedLag plant = new DelayedLag();
+
+        double measurement = 0;
+        while (!tuner.isFinished()) measurement = plant.step(tuner.calculate(measurement, dt));
+
+        PID controller = new PID(0, 0, 0, 1);
+        tuner.applyTo(controller, TuningRule.TYREUS_LUYBEN);
+
+        for (int i = 0; i < 10000; i++) {
+            measurement = plant.step(controller.calculate(measurement, dt));
+        }
+
+        assertEquals(1, measurement, 0.01);
+    }
+
+    @Test
+    public void tuningRulesMatchClassicTables() {
+        PIDConstants zieglerNichols = TuningRule.ZIEGLER_NICHOLS.compute(10, 2);
+
+        assertEquals(6, zieglerNichols.getkP(), 1E-9);
+        assertEquals(6, zieglerNichols.getkI(), 1E-9);
+        assertEquals(1.5, zieglerNichols.getkD(), 1E-9);
+
+        // Kc = Ku / 2.2, Ti = 2.2 Pu, Td = Pu / 6.3
+        PIDConstants tyreusLuyben = TuningRule.TYREUS_LUYBEN.compute(10, 2);
+
+        assertEquals(10 / 2.2, tyreusLuyben.getkP(), 1E-9);
+        assertEquals((10 / 2.2) / 4.4, tyreusLuyben.getkI(), 1E-9);
+        assertEquals((10 / 2.2) * (2 / 6.3), tyreusLuyben.getkD(), 1E-9);
+
+        // Kc = Ku / pi, Ti = 2 Pu, no derivative
+        PIDConstants simc = TuningRule.SIMC.compute(10, 2);
+
+        assertEquals(10 / Math.PI, simc.getkP(), 1E-9);
+        assertEquals((10 / Math.PI) / 4, simc.getkI(), 1E-9);
+        assertEquals(0, simc.getkD(), 0);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.controllers.tuning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+public class TuningFileTests {
+
+    @Test
+    public void tuningFileAppliesGains() throws Exception {
+        Path directory = Files.createTempDirectory("tuning");
+        Path path = directory.resolve("gains.properties");
+
+        Files.write(path, "arm.kP = 4.5\narm.kD = 0.25\n".getBytes(StandardCharsets.UTF_8));
+
+        PID arm = new PID(1, 2, 3, 0);
+        PID wrist = new PID(1, 2, 3, 0);
+
+        TuningFile tuning = new TuningFile(path);
+        tuning.register("arm", arm);
+        tuning.register("wrist", wrist);
+
+        assertTrue(tuning.reload());
+        assertEquals(new PIDConstants(4.5, 2, 0.25), arm.getConstants());
+        assertEquals(new PIDConstants(1, 2, 3), wrist.getConstants());
+
+        // a bad value leaves every controller unchanged
+        Files.write(path, "wrist.kP = 7\narm.kI = banana\n".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(tuning.reload());
+        assertEquals(1, tuning.getErrorCount());
+        assertEquals(new PIDConstants(4.5, 2, 0.25), arm.getConstants());
+        assertEquals(new PIDConstants(1, 2, 3), wrist.getConstants());
+    }
+
+    @Test
+    public void tuningFileReloadsOnChange() throws Exception {
+        Path directory = Files.createTempDirectory("tuning");
+        Path path = directory.resolve("gains.properties");
+
+        Files.write(path, "arm.kP = 1\n".getBytes(StandardCharsets.UTF_8));
+
+        PID arm = new PID(0, 0, 0, 0);
+
+        try (TuningFile tuning = new TuningFile(path)) {
+            tuning.register("arm", arm);
+            tuning.start();
+
+            assertEquals(1, arm.getkP(), 0);
+
+            Files.write(path, "arm.kP = 2\n".getBytes(StandardCharsets.UTF_8));
+
+            long deadline = System.nanoTime() + 20_000_000_000L;
+            while (arm.getkP() != 2 && System.nanoTime() < deadline) Thread.sleep(10);
+
+            assertEquals(2, arm.getkP(), 0);
+        }
+    }
+}
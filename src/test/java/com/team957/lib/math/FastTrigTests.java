@@ -0,0 +1,135 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.util.Tuple2;
+import java.util.Random;
+import org.junit.Test;
+
+public class FastTrigTests {
+    private static final double epsilon = 0.0001;
+
+    private static void assertWithinBound(FastTrig trig, double angle, double[] result) {
+        double bound = trig.getMaxError();
+
+        assertEquals(Math.sin(angle), trig.sin(angle), bound);
+        assertEquals(Math.cos(angle), trig.cos(angle), bound);
+
+        trig.sinCos(angle, result);
+        assertEquals(Math.sin(angle), result[0], bound);
+        assertEquals(Math.cos(angle), result[1], bound);
+    }
+
+    @Test
+    public void fastTrigErrorIsBoundedAcrossFullRange() {
+        Random random = new Random(957);
+        double[] result = new double[2];
+
+        for (double maxError : new double[] {1E-3, 1E-6, 1E-9, 1E-12, 4E-15}) {
+            FastTrig trig = new FastTrig(maxError);
+
+            assertTrue(trig.getMaxError() <= maxError);
+
+            // densely through a few turns, which hits every table entry and remainder
+            for (double angle = -4 * Math.PI; angle <= 4 * Math.PI; angle += 1E-4) {
+                assertWithinBound(trig, angle, result);
+            }
+
+            // sparsely across the reduced range, and beyond it where Math is used
+            for (int i = 0; i < 100000; i++) {
+                double scale = Math.scalb(1.0, random.nextInt(30) - 4);
+                assertWithinBound(trig, (random.nextDouble() - 0.5) * 2 * scale, result);
+            }
+
+            assertWithinBound(trig, 0, result);
+            assertWithinBound(trig, Math.PI, result);
+            assertWithinBound(trig, 1 << 20, result);
+            assertWithinBound(trig, Math.nextUp(1 << 20), result);
+            assertWithinBound(trig, -1E300, result);
+        }
+    }
+
+    @Test
+    public void fastTrigTableShrinksWithLooserBounds() {
+        FastTrig loose = new FastTrig(1E-6);
+        FastTrig tight = new FastTrig(1E-12);
+
+        assertTrue(loose.getTableSize() < tight.getTableSize());
+        assertEquals(1, Integer.bitCount(tight.getTableSize()));
+    }
+
+    @Test
+    public void fastTrigTanAndCotMatchRatios() {
+        FastTrig trig = new FastTrig(1E-12);
+
+        for (double angle = -3; angle <= 3; angle += 0.01) {
+            assertEquals(trig.sin(angle) / trig.cos(angle), trig.tan(angle), 1E-9);
+            if (Math.abs(Math.sin(angle)) > 1E-3) {
+                assertEquals(trig.cos(angle) / trig.sin(angle), trig.cot(angle), 1E-9);
+            }
+        }
+
+        assertTrue(Double.isNaN(trig.cot(0)));
+        assertEquals(Math.tan(1E7), trig.tan(1E7), 0);
+    }
+
+    @Test
+    public void fastTrigHandlesNonFiniteAngles() {
+        FastTrig trig = new FastTrig(1E-9);
+
+        assertTrue(Double.isNaN(trig.sin(Double.NaN)));
+        assertTrue(Double.isNaN(trig.cos(Double.POSITIVE_INFINITY)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fastTrigRejectsUnreachableBound() {
+        new FastTrig(1E-16);
+    }
+
+    @Test
+    public void utilityMathHelpersAcceptFastTrig() {
+        FastTrig trig = new FastTrig(1E-9);
+        double angle = 0.7;
+
+        assertEquals(UtilityMath.csc(angle), UtilityMath.csc(angle, trig), epsilon);
+        assertEquals(UtilityMath.sec(angle), UtilityMath.sec(angle, trig), epsilon);
+        assertEquals(UtilityMath.cot(angle), UtilityMath.cot(angle, trig), epsilon);
+        assertTrue(Double.isNaN(UtilityMath.csc(0, trig)));
+        assertTrue(Double.isNaN(UtilityMath.cot(0, trig)));
+
+        Tuple2<Double> point = UtilityMath.fromPolarToCartesian(angle, 2, trig);
+        assertEquals(2 * Math.cos(angle), point.firstValue(), epsilon);
+        assertEquals(2 * Math.sin(angle), point.secondValue(), epsilon);
+
+        double[] xs = new double[1];
+        double[] ys = new double[1];
+        UtilityMath.fromPolarToCartesian(new double[] {angle}, new double[] {2}, xs, ys, trig);
+        assertEquals(point.firstValue(), xs[0], 0);
+        assertEquals(point.secondValue(), ys[0], 0);
+
+        var exact = UtilityMath.get2DRotationMatrix(angle);
+        var fast = UtilityMath.get2DRotationMatrix(angle, trig);
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 2; col++) {
+                assertEquals(exact.get(row, col), fast.get(row, col), trig.getMaxError());
+            }
+        }
+    }
+}
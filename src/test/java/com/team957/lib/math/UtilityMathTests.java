@@ -16,10 +16,16 @@ If not, see <https://www.gnu.org/licenses/>.
 */
 package com.team957.lib.math;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import com.sun.management.ThreadMXBean;
+import com.team957.lib.util.Tuple2;
 import edu.wpi.first.math.VecBuilder;
+import java.lang.management.ManagementFactory;
 import java.util.List;
+import java.util.Random;
 import org.junit.Test;
 
 /** Tests for the various small math functions in the UtilityMath class. */
@@ -158,6 +164,203 @@ public class UtilityMathTests {
         assertEquals(expectedOuput, actualOutput);
     }
 
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // primitive array overloads
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    public void utilityMathScaleToSumArraysMatchLists() {
+        double[] inputs = {4, 16, 20};
+        double[] outputs = new double[3];
+
+        UtilityMath.scaleToSum(inputs, outputs, 2);
+
+        assertArrayEquals(new double[] {0.2, 0.8, 1.0}, outputs, 0);
+        assertArrayEquals(new double[] {4, 16, 20}, inputs, 0);
+
+        UtilityMath.scaleToSum(inputs, 2);
+
+        assertArrayEquals(outputs, inputs, 0);
+
+        // a zero sum scales to zeros, and a set summing to zero is passed through
+        UtilityMath.scaleToSum(inputs, outputs, 0);
+        assertArrayEquals(new double[] {0, 0, 0}, outputs, 0);
+        assertEquals(List.of(0.0, 0.0), UtilityMath.scaleToSum(List.of(1.0, 3.0), 0));
+
+        UtilityMath.scaleToSum(new double[] {1, -1}, outputs, 5);
+        assertArrayEquals(new double[] {1, -1, 0}, outputs, 0);
+    }
+
+    @Test
+    public void utilityMathNormalizeSetArraysMatchLists() {
+        double[] inputs = {-1, -2};
+        double[] outputs = new double[2];
+
+        UtilityMath.normalizeSet(inputs, outputs, 0.5);
+
+        assertArrayEquals(new double[] {-0.25, -0.5}, outputs, 0);
+        assertArrayEquals(new double[] {-1, -2}, inputs, 0);
+
+        UtilityMath.normalizeSet(inputs, 0.5);
+
+        assertArrayEquals(outputs, inputs, 0);
+
+        // already within the cap, so unchanged
+        UtilityMath.normalizeSet(new double[] {0.1, 0.2}, outputs, 0.5);
+        assertArrayEquals(new double[] {0.1, 0.2}, outputs, 0);
+    }
+
+    @Test
+    public void utilityMathMeansWork() {
+        double[] values = {1, 2, 4};
+
+        assertEquals(7.0 / 3, UtilityMath.arithmeticMean(values), epsilon);
+        assertEquals(2, UtilityMath.geometricMean(values), epsilon);
+        assertEquals(12.0 / 7, UtilityMath.harmonicMean(values), epsilon);
+
+        // zeros have a reciprocal of zero
+        assertEquals(1, UtilityMath.harmonicMean(new double[] {0, 1, 0.5}), epsilon);
+
+        List<Double> list = List.of(3.0, 0.5, 7.0, 2.0);
+        double[] array = {3, 0.5, 7, 2};
+
+        assertEquals(UtilityMath.arithmeticMean(list), UtilityMath.arithmeticMean(array), 0);
+        assertEquals(UtilityMath.geometricMean(list), UtilityMath.geometricMean(array), 0);
+        assertEquals(UtilityMath.harmonicMean(list), UtilityMath.harmonicMean(array), 0);
+
+        assertEquals(0, UtilityMath.arithmeticMean(new double[0]), 0);
+        assertEquals(0, UtilityMath.geometricMean(new double[0]), 0);
+        assertEquals(0, UtilityMath.harmonicMean(new double[0]), 0);
+    }
+
+    @Test
+    public void utilityMathArrayOverloadsDoNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) return;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        double[] values = {0.5, -1.5, 2.5, 3};
+        double[] outputs = new double[4];
+        double[] positive = {1, 2, 4, 8};
+        double sink = 0;
+
+        for (int pass = 0; pass < 2; pass++) {
+            // the first pass warms up, so class loading isn't counted
+            long before = threads.getCurrentThreadAllocatedBytes();
+
+            for (int i = 0; i < 10000; i++) {
+                UtilityMath.scaleToSum(values, outputs, 4);
+                UtilityMath.normalizeSet(outputs, 1);
+                UtilityMath.normalizeSet(values, outputs, 1);
+                UtilityMath.scaleToSum(outputs, 1);
+                sink += UtilityMath.arithmeticMean(outputs);
+                sink += UtilityMath.geometricMean(positive);
+                sink += UtilityMath.harmonicMean(positive);
+            }
+
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            // allocating even once per iteration would be hundreds of kilobytes
+            if (pass == 1) assertTrue(allocated < 1000);
+        }
+
+        assertTrue(Double.isFinite(sink));
+    }
+
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // bulk array kernels
+    // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    @Test
+    public void utilityMathBulkNormalizeAngleMatchesScalarExactly() {
+        Random random = new Random(957);
+
+        double turn = 2 * Math.PI;
+        double[] edges = {
+            0, -0.0, 1E-20, -1E-20, turn, -turn, Math.nextDown(turn), Math.nextUp(-turn),
+            Math.PI, -Math.PI, 1E9, -1E9, Double.NaN, Double.POSITIVE_INFINITY
+        };
+
+        double[] angles = new double[10000];
+        System.arraycopy(edges, 0, angles, 0, edges.length);
+        for (int i = edges.length; i < angles.length; i++) {
+            // mostly within a turn, as the fast path expects, and some far outside it
+            angles[i] =
+                    (i % 10 == 0)
+                            ? random.nextGaussian() * 1000
+                            : (random.nextDouble() - 0.5) * 2 * turn;
+        }
+
+        double[] normalized = new double[angles.length];
+        UtilityMath.normalizeAngleRadians(angles, normalized);
+
+        for (int i = 0; i < angles.length; i++) {
+            assertEquals(
+                    Double.doubleToLongBits(UtilityMath.normalizeAngleRadians(angles[i])),
+                    Double.doubleToLongBits(normalized[i]));
+        }
+
+        UtilityMath.normalizeAngleRadians(angles);
+
+        assertArrayEquals(normalized, angles, 0);
+    }
+
+    @Test
+    public void utilityMathBulkPolarConversionsMatchScalar() {
+        Random random = new Random(997);
+
+        int count = 1000;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextGaussian() * 10;
+            ys[i] = random.nextGaussian() * 10;
+        }
+
+        double[] angles = new double[count];
+        double[] magnitudes = new double[count];
+        UtilityMath.fromCartesianToPolar(xs, ys, angles, magnitudes);
+
+        double[] roundTripXs = new double[count];
+        double[] roundTripYs = new double[count];
+        UtilityMath.fromPolarToCartesian(angles, magnitudes, roundTripXs, roundTripYs);
+
+        for (int i = 0; i < count; i++) {
+            Tuple2<Double> polar = UtilityMath.fromCartesianToPolar(xs[i], ys[i]);
+            Tuple2<Double> cartesian = UtilityMath.fromPolarToCartesian(angles[i], magnitudes[i]);
+
+            assertEquals(polar.firstValue(), angles[i], 0);
+            assertEquals(polar.secondValue(), magnitudes[i], Math.ulp(magnitudes[i]));
+            assertEquals(cartesian.firstValue(), roundTripXs[i], 0);
+            assertEquals(cartesian.secondValue(), roundTripYs[i], 0);
+
+            assertEquals(xs[i], roundTripXs[i], epsilon);
+            assertEquals(ys[i], roundTripYs[i], epsilon);
+        }
+
+        // converting in place, over the inputs
+        UtilityMath.fromCartesianToPolar(xs, ys, xs, ys);
+
+        assertArrayEquals(angles, xs, 0);
+        assertArrayEquals(magnitudes, ys, 0);
+    }
+
+    @Test
+    public void utilityMathBulkClampMatchesScalar() {
+        double[] values = {-3, -1, 0, 0.5, 1, 7, Double.NaN};
+        double[] clamped = new double[values.length];
+
+        UtilityMath.clamp(1, -1, values, clamped);
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(UtilityMath.clamp(1, -1, values[i]), clamped[i], 0);
+        }
+
+        UtilityMath.clamp(1, -1, values);
+
+        assertArrayEquals(clamped, values, 0);
+    }
+
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // rotation matrices
     // ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
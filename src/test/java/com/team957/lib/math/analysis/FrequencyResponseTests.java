@@ -0,0 +1,163 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.math.filters.ComposedFilter;
+import com.team957.lib.math.filters.ExponentialMovingAverage;
+import com.team957.lib.math.filters.Filter;
+import com.team957.lib.math.filters.MovingAverageFilter;
+import com.team957.lib.math.filters.MovingAverageFilter.MEAN_IMPLEMENTATION;
+import com.team957.lib.math.filters.ThresholdFilter;
+import com.team957.lib.simulation.DCMotorPlant;
+import com.team957.lib.simulation.Simulation;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import org.junit.Test;
+
+public class FrequencyResponseTests {
+    private static final double epsilon = 0.0001;
+
+    private static final double dt = 0.01;
+
+    @Test
+    public void exactResponseMatchesSteppedSine() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(dt);
+        double[] frequencies = FrequencyResponseAnalyzer.logSpace(0.1, 20, 12);
+
+        FrequencyResponse exact = analyzer.analyze(new ExponentialMovingAverage(0.2), frequencies);
+        FrequencyResponse measured =
+                analyzer.measure(
+                        () -> new ExponentialMovingAverage(0.2)::calculate, frequencies);
+
+        for (int i = 0; i < frequencies.length; i++) {
+            assertEquals(exact.getMagnitude(i), measured.getMagnitude(i), 0.001);
+            assertEquals(exact.getPhaseRadians(i), measured.getPhaseRadians(i), 0.001);
+        }
+
+        // unity gain at low frequencies, and lag increasing with frequency
+        assertEquals(1, exact.getMagnitude(0), 0.001);
+        assertTrue(exact.getPhaseRadians(11) < exact.getPhaseRadians(0));
+    }
+
+    @Test
+    public void movingAverageDelayIsHalfItsWindow() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(dt);
+
+        FrequencyResponse response =
+                analyzer.analyze(
+                        new MovingAverageFilter(9, MEAN_IMPLEMENTATION.ARITHMETIC), 0.5, 1, 5);
+
+        // linear phase, so phase and group delay are both (window - 1) / 2 ticks at any frequency
+        for (int i = 0; i < response.size(); i++) {
+            assertEquals(4 * dt, response.getGroupDelaySeconds(i), epsilon);
+            assertEquals(4 * dt, response.getPhaseDelaySeconds(i), epsilon);
+        }
+    }
+
+    @Test
+    public void composedFilterResponseMultiplies() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(dt);
+
+        Filter chain =
+                new ComposedFilter(
+                        List.of(
+                                new ExponentialMovingAverage(0.3),
+                                new MovingAverageFilter(5, MEAN_IMPLEMENTATION.ARITHMETIC)));
+
+        FrequencyResponse composed = analyzer.analyze(chain, 5);
+        FrequencyResponse first = analyzer.analyze(new ExponentialMovingAverage(0.3), 5);
+        FrequencyResponse second =
+                analyzer.analyze(new MovingAverageFilter(5, MEAN_IMPLEMENTATION.ARITHMETIC), 5);
+
+        assertEquals(
+                first.getMagnitude(0) * second.getMagnitude(0), composed.getMagnitude(0), epsilon);
+        assertEquals(
+                first.getPhaseRadians(0) + second.getPhaseRadians(0),
+                composed.getPhaseRadians(0),
+                epsilon);
+        assertEquals(
+                first.getGroupDelaySeconds(0) + second.getGroupDelaySeconds(0),
+                composed.getGroupDelaySeconds(0),
+                epsilon);
+    }
+
+    @Test
+    public void filterWithoutExactResponseIsSimulated() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(dt);
+
+        // a threshold passes the sine through unchanged when it is below the threshold
+        FrequencyResponse response = analyzer.analyze(new ThresholdFilter(2, false), 1, 2);
+
+        for (int i = 0; i < response.size(); i++) {
+            assertEquals(1, response.getMagnitude(i), 0.001);
+            assertEquals(0, response.getPhaseRadians(i), 0.001);
+        }
+    }
+
+    @Test
+    public void chirpMatchesSteppedSine() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(dt);
+        double[] frequencies = FrequencyResponseAnalyzer.logSpace(0.2, 5, 6);
+
+        FrequencyResponse exact = analyzer.analyze(new ExponentialMovingAverage(0.2), frequencies);
+        FrequencyResponse chirp =
+                analyzer.measureChirp(
+                        new ExponentialMovingAverage(0.2)::calculate, 60, frequencies);
+
+        for (int i = 0; i < frequencies.length; i++) {
+            assertEquals(exact.getMagnitude(i), chirp.getMagnitude(i), 0.05);
+            assertEquals(exact.getPhaseRadians(i), chirp.getPhaseRadians(i), 0.05);
+        }
+    }
+
+    @Test
+    public void closedLoopBandwidthCanBeMeasured() {
+        FrequencyResponseAnalyzer analyzer = new FrequencyResponseAnalyzer(0.005);
+        analyzer.setInput(0.1, 1);
+
+        // setpoint to position of a proportional position loop around a motor
+        FrequencyResponse response =
+                analyzer.measure(
+                        () -> {
+                            Simulation simulation =
+                                    new Simulation(
+                                            new DCMotorPlant(
+                                                    new FeedforwardConstants(0, 1, 0.05, 0)),
+                                            0.005);
+                            PID controller = new PID(20, 0, 0, 0, 0);
+
+                            DoubleBinaryOperator loop =
+                                    (setpoint, dtSeconds) -> {
+                                        controller.setSetpoint(setpoint);
+                                        simulation.tick(controller::calculate);
+                                        return simulation.getPlant().getOutput();
+                                    };
+                            return loop;
+                        },
+                        FrequencyResponseAnalyzer.logSpace(0.1, 20, 8));
+
+        assertEquals(1, response.getMagnitude(0), 0.01);
+        assertTrue(response.getMagnitude(7) < 0.5);
+        assertTrue(response.getPhaseRadians(7) < -Math.PI / 2);
+        assertTrue(response.getGroupDelaySeconds(0) > 0);
+    }
+}
@@ -0,0 +1,65 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.estimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class RecursiveLeastSquaresTests {
+    private static final double epsilon = 0.001;
+
+    @Test
+    public void recursiveLeastSquaresConvergesToExactModel() {
+        RecursiveLeastSquares rls = new RecursiveLeastSquares(2, 1);
+
+        for (int i = 0; i < 50; i++) {
+            double velocity = Math.sin(i * 0.3) * 5;
+            double acceleration = Math.cos(i * 0.7) * 3;
+
+            rls.update(0.12 * velocity + 0.03 * acceleration, velocity, acceleration);
+        }
+
+        assertEquals(0.12, rls.getEstimate(0), epsilon);
+        assertEquals(0.03, rls.getEstimate(1), epsilon);
+        assertEquals(0, rls.getLastError(), epsilon);
+
+        assertEquals(rls.getEstimate(0), rls.getEstimate0(), 0);
+        assertEquals(rls.getEstimate(1), rls.getEstimate1(), 0);
+        assertEquals(0, rls.getEstimate2(), 0);
+        assertEquals(0, rls.getEstimate3(), 0);
+    }
+
+    @Test
+    public void recursiveLeastSquaresTracksDrift() {
+        RecursiveLeastSquares rls = new RecursiveLeastSquares(1, 0.9);
+
+        for (int i = 0; i < 50; i++) rls.update(2, 1);
+        assertEquals(2, rls.getEstimate(0), epsilon);
+
+        for (int i = 0; i < 100; i++) rls.update(3, 1);
+        assertEquals(3, rls.getEstimate(0), epsilon);
+    }
+
+    @Test
+    public void recursiveLeastSquaresRejectsWrongRegressorCount() {
+        RecursiveLeastSquares rls = new RecursiveLeastSquares(3, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> rls.update(1, 1, 1));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.estimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.FeedforwardPID.Model;
+import com.team957.lib.simulation.ArmPlant;
+import com.team957.lib.simulation.ElevatorPlant;
+import com.team957.lib.simulation.MechanismPlant;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.Test;
+
+public class SystemIdentificationTests {
+    private static final double dt = 0.001;
+
+    // logs records of (time, voltage, position, velocity) while driving the plant with a varied
+    // voltage, like the quasistatic and dynamic tests of a SysId routine
+    private static Path record(MechanismPlant plant, int samples, double noise) throws IOException {
+        Path log = Files.createTempFile("sysid", ".bin");
+        log.toFile().deleteOnExit();
+
+        Random random = new Random(957);
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < samples; i++) {
+                double t = i * dt;
+                double voltage =
+                        (3 * Math.sin(2 * Math.PI * 0.2 * t))
+                                + (2 * Math.sin(2 * Math.PI * 1.3 * t))
+                                + (1.5 * Math.sin(2 * Math.PI * 3.1 * t));
+
+                buffer.clear();
+                buffer.putDouble(t);
+                buffer.putDouble(voltage);
+                buffer.putDouble(plant.getPosition());
+                buffer.putDouble(plant.getVelocity() + (noise * random.nextGaussian()));
+                buffer.flip();
+                channel.write(buffer);
+
+                plant.step(voltage, dt);
+            }
+        }
+
+        return log;
+    }
+
+    @Test
+    public void systemIdentificationFitsElevator() throws IOException {
+        FeedforwardConstants actual = new FeedforwardConstants(0.3, 2, 0.15, 1);
+        ElevatorPlant elevator = new ElevatorPlant(actual, -100, 100);
+        elevator.setState(0, 0); // away from the hard stops
+
+        Path log = record(elevator, 20000, 0);
+
+        SystemIdentification identification =
+                new SystemIdentification(Model.ELEVATOR, 4, 0, 1, 2, 3);
+        identification.setMinVelocity(0.01);
+
+        SystemIdentification.Result result = identification.fit(log);
+        FeedforwardConstants fit = result.getConstants();
+
+        assertEquals(actual.getkS(), fit.getkS(), 0.03);
+        assertEquals(actual.getkV(), fit.getkV(), 0.02);
+        assertEquals(actual.getkA(), fit.getkA(), 0.01);
+        assertEquals(actual.getkG(), fit.getkG(), 0.03);
+        assertTrue(result.getRSquared() > 0.99);
+        assertTrue(result.getSamples() > 15000);
+    }
+
+    @Test
+    public void systemIdentificationFitsArm() throws IOException {
+        FeedforwardConstants actual = new FeedforwardConstants(0.2, 1.5, 0.1, 0.8);
+        Path log = record(new ArmPlant(actual, 0, -1000, 1000), 20000, 0);
+
+        SystemIdentification identification = new SystemIdentification(Model.ARM, 4, 0, 1, 2, 3);
+        identification.setMinVelocity(0.01);
+
+        FeedforwardConstants fit = identification.fit(log).getConstants();
+
+        assertEquals(actual.getkS(), fit.getkS(), 0.03);
+        assertEquals(actual.getkV(), fit.getkV(), 0.02);
+        assertEquals(actual.getkA(), fit.getkA(), 0.01);
+        assertEquals(actual.getkG(), fit.getkG(), 0.03);
+    }
+
+    @Test
+    public void systemIdentificationChunksMatch() throws IOException {
+        FeedforwardConstants actual = new FeedforwardConstants(0.3, 2, 0.15, 1);
+        ElevatorPlant elevator = new ElevatorPlant(actual, -100, 100);
+        elevator.setState(0, 0);
+
+        Path log = record(elevator, 5000, 0.01);
+
+        SystemIdentification identification =
+                new SystemIdentification(Model.ELEVATOR, 4, 0, 1, 2, 3);
+
+        SystemIdentification.Result whole = identification.fit(log);
+
+        // chunk boundaries must not lose the samples around them
+        identification.setChunkRecords(7);
+        SystemIdentification.Result chunked = identification.fit(log);
+
+        assertEquals(whole.getSamples(), chunked.getSamples());
+        assertEquals(whole.getConstants().getkV(), chunked.getConstants().getkV(), 1E-9);
+        assertEquals(whole.getConstants().getkA(), chunked.getConstants().getkA(), 1E-9);
+        assertEquals(whole.getRmsError(), chunked.getRmsError(), 1E-9);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void systemIdentificationRejectsUnvariedData() throws IOException {
+        Path log = Files.createTempFile("sysid", ".bin");
+        log.toFile().deleteOnExit();
+
+        // constant velocity, so kS, kV, and kG can't be told apart, and acceleration is always 0
+        ByteBuffer buffer = ByteBuffer.allocate(100 * 4 * Double.BYTES);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 100; i++) {
+            buffer.putDouble(i * dt).putDouble(5).putDouble(i * dt).putDouble(1);
+        }
+        Files.write(log, buffer.array());
+
+        new SystemIdentification(Model.ELEVATOR, 4, 0, 1, 2, 3).fit(log);
+    }
+}
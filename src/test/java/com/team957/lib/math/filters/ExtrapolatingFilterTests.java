@@ -0,0 +1,91 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.filters;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ExtrapolatingFilterTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void extrapolatingFilterWorksLinear() {
+        ExtrapolatingFilter filter = new ExtrapolatingFilter(5, 0.1);
+
+        // not enough history to find a slope yet
+        assertEquals(0.04, filter.calculate(0.04, 0.02), epsilon);
+
+        for (int i = 2; i <= 10; i++) {
+            double time = 0.02 * i;
+            assertEquals(2 * (time + 0.1), filter.calculate(2 * time, 0.02), epsilon);
+        }
+    }
+
+    @Test
+    public void extrapolatingFilterWorksQuadratic() {
+        ExtrapolatingFilter filter = new ExtrapolatingFilter(4, 2, 0.5);
+
+        filter.calculate(1, 1);
+        filter.calculate(4, 1);
+
+        // t^2 sampled at t = 1, 2, 3
+        assertEquals(12.25, filter.calculate(9, 1), epsilon);
+    }
+
+    @Test
+    public void extrapolatingFilterWorksQuadraticAtHighRates() {
+        for (double dt : new double[] {0.001, 0.0002}) {
+            for (int window = 3; window <= 20; window++) {
+                double latency = 4 * dt;
+                ExtrapolatingFilter filter = new ExtrapolatingFilter(window, 2, latency);
+
+                // y = (t / (10 dt))^2, so the curvature is visible within a short window
+                double scale = 10 * dt;
+                double output = 0;
+                double time = 0;
+                for (int i = 0; i < 30; i++) {
+                    time = i * dt;
+                    output = filter.calculate((time / scale) * (time / scale), dt);
+                }
+
+                double future = (time + latency) / scale;
+                assertEquals(future * future, output, epsilon);
+            }
+        }
+    }
+
+    @Test
+    public void extrapolatingFilterHandlesZeroDt() {
+        ExtrapolatingFilter filter = new ExtrapolatingFilter(3, 0.1);
+
+        assertEquals(3, filter.calculate(3, 0), epsilon);
+        assertEquals(4, filter.calculate(5, 0), epsilon);
+    }
+
+    @Test
+    public void extrapolatingFilterResets() {
+        ExtrapolatingFilter filter = new ExtrapolatingFilter(3, 1);
+
+        filter.calculate(5, 1);
+        filter.calculate(6, 1);
+        filter.reset();
+
+        assertEquals(0, filter.getCurrentOutput(), 0);
+        assertEquals(2, filter.calculate(2, 1), epsilon);
+    }
+}
@@ -18,6 +18,7 @@ package com.team957.lib.math.filters;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
 public class IntegratingFilterTests {
@@ -43,4 +44,23 @@ public class IntegratingFilterTests {
         assertEquals(-1.5, filter.calculate(0, 1), epsilon);
         assertEquals(-0.5, filter.calculate(1, 1), epsilon);
     }
+
+    @Test
+    public void integratingFilterRestoresState() {
+        IntegratingFilter filter = new IntegratingFilter(3);
+        IntegratingFilter restored = new IntegratingFilter(3);
+
+        filter.calculate(2, 2);
+        filter.calculate(-4, 0.5);
+        filter.calculate(1, 1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(filter.getStateSize());
+        filter.saveState(buffer);
+        buffer.flip();
+        restored.restoreState(buffer);
+
+        assertEquals(0, restored.getCurrentOutput(), epsilon);
+        assertEquals(-1.5, restored.calculate(0, 1), epsilon);
+        assertEquals(-0.5, restored.calculate(1, 1), epsilon);
+    }
 }
@@ -19,6 +19,7 @@ package com.team957.lib.math.filters;
 import static org.junit.Assert.assertEquals;
 
 import com.team957.lib.math.filters.MovingAverageFilter.MEAN_IMPLEMENTATION;
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
 public class MovingAverageTests {
@@ -46,4 +47,42 @@ public class MovingAverageTests {
         assertEquals(-3, filter.calculate(0), epsilon);
         assertEquals(-1, filter.calculate(3), epsilon);
     }
+
+    @Test
+    public void movingAverageFilterRestoresState() {
+        MovingAverageFilter filter = new MovingAverageFilter(3, MEAN_IMPLEMENTATION.ARITHMETIC);
+        MovingAverageFilter restored = new MovingAverageFilter(3, MEAN_IMPLEMENTATION.ARITHMETIC);
+
+        filter.calculate(3);
+        filter.calculate(0);
+        filter.calculate(-3);
+        filter.calculate(-6);
+
+        ByteBuffer buffer = ByteBuffer.allocate(filter.getStateSize());
+        filter.saveState(buffer);
+        buffer.flip();
+        restored.restoreState(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(-3, restored.getCurrentOutput(), epsilon);
+        assertEquals(-3, restored.calculate(0), epsilon);
+        assertEquals(-1, restored.calculate(3), epsilon);
+    }
+
+    @Test
+    public void movingAverageFilterRestoresStateInfiniteWindow() {
+        MovingAverageFilter filter = new MovingAverageFilter(0, MEAN_IMPLEMENTATION.GEOMETRIC);
+        MovingAverageFilter restored = new MovingAverageFilter(0, MEAN_IMPLEMENTATION.GEOMETRIC);
+
+        filter.calculate(2);
+        filter.calculate(8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(filter.getStateSize());
+        filter.saveState(buffer);
+        buffer.flip();
+        restored.restoreState(buffer);
+
+        assertEquals(4, restored.getCurrentOutput(), epsilon);
+        assertEquals(4, restored.calculate(4), epsilon);
+    }
 }
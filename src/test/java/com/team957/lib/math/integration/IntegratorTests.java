@@ -0,0 +1,151 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.integration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntegratorTests {
+    private static final double epsilon = 0.0001;
+
+    private static final OdeSystem decay =
+            (t, x, derivative, offset) -> derivative[offset] = -x[offset];
+
+    // x'' = -x, with position then velocity
+    private static final OdeSystem oscillator =
+            (t, x, derivative, offset) -> {
+                derivative[offset] = x[offset + 1];
+                derivative[offset + 1] = -x[offset];
+            };
+
+    private static double integrateDecay(Integrator integrator, int steps) {
+        double[] state = {1};
+        for (int i = 0; i < steps; i++) integrator.step(decay, i, state, 1.0 / steps);
+        return state[0];
+    }
+
+    @Test
+    public void rk4IsFourthOrder() {
+        RK4Integrator integrator = new RK4Integrator(1);
+
+        double coarseError = Math.abs(integrateDecay(integrator, 10) - Math.exp(-1));
+        double fineError = Math.abs(integrateDecay(integrator, 20) - Math.exp(-1));
+
+        assertTrue(coarseError < 1E-6);
+        // halving the step should cut the error by 2^4
+        assertEquals(16, coarseError / fineError, 1);
+    }
+
+    @Test
+    public void dormandPrinceMeetsTolerance() {
+        DormandPrinceIntegrator integrator = new DormandPrinceIntegrator(1, 1, 1E-9, 1E-9);
+
+        double[] state = {1};
+        integrator.step(decay, 0, state, 5);
+
+        assertEquals(Math.exp(-5), state[0], 1E-8);
+        assertTrue(integrator.getAcceptedCount() > 1);
+
+        // fast and slow modes together, like a motor's electrical and mechanical dynamics
+        OdeSystem stiff =
+                (t, x, derivative, offset) -> {
+                    derivative[0] = -1000 * (x[0] - Math.cos(t));
+                    derivative[1] = x[0];
+                };
+
+        DormandPrinceIntegrator adaptive = new DormandPrinceIntegrator(2, 1, 1E-6, 1E-6);
+        double[] stiffState = {0, 0};
+        for (int i = 0; i < 50; i++) adaptive.step(stiff, i * 0.02, stiffState, 0.02);
+
+        // after the fast transient, x0 tracks cos(t) closely, so x1 is nearly sin(t)
+        assertEquals(Math.sin(1), stiffState[1], 0.01);
+        assertTrue(adaptive.getSubstepSeconds() < 0.02);
+    }
+
+    @Test
+    public void semiImplicitEulerConservesEnergy() {
+        SemiImplicitEulerIntegrator integrator = new SemiImplicitEulerIntegrator(2);
+
+        double[] state = {1, 0};
+        double maxEnergy = 0;
+        double minEnergy = Double.POSITIVE_INFINITY;
+
+        // 100 periods at a coarse step, where explicit Euler would gain energy without bound
+        for (int i = 0; i < 10000; i++) {
+            integrator.step(oscillator, i, state, 2 * Math.PI / 100);
+
+            double energy = (state[0] * state[0]) + (state[1] * state[1]);
+            maxEnergy = Math.max(maxEnergy, energy);
+            minEnergy = Math.min(minEnergy, energy);
+        }
+
+        assertEquals(1, maxEnergy, 0.1);
+        assertEquals(1, minEnergy, 0.1);
+    }
+
+    @Test
+    public void batchMatchesIndividualSteps() {
+        // per-system stiffness, looked up by the system's index
+        double[] stiffness = {1, 4, 9};
+        OdeSystem springs =
+                (t, x, derivative, offset) -> {
+                    derivative[offset] = x[offset + 1];
+                    derivative[offset + 1] = -stiffness[offset / 2] * x[offset];
+                };
+
+        Integrator[] batchIntegrators = {
+            new RK4Integrator(2, 3),
+            new SemiImplicitEulerIntegrator(2, 3),
+            new DormandPrinceIntegrator(2, 3, 1E-9, 1E-9)
+        };
+        Integrator[] singleIntegrators = {
+            new RK4Integrator(2), new SemiImplicitEulerIntegrator(2), null
+        };
+
+        for (int method = 0; method < batchIntegrators.length; method++) {
+            double[] batch = {1, 0, 1, 0, 1, 0};
+            for (int i = 0; i < 100; i++) {
+                batchIntegrators[method].stepBatch(springs, i * 0.01, batch, 3, 0.01);
+            }
+
+            for (int system = 0; system < 3; system++) {
+                assertEquals(Math.cos(Math.sqrt(stiffness[system])), batch[2 * system], 0.05);
+
+                // fixed step methods give exactly the same result one system at a time
+                if (singleIntegrators[method] != null) {
+                    double k = stiffness[system];
+                    OdeSystem spring =
+                            (t, x, derivative, offset) -> {
+                                derivative[0] = x[1];
+                                derivative[1] = -k * x[0];
+                            };
+
+                    double[] single = {1, 0};
+                    for (int i = 0; i < 100; i++) {
+                        singleIntegrators[method].step(spring, i * 0.01, single, 0.01);
+                    }
+
+                    assertArrayEquals(
+                            single, new double[] {batch[2 * system], batch[2 * system + 1]}, 0);
+                }
+            }
+        }
+    }
+}
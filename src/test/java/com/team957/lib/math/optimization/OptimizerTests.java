@@ -0,0 +1,156 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.math.optimization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.math.filters.ExponentialMovingAverage;
+import com.team957.lib.simulation.ElevatorPlant;
+import com.team957.lib.simulation.Simulation;
+import java.util.Random;
+import org.junit.Test;
+
+public class OptimizerTests {
+    private static final double epsilon = 0.0001;
+
+    // minimum at (1, 1), in a narrow curved valley
+    private static final CostFunction rosenbrock =
+            (p) -> {
+                double a = 1 - p[0];
+                double b = p[1] - (p[0] * p[0]);
+                return (a * a) + (100 * b * b);
+            };
+
+    private static final double[] lower = {-2, -1};
+    private static final double[] upper = {2, 3};
+
+    @Test
+    public void gridSearchFindsBestGridPoint() {
+        GridSearch search = new GridSearch(lower, upper, 41);
+        assertEquals(41 * 41, search.getGridSize());
+
+        OptimizationResult result = search.minimize(rosenbrock);
+
+        // the minimum lies exactly on the grid
+        assertArrayEquals(new double[] {1, 1}, result.getParameters(), epsilon);
+        assertEquals(0, result.getCost(), epsilon);
+        assertEquals(41 * 41, result.getEvaluations());
+    }
+
+    @Test
+    public void nelderMeadFindsMinimum() {
+        NelderMead search = new NelderMead(lower, upper, 8, 2000, 957);
+        OptimizationResult result = search.minimize(rosenbrock);
+
+        assertEquals(1, result.getParameter(0), 0.01);
+        assertEquals(1, result.getParameter(1), 0.01);
+        assertTrue(result.getEvaluations() <= 8 * 2000 + 8 * 2);
+
+        // same seed, same result, regardless of thread scheduling
+        assertArrayEquals(
+                result.getParameters(), search.minimize(rosenbrock).getParameters(), 0);
+    }
+
+    @Test
+    public void cmaesFindsMinimum() {
+        CMAES search = new CMAES(lower, upper, 5000, 997);
+        OptimizationResult result = search.minimize(rosenbrock);
+
+        assertEquals(1, result.getParameter(0), 0.01);
+        assertEquals(1, result.getParameter(1), 0.01);
+        assertTrue(result.getEvaluations() <= 5000);
+
+        search.setPopulationSize(64);
+        OptimizationResult large = search.minimize(rosenbrock);
+        assertEquals(1, large.getParameter(0), 0.01);
+        assertArrayEquals(large.getParameters(), search.minimize(rosenbrock).getParameters(), 0);
+    }
+
+    @Test
+    public void optimizersTreatNaNAsWorst() {
+        CostFunction unstable = (p) -> (p[0] > 0.5) ? Double.NaN : Math.abs(p[0] - 0.25);
+
+        OptimizationResult result =
+                new GridSearch(new double[] {0}, new double[] {1}, 101).minimize(unstable);
+        assertEquals(0.25, result.getParameter(0), epsilon);
+
+        result = new CMAES(new double[] {0}, new double[] {1}, 500, 0).minimize(unstable);
+        assertEquals(0.25, result.getParameter(0), 0.01);
+    }
+
+    private static CostFunction lagVsNoise(double[] signal, double noiseWeight) {
+        return (p) -> {
+            ExponentialMovingAverage filter = new ExponentialMovingAverage(p[0]);
+            return Costs.filterLagVsNoise(filter, signal, 0.02, noiseWeight);
+        };
+    }
+
+    @Test
+    public void optimizerTunesFilterAgainstRecording() {
+        // slow sine with noise
+        Random random = new Random(957);
+        double[] clean = new double[2000];
+        double[] noisy = new double[2000];
+        for (int i = 0; i < clean.length; i++) {
+            clean[i] = Math.sin(i * 0.01);
+            noisy[i] = clean[i] + (0.2 * random.nextGaussian());
+        }
+
+        CostFunction cost =
+                (p) -> Costs.filterError(new ExponentialMovingAverage(p[0]), noisy, clean, 0.02);
+
+        OptimizationResult result =
+                new GridSearch(new double[] {0.01}, new double[] {1}, 100).minimize(cost);
+
+        // neither extreme: no filtering leaves the noise, heavy filtering lags
+        assertTrue(result.getParameter(0) > 0.02 && result.getParameter(0) < 0.5);
+        assertTrue(result.getCost() < cost.cost(new double[] {1}) / 5);
+
+        // a heavier noise penalty favors a smoother filter
+        NelderMead search = new NelderMead(new double[] {0.01}, new double[] {1}, 4, 200, 0);
+
+        double lightResponse = search.minimize(lagVsNoise(noisy, 1)).getParameter(0);
+        double heavyResponse = search.minimize(lagVsNoise(noisy, 50)).getParameter(0);
+        assertTrue(heavyResponse < lightResponse);
+    }
+
+    @Test
+    public void optimizerTunesPIDInSimulation() {
+        FeedforwardConstants plant = new FeedforwardConstants(0, 2, 0.2, 0);
+
+        CostFunction cost =
+                (p) -> {
+                    Simulation simulation = new Simulation(new ElevatorPlant(plant, 0, 2), 0.01);
+                    simulation.getPlant().setInputLimit(12);
+
+                    return Costs.integralAbsoluteError(
+                            simulation, new PID(p[0], 0, p[1], 1), 3);
+                };
+
+        double initialCost = cost.cost(new double[] {1, 0});
+
+        CMAES search = new CMAES(new double[] {0, 0}, new double[] {100, 10}, 600, 957);
+        search.setInitialGuess(new double[] {1, 0});
+        OptimizationResult result = search.minimize(cost);
+
+        assertTrue(result.getCost() < initialCost / 3);
+    }
+}
@@ -0,0 +1,144 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.math.integration.DormandPrinceIntegrator;
+import com.team957.lib.math.integration.RK4Integrator;
+import org.junit.Test;
+
+public class PlantTests {
+    private static final double epsilon = 0.0001;
+
+    @Test
+    public void flywheelMatchesAnalyticResponse() {
+        FlywheelPlant fine = new FlywheelPlant(new FeedforwardConstants(0, 2, 0.5, 0));
+        FlywheelPlant coarse = new FlywheelPlant(new FeedforwardConstants(0, 2, 0.5, 0));
+
+        for (int i = 0; i < 1000; i++) fine.step(6, 0.001);
+        coarse.step(6, 1);
+
+        // v(t) = V / kV * (1 - e^(-kV / kA * t)), exact even with a step longer than the time
+        // constant
+        double expected = 3 * (1 - Math.exp(-4));
+        assertEquals(expected, fine.getOutput(), epsilon);
+        assertEquals(expected, coarse.getOutput(), epsilon);
+
+        // position is the integral of velocity
+        double expectedPosition = 3 - (3 * (1 - Math.exp(-4)) / 4);
+        assertEquals(expectedPosition, coarse.getPosition(), epsilon);
+    }
+
+    @Test
+    public void motorStaticFrictionWorks() {
+        DCMotorPlant motor = new DCMotorPlant(new FeedforwardConstants(0.5, 1, 0.1, 0));
+
+        for (int i = 0; i < 100; i++) motor.step(0.4, 0.01);
+        assertEquals(0, motor.getPosition(), 0);
+
+        for (int i = 0; i < 500; i++) motor.step(2.5, 0.01);
+        assertEquals(2, motor.getVelocity(), epsilon);
+
+        // coasts to a stop instead of reversing
+        for (int i = 0; i < 500; i++) motor.step(0, 0.01);
+        assertEquals(0, motor.getVelocity(), 0);
+    }
+
+    @Test
+    public void elevatorGravityAndHardStopsWork() {
+        ElevatorPlant elevator = new ElevatorPlant(new FeedforwardConstants(0, 1, 0.1, 0.8), 0, 1);
+
+        // holds against gravity, and falls to the bottom without it
+        elevator.setState(0.5, 0);
+        for (int i = 0; i < 100; i++) elevator.step(0.8, 0.01);
+        assertEquals(0.5, elevator.getOutput(), epsilon);
+
+        for (int i = 0; i < 1000; i++) elevator.step(0, 0.01);
+        assertEquals(0, elevator.getOutput(), 0);
+        assertEquals(0, elevator.getVelocity(), 0);
+
+        elevator.setInputLimit(12);
+        for (int i = 0; i < 1000; i++) elevator.step(100, 0.01);
+        assertEquals(1, elevator.getOutput(), 0);
+        assertEquals(12, elevator.getLastInput(), 0);
+    }
+
+    @Test
+    public void armGravityWorks() {
+        ArmPlant arm =
+                new ArmPlant(new FeedforwardConstants(0, 1, 0.1, 2), 0, -Math.PI / 2, Math.PI);
+
+        // kG holds horizontal, but only half of it is needed at 60 degrees
+        for (int i = 0; i < 100; i++) arm.step(2, 0.01);
+        assertEquals(0, arm.getOutput(), epsilon);
+
+        arm.setState(Math.PI / 3, 0);
+        for (int i = 0; i < 100; i++) arm.step(1, 0.01);
+        assertEquals(Math.PI / 3, arm.getOutput(), epsilon);
+
+        // falls to hanging straight down
+        arm.reset();
+        for (int i = 0; i < 1000; i++) arm.step(0, 0.01);
+        assertEquals(-Math.PI / 2, arm.getOutput(), epsilon);
+    }
+
+    @Test
+    public void thermalMatchesAnalyticResponse() {
+        ThermalPlant thermal = new ThermalPlant(25, 10, 60);
+
+        for (int i = 0; i < 600; i++) thermal.step(3, 0.1);
+        assertEquals(25 + 30 * (1 - Math.exp(-1)), thermal.getOutput(), epsilon);
+
+        thermal.reset();
+        assertEquals(25, thermal.getTemperature(), 0);
+    }
+
+    @Test
+    public void odePlantMatchesExactModel() {
+        FeedforwardConstants gains = new FeedforwardConstants(0, 2, 0.5, 0);
+        FlywheelPlant exact = new FlywheelPlant(gains);
+
+        // kA * v' = V - kV * v, with position then velocity
+        OdePlant.Dynamics dynamics =
+                (state, input, derivative) -> {
+                    derivative[0] = state[1];
+                    derivative[1] = (input - (gains.getkV() * state[1])) / gains.getkA();
+                };
+
+        OdePlant rk4 = new OdePlant(dynamics, new RK4Integrator(2), new double[] {0, 0}, 1);
+        OdePlant adaptive =
+                new OdePlant(dynamics, new DormandPrinceIntegrator(2), new double[] {0, 0}, 1);
+
+        for (int i = 0; i < 100; i++) {
+            double input = (i < 50) ? 6 : -3;
+
+            exact.step(input, 0.02);
+            rk4.step(input, 0.02);
+            adaptive.step(input, 0.02);
+
+            assertEquals(exact.getOutput(), rk4.getOutput(), epsilon);
+            assertEquals(exact.getOutput(), adaptive.getOutput(), epsilon);
+        }
+
+        assertEquals(exact.getPosition(), adaptive.getState(0), epsilon);
+
+        adaptive.reset();
+        assertEquals(0, adaptive.getOutput(), 0);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.team957.lib.controllers.feedback.ControlMetrics;
+import com.team957.lib.controllers.feedback.FeedforwardPID;
+import com.team957.lib.controllers.feedback.FeedforwardPID.FeedforwardConstants;
+import com.team957.lib.controllers.feedback.FeedforwardPID.Model;
+import com.team957.lib.controllers.feedback.PID;
+import com.team957.lib.controllers.feedback.PID.PIDConstants;
+import com.team957.lib.math.filters.MovingAverageFilter;
+import com.team957.lib.math.filters.MovingAverageFilter.MEAN_IMPLEMENTATION;
+import org.junit.Test;
+
+public class SimulationTests {
+    private static final double epsilon = 0.0001;
+
+    private static final FeedforwardConstants elevatorGains =
+            new FeedforwardConstants(0.1, 2, 0.2, 0.6);
+
+    @Test
+    public void simulationClosesLoop() {
+        Simulation simulation = new Simulation(new ElevatorPlant(elevatorGains, 0, 2), 0.005);
+        simulation.getPlant().setInputLimit(12);
+
+        FeedforwardPID controller =
+                new FeedforwardPID(new PIDConstants(40, 0, 2), elevatorGains, Model.ELEVATOR, 1);
+        ControlMetrics metrics = new ControlMetrics();
+        controller.setMetrics(metrics);
+
+        double height = simulation.run(controller::calculate, 5);
+
+        assertEquals(1, height, 0.01);
+        assertEquals(5, simulation.getTimeSeconds(), epsilon);
+        assertTrue(metrics.isSettled());
+    }
+
+    @Test
+    public void simulationLatencyWorks() {
+        Simulation simulation =
+                new Simulation(new DCMotorPlant(new FeedforwardConstants(0, 1, 1, 0)), 0.01);
+
+        // constant velocity, so the reading lags by exactly 5 ticks of motion
+        ((DCMotorPlant) simulation.getPlant()).setState(0, 1);
+        simulation.setLatency(0.05);
+
+        for (int i = 0; i < 5; i++) assertEquals(0, simulation.tick((m, dt) -> 1), epsilon);
+        for (int i = 5; i < 20; i++) {
+            assertEquals((i - 5) * 0.01, simulation.tick((m, dt) -> 1), epsilon);
+        }
+    }
+
+    @Test
+    public void simulationNoiseAndQuantizationWork() {
+        FlywheelPlant flywheel = new FlywheelPlant(new FeedforwardConstants(0, 1, 0.1, 0));
+        flywheel.setState(0, 1.234);
+
+        Simulation quantized = new Simulation(flywheel, 0.01);
+        quantized.setQuantization(0.1);
+        assertEquals(1.2, quantized.tick((m, dt) -> 1.234), epsilon);
+
+        // seeded noise is reproducible, and filtering it reduces the spread
+        double[] spreads = new double[2];
+        for (int run = 0; run < 2; run++) {
+            Simulation noisy = new Simulation(flywheel, 0.01);
+            noisy.setNoise(0.5, 957);
+            if (run == 1) {
+                noisy.setMeasurementFilter(
+                        new MovingAverageFilter(20, MEAN_IMPLEMENTATION.ARITHMETIC));
+            }
+
+            noisy.run((m, dt) -> 1.234, 0.5);
+
+            double sumSquares = 0;
+            for (int i = 0; i < 1000; i++) {
+                double error = noisy.tick((m, dt) -> 1.234) - 1.234;
+                sumSquares += error * error;
+            }
+            spreads[run] = Math.sqrt(sumSquares / 1000);
+        }
+
+        assertEquals(0.5, spreads[0], 0.05);
+        assertTrue(spreads[1] < spreads[0] / 3);
+
+        Simulation first = new Simulation(flywheel, 0.01);
+        Simulation second = new Simulation(flywheel, 0.01);
+        first.setNoise(0.5, 997);
+        second.setNoise(0.5, 997);
+        assertEquals(first.tick((m, dt) -> 1.234), second.tick((m, dt) -> 1.234), 0);
+    }
+
+    @Test
+    public void simulationRunsFasterThanRealTime() {
+        Simulation simulation = new Simulation(new ElevatorPlant(elevatorGains, 0, 2), 0.001);
+        simulation.setNoise(0.001, 0);
+        simulation.setLatency(0.02);
+        PID controller = new PID(20, 0, 1, 1);
+
+        long start = System.nanoTime();
+        simulation.run(controller::calculate, 200);
+        double elapsedSeconds = (System.nanoTime() - start) / 1E9;
+
+        // generous, since this includes warmup, but real time would be 200 seconds
+        assertTrue(elapsedSeconds < 2);
+    }
+}
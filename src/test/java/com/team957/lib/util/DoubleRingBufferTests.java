@@ -0,0 +1,49 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DoubleRingBufferTests {
+    @Test
+    public void doubleRingBufferEvictsOldest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+
+        assertEquals(0, buffer.push(1), 0);
+        buffer.push(2);
+        buffer.push(3);
+        assertEquals(1, buffer.push(4), 0);
+
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.getOldest(), 0);
+        assertEquals(3, buffer.get(1), 0);
+        assertEquals(4, buffer.getNewest(), 0);
+    }
+
+    @Test
+    public void doubleRingBufferClears() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+
+        buffer.push(1);
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getNewest(), 0);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+Copyright 2026 FRC Teams 957 and 997
+
+This program is free software: 
+you can redistribute it and/or modify it under the terms of the 
+GNU General Public License as published by the Free Software Foundation, 
+either version 3 of the License, or (at your option) any later version.
+
+This program is distributed in the hope that it will be useful, 
+but WITHOUT ANY WARRANTY; without even the implied warranty of 
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. 
+See the GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License along with this program. 
+If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.team957.lib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DoubleSeqLockTests {
+    @Test
+    public void doubleSeqLockReadsAreConsistent() throws InterruptedException {
+        DoubleSeqLock lock = new DoubleSeqLock(3);
+
+        Thread writer =
+                new Thread(
+                        () -> {
+                            for (int i = 1; i <= 200000; i++) {
+                                lock.beginWrite();
+                                lock.set(0, i);
+                                lock.set(1, -i);
+                                lock.set(2, 2 * i);
+                                lock.endWrite();
+                            }
+                        });
+        writer.start();
+
+        double[] read = new double[3];
+        long lastSequence = 0;
+
+        while (writer.isAlive()) {
+            long sequence = lock.read(read);
+
+            assertEquals(0, sequence % 2);
+            assertTrue(sequence >= lastSequence);
+            assertEquals(read[0], -read[1], 0);
+            assertEquals(2 * read[0], read[2], 0);
+
+            lastSequence = sequence;
+        }
+
+        writer.join();
+
+        assertEquals(400000, lock.read(read));
+        assertEquals(200000, read[0], 0);
+    }
+}